@@ -0,0 +1,140 @@
+package towersim.aircraft;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Aircraft#tick()} on a large fleet of loading and flying aircraft, and
+ * compares looking up the amounts used by a LOAD tick in {@link TickTable} with computing them
+ * from the aircraft's characteristics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AircraftTickBenchmark {
+    /** Seed used to generate the fleet */
+    private static final long SEED = 7023;
+
+    /** Number of aircraft in the fleet */
+    @Param({"10000", "100000", "1000000"})
+    public int fleetSize;
+
+    /** Fleet of aircraft, half loading and half flying */
+    private List<Aircraft> fleet;
+
+    /** Characteristics of each aircraft in the fleet */
+    private AircraftCharacteristics[] models;
+
+    /** Load percentage of each aircraft's LOAD task */
+    private int[] loadPercents;
+
+    /** Whether each aircraft carries freight rather than passengers */
+    private boolean[] freight;
+
+    /**
+     * Creates the fleet for this trial.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(SEED);
+        AircraftCharacteristics[] allModels = AircraftCharacteristics.values();
+        fleet = new ArrayList<>(fleetSize);
+        models = new AircraftCharacteristics[fleetSize];
+        loadPercents = new int[fleetSize];
+        freight = new boolean[fleetSize];
+        for (int i = 0; i < fleetSize; i++) {
+            AircraftCharacteristics model = allModels[random.nextInt(allModels.length)];
+            int loadPercent = random.nextInt(TickTable.MAX_LOAD_PERCENT + 1);
+            List<Task> tasks = new ArrayList<>(List.of(
+                    new Task(TaskType.LOAD, loadPercent),
+                    new Task(TaskType.TAKEOFF),
+                    new Task(TaskType.AWAY),
+                    new Task(TaskType.LAND)));
+            if (i % 2 == 1) {
+                //Flying rather than loading
+                tasks.add(tasks.remove(0));
+                tasks.add(tasks.remove(0));
+            }
+            TaskList taskList = new TaskList(tasks);
+            models[i] = model;
+            loadPercents[i] = loadPercent;
+            freight[i] = model.passengerCapacity == 0;
+            fleet.add(freight[i]
+                    ? new FreightAircraft("BM" + i, model, taskList, model.fuelCapacity / 2, 0)
+                    : new PassengerAircraft("BM" + i, model, taskList, model.fuelCapacity / 2, 0));
+        }
+    }
+
+    /**
+     * Ticks every aircraft in the fleet once.
+     */
+    @Benchmark
+    public void tickFleet() {
+        for (Aircraft aircraft : fleet) {
+            aircraft.tick();
+        }
+    }
+
+    /**
+     * Looks up the loading time, refuel amount and cargo per tick of every aircraft.
+     *
+     * @param blackhole - sink for the amounts
+     */
+    @Benchmark
+    public void lookUpLoadAmounts(Blackhole blackhole) {
+        for (int i = 0; i < fleetSize; i++) {
+            TickTable table = freight[i] ? TickTable.FREIGHT : TickTable.PASSENGER;
+            blackhole.consume(table.loadingTime(models[i], loadPercents[i]));
+            blackhole.consume(table.refuelAmount(models[i], loadPercents[i]));
+            blackhole.consume(table.cargoPerTick(models[i], loadPercents[i]));
+        }
+    }
+
+    /**
+     * Computes the loading time, refuel amount and cargo per tick of every aircraft from its
+     * characteristics, as every tick did before the amounts were held in {@link TickTable}.
+     *
+     * @param blackhole - sink for the amounts
+     */
+    @Benchmark
+    public void computeLoadAmounts(Blackhole blackhole) {
+        for (int i = 0; i < fleetSize; i++) {
+            AircraftCharacteristics model = models[i];
+            int toLoad;
+            int loadingTime;
+            if (freight[i]) {
+                toLoad = FreightAircraft.freightToLoad(model.freightCapacity, loadPercents[i]);
+                loadingTime = FreightAircraft.loadingTime(toLoad);
+            } else {
+                toLoad = PassengerAircraft.passengersToLoad(model.passengerCapacity,
+                        loadPercents[i]);
+                loadingTime = PassengerAircraft.loadingTime(toLoad);
+            }
+            blackhole.consume(loadingTime);
+            blackhole.consume((double) (model.fuelCapacity / loadingTime));
+            blackhole.consume((int) Math.round(toLoad / (double) loadingTime));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package towersim.control;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AircraftQueue#encode()} for the landing and takeoff queues of a generated
+ * airport.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AircraftQueueEncodeBenchmark {
+    /** Number of aircraft managed by the tower */
+    @Param({"1000", "10000", "50000"})
+    public int fleetSize;
+
+    /** Tower whose queues are encoded */
+    private ControlTower tower;
+
+    /**
+     * Creates the tower for this trial.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        tower = BenchmarkAirports.createTower(fleetSize);
+    }
+
+    /**
+     * Encodes the landing queue.
+     *
+     * @return encoded landing queue
+     */
+    @Benchmark
+    public String encodeLandingQueue() {
+        return tower.getLandingQueue().encode();
+    }
+
+    /**
+     * Encodes the takeoff queue.
+     *
+     * @return encoded takeoff queue
+     */
+    @Benchmark
+    public String encodeTakeoffQueue() {
+        return tower.getTakeoffQueue().encode();
+    }
+}
@@ -0,0 +1,153 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the airports used by the benchmarks.
+ *
+ * Airports are generated by {@link ScenarioGenerator} from a fixed seed, so every run of a
+ * benchmark measures the same airport.
+ */
+public class BenchmarkAirports {
+    /** Seed used for all generated airports */
+    private static final long SEED = 7023;
+
+    /**
+     * Number of aircraft per terminal in generated airports, which is roughly two aircraft for
+     * every gate since terminals have (1 + MAX_NUM_GATES) / 2 gates on average
+     */
+    private static final int AIRCRAFT_PER_TERMINAL = 1 + Terminal.MAX_NUM_GATES;
+
+    /** One in this many terminals of generated airports is a helicopter terminal */
+    private static final int HELICOPTER_TERMINAL_RATIO = 4;
+
+    /** Number of ticks run on a generated airport before it is used */
+    private static final int WARMUP_TICKS = 20;
+
+    /**
+     * Creates a control tower managing the given number of aircraft, with roughly one gate for
+     * every two aircraft. The tower is ticked a few times so that aircraft are spread across
+     * the queues, the loading map and the skies.
+     *
+     * @param fleetSize - number of aircraft to create
+     * @return control tower with all aircraft placed in queues
+     */
+    public static ControlTower createTower(int fleetSize) {
+        int numTerminals = Math.max(1, fleetSize / AIRCRAFT_PER_TERMINAL);
+        int numHelicopterTerminals = numTerminals / HELICOPTER_TERMINAL_RATIO;
+        ControlTower tower = new ScenarioGenerator(SEED, numTerminals - numHelicopterTerminals,
+                numHelicopterTerminals, fleetSize).generate();
+
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            tower.tick();
+        }
+        return tower;
+    }
+
+    /**
+     * Creates an aircraft with the given task list and fuel level, and a random amount of
+     * cargo.
+     *
+     * @param callsign - callsign of the aircraft
+     * @param model - characteristics of the aircraft
+     * @param taskList - task list of the aircraft
+     * @param fuel - amount of fuel onboard, in litres
+     * @param random - source of randomness
+     * @return new aircraft
+     */
+    public static Aircraft createAircraft(String callsign, AircraftCharacteristics model,
+                                          TaskList taskList, double fuel, Random random) {
+        if (model.passengerCapacity > 0) {
+            return new PassengerAircraft(callsign, model, taskList, fuel,
+                    random.nextInt(model.passengerCapacity + 1));
+        } else {
+            return new FreightAircraft(callsign, model, taskList, fuel,
+                    random.nextInt(model.freightCapacity + 1));
+        }
+    }
+
+    /**
+     * Creates a valid task list with a random number of AWAY and WAIT tasks.
+     *
+     * @param random - source of randomness
+     * @param startOnGround - true if the current task may be WAIT or LOAD
+     * @return new task list
+     */
+    public static TaskList createTaskList(Random random, boolean startOnGround) {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(TaskType.TAKEOFF));
+        int numAway = 1 + random.nextInt(4);
+        for (int i = 0; i < numAway; i++) {
+            tasks.add(new Task(TaskType.AWAY));
+        }
+        tasks.add(new Task(TaskType.LAND));
+        int numWait = random.nextInt(3);
+        for (int i = 0; i < numWait; i++) {
+            tasks.add(new Task(TaskType.WAIT));
+        }
+        tasks.add(new Task(TaskType.LOAD, 10 * random.nextInt(11)));
+
+        //Rotate so the aircraft starts part way through its cycle
+        int start = startOnGround ? random.nextInt(tasks.size()) : 1 + random.nextInt(numAway + 1);
+        List<Task> rotated = new ArrayList<>(tasks.subList(start, tasks.size()));
+        rotated.addAll(tasks.subList(0, start));
+        return new TaskList(rotated);
+    }
+
+    /**
+     * Creates a valid task list with exactly the given number of tasks.
+     *
+     * @param length - number of tasks, at least 4
+     * @return list of tasks
+     */
+    public static List<Task> createTasks(int length) {
+        int numAway = Math.max(1, (length - 3) / 2);
+        int numWait = length - 3 - numAway;
+
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(TaskType.TAKEOFF));
+        for (int i = 0; i < numAway; i++) {
+            tasks.add(new Task(TaskType.AWAY));
+        }
+        tasks.add(new Task(TaskType.LAND));
+        for (int i = 0; i < numWait; i++) {
+            tasks.add(new Task(TaskType.WAIT));
+        }
+        tasks.add(new Task(TaskType.LOAD, 50));
+        return tasks;
+    }
+
+    /**
+     * Saves the given control tower to the four text save formats.
+     *
+     * @param tower - control tower to save
+     * @return contents of the tick, aircraft, queues and terminals with gates files
+     */
+    public static String[] createSave(ControlTower tower) {
+        StringWriter tick = new StringWriter();
+        StringWriter aircraft = new StringWriter();
+        StringWriter queues = new StringWriter();
+        StringWriter terminalsWithGates = new StringWriter();
+        try {
+            ControlTowerSaver.saveAs(tower, tick, aircraft, queues, terminalsWithGates);
+        } catch (IOException ioe) {
+            //Not possible, StringWriter does not throw
+            throw new IllegalStateException(ioe);
+        }
+        return new String[] {tick.toString(), aircraft.toString(), queues.toString(),
+            terminalsWithGates.toString()};
+    }
+}
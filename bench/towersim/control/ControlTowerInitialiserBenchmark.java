@@ -0,0 +1,76 @@
+package towersim.control;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import towersim.util.MalformedSaveException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a control tower from the text save files, comparing
+ * {@link ControlTowerInitialiser} with {@link StreamingControlTowerInitialiser}.
+ *
+ * Saves are generated from an airport created by {@link BenchmarkAirports} and held in
+ * memory, so only parsing is measured and not disk access.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ControlTowerInitialiserBenchmark {
+    /** Number of aircraft in the save */
+    @Param({"1000", "5000", "10000"})
+    public int fleetSize;
+
+    /** Contents of the tick, aircraft, queues and terminals with gates files */
+    private String[] save;
+
+    /**
+     * Generates the save for this trial.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        save = BenchmarkAirports.createSave(BenchmarkAirports.createTower(fleetSize));
+    }
+
+    /**
+     * Loads the save using {@link ControlTowerInitialiser}.
+     *
+     * @return loaded control tower
+     * @throws MalformedSaveException if the save is malformed
+     * @throws IOException if an IOException occurs when reading the save
+     */
+    @Benchmark
+    public ControlTower createControlTower() throws MalformedSaveException, IOException {
+        return ControlTowerInitialiser.createControlTower(new StringReader(save[0]),
+                new StringReader(save[1]), new StringReader(save[2]), new StringReader(save[3]));
+    }
+
+    /**
+     * Loads the save using {@link StreamingControlTowerInitialiser}.
+     *
+     * @return loaded control tower
+     * @throws MalformedSaveException if the save is malformed
+     * @throws IOException if an IOException occurs when reading the save
+     */
+    @Benchmark
+    public ControlTower createControlTowerStreaming() throws MalformedSaveException,
+            IOException {
+        return StreamingControlTowerInitialiser.createControlTower(new StringReader(save[0]),
+                new StringReader(save[1]), new StringReader(save[2]), new StringReader(save[3]));
+    }
+}
@@ -0,0 +1,59 @@
+package towersim.control;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of one call to {@link ControlTower#tick()} as the number of aircraft
+ * managed by the tower grows.
+ *
+ * The same tower is ticked for the whole trial, so aircraft keep cycling through their tasks
+ * as they would in a long-running simulation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ControlTowerTickBenchmark {
+    /** Number of aircraft managed by the tower */
+    @Param({"1000", "10000", "50000"})
+    public int fleetSize;
+
+    /** Whether the tower uses incremental ticking */
+    @Param({"false", "true"})
+    public boolean incremental;
+
+    /** Tower being ticked */
+    private ControlTower tower;
+
+    /**
+     * Creates the tower for this trial.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        tower = BenchmarkAirports.createTower(fleetSize);
+        tower.setIncrementalTick(incremental);
+    }
+
+    /**
+     * Advances the tower by one tick.
+     */
+    @Benchmark
+    public void tick() {
+        tower.tick();
+    }
+}
@@ -0,0 +1,97 @@
+package towersim.control;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link LandingQueue#peekAircraft()} and {@link LandingQueue#removeAircraft()} on
+ * a queue holding a mix of emergency, low fuel and ordinary aircraft.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LandingQueueBenchmark {
+    /** Seed used to generate the queued aircraft */
+    private static final long SEED = 7023;
+
+    /** Number of aircraft waiting in the queue */
+    @Param({"100", "1000", "10000"})
+    public int queueSize;
+
+    /** Percentage of queued aircraft that have declared an emergency */
+    @Param({"0", "5"})
+    public int emergencyPercent;
+
+    /** Percentage of queued aircraft with less than 20% fuel remaining */
+    @Param({"0", "20"})
+    public int lowFuelPercent;
+
+    /** Queue being measured */
+    private LandingQueue queue;
+
+    /**
+     * Fills the queue for this trial.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(SEED);
+        AircraftCharacteristics[] models = AircraftCharacteristics.values();
+        queue = new LandingQueue();
+        for (int i = 0; i < queueSize; i++) {
+            AircraftCharacteristics model = models[random.nextInt(models.length)];
+
+            //Choose a fuel level that puts the aircraft in the wanted fuel band
+            double fuelFraction = random.nextInt(100) < lowFuelPercent
+                    ? 0.19 * random.nextDouble() : 0.21 + 0.79 * random.nextDouble();
+            Aircraft aircraft = BenchmarkAirports.createAircraft("LQ" + i, model,
+                    BenchmarkAirports.createTaskList(random, false),
+                    model.fuelCapacity * fuelFraction, random);
+
+            if (random.nextInt(100) < emergencyPercent) {
+                aircraft.declareEmergency();
+            }
+            queue.addAircraft(aircraft);
+        }
+    }
+
+    /**
+     * Returns the aircraft that would land next.
+     *
+     * @return aircraft at the front of the queue
+     */
+    @Benchmark
+    public Aircraft peekAircraft() {
+        return queue.peekAircraft();
+    }
+
+    /**
+     * Removes the aircraft that would land next and adds it back to the end of the queue,
+     * so the queue stays the same size.
+     *
+     * @return aircraft removed from the queue
+     */
+    @Benchmark
+    public Aircraft removeAircraft() {
+        Aircraft aircraft = queue.removeAircraft();
+        queue.addAircraft(aircraft);
+        return aircraft;
+    }
+}
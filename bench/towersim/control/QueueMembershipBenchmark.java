@@ -0,0 +1,106 @@
+package towersim.control;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of ControlTower.placeAllAircraftInQueues() as the number of aircraft
+ * managed by the tower grows.
+ *
+ * Every aircraft is already waiting in the landing or takeoff queue, so each call performs
+ * one containsAircraft() check per aircraft. The cost per aircraft should stay flat as the
+ * fleet grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class QueueMembershipBenchmark {
+    /** Number of aircraft managed by the tower */
+    @Param({"1000", "5000", "10000", "50000"})
+    public int fleetSize;
+
+    /** Tower whose aircraft are placed in queues */
+    private ControlTower tower;
+
+    /**
+     * Creates the tower for this trial.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        tower = createTower(fleetSize);
+    }
+
+    /**
+     * Places all aircraft in their queues; every aircraft is already queued.
+     */
+    @Benchmark
+    public void placeAllAircraftInQueues() {
+        tower.placeAllAircraftInQueues();
+    }
+
+    /**
+     * Creates a control tower managing the given number of aircraft, half of which are
+     * waiting to land and half of which are waiting to take off.
+     *
+     * @param fleetSize - number of aircraft to create
+     * @return control tower with all aircraft placed in queues
+     */
+    private static ControlTower createTower(int fleetSize) {
+        List<Aircraft> aircraft = new ArrayList<>();
+        for (int i = 0; i < fleetSize; i++) {
+            List<Task> tasks = new ArrayList<>();
+            if (i % 2 == 0) {
+                tasks.add(new Task(TaskType.LAND));
+                tasks.add(new Task(TaskType.LOAD, 50));
+                tasks.add(new Task(TaskType.TAKEOFF));
+                tasks.add(new Task(TaskType.AWAY));
+            } else {
+                tasks.add(new Task(TaskType.TAKEOFF));
+                tasks.add(new Task(TaskType.AWAY));
+                tasks.add(new Task(TaskType.LAND));
+                tasks.add(new Task(TaskType.LOAD, 50));
+            }
+
+            if (i % 3 == 0) {
+                aircraft.add(new FreightAircraft("FRT" + i,
+                        AircraftCharacteristics.BOEING_747_8F, new TaskList(tasks),
+                        AircraftCharacteristics.BOEING_747_8F.fuelCapacity / 2, 0));
+            } else {
+                aircraft.add(new PassengerAircraft("PAX" + i,
+                        AircraftCharacteristics.AIRBUS_A320, new TaskList(tasks),
+                        AircraftCharacteristics.AIRBUS_A320.fuelCapacity / 2, 0));
+            }
+        }
+
+        ControlTower tower = new ControlTower(0, aircraft, new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        tower.placeAllAircraftInQueues();
+        return tower;
+    }
+}
@@ -0,0 +1,55 @@
+package towersim.control;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures construction of a {@link TaskList}, which validates the order of its tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TaskListBenchmark {
+    /** Number of tasks in the list */
+    @Param({"5", "20", "100"})
+    public int length;
+
+    /** Tasks passed to the constructor */
+    private List<Task> tasks;
+
+    /**
+     * Creates the tasks for this trial.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        tasks = BenchmarkAirports.createTasks(length);
+    }
+
+    /**
+     * Creates a new task list from the tasks.
+     *
+     * @return new task list
+     */
+    @Benchmark
+    public TaskList createTaskList() {
+        return new TaskList(tasks);
+    }
+}
@@ -0,0 +1,467 @@
+package towersim;
+
+import towersim.control.AutosaveJournal;
+import towersim.control.ControlTower;
+import towersim.control.ControlTowerSaver;
+import towersim.control.EventReplayer;
+import towersim.control.EventSink;
+import towersim.control.FileEventSink;
+import towersim.control.Runway;
+import towersim.control.RunwayPolicy;
+import towersim.control.StreamingControlTowerInitialiser;
+import towersim.control.TowerMetrics;
+import towersim.util.MalformedSaveException;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Entry point for running the Control Tower Simulation without a GUI.
+ * <p>
+ * A save is loaded, the simulation is advanced by a given number of ticks as fast as possible
+ * (or at a fixed rate), and the number of ticks per second achieved is printed. The state of
+ * the simulation can optionally be saved at regular intervals.
+ */
+public class HeadlessLauncher {
+    /** Number of nanoseconds in one second */
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /** Prefix of the names of checkpoint directories */
+    private static final String CHECKPOINT_PREFIX = "checkpoint-";
+
+    /** Names of the tick, aircraft, queues and terminals files of a checkpoint */
+    private static final String[] CHECKPOINT_FILES = {"tick_checkpoint.txt",
+        "aircraft_checkpoint.txt", "queues_checkpoint.txt", "terminalsWithGates_checkpoint.txt"};
+
+    /**
+     * Runs the simulation headlessly.
+     * <p>
+     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file num_ticks
+     * [options]}
+     * <p>
+     * Where the first four arguments are the save files, as for {@link Launcher#main(String[])},
+     * {@code num_ticks} is the number of ticks to run, and the options are any of
+     * <ul>
+     * <li>{@code --rate ticks_per_second} to run at a fixed rate instead of as fast as
+     * possible</li>
+     * <li>{@code --checkpoint interval directory} to save the simulation to the given directory
+     * every {@code interval} ticks, and after the last tick. Each save is written to a new
+     * {@code checkpoint-N} subdirectory, with N one more than the previous save's, and the
+     * previous save is deleted once it is complete</li>
+     * <li>{@code --autosave interval directory} to record the changes made to the simulation
+     * every {@code interval} ticks, and after the last tick, in an {@link AutosaveJournal} in
+     * the given directory</li>
+     * <li>{@code --event-log file} to record every state transition to the given event log
+     * (see {@link ControlTower#setEventSink(EventSink)}). If the file already exists, it is
+     * first replayed onto the loaded save, so rerunning the same command after the simulation
+     * stopped unexpectedly carries on from the last completed tick</li>
+     * <li>{@code --metrics interval file} to measure every tick
+     * (see {@link ControlTower#setMetrics(TowerMetrics)}), write the measurements of every
+     * {@code interval}th tick to the given file, as CSV if its name ends in {@code .csv} or in
+     * line protocol otherwise, and print a summary of the time taken by each phase of the
+     * ticks after the last tick</li>
+     * <li>{@code --runways modes} to use the given runways
+     * (see {@link ControlTower#setRunways(List, RunwayPolicy)}), given as a comma-separated
+     * list of {@code mixed}, {@code landing} or {@code takeoff}, each optionally followed by
+     * {@code :capacity}, for example {@code mixed,landing:2}</li>
+     * <li>{@code --runway-policy policy} to choose which operations the runways attempt, one
+     * of {@code alternating} (the default), {@code landing-first} or
+     * {@code longest-queue-first}</li>
+     * <li>{@code --parallel threads} to update aircraft in parallel on the given number of
+     * threads (see {@link ControlTower#setTickPool(ForkJoinPool)})</li>
+     * <li>{@code --incremental} to enable incremental ticking
+     * (see {@link ControlTower#setIncrementalTick(boolean)})</li>
+     * <li>{@code --fleet-store} to keep aircraft state in a fleet store
+     * (see {@link ControlTower#setFleetStoreEnabled(boolean)})</li>
+     * </ul>
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 5) {
+            printUsage();
+            System.exit(1);
+        }
+
+        long numTicks;
+        double rate = 0;
+        int checkpointInterval = 0;
+        Path checkpointDirectory = null;
+        int autosaveInterval = 0;
+        Path autosaveDirectory = null;
+        Path eventLog = null;
+        int metricsInterval = 0;
+        Path metricsFile = null;
+        List<Runway> runways = null;
+        RunwayPolicy runwayPolicy = RunwayPolicy.ALTERNATING;
+        int threads = 0;
+        boolean incremental = false;
+        boolean fleetStore = false;
+        try {
+            numTicks = Long.parseLong(args[4]);
+            for (int i = 5; i < args.length; i++) {
+                if (args[i].equals("--rate")) {
+                    rate = Double.parseDouble(args[++i]);
+                } else if (args[i].equals("--checkpoint")) {
+                    checkpointInterval = Integer.parseInt(args[++i]);
+                    checkpointDirectory = Paths.get(args[++i]);
+                } else if (args[i].equals("--autosave")) {
+                    autosaveInterval = Integer.parseInt(args[++i]);
+                    autosaveDirectory = Paths.get(args[++i]);
+                } else if (args[i].equals("--event-log")) {
+                    eventLog = Paths.get(args[++i]);
+                } else if (args[i].equals("--metrics")) {
+                    metricsInterval = Integer.parseInt(args[++i]);
+                    metricsFile = Paths.get(args[++i]);
+                    if (metricsInterval < 1) {
+                        throw new IllegalArgumentException("Metrics interval must be positive");
+                    }
+                } else if (args[i].equals("--runways")) {
+                    runways = parseRunways(args[++i]);
+                } else if (args[i].equals("--runway-policy")) {
+                    runwayPolicy = parseRunwayPolicy(args[++i]);
+                } else if (args[i].equals("--parallel")) {
+                    threads = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--incremental")) {
+                    incremental = true;
+                } else if (args[i].equals("--fleet-store")) {
+                    fleetStore = true;
+                } else {
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (numTicks < 0 || rate < 0 || checkpointInterval < 0 || autosaveInterval < 0
+                    || threads < 0) {
+                throw new IllegalArgumentException("Numeric arguments cannot be negative");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Invalid arguments: " + e.getMessage() + "\n");
+            printUsage();
+            System.exit(1);
+            return;
+        }
+
+        ControlTower tower;
+        try {
+            tower = StreamingControlTowerInitialiser.createControlTower(Paths.get(args[0]),
+                    Paths.get(args[1]), Paths.get(args[2]), Paths.get(args[3]));
+        } catch (MalformedSaveException | IOException e) {
+            System.err.println("Error loading from file. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+            return;
+        }
+
+        tower.setIncrementalTick(incremental);
+        tower.setFleetStoreEnabled(fleetStore);
+        tower.setRunways(runways == null ? tower.getRunways() : runways, runwayPolicy);
+        ForkJoinPool pool = null;
+        if (threads > 0) {
+            pool = new ForkJoinPool(threads);
+            tower.setTickPool(pool);
+        }
+
+        EventSink eventSink = null;
+        try {
+            if (eventLog != null) {
+                if (Files.exists(eventLog)) {
+                    long replayed = replayEventLog(tower, eventLog);
+                    System.out.printf("Replayed %d ticks from %s%n", replayed, eventLog);
+                }
+                eventSink = new FileEventSink(eventLog, false);
+                tower.setEventSink(eventSink);
+            }
+        } catch (MalformedSaveException | IOException e) {
+            System.err.println("Error replaying event log. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+            return;
+        }
+
+        AutosaveJournal journal = null;
+        Writer metricsWriter = null;
+        try {
+            if (checkpointInterval > 0) {
+                Files.createDirectories(checkpointDirectory);
+            }
+            if (autosaveInterval > 0) {
+                journal = new AutosaveJournal(tower, autosaveDirectory);
+            }
+            if (metricsFile != null) {
+                metricsWriter = new FileWriter(metricsFile.toFile());
+                TowerMetrics metrics = new TowerMetrics();
+                metrics.setOutput(metricsWriter, metricsFile.toString().endsWith(".csv")
+                        ? TowerMetrics.Format.CSV : TowerMetrics.Format.LINE_PROTOCOL,
+                        metricsInterval);
+                tower.setMetrics(metrics);
+            }
+            run(tower, numTicks, rate, checkpointInterval, checkpointDirectory,
+                    autosaveInterval, journal);
+            if (journal != null) {
+                journal.close();
+            }
+            if (eventSink != null) {
+                eventSink.close();
+            }
+            if (metricsWriter != null) {
+                printMetrics(tower.getMetrics());
+                metricsWriter.close();
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error saving checkpoint. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Advances the given control tower by the given number of ticks, saving checkpoints and
+     * reporting the number of ticks per second achieved.
+     *
+     * @param tower control tower to advance
+     * @param numTicks number of ticks to run
+     * @param rate number of ticks to run per second; or 0 to run as fast as possible
+     * @param checkpointInterval number of ticks between checkpoints; or 0 for no checkpoints
+     * @param checkpointDirectory directory to save checkpoints to
+     * @param autosaveInterval number of ticks between autosaves; or 0 for no autosaves
+     * @param journal journal to autosave to; or null for no autosaves
+     * @throws IOException if an IOException occurs when saving a checkpoint
+     */
+    private static void run(ControlTower tower, long numTicks, double rate,
+            int checkpointInterval, Path checkpointDirectory, int autosaveInterval,
+            AutosaveJournal journal) throws IOException {
+        long nanosPerTick = rate > 0 ? (long) (NANOS_PER_SECOND / rate) : 0;
+        long startTime = System.nanoTime();
+        long checkpointTicks = 0;
+        long checkpointTime = startTime;
+
+        for (long tick = 1; tick <= numTicks; tick++) {
+            if (nanosPerTick > 0) {
+                //Wait until this tick is due, so the rate does not drift
+                long dueTime = startTime + (tick - 1) * nanosPerTick;
+                long wait;
+                while ((wait = dueTime - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+
+            tower.tick();
+
+            if (checkpointInterval > 0
+                    && (tick % checkpointInterval == 0 || tick == numTicks)) {
+                long now = System.nanoTime();
+                System.out.printf("Tick %d: %.1f ticks/sec%n", tower.getTicksElapsed(),
+                        ticksPerSecond(tick - checkpointTicks, now - checkpointTime));
+                saveCheckpoint(tower, checkpointDirectory);
+                checkpointTicks = tick;
+                checkpointTime = System.nanoTime();
+            }
+
+            if (journal != null && (tick % autosaveInterval == 0 || tick == numTicks)) {
+                journal.checkpoint();
+            }
+        }
+
+        long elapsed = System.nanoTime() - startTime;
+        System.out.printf("Ran %d ticks in %.3f s (%.1f ticks/sec)%n", numTicks,
+                (double) elapsed / NANOS_PER_SECOND, ticksPerSecond(numTicks, elapsed));
+        System.out.println(tower);
+    }
+
+    /**
+     * Returns the runways described by the given comma-separated list of runway modes, each
+     * optionally followed by a colon and the runway's capacity.
+     *
+     * @param description list of runways, such as {@code mixed,landing:2}
+     * @return runways described
+     * @throws IllegalArgumentException if a mode or capacity is invalid
+     */
+    private static List<Runway> parseRunways(String description) {
+        List<Runway> runways = new ArrayList<>();
+        for (String runway : description.split(",", -1)) {
+            String[] parts = runway.split(":", -1);
+            if (parts.length > 2) {
+                throw new IllegalArgumentException("Invalid runway: " + runway);
+            }
+            Runway.Mode mode = Runway.Mode.valueOf(parts[0].toUpperCase());
+            runways.add(parts.length == 1 ? new Runway(mode)
+                    : new Runway(mode, Integer.parseInt(parts[1])));
+        }
+        return runways;
+    }
+
+    /**
+     * Returns the runway policy with the given name.
+     *
+     * @param name name of the policy
+     * @return runway policy
+     * @throws IllegalArgumentException if there is no policy with the given name
+     */
+    private static RunwayPolicy parseRunwayPolicy(String name) {
+        switch (name) {
+            case "alternating":
+                return RunwayPolicy.ALTERNATING;
+            case "landing-first":
+                return RunwayPolicy.LANDING_FIRST;
+            case "longest-queue-first":
+                return RunwayPolicy.LONGEST_QUEUE_FIRST;
+            default:
+                throw new IllegalArgumentException("Unknown runway policy: " + name);
+        }
+    }
+
+    /**
+     * Prints the number of ticks measured by the given recorder and a summary of the time
+     * taken by each phase of the ticks.
+     *
+     * @param metrics recorder to print the measurements of
+     */
+    private static void printMetrics(TowerMetrics metrics) {
+        System.out.printf("Measured %d ticks: %d landed, %d took off%n",
+                metrics.getTicksRecorded(), metrics.getTotalLanded(),
+                metrics.getTotalTookOff());
+        for (TowerMetrics.Phase phase : TowerMetrics.Phase.values()) {
+            System.out.printf("  %-8s %s%n", phase.name().toLowerCase(),
+                    metrics.getPhaseHistogram(phase));
+        }
+        System.out.printf("  %-8s %s%n", "tick", metrics.getTickHistogram());
+    }
+
+    /**
+     * Replays the given event log onto the given control tower, then removes any event at the
+     * end of the log that was only partly written, so new events can be appended after it.
+     *
+     * @param tower control tower to bring up to date
+     * @param eventLog path of the event log
+     * @return number of ticks replayed
+     * @throws MalformedSaveException if the event log is invalid
+     * @throws IOException if an IOException occurs when reading or truncating the log
+     */
+    private static long replayEventLog(ControlTower tower, Path eventLog)
+            throws MalformedSaveException, IOException {
+        try (FileChannel channel = FileChannel.open(eventLog, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            //Read in chunks rather than mapping, since a mapped file cannot be truncated on
+            //some platforms
+            long replayed = EventReplayer.replay(tower, channel);
+            channel.truncate(channel.position());
+            return replayed;
+        }
+    }
+
+    /**
+     * Saves the given control tower to the four save files in a new checkpoint directory in
+     * the given directory, replacing the previous checkpoint.
+     *
+     * The files are written to a temporary directory that is only renamed once all four are
+     * complete, and the previous checkpoint is only deleted after that, so a crash while
+     * saving never leaves a checkpoint with files from different ticks behind.
+     *
+     * @param tower control tower to save
+     * @param directory directory to save to
+     * @throws IOException if an IOException occurs when writing the files
+     */
+    private static void saveCheckpoint(ControlTower tower, Path directory) throws IOException {
+        //Previous checkpoints, and any left part way through being written
+        List<Path> previousCheckpoints = new ArrayList<>();
+        long sequence = 0;
+        try (DirectoryStream<Path> entries =
+                     Files.newDirectoryStream(directory, CHECKPOINT_PREFIX + "*")) {
+            for (Path entry : entries) {
+                previousCheckpoints.add(entry);
+                sequence = Math.max(sequence, checkpointSequence(entry));
+            }
+        }
+
+        Path temporary = directory.resolve(CHECKPOINT_PREFIX + (sequence + 1) + ".tmp");
+        deleteCheckpoint(temporary);
+        Files.createDirectories(temporary);
+        ControlTowerSaver.saveAs(tower,
+                Files.newBufferedWriter(temporary.resolve(CHECKPOINT_FILES[0])),
+                Files.newBufferedWriter(temporary.resolve(CHECKPOINT_FILES[1])),
+                Files.newBufferedWriter(temporary.resolve(CHECKPOINT_FILES[2])),
+                Files.newBufferedWriter(temporary.resolve(CHECKPOINT_FILES[3])));
+        Files.move(temporary, directory.resolve(CHECKPOINT_PREFIX + (sequence + 1)),
+                StandardCopyOption.ATOMIC_MOVE);
+
+        for (Path previous : previousCheckpoints) {
+            deleteCheckpoint(previous);
+        }
+    }
+
+    /**
+     * Returns the number N of the given checkpoint directory, named {@code checkpoint-N}.
+     *
+     * @param checkpoint checkpoint directory
+     * @return number of the checkpoint; or 0 if it is not a complete checkpoint directory
+     */
+    private static long checkpointSequence(Path checkpoint) {
+        try {
+            return Long.parseLong(checkpoint.getFileName().toString()
+                    .substring(CHECKPOINT_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Deletes the given checkpoint directory and the files in it, if it exists.
+     *
+     * @param checkpoint checkpoint directory to delete
+     * @throws IOException if an IOException occurs when deleting
+     */
+    private static void deleteCheckpoint(Path checkpoint) throws IOException {
+        if (!Files.isDirectory(checkpoint)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(checkpoint)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(checkpoint);
+    }
+
+    /**
+     * Returns the number of ticks per second for the given number of ticks run in the given
+     * time.
+     *
+     * @param ticks number of ticks run
+     * @param nanos time taken in nanoseconds
+     * @return ticks per second
+     */
+    private static double ticksPerSecond(long ticks, long nanos) {
+        return nanos == 0 ? 0 : ticks * (double) NANOS_PER_SECOND / nanos;
+    }
+
+    /**
+     * Prints the command line usage to standard error.
+     */
+    private static void printUsage() {
+        System.err.println("Usage: tick_file aircraft_file queues_file terminalsWithGates_file"
+                + " num_ticks [--rate ticks_per_second] [--checkpoint interval directory]"
+                + " [--autosave interval directory] [--event-log file]"
+                + " [--metrics interval file] [--runways modes] [--runway-policy policy]"
+                + " [--parallel threads] [--incremental] [--fleet-store]\n");
+        System.err.println("Example: saves/tick_default.txt saves/aircraft_default.txt"
+                + " saves/queues_default.txt saves/terminalsWithGates_default.txt 1000"
+                + " --checkpoint 100 out");
+    }
+}
@@ -1,5 +1,6 @@
 package towersim.aircraft;
 
+import towersim.tasks.Task;
 import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
 import towersim.util.EmergencyState;
@@ -8,6 +9,8 @@ import towersim.util.OccupancyLevel;
 import towersim.util.Tickable;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -37,6 +40,30 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
     /** Whether the aircraft is currently in a state of emergency */
     private boolean emergency;
 
+    /**
+     * Percentage of fuel remaining, updated whenever the fuel amount changes, unless it is held
+     * in a fleet store
+     */
+    private int fuelPercent;
+
+    /**
+     * Landing priority tier, updated whenever the fuel amount or emergency status changes,
+     * unless it is held in a fleet store
+     */
+    private LandingPriority landingPriority;
+
+    /** Listeners to notify when the landing priority changes */
+    private final List<AircraftListener> listeners;
+
+    /**
+     * Fleet store holding this aircraft's fuel, cargo, emergency and task list state, or null
+     * if it is held in this object
+     */
+    private FleetStore fleet;
+
+    /** Row of this aircraft in its fleet store */
+    private int fleetRow;
+
     /**
      * Creates a new aircraft with the given callsign, task list, fuel capacity and amount.
      * <p>
@@ -66,6 +93,11 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
         this.tasks = tasks;
         this.fuelAmount = fuelAmount;
         this.emergency = false;
+        this.listeners = new ArrayList<>();
+        this.fleet = null;
+        this.fleetRow = -1;
+        this.fuelPercent = this.calculateFuelPercent();
+        this.landingPriority = this.calculateLandingPriority();
     }
 
     /**
@@ -85,9 +117,25 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public double getFuelAmount() {
+        if (this.fleet != null) {
+            return this.fleet.getFuelAmount(this.fleetRow);
+        }
         return fuelAmount;
     }
 
+    /**
+     * Sets the current amount of fuel onboard, in litres.
+     *
+     * @param fuelAmount - new fuel amount
+     */
+    private void setFuelAmount(double fuelAmount) {
+        if (this.fleet != null) {
+            this.fleet.setFuelAmount(this.fleetRow, fuelAmount);
+        } else {
+            this.fuelAmount = fuelAmount;
+        }
+    }
+
     /**
      * Returns this aircraft's characteristics.
      *
@@ -108,7 +156,49 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public int getFuelPercentRemaining() {
-        return (int) Math.round(100 * fuelAmount / this.characteristics.fuelCapacity);
+        if (this.fleet != null) {
+            return this.fleet.getFuelPercent(this.fleetRow);
+        }
+        return this.fuelPercent;
+    }
+
+    /**
+     * Returns the percentage of fuel remaining, as described in
+     * {@link #getFuelPercentRemaining()}, calculated from the current fuel amount.
+     *
+     * @return percentage of fuel remaining
+     */
+    private int calculateFuelPercent() {
+        return (int) Math.round(100 * this.getFuelAmount() / this.characteristics.fuelCapacity);
+    }
+
+    /**
+     * Returns the priority tier this aircraft would be placed in if it were waiting to land.
+     *
+     * The tier is {@link LandingPriority#EMERGENCY} if the aircraft is in a state of emergency,
+     * {@link LandingPriority#LOW_FUEL} if it has at most
+     * {@link LandingPriority#CRITICAL_FUEL_PERCENT} of its fuel remaining,
+     * {@link LandingPriority#PASSENGER} if it is a passenger aircraft, and
+     * {@link LandingPriority#OTHER} otherwise.
+     *
+     * @return landing priority tier
+     */
+    public LandingPriority getLandingPriority() {
+        if (this.fleet != null) {
+            return this.fleet.getLandingPriority(this.fleetRow);
+        }
+        return this.landingPriority;
+    }
+
+    /**
+     * Returns the landing priority tier described in {@link #getLandingPriority()}, calculated
+     * from the current state of this aircraft.
+     *
+     * @return landing priority tier
+     */
+    private LandingPriority calculateLandingPriority() {
+        return LandingPriority.of(this.hasEmergency(), this.fuelPercent,
+                this instanceof PassengerAircraft);
     }
 
     /**
@@ -125,7 +215,8 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public double getTotalWeight() {
-        return this.getCharacteristics().emptyWeight + this.fuelAmount * LITRE_OF_FUEL_WEIGHT;
+        return this.getCharacteristics().emptyWeight
+                + this.getFuelAmount() * LITRE_OF_FUEL_WEIGHT;
     }
 
     /**
@@ -167,24 +258,45 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public void tick() {
-        TaskType currentTaskType = this.tasks.getCurrentTask().getType();
+        Task currentTask = this.tasks.getCurrentTask();
+        TaskType currentTaskType = currentTask.getType();
+        double previousFuelAmount = this.getFuelAmount();
+        double fuelAmount = previousFuelAmount;
 
         // fuel amount drops by 10% of capacity each AWAY tick
         if (currentTaskType == TaskType.AWAY) {
-            this.fuelAmount -= this.characteristics.fuelCapacity / 10;
+            fuelAmount -= TickTable.fuelBurn(this.characteristics);
             // fuel amount can't go below 0
-            if (this.fuelAmount < 0) {
-                this.fuelAmount = 0;
+            if (fuelAmount < 0) {
+                fuelAmount = 0;
             }
         }
 
         // loading replenishes fuelCapacity/loadingTime of maximum fuel capacity
         if (currentTaskType == TaskType.LOAD) {
-            this.fuelAmount = Math.min(this.characteristics.fuelCapacity,
-                    this.fuelAmount + this.characteristics.fuelCapacity / getLoadingTime());
+            fuelAmount = Math.min(this.characteristics.fuelCapacity,
+                    fuelAmount + this.getRefuelAmount(currentTask.getLoadPercent()));
+        }
+
+        if (fuelAmount != previousFuelAmount) {
+            this.setFuelAmount(fuelAmount);
+            this.stateChanged();
         }
     }
 
+    /**
+     * Returns the fuel added during one tick of a LOAD task with the given load percentage,
+     * before limiting it to the fuel capacity: the fuel capacity divided by the loading time.
+     *
+     * Overridden by aircraft that can look up the amount instead of computing it.
+     *
+     * @param loadPercent - load percentage of the current LOAD task
+     * @return fuel added, in litres
+     */
+    double getRefuelAmount(int loadPercent) {
+        return this.characteristics.fuelCapacity / getLoadingTime();
+    }
+
     /**
      * Returns the human-readable string representation of this aircraft.
      * <p>
@@ -209,7 +321,7 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
                 this.callsign,
                 this.characteristics,
                 this.tasks.getCurrentTask().getType(),
-                this.emergency ? " (EMERGENCY)" : "");
+                this.hasEmergency() ? " (EMERGENCY)" : "");
     }
 
     /**
@@ -218,7 +330,8 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public void declareEmergency() {
-        this.emergency = true;
+        this.setEmergency(true);
+        this.stateChanged();
     }
 
     /**
@@ -227,7 +340,8 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public void clearEmergency() {
-        this.emergency = false;
+        this.setEmergency(false);
+        this.stateChanged();
     }
 
     /**
@@ -236,9 +350,145 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public boolean hasEmergency() {
+        if (this.fleet != null) {
+            return this.fleet.hasEmergency(this.fleetRow);
+        }
         return emergency;
     }
 
+    /**
+     * Sets whether the aircraft is currently in a state of emergency.
+     *
+     * @param emergency - true if in a state of emergency; false otherwise
+     */
+    private void setEmergency(boolean emergency) {
+        if (this.fleet != null) {
+            this.fleet.setEmergency(this.fleetRow, emergency);
+        } else {
+            this.emergency = emergency;
+        }
+    }
+
+    /**
+     * Registers the given listener to be notified whenever the landing priority of this
+     * aircraft changes.
+     *
+     * @param listener - listener to register
+     */
+    public void addListener(AircraftListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Stops the given listener from being notified of changes to this aircraft.
+     *
+     * If the listener is not registered, no action is taken.
+     *
+     * @param listener - listener to remove
+     */
+    public void removeListener(AircraftListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Returns the fleet store holding this aircraft's state, or null if the state is held in
+     * this object.
+     *
+     * @return fleet store of this aircraft; or null if none
+     */
+    FleetStore getFleet() {
+        return this.fleet;
+    }
+
+    /**
+     * Returns the row of this aircraft in its fleet store.
+     *
+     * @return fleet store row; or -1 if not in a fleet store
+     */
+    int getFleetRow() {
+        return this.fleetRow;
+    }
+
+    /**
+     * Moves this aircraft's fuel, cargo, emergency state, fuel percentage and landing priority
+     * into the given row of the given fleet store, or back into this object if the given store
+     * is null.
+     *
+     * The position of the aircraft's task list is moved by the fleet store itself.
+     *
+     * @param fleet - fleet store to hold this aircraft's state; or null
+     * @param fleetRow - row of this aircraft in the fleet store
+     */
+    void setFleet(FleetStore fleet, int fleetRow) {
+        double fuelAmount = this.getFuelAmount();
+        boolean emergency = this.hasEmergency();
+        int cargo = this.getCargo();
+        int fuelPercent = this.getFuelPercentRemaining();
+        LandingPriority landingPriority = this.getLandingPriority();
+        this.fleet = fleet;
+        this.fleetRow = fleetRow;
+        this.setFuelAmount(fuelAmount);
+        this.setEmergency(emergency);
+        this.setCargo(cargo);
+        if (fleet != null) {
+            fleet.setLandingPriority(fleetRow, fuelPercent, landingPriority);
+        } else {
+            this.fuelPercent = fuelPercent;
+            this.landingPriority = landingPriority;
+        }
+    }
+
+    /**
+     * Returns the amount of cargo (passengers or freight) onboard.
+     *
+     * Overridden by aircraft that carry cargo, so that it can be moved into a fleet store.
+     *
+     * @return amount of cargo onboard
+     */
+    int getCargo() {
+        return 0;
+    }
+
+    /**
+     * Sets the amount of cargo (passengers or freight) onboard.
+     *
+     * @param cargo - new amount of cargo onboard
+     */
+    void setCargo(int cargo) {
+        //Aircraft without cargo have nothing to set
+    }
+
+    /**
+     * Updates the cached fuel percentage and landing priority after the fuel amount or
+     * emergency status of this aircraft has changed, and notifies all registered listeners if
+     * the landing priority changed.
+     *
+     * If this aircraft is in a fleet store, the fuel percentage and landing priority in its
+     * row are updated instead.
+     */
+    void stateChanged() {
+        if (this.fleet != null) {
+            this.fleet.stateChanged(this.fleetRow);
+            return;
+        }
+        this.fuelPercent = this.calculateFuelPercent();
+        LandingPriority previousPriority = this.landingPriority;
+        this.landingPriority = this.calculateLandingPriority();
+        if (this.landingPriority != previousPriority) {
+            this.landingPriorityChanged();
+        }
+    }
+
+    /**
+     * Notifies all registered listeners that the landing priority of this aircraft has
+     * changed.
+     */
+    void landingPriorityChanged() {
+        for (AircraftListener listener : this.listeners) {
+            listener.landingPriorityChanged(this);
+        }
+    }
+
     //Start of assignment 2
     /**
      * Unloads the aircraft of all cargo (passengers/freight) it is currently carrying.
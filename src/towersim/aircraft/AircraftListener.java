@@ -0,0 +1,15 @@
+package towersim.aircraft;
+
+/**
+ * Listener that is notified when the landing priority of an aircraft has changed.
+ */
+public interface AircraftListener {
+    /**
+     * Called after the landing priority of the given aircraft has changed, as a result of a
+     * change to its emergency status or fuel onboard.
+     *
+     * @param aircraft - aircraft whose landing priority has changed
+     * @see Aircraft#getLandingPriority()
+     */
+    void landingPriorityChanged(Aircraft aircraft);
+}
@@ -0,0 +1,502 @@
+package towersim.aircraft;
+
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskPositions;
+import towersim.tasks.TaskType;
+
+import java.util.Arrays;
+
+/**
+ * Stores the state of a fleet of aircraft in parallel arrays, with one row per aircraft.
+ *
+ * Aircraft added to a fleet store keep their usual behaviour, but read and write their fuel,
+ * cargo, emergency state, fuel percentage and landing priority from their row of the store
+ * instead of their own fields, and their task lists keep the position of the current task in
+ * the row too (see {@link TaskList#setPositions(TaskPositions, int)}). This lets
+ * {@link #tick()} burn fuel and load every aircraft in one loop over primitive arrays, only
+ * calling back into an aircraft when its landing priority changes, instead of making one
+ * virtual {@code tick()} call per aircraft.
+ *
+ * Only {@link PassengerAircraft} and {@link FreightAircraft} can be added (not subclasses of
+ * them), since {@link #tick()} reproduces exactly their {@code tick()} behaviour. Aircraft
+ * that share a task list cannot be added to fleet stores, since each row holds the position of
+ * its own task list.
+ *
+ * Outside of {@link #tick()}, the state of each row is only accessed through the
+ * package-private row methods, so that subclasses such as {@link MappedFleetStore} can keep it
+ * somewhere other than the heap by overriding them along with {@link #tick()}.
+ */
+public class FleetStore {
+    /** Number of rows allocated when the store is created */
+    static final int INITIAL_CAPACITY = 16;
+
+    /** All aircraft characteristics, indexed by ordinal */
+    private static final AircraftCharacteristics[] MODELS = AircraftCharacteristics.values();
+
+    /** All landing priorities, indexed by ordinal */
+    private static final LandingPriority[] PRIORITIES = LandingPriority.values();
+
+    /** Ordinal of the AWAY task type */
+    static final byte AWAY = (byte) TaskType.AWAY.ordinal();
+
+    /** Ordinal of the LOAD task type */
+    static final byte LOAD = (byte) TaskType.LOAD.ordinal();
+
+    /** Aircraft in each row */
+    private Aircraft[] aircraft;
+
+    /** Positions of the task lists of the aircraft, kept in their rows of this store */
+    private final TaskPositions taskPositions;
+
+    /** Ordinal of the characteristics of the aircraft in each row */
+    private byte[] models;
+
+    /** Whether the aircraft in each row carries freight rather than passengers */
+    private boolean[] freight;
+
+    /** Fuel onboard the aircraft in each row, in litres */
+    private double[] fuelAmounts;
+
+    /** Passengers or freight onboard the aircraft in each row */
+    private int[] cargo;
+
+    /** Whether the aircraft in each row is in a state of emergency */
+    private boolean[] emergencies;
+
+    /** Percentage of fuel remaining of the aircraft in each row */
+    private byte[] fuelPercents;
+
+    /** Ordinal of the landing priority of the aircraft in each row */
+    private byte[] landingPriorities;
+
+    /** Index of the current task of the aircraft in each row */
+    private int[] taskIndices;
+
+    /** Ordinal of the type of the current task of the aircraft in each row */
+    private byte[] taskTypes;
+
+    /** Load percentage of the current task of the aircraft in each row */
+    private int[] loadPercents;
+
+    /** Number of rows in use */
+    private int size;
+
+    /**
+     * Creates a new, empty fleet store.
+     */
+    public FleetStore() {
+        this(true);
+    }
+
+    /**
+     * Creates a new, empty fleet store, which keeps the state of each row in arrays on the
+     * heap only if asked to.
+     *
+     * @param heapColumns - true to keep the state of each row on the heap; false if a subclass
+     *                    keeps it elsewhere by overriding every row method
+     */
+    FleetStore(boolean heapColumns) {
+        this.aircraft = new Aircraft[INITIAL_CAPACITY];
+        this.taskPositions = new RowTaskPositions();
+        this.size = 0;
+        if (!heapColumns) {
+            return;
+        }
+        this.models = new byte[INITIAL_CAPACITY];
+        this.freight = new boolean[INITIAL_CAPACITY];
+        this.fuelAmounts = new double[INITIAL_CAPACITY];
+        this.cargo = new int[INITIAL_CAPACITY];
+        this.emergencies = new boolean[INITIAL_CAPACITY];
+        this.fuelPercents = new byte[INITIAL_CAPACITY];
+        this.landingPriorities = new byte[INITIAL_CAPACITY];
+        this.taskIndices = new int[INITIAL_CAPACITY];
+        this.taskTypes = new byte[INITIAL_CAPACITY];
+        this.loadPercents = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds the given aircraft to the end of this store, moving its fuel, cargo, emergency and
+     * task list state into a new row.
+     *
+     * @param aircraft - aircraft to add
+     * @throws IllegalArgumentException - if the aircraft is not exactly a PassengerAircraft or
+     *                                  FreightAircraft, is already in a fleet store, or shares
+     *                                  its task list with an aircraft in a fleet store
+     */
+    public void add(Aircraft aircraft) {
+        boolean isFreight = aircraft.getClass() == FreightAircraft.class;
+        if (!isFreight && aircraft.getClass() != PassengerAircraft.class) {
+            throw new IllegalArgumentException("Only passenger and freight aircraft can be "
+                    + "stored in a fleet store");
+        }
+        if (aircraft.getFleet() != null) {
+            throw new IllegalArgumentException("Aircraft is already in a fleet store");
+        }
+        if (aircraft.getTaskList().hasPositions()) {
+            throw new IllegalArgumentException("Task list is shared with an aircraft in a fleet "
+                    + "store");
+        }
+
+        if (this.size == this.aircraft.length) {
+            int capacity = this.size * 2;
+            this.aircraft = Arrays.copyOf(this.aircraft, capacity);
+            this.growColumns(capacity);
+        }
+
+        int row = this.size++;
+        this.aircraft[row] = aircraft;
+        this.initRow(row, aircraft.getCharacteristics(), isFreight);
+        aircraft.getTaskList().setPositions(this.taskPositions, row);
+        aircraft.setFleet(this, row);
+    }
+
+    /**
+     * Grows the storage of the state of each row so that it can hold at least the given
+     * number of rows.
+     *
+     * @param capacity - number of rows to hold
+     */
+    void growColumns(int capacity) {
+        this.models = Arrays.copyOf(this.models, capacity);
+        this.freight = Arrays.copyOf(this.freight, capacity);
+        this.fuelAmounts = Arrays.copyOf(this.fuelAmounts, capacity);
+        this.cargo = Arrays.copyOf(this.cargo, capacity);
+        this.emergencies = Arrays.copyOf(this.emergencies, capacity);
+        this.fuelPercents = Arrays.copyOf(this.fuelPercents, capacity);
+        this.landingPriorities = Arrays.copyOf(this.landingPriorities, capacity);
+        this.taskIndices = Arrays.copyOf(this.taskIndices, capacity);
+        this.taskTypes = Arrays.copyOf(this.taskTypes, capacity);
+        this.loadPercents = Arrays.copyOf(this.loadPercents, capacity);
+    }
+
+    /**
+     * Records the characteristics of the aircraft in a newly added row.
+     *
+     * @param row - row of the aircraft
+     * @param model - characteristics of the aircraft
+     * @param isFreight - true if the aircraft carries freight rather than passengers
+     */
+    void initRow(int row, AircraftCharacteristics model, boolean isFreight) {
+        this.models[row] = (byte) model.ordinal();
+        this.freight[row] = isFreight;
+    }
+
+    /**
+     * Returns true if the given aircraft is stored in this fleet store.
+     *
+     * @param aircraft - aircraft to check
+     * @return true if the aircraft is in this store; false otherwise
+     */
+    public boolean contains(Aircraft aircraft) {
+        return aircraft.getFleet() == this;
+    }
+
+    /**
+     * Returns the number of aircraft in this store.
+     *
+     * @return number of aircraft
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all aircraft from this store, moving their state back into the aircraft
+     * themselves and their task lists.
+     */
+    public void clear() {
+        for (int row = 0; row < this.size; row++) {
+            this.aircraft[row].getTaskList().setPositions(null, -1);
+            this.aircraft[row].setFleet(null, -1);
+            this.aircraft[row] = null;
+        }
+        this.size = 0;
+    }
+
+    /**
+     * Ticks every aircraft in this store, in row order.
+     *
+     * The result is the same as calling {@link Aircraft#tick()} on each aircraft in the order
+     * they were added: AWAY aircraft burn fuel, LOAD aircraft refuel and load cargo, and
+     * listeners are notified of every aircraft whose landing priority changed.
+     */
+    public void tick() {
+        for (int row = 0; row < this.size; row++) {
+            byte taskType = this.taskTypes[row];
+            if (taskType != AWAY && taskType != LOAD) {
+                continue;
+            }
+            AircraftCharacteristics model = MODELS[this.models[row]];
+            boolean isFreight = this.freight[row];
+            double previousFuelAmount = this.fuelAmounts[row];
+            double fuelAmount = taskType == AWAY ? burnFuel(model, previousFuelAmount)
+                    : refuel(model, isFreight, this.loadPercents[row], previousFuelAmount);
+            if (fuelAmount != previousFuelAmount) {
+                this.fuelAmounts[row] = fuelAmount;
+                int fuelPercent = fuelPercent(model, fuelAmount);
+                if (fuelPercent != this.fuelPercents[row]) {
+                    this.fuelPercents[row] = (byte) fuelPercent;
+                    this.updateLandingPriority(row, LandingPriority.of(this.emergencies[row],
+                            fuelPercent, !isFreight));
+                }
+            }
+            if (taskType == LOAD) {
+                this.cargo[row] = loadCargo(model, isFreight, this.loadPercents[row],
+                        this.cargo[row]);
+            }
+        }
+    }
+
+    /**
+     * Stores the given landing priority for the aircraft in the given row, notifying the
+     * aircraft's listeners if it changed.
+     *
+     * @param row - row of the aircraft
+     * @param landingPriority - current landing priority of the aircraft
+     */
+    private void updateLandingPriority(int row, LandingPriority landingPriority) {
+        if (landingPriority.ordinal() != this.landingPriorities[row]) {
+            this.landingPriorities[row] = (byte) landingPriority.ordinal();
+            this.aircraft[row].landingPriorityChanged();
+        }
+    }
+
+    /**
+     * Updates the fuel percentage and landing priority of the aircraft in the given row after
+     * its fuel amount or emergency status has changed, and notifies the aircraft's listeners
+     * if the landing priority changed.
+     *
+     * @param row - row of the aircraft
+     */
+    void stateChanged(int row) {
+        int fuelPercent = fuelPercent(this.getModel(row), this.getFuelAmount(row));
+        LandingPriority previousPriority = this.getLandingPriority(row);
+        LandingPriority landingPriority = LandingPriority.of(this.hasEmergency(row),
+                fuelPercent, !this.isFreight(row));
+        this.setLandingPriority(row, fuelPercent, landingPriority);
+        if (landingPriority != previousPriority) {
+            this.getAircraft(row).landingPriorityChanged();
+        }
+    }
+
+    /**
+     * Returns the fuel left after an aircraft with the given characteristics and fuel amount
+     * spends one tick AWAY.
+     *
+     * @param model - characteristics of the aircraft
+     * @param fuelAmount - fuel onboard, in litres
+     * @return fuel onboard after the tick, in litres
+     */
+    static double burnFuel(AircraftCharacteristics model, double fuelAmount) {
+        // fuel amount can't go below 0
+        return Math.max(0, fuelAmount - TickTable.fuelBurn(model));
+    }
+
+    /**
+     * Returns the fuel onboard after an aircraft with the given characteristics and fuel amount
+     * spends one tick on a LOAD task with the given load percentage.
+     *
+     * @param model - characteristics of the aircraft
+     * @param isFreight - true if the aircraft carries freight rather than passengers
+     * @param loadPercent - load percentage of the LOAD task
+     * @param fuelAmount - fuel onboard, in litres
+     * @return fuel onboard after the tick, in litres
+     */
+    static double refuel(AircraftCharacteristics model, boolean isFreight, int loadPercent,
+                         double fuelAmount) {
+        TickTable table = isFreight ? TickTable.FREIGHT : TickTable.PASSENGER;
+        return Math.min(model.fuelCapacity, fuelAmount + table.refuelAmount(model, loadPercent));
+    }
+
+    /**
+     * Returns the cargo onboard after an aircraft with the given characteristics and cargo
+     * spends one tick on a LOAD task with the given load percentage.
+     *
+     * @param model - characteristics of the aircraft
+     * @param isFreight - true if the aircraft carries freight rather than passengers
+     * @param loadPercent - load percentage of the LOAD task
+     * @param cargo - cargo onboard
+     * @return cargo onboard after the tick
+     */
+    static int loadCargo(AircraftCharacteristics model, boolean isFreight, int loadPercent,
+                         int cargo) {
+        TickTable table = isFreight ? TickTable.FREIGHT : TickTable.PASSENGER;
+        int capacity = isFreight ? model.freightCapacity : model.passengerCapacity;
+        return Math.min(cargo + table.cargoPerTick(model, loadPercent), capacity);
+    }
+
+    /**
+     * Returns the percentage of fuel remaining of an aircraft with the given characteristics
+     * and fuel amount, as described in {@link Aircraft#getFuelPercentRemaining()}.
+     *
+     * @param model - characteristics of the aircraft
+     * @param fuelAmount - fuel onboard, in litres
+     * @return percentage of fuel remaining
+     */
+    static int fuelPercent(AircraftCharacteristics model, double fuelAmount) {
+        return (int) Math.round(100 * fuelAmount / model.fuelCapacity);
+    }
+
+    /**
+     * Returns the aircraft in the given row.
+     *
+     * @param row - row of the aircraft
+     * @return aircraft
+     */
+    Aircraft getAircraft(int row) {
+        return this.aircraft[row];
+    }
+
+    /**
+     * Returns the characteristics of the aircraft in the given row.
+     *
+     * @param row - row of the aircraft
+     * @return characteristics of the aircraft
+     */
+    AircraftCharacteristics getModel(int row) {
+        return MODELS[this.models[row]];
+    }
+
+    /**
+     * Returns whether the aircraft in the given row carries freight rather than passengers.
+     *
+     * @param row - row of the aircraft
+     * @return true if the aircraft carries freight; false otherwise
+     */
+    boolean isFreight(int row) {
+        return this.freight[row];
+    }
+
+    /**
+     * Returns the fuel onboard the aircraft in the given row.
+     *
+     * @param row - row of the aircraft
+     * @return fuel amount, in litres
+     */
+    double getFuelAmount(int row) {
+        return this.fuelAmounts[row];
+    }
+
+    /**
+     * Sets the fuel onboard the aircraft in the given row.
+     *
+     * @param row - row of the aircraft
+     * @param fuelAmount - new fuel amount, in litres
+     */
+    void setFuelAmount(int row, double fuelAmount) {
+        this.fuelAmounts[row] = fuelAmount;
+    }
+
+    /**
+     * Returns the passengers or freight onboard the aircraft in the given row.
+     *
+     * @param row - row of the aircraft
+     * @return amount of cargo
+     */
+    int getCargo(int row) {
+        return this.cargo[row];
+    }
+
+    /**
+     * Sets the passengers or freight onboard the aircraft in the given row.
+     *
+     * @param row - row of the aircraft
+     * @param cargo - new amount of cargo
+     */
+    void setCargo(int row, int cargo) {
+        this.cargo[row] = cargo;
+    }
+
+    /**
+     * Returns whether the aircraft in the given row is in a state of emergency.
+     *
+     * @param row - row of the aircraft
+     * @return true if in a state of emergency; false otherwise
+     */
+    boolean hasEmergency(int row) {
+        return this.emergencies[row];
+    }
+
+    /**
+     * Sets whether the aircraft in the given row is in a state of emergency.
+     *
+     * @param row - row of the aircraft
+     * @param emergency - true if in a state of emergency; false otherwise
+     */
+    void setEmergency(int row, boolean emergency) {
+        this.emergencies[row] = emergency;
+    }
+
+    /**
+     * Returns the percentage of fuel remaining of the aircraft in the given row.
+     *
+     * @param row - row of the aircraft
+     * @return percentage of fuel remaining
+     */
+    int getFuelPercent(int row) {
+        return this.fuelPercents[row];
+    }
+
+    /**
+     * Returns the landing priority of the aircraft in the given row.
+     *
+     * @param row - row of the aircraft
+     * @return landing priority tier
+     */
+    LandingPriority getLandingPriority(int row) {
+        return PRIORITIES[this.landingPriorities[row]];
+    }
+
+    /**
+     * Sets the fuel percentage and landing priority of the aircraft in the given row, without
+     * notifying its listeners.
+     *
+     * @param row - row of the aircraft
+     * @param fuelPercent - percentage of fuel remaining
+     * @param landingPriority - landing priority tier
+     */
+    void setLandingPriority(int row, int fuelPercent, LandingPriority landingPriority) {
+        this.fuelPercents[row] = (byte) fuelPercent;
+        this.landingPriorities[row] = (byte) landingPriority.ordinal();
+    }
+
+    /**
+     * Returns the index of the current task of the aircraft in the given row.
+     *
+     * @param row - row of the aircraft
+     * @return index of current task
+     */
+    int getTaskIndex(int row) {
+        return this.taskIndices[row];
+    }
+
+    /**
+     * Sets the current task of the aircraft in the given row.
+     *
+     * @param row - row of the aircraft
+     * @param taskIndex - index of the new current task
+     * @param type - type of the new current task
+     * @param loadPercent - load percentage of the new current task
+     */
+    void setTask(int row, int taskIndex, TaskType type, int loadPercent) {
+        this.taskIndices[row] = taskIndex;
+        this.taskTypes[row] = (byte) type.ordinal();
+        this.loadPercents[row] = loadPercent;
+    }
+
+    /**
+     * Positions of the current tasks of the aircraft in this store, with the slot of each
+     * task list being the row of its aircraft.
+     */
+    private class RowTaskPositions implements TaskPositions {
+        @Override
+        public int getTaskIndex(int slot) {
+            return FleetStore.this.getTaskIndex(slot);
+        }
+
+        @Override
+        public void setTask(int slot, int taskIndex, TaskType type, int loadPercent) {
+            FleetStore.this.setTask(slot, taskIndex, type, loadPercent);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package towersim.aircraft;
 
+import towersim.tasks.Task;
 import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
 
@@ -44,6 +45,32 @@ public class FreightAircraft extends Aircraft {
         this.freightAmount = freightAmount;
     }
 
+    /**
+     * Returns the amount of freight currently onboard the aircraft.
+     *
+     * @return freight onboard in kilograms
+     */
+    public int getFreightAmount() {
+        return this.getCargo();
+    }
+
+    @Override
+    int getCargo() {
+        if (this.getFleet() != null) {
+            return this.getFleet().getCargo(this.getFleetRow());
+        }
+        return this.freightAmount;
+    }
+
+    @Override
+    void setCargo(int cargo) {
+        if (this.getFleet() != null) {
+            this.getFleet().setCargo(this.getFleetRow(), cargo);
+        } else {
+            this.freightAmount = cargo;
+        }
+    }
+
     /**
      * Returns the total weight of the aircraft in its current state.
      * <p>
@@ -59,7 +86,7 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public double getTotalWeight() {
-        return super.getTotalWeight() + this.freightAmount;
+        return super.getTotalWeight() + this.getCargo();
     }
 
     /**
@@ -85,8 +112,23 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public int getLoadingTime() {
-        int freightToLoad = this.getFreightToLoad();
+        return TickTable.FREIGHT.loadingTime(this.getCharacteristics(),
+                this.getTaskList().getCurrentTask().getLoadPercent());
+    }
+
+    @Override
+    double getRefuelAmount(int loadPercent) {
+        return TickTable.FREIGHT.refuelAmount(this.getCharacteristics(), loadPercent);
+    }
 
+    /**
+     * Returns the loading time for the given amount of freight, as described in
+     * {@link #getLoadingTime()}.
+     *
+     * @param freightToLoad - total amount of freight to be loaded, in kilograms
+     * @return loading time in ticks
+     */
+    static int loadingTime(int freightToLoad) {
         if (freightToLoad < 1000) {
             return 1;
         } else if (freightToLoad <= 50000) {
@@ -110,20 +152,20 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public int calculateOccupancyLevel() {
-        return (int) Math.round((double) this.freightAmount * 100
+        return (int) Math.round((double) this.getCargo() * 100
                 / this.getCharacteristics().freightCapacity);
     }
 
     /**
-     * Returns the total amount of freight to be loaded onto the aircraft based on the current
-     * task's load percentage.
+     * Returns the total amount of freight to be loaded onto an aircraft with the given freight
+     * capacity for the given load percentage.
      *
-     * @return total freight to be loaded, in kilograms
-     * @ass1
+     * @param freightCapacity - maximum amount of freight, in kilograms
+     * @param loadPercent - load percentage of the current task
+     * @return total amount of freight to be loaded, in kilograms
      */
-    private int getFreightToLoad() {
-        int freightCapacity = this.getCharacteristics().freightCapacity;
-        double loadRatio = (double) this.getTaskList().getCurrentTask().getLoadPercent() / 100;
+    static int freightToLoad(int freightCapacity, int loadPercent) {
+        double loadRatio = (double) loadPercent / 100;
         return (int) Math.round(freightCapacity * loadRatio);
     }
 
@@ -157,11 +199,12 @@ public class FreightAircraft extends Aircraft {
     public void tick() {
         super.tick();
 
-        if (this.getTaskList().getCurrentTask().getType() == TaskType.LOAD) {
-            int freightToLoadThisTick = (int) Math.round(this.getFreightToLoad()
-                    / (double) this.getLoadingTime());
-            this.freightAmount = Math.min(this.freightAmount + freightToLoadThisTick,
-                    this.getCharacteristics().freightCapacity);
+        Task currentTask = this.getTaskList().getCurrentTask();
+        if (currentTask.getType() == TaskType.LOAD) {
+            int freightToLoadThisTick = TickTable.FREIGHT.cargoPerTick(this.getCharacteristics(),
+                    currentTask.getLoadPercent());
+            this.setCargo(Math.min(this.getCargo() + freightToLoadThisTick,
+                    this.getCharacteristics().freightCapacity));
         }
     }
 
@@ -174,7 +217,7 @@ public class FreightAircraft extends Aircraft {
      * should return 0 to indicate that the aircraft is empty.
      */
     public void unload() {
-        this.freightAmount = 0;
+        this.setCargo(0);
     }
 
     /**
@@ -195,6 +238,6 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public String encode() {
-        return super.encode() + ":" + this.freightAmount;
+        return super.encode() + ":" + this.getCargo();
     }
 }
@@ -0,0 +1,45 @@
+package towersim.aircraft;
+
+/**
+ * Priority tiers that aircraft waiting to land are placed in, from most to least urgent.
+ *
+ * An aircraft belongs to the first tier whose condition it meets (see
+ * {@link Aircraft#getLandingPriority()}).
+ */
+public enum LandingPriority {
+    /** Aircraft that are in a state of emergency */
+    EMERGENCY,
+
+    /** Aircraft with at most {@link #CRITICAL_FUEL_PERCENT} of their fuel remaining */
+    LOW_FUEL,
+
+    /** Passenger aircraft */
+    PASSENGER,
+
+    /** All other aircraft */
+    OTHER;
+
+    /** Fuel percentage at or below which an aircraft is considered to be at a critical level */
+    public static final int CRITICAL_FUEL_PERCENT = 20;
+
+    /**
+     * Returns the priority tier of an aircraft with the given state.
+     *
+     * @param emergency - whether the aircraft is in a state of emergency
+     * @param fuelPercent - percentage of fuel remaining, as returned by
+     *                    {@link Aircraft#getFuelPercentRemaining()}
+     * @param passenger - whether the aircraft is a passenger aircraft
+     * @return priority tier of the aircraft
+     */
+    static LandingPriority of(boolean emergency, int fuelPercent, boolean passenger) {
+        if (emergency) {
+            return EMERGENCY;
+        } else if (fuelPercent <= CRITICAL_FUEL_PERCENT) {
+            return LOW_FUEL;
+        } else if (passenger) {
+            return PASSENGER;
+        } else {
+            return OTHER;
+        }
+    }
+}
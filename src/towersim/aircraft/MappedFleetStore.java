@@ -0,0 +1,578 @@
+package towersim.aircraft;
+
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Fleet store that keeps the state of each aircraft in a memory-mapped file instead of on the
+ * heap, and can checkpoint that state so it can be read back after the program stops.
+ *
+ * Each row of the file holds the fuel, cargo, emergency state, characteristics, landing
+ * priority and task list position of one aircraft, as a fixed-size record that is read and
+ * written in place while ticking. Alongside the live record, each row has two checkpoint
+ * records. Each call to {@link #checkpoint(long)} copies the live records into the older of the
+ * two checkpoints, then writes that checkpoint's header, which holds a checksum of the records
+ * it covers. The file is forced to storage before and after the header is written, so if the
+ * program stops part way through a checkpoint, the other checkpoint is still complete and is
+ * used by {@link #recover(Path, long, List)}.
+ *
+ * The file has the format:
+ * <pre>
+ * header: magic (int), version (int), record size (int), unused (int)
+ * checkpoint header 0: generation (long), ticks elapsed (long), rows (int), unused (int),
+ *                      checksum (long)
+ * checkpoint header 1: as above
+ * row 0: live record, checkpoint 0 record, checkpoint 1 record
+ * row 1: ...
+ * </pre>
+ * and each record has the format:
+ * <pre>
+ * fuel amount (double), cargo (int), current task index (int),
+ * characteristics ordinal (byte), flags (byte), current task type ordinal (byte),
+ * fuel percentage (byte), number of tasks (int), current task load percentage (int),
+ * landing priority ordinal (byte), unused (byte, short)
+ * </pre>
+ * where bit 0 of the flags is set if the aircraft is in a state of emergency, and bit 1 is set
+ * if the aircraft carries freight.
+ *
+ * A checkpoint only holds the state of the aircraft in the store, not the rest of the state of
+ * their control tower, such as its queues, gates and loading aircraft. To recover a control
+ * tower, it must first be loaded from a save written at the same tick as the checkpoint, which
+ * {@link #recover(Path, long, List)} checks; the checkpoint then restores the exact fuel and
+ * cargo of each aircraft on top of the save.
+ *
+ * This is not a crash-recovery path. A save written at the same tick already holds the cargo,
+ * emergency state and current task of every aircraft, and all of its fuel amount apart from
+ * digits beyond the second decimal place, so recovering adds only those digits. Nothing in the
+ * simulation writes checkpoints or pairs them with saves; callers that use this store are
+ * responsible for writing both at the same tick, and for recovering from the save alone if
+ * the program stops between writing one and the other.
+ *
+ * The aircraft objects themselves, with their callsigns, listeners and task lists, remain on
+ * the heap, as does an array of references to them; only the state that is read and written on
+ * every tick is moved into the file. As a single mapping is used, a file can hold at most
+ * around 22 million aircraft.
+ */
+public class MappedFleetStore extends FleetStore implements Closeable {
+    /** Number identifying a fleet store file */
+    private static final int MAGIC = 0x464c5431;
+
+    /** Version of the file format */
+    private static final int VERSION = 2;
+
+    /** Size of each record, in bytes */
+    private static final int RECORD_BYTES = 32;
+
+    /** Size of each row (a live record and two checkpoint records), in bytes */
+    private static final int ROW_BYTES = 3 * RECORD_BYTES;
+
+    /** Position of the first checkpoint header */
+    private static final int CHECKPOINT_HEADERS = 16;
+
+    /** Size of each checkpoint header, in bytes */
+    private static final int CHECKPOINT_HEADER_BYTES = 32;
+
+    /** Position of the first row */
+    private static final int HEADER_BYTES = CHECKPOINT_HEADERS + 2 * CHECKPOINT_HEADER_BYTES;
+
+    /** Position of the fuel amount within a record */
+    private static final int FUEL = 0;
+
+    /** Position of the cargo within a record */
+    private static final int CARGO = 8;
+
+    /** Position of the current task index within a record */
+    private static final int TASK_INDEX = 12;
+
+    /** Position of the characteristics ordinal within a record */
+    private static final int MODEL = 16;
+
+    /** Position of the flags within a record */
+    private static final int FLAGS = 17;
+
+    /** Position of the current task type ordinal within a record */
+    private static final int TASK_TYPE = 18;
+
+    /** Position of the fuel percentage within a record */
+    private static final int FUEL_PERCENT = 19;
+
+    /** Position of the number of tasks within a record */
+    private static final int NUM_TASKS = 20;
+
+    /** Position of the current task load percentage within a record */
+    private static final int LOAD_PERCENT = 24;
+
+    /** Position of the landing priority ordinal within a record */
+    private static final int PRIORITY = 28;
+
+    /** Flag set if the aircraft is in a state of emergency */
+    private static final byte EMERGENCY_FLAG = 1;
+
+    /** Flag set if the aircraft carries freight */
+    private static final byte FREIGHT_FLAG = 2;
+
+    /** All aircraft characteristics, indexed by ordinal */
+    private static final AircraftCharacteristics[] MODELS = AircraftCharacteristics.values();
+
+    /** All landing priorities, indexed by ordinal */
+    private static final LandingPriority[] PRIORITIES = LandingPriority.values();
+
+    /** Channel of the file that rows are stored in */
+    private final FileChannel channel;
+
+    /** Mapping of the whole file */
+    private MappedByteBuffer buffer;
+
+    /** Generation of the most recently written checkpoint, or 0 if none was written */
+    private long generation;
+
+    /** Checkpoint (0 or 1) that the most recent checkpoint was written to */
+    private int lastCheckpoint;
+
+    /** Number of ticks elapsed at the most recently written or recovered checkpoint */
+    private long checkpointTicksElapsed;
+
+    /**
+     * Creates a new, empty fleet store backed by the given file, replacing any existing
+     * contents of the file.
+     *
+     * @param file - file to store aircraft state in
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public MappedFleetStore(Path file) throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+        try {
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    fileSize(INITIAL_CAPACITY));
+        } catch (IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+        this.buffer.putInt(0, MAGIC);
+        this.buffer.putInt(4, VERSION);
+        this.buffer.putInt(8, RECORD_BYTES);
+        this.buffer.force();
+    }
+
+    /**
+     * Creates a new fleet store backed by the given open file, which has not yet been mapped.
+     *
+     * @param channel - channel of the file
+     */
+    private MappedFleetStore(FileChannel channel) {
+        super(false);
+        this.channel = channel;
+        this.buffer = null;
+        this.generation = 0;
+        this.lastCheckpoint = 1;
+        this.checkpointTicksElapsed = 0;
+    }
+
+    /**
+     * Opens the given fleet store file and restores the state of the given aircraft from its
+     * most recent complete checkpoint.
+     *
+     * The aircraft must be those of a control tower loaded from a save written at the same
+     * tick as the checkpoint, given in the same order they were added to the store that wrote
+     * the checkpoint. Each one is added to the returned store, and its fuel, cargo and
+     * emergency state are set to their values in the checkpoint. The current task of each
+     * aircraft comes from the save, and must match the checkpoint, since it is not restored.
+     * Aircraft after the last checkpointed row are not added or changed.
+     *
+     * @param file - fleet store file to open
+     * @param ticksElapsed - number of ticks elapsed for the control tower the aircraft belong to
+     * @param aircraft - aircraft in the order they were added to the store
+     * @return fleet store backed by the file, holding the restored aircraft
+     * @throws IOException if the file cannot be read or mapped
+     * @throws MalformedSaveException if the file is not a fleet store file, has no complete
+     *                                checkpoint, its most recent checkpoint was not written at
+     *                                the given tick, or it does not match the given aircraft
+     */
+    public static MappedFleetStore recover(Path file, long ticksElapsed, List<Aircraft> aircraft)
+            throws IOException, MalformedSaveException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedFleetStore store = new MappedFleetStore(channel);
+        try {
+            store.restore(ticksElapsed, aircraft);
+        } catch (IOException | MalformedSaveException | RuntimeException e) {
+            //Give back the state of any aircraft that were already restored
+            store.clear();
+            channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Maps the file of this store and restores the given aircraft from its most recent
+     * complete checkpoint, as described in {@link #recover(Path, long, List)}.
+     *
+     * @param ticksElapsed - number of ticks elapsed for the control tower the aircraft belong to
+     * @param aircraft - aircraft in the order they were added to the store
+     * @throws IOException if the file cannot be read or mapped
+     * @throws MalformedSaveException if the file has no complete checkpoint matching the
+     *                                given tick and aircraft
+     */
+    private void restore(long ticksElapsed, List<Aircraft> aircraft)
+            throws IOException, MalformedSaveException {
+        long fileSize = this.channel.size();
+        if (fileSize < HEADER_BYTES || fileSize > Integer.MAX_VALUE) {
+            throw new MalformedSaveException("File is not a fleet store file");
+        }
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        if (this.buffer.getInt(0) != MAGIC || this.buffer.getInt(4) != VERSION
+                || this.buffer.getInt(8) != RECORD_BYTES) {
+            throw new MalformedSaveException("File is not a fleet store file");
+        }
+
+        //Use the complete checkpoint with the highest generation
+        int checkpoint = -1;
+        for (int i = 0; i < 2; i++) {
+            long checkpointGeneration = this.buffer.getLong(checkpointHeader(i));
+            if (checkpointGeneration > this.generation && this.isComplete(i)) {
+                checkpoint = i;
+                this.generation = checkpointGeneration;
+            }
+        }
+        if (checkpoint == -1) {
+            throw new MalformedSaveException("File has no complete checkpoint");
+        }
+        this.lastCheckpoint = checkpoint;
+        this.checkpointTicksElapsed = this.buffer.getLong(checkpointHeader(checkpoint) + 8);
+        //The rest of the control tower's state comes from its save, which must be from the
+        //same tick
+        if (this.checkpointTicksElapsed != ticksElapsed) {
+            throw new MalformedSaveException("Checkpoint was written at tick "
+                    + this.checkpointTicksElapsed + ", not tick " + ticksElapsed);
+        }
+
+        int numRows = this.buffer.getInt(checkpointHeader(checkpoint) + 16);
+        if (numRows > aircraft.size()) {
+            throw new MalformedSaveException("Checkpoint holds more aircraft than were given");
+        }
+        for (int row = 0; row < numRows; row++) {
+            this.restoreRow(row, aircraft.get(row), record(row, checkpoint));
+        }
+    }
+
+    /**
+     * Adds the given aircraft to this store and restores its fuel, cargo and emergency state
+     * from the given checkpoint record.
+     *
+     * @param row - row the aircraft is expected to be added to
+     * @param aircraft - aircraft to restore
+     * @param record - position of the checkpoint record of the aircraft
+     * @throws MalformedSaveException if the record does not match the aircraft
+     */
+    private void restoreRow(int row, Aircraft aircraft, int record)
+            throws MalformedSaveException {
+        byte flags = this.buffer.get(record + FLAGS);
+        boolean isFreight = (flags & FREIGHT_FLAG) != 0;
+        TaskList tasks = aircraft.getTaskList();
+        //Saves rotate task lists to start from the current task, so only the current task
+        //itself can be compared
+        Task task = tasks.getCurrentTask();
+        if (this.buffer.get(record + MODEL) != aircraft.getCharacteristics().ordinal()
+                || isFreight != (aircraft.getClass() == FreightAircraft.class)
+                || this.buffer.getInt(record + NUM_TASKS) != tasks.getTasks().size()
+                || this.buffer.get(record + TASK_TYPE) != task.getType().ordinal()
+                || this.buffer.getInt(record + LOAD_PERCENT) != task.getLoadPercent()) {
+            throw new MalformedSaveException("Checkpoint does not match aircraft "
+                    + aircraft.getCallsign());
+        }
+
+        try {
+            this.add(aircraft);
+        } catch (IllegalArgumentException e) {
+            throw new MalformedSaveException(e);
+        }
+        int live = record(row, -1);
+        this.buffer.putDouble(live + FUEL, this.buffer.getDouble(record + FUEL));
+        this.buffer.putInt(live + CARGO, this.buffer.getInt(record + CARGO));
+        this.buffer.put(live + FLAGS, flags);
+        aircraft.stateChanged();
+    }
+
+    /**
+     * Returns true if the given checkpoint was completely written, that is, its checksum
+     * matches its header and records.
+     *
+     * @param checkpoint - checkpoint to check (0 or 1)
+     * @return true if the checkpoint is complete; false otherwise
+     */
+    private boolean isComplete(int checkpoint) {
+        int numRows = this.buffer.getInt(checkpointHeader(checkpoint) + 16);
+        if (numRows < 0 || fileSize(numRows) > this.buffer.capacity()) {
+            return false;
+        }
+        return this.checksum(checkpoint, numRows)
+                == this.buffer.getLong(checkpointHeader(checkpoint) + 24);
+    }
+
+    /**
+     * Writes a checkpoint of the state of every aircraft in this store, which can later be
+     * restored by {@link #recover(Path, long, List)}.
+     *
+     * The checkpoint is complete once this method returns. If the program stops while this
+     * method is running, the previous checkpoint can still be recovered.
+     *
+     * @param ticksElapsed - number of ticks elapsed for the control tower being checkpointed
+     */
+    public void checkpoint(long ticksElapsed) {
+        int checkpoint = 1 - this.lastCheckpoint;
+        int numRows = this.size();
+        for (int row = 0; row < numRows; row++) {
+            int live = record(row, -1);
+            int record = record(row, checkpoint);
+            for (int i = 0; i < RECORD_BYTES; i += 8) {
+                this.buffer.putLong(record + i, this.buffer.getLong(live + i));
+            }
+        }
+
+        int header = checkpointHeader(checkpoint);
+        this.buffer.putLong(header, this.generation + 1);
+        this.buffer.putLong(header + 8, ticksElapsed);
+        this.buffer.putInt(header + 16, numRows);
+        //Records must be stored before the header that marks them as complete
+        this.buffer.force();
+        this.buffer.putLong(header + 24, this.checksum(checkpoint, numRows));
+        this.buffer.force();
+
+        this.generation++;
+        this.lastCheckpoint = checkpoint;
+        this.checkpointTicksElapsed = ticksElapsed;
+    }
+
+    /**
+     * Returns the number of ticks elapsed that was given when the most recent checkpoint was
+     * written, or that was stored in the checkpoint this store was recovered from.
+     *
+     * @return ticks elapsed at the most recent checkpoint; or 0 if there is none
+     */
+    public long getCheckpointTicksElapsed() {
+        return this.checkpointTicksElapsed;
+    }
+
+    /**
+     * Moves the state of all aircraft back into the aircraft themselves, and closes the file.
+     *
+     * Checkpoints already written remain in the file. This store must not be used after it
+     * has been closed.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.clear();
+        this.buffer.force();
+        this.channel.close();
+    }
+
+    /**
+     * Returns the checksum of the given checkpoint's header and first given number of
+     * records.
+     *
+     * @param checkpoint - checkpoint to find the checksum of (0 or 1)
+     * @param numRows - number of records to include
+     * @return checksum
+     */
+    private long checksum(int checkpoint, int numRows) {
+        CRC32 crc = new CRC32();
+        ByteBuffer view = this.buffer.duplicate();
+        int header = checkpointHeader(checkpoint);
+        crc.update(view.limit(header + 24).position(header));
+        for (int row = 0; row < numRows; row++) {
+            int record = record(row, checkpoint);
+            view.limit(record + RECORD_BYTES).position(record);
+            crc.update(view);
+        }
+        return crc.getValue();
+    }
+
+    @Override
+    void growColumns(int capacity) {
+        long fileSize = fileSize(capacity);
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Fleet store file cannot hold more aircraft");
+        }
+        try {
+            //Mapping beyond the end of the file extends it; a recovered file may already be
+            //larger than needed
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    Math.max(fileSize, this.buffer.capacity()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Ticks every aircraft in this store, in row order, as described in
+     * {@link FleetStore#tick()}, reading and writing their records in place.
+     */
+    @Override
+    public void tick() {
+        int numRows = this.size();
+        for (int row = 0; row < numRows; row++) {
+            int live = record(row, -1);
+            byte taskType = this.buffer.get(live + TASK_TYPE);
+            if (taskType != AWAY && taskType != LOAD) {
+                continue;
+            }
+            AircraftCharacteristics model = MODELS[this.buffer.get(live + MODEL)];
+            byte flags = this.buffer.get(live + FLAGS);
+            boolean isFreight = (flags & FREIGHT_FLAG) != 0;
+            int loadPercent = this.buffer.getInt(live + LOAD_PERCENT);
+            double previousFuelAmount = this.buffer.getDouble(live + FUEL);
+            double fuelAmount = taskType == AWAY ? burnFuel(model, previousFuelAmount)
+                    : refuel(model, isFreight, loadPercent, previousFuelAmount);
+            if (fuelAmount != previousFuelAmount) {
+                this.buffer.putDouble(live + FUEL, fuelAmount);
+                int fuelPercent = fuelPercent(model, fuelAmount);
+                if (fuelPercent != this.buffer.get(live + FUEL_PERCENT)) {
+                    this.buffer.put(live + FUEL_PERCENT, (byte) fuelPercent);
+                    LandingPriority landingPriority = LandingPriority.of(
+                            (flags & EMERGENCY_FLAG) != 0, fuelPercent, !isFreight);
+                    if (landingPriority.ordinal() != this.buffer.get(live + PRIORITY)) {
+                        this.buffer.put(live + PRIORITY, (byte) landingPriority.ordinal());
+                        this.getAircraft(row).landingPriorityChanged();
+                    }
+                }
+            }
+            if (taskType == LOAD) {
+                this.buffer.putInt(live + CARGO, loadCargo(model, isFreight, loadPercent,
+                        this.buffer.getInt(live + CARGO)));
+            }
+        }
+    }
+
+    @Override
+    void initRow(int row, AircraftCharacteristics model, boolean isFreight) {
+        int live = record(row, -1);
+        for (int i = 0; i < RECORD_BYTES; i += 8) {
+            this.buffer.putLong(live + i, 0);
+        }
+        this.buffer.put(live + MODEL, (byte) model.ordinal());
+        this.buffer.put(live + FLAGS, isFreight ? FREIGHT_FLAG : 0);
+        TaskList tasks = this.getAircraft(row).getTaskList();
+        this.buffer.putInt(live + NUM_TASKS, tasks.getTasks().size());
+    }
+
+    @Override
+    AircraftCharacteristics getModel(int row) {
+        return MODELS[this.buffer.get(record(row, -1) + MODEL)];
+    }
+
+    @Override
+    boolean isFreight(int row) {
+        return (this.buffer.get(record(row, -1) + FLAGS) & FREIGHT_FLAG) != 0;
+    }
+
+    @Override
+    double getFuelAmount(int row) {
+        return this.buffer.getDouble(record(row, -1) + FUEL);
+    }
+
+    @Override
+    void setFuelAmount(int row, double fuelAmount) {
+        this.buffer.putDouble(record(row, -1) + FUEL, fuelAmount);
+    }
+
+    @Override
+    int getCargo(int row) {
+        return this.buffer.getInt(record(row, -1) + CARGO);
+    }
+
+    @Override
+    void setCargo(int row, int cargo) {
+        this.buffer.putInt(record(row, -1) + CARGO, cargo);
+    }
+
+    @Override
+    boolean hasEmergency(int row) {
+        return (this.buffer.get(record(row, -1) + FLAGS) & EMERGENCY_FLAG) != 0;
+    }
+
+    @Override
+    void setEmergency(int row, boolean emergency) {
+        int flags = record(row, -1) + FLAGS;
+        byte value = this.buffer.get(flags);
+        this.buffer.put(flags, (byte) (emergency ? value | EMERGENCY_FLAG
+                : value & ~EMERGENCY_FLAG));
+    }
+
+    @Override
+    int getFuelPercent(int row) {
+        return this.buffer.get(record(row, -1) + FUEL_PERCENT);
+    }
+
+    @Override
+    LandingPriority getLandingPriority(int row) {
+        return PRIORITIES[this.buffer.get(record(row, -1) + PRIORITY)];
+    }
+
+    @Override
+    void setLandingPriority(int row, int fuelPercent, LandingPriority landingPriority) {
+        int live = record(row, -1);
+        this.buffer.put(live + FUEL_PERCENT, (byte) fuelPercent);
+        this.buffer.put(live + PRIORITY, (byte) landingPriority.ordinal());
+    }
+
+    @Override
+    int getTaskIndex(int row) {
+        return this.buffer.getInt(record(row, -1) + TASK_INDEX);
+    }
+
+    @Override
+    void setTask(int row, int taskIndex, TaskType type, int loadPercent) {
+        int live = record(row, -1);
+        this.buffer.putInt(live + TASK_INDEX, taskIndex);
+        this.buffer.put(live + TASK_TYPE, (byte) type.ordinal());
+        this.buffer.putInt(live + LOAD_PERCENT, loadPercent);
+    }
+
+    /**
+     * Returns the position in the file of the given record of the given row.
+     *
+     * @param row - row of the aircraft
+     * @param checkpoint - checkpoint of the record (0 or 1), or -1 for the live record
+     * @return position of the record
+     */
+    private static int record(int row, int checkpoint) {
+        return HEADER_BYTES + row * ROW_BYTES + (checkpoint + 1) * RECORD_BYTES;
+    }
+
+    /**
+     * Returns the position in the file of the header of the given checkpoint.
+     *
+     * @param checkpoint - checkpoint (0 or 1)
+     * @return position of the checkpoint header
+     */
+    private static int checkpointHeader(int checkpoint) {
+        return CHECKPOINT_HEADERS + checkpoint * CHECKPOINT_HEADER_BYTES;
+    }
+
+    /**
+     * Returns the size of a file holding the given number of rows.
+     *
+     * @param numRows - number of rows
+     * @return size of file, in bytes
+     */
+    private static long fileSize(long numRows) {
+        return HEADER_BYTES + numRows * ROW_BYTES;
+    }
+}
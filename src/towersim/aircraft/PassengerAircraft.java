@@ -1,5 +1,6 @@
 package towersim.aircraft;
 
+import towersim.tasks.Task;
 import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
 
@@ -50,6 +51,32 @@ public class PassengerAircraft extends Aircraft {
         this.numPassengers = numPassengers;
     }
 
+    /**
+     * Returns the number of passengers currently onboard the aircraft.
+     *
+     * @return number of passengers onboard
+     */
+    public int getNumPassengers() {
+        return this.getCargo();
+    }
+
+    @Override
+    int getCargo() {
+        if (this.getFleet() != null) {
+            return this.getFleet().getCargo(this.getFleetRow());
+        }
+        return this.numPassengers;
+    }
+
+    @Override
+    void setCargo(int cargo) {
+        if (this.getFleet() != null) {
+            this.getFleet().setCargo(this.getFleetRow(), cargo);
+        } else {
+            this.numPassengers = cargo;
+        }
+    }
+
     /**
      * Returns the total weight of the aircraft in its current state.
      * <p>
@@ -66,7 +93,7 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public double getTotalWeight() {
-        return super.getTotalWeight() + this.numPassengers * AVG_PASSENGER_WEIGHT;
+        return super.getTotalWeight() + this.getCargo() * AVG_PASSENGER_WEIGHT;
     }
 
     /**
@@ -92,7 +119,24 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public int getLoadingTime() {
-        return (int) Math.max(1, Math.round(Math.log10(this.getPassengersToLoad())));
+        return TickTable.PASSENGER.loadingTime(this.getCharacteristics(),
+                this.getTaskList().getCurrentTask().getLoadPercent());
+    }
+
+    @Override
+    double getRefuelAmount(int loadPercent) {
+        return TickTable.PASSENGER.refuelAmount(this.getCharacteristics(), loadPercent);
+    }
+
+    /**
+     * Returns the loading time for the given number of passengers, as described in
+     * {@link #getLoadingTime()}.
+     *
+     * @param passengersToLoad - total number of passengers to be loaded
+     * @return loading time in ticks
+     */
+    static int loadingTime(int passengersToLoad) {
+        return (int) Math.max(1, Math.round(Math.log10(passengersToLoad)));
     }
 
     /**
@@ -109,20 +153,20 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public int calculateOccupancyLevel() {
-        return (int) Math.round((double) this.numPassengers * 100
+        return (int) Math.round((double) this.getCargo() * 100
                 / this.getCharacteristics().passengerCapacity);
     }
 
     /**
-     * Returns the total number of passengers to be loaded onto the aircraft based on the current
-     * task's load percentage.
+     * Returns the total number of passengers to be loaded onto an aircraft with the given
+     * passenger capacity for the given load percentage.
      *
+     * @param passengerCapacity - maximum number of passengers
+     * @param loadPercent - load percentage of the current task
      * @return total number of passengers to be loaded
-     * @ass1
      */
-    private int getPassengersToLoad() {
-        int passengerCapacity = this.getCharacteristics().passengerCapacity;
-        double loadRatio = (double) this.getTaskList().getCurrentTask().getLoadPercent() / 100;
+    static int passengersToLoad(int passengerCapacity, int loadPercent) {
+        double loadRatio = (double) loadPercent / 100;
         return (int) Math.round(passengerCapacity * loadRatio);
     }
 
@@ -156,11 +200,12 @@ public class PassengerAircraft extends Aircraft {
     public void tick() {
         super.tick();
 
-        if (this.getTaskList().getCurrentTask().getType() == TaskType.LOAD) {
-            int paxToLoadThisTick = (int) Math.round(this.getPassengersToLoad()
-                    / (double) this.getLoadingTime());
-            this.numPassengers = Math.min(this.numPassengers + paxToLoadThisTick,
-                    this.getCharacteristics().passengerCapacity);
+        Task currentTask = this.getTaskList().getCurrentTask();
+        if (currentTask.getType() == TaskType.LOAD) {
+            int paxToLoadThisTick = TickTable.PASSENGER.cargoPerTick(this.getCharacteristics(),
+                    currentTask.getLoadPercent());
+            this.setCargo(Math.min(this.getCargo() + paxToLoadThisTick,
+                    this.getCharacteristics().passengerCapacity));
         }
     }
 
@@ -171,7 +216,7 @@ public class PassengerAircraft extends Aircraft {
      * This action should be performed instantly.
      */
     public void unload() {
-        this.numPassengers = 0;
+        this.setCargo(0);
     }
 
     /**
@@ -192,6 +237,6 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public String encode() {
-        return super.encode() + ":" + this.numPassengers;
+        return super.encode() + ":" + this.getCargo();
     }
 }
@@ -0,0 +1,187 @@
+package towersim.aircraft;
+
+/**
+ * Precomputed amounts used when ticking passenger or freight aircraft, so that a tick only
+ * needs table lookups instead of recomputing them from the aircraft's characteristics.
+ *
+ * Amounts are indexed by the ordinal of the aircraft's characteristics and the load percentage
+ * of its current task. Amounts for load percentages outside 0 to {@link #MAX_LOAD_PERCENT}
+ * are not held in the table, and are computed when needed instead.
+ *
+ * Fuel amounts are computed with the same double arithmetic that computing them on every tick
+ * used, so looking them up gives exactly the same results.
+ */
+final class TickTable {
+    /** Largest load percentage held in the table */
+    static final int MAX_LOAD_PERCENT = 100;
+
+    /** All aircraft characteristics, indexed by ordinal */
+    private static final AircraftCharacteristics[] MODELS = AircraftCharacteristics.values();
+
+    /** Fuel burned during each AWAY tick, in litres, indexed by characteristics ordinal */
+    private static final double[] FUEL_BURN = new double[MODELS.length];
+
+    static {
+        for (AircraftCharacteristics model : MODELS) {
+            //Exact double division with no rounding, as Aircraft.tick() computed it
+            FUEL_BURN[model.ordinal()] = model.fuelCapacity / 10;
+        }
+    }
+
+    //Created after MODELS, which they are built from
+    /** Table for passenger aircraft */
+    static final TickTable PASSENGER = new TickTable(false);
+
+    /** Table for freight aircraft */
+    static final TickTable FREIGHT = new TickTable(true);
+
+    /** Whether this table is for freight aircraft rather than passenger aircraft */
+    private final boolean freight;
+
+    /** Loading time, in ticks, indexed by characteristics ordinal then load percentage */
+    private final int[][] loadingTimes;
+
+    /** Fuel added during each LOAD tick, in litres */
+    private final double[][] refuelAmounts;
+
+    /** Passengers or freight loaded during each LOAD tick */
+    private final int[][] cargoPerTick;
+
+    /**
+     * Creates the table for passenger or freight aircraft.
+     *
+     * @param freight - true to create the table for freight aircraft; false for passenger
+     *                aircraft
+     */
+    private TickTable(boolean freight) {
+        this.freight = freight;
+        this.loadingTimes = new int[MODELS.length][MAX_LOAD_PERCENT + 1];
+        this.refuelAmounts = new double[MODELS.length][MAX_LOAD_PERCENT + 1];
+        this.cargoPerTick = new int[MODELS.length][MAX_LOAD_PERCENT + 1];
+        for (AircraftCharacteristics model : MODELS) {
+            for (int loadPercent = 0; loadPercent <= MAX_LOAD_PERCENT; loadPercent++) {
+                int loadingTime = this.computeLoadingTime(model, loadPercent);
+                this.loadingTimes[model.ordinal()][loadPercent] = loadingTime;
+                this.refuelAmounts[model.ordinal()][loadPercent] =
+                        computeRefuelAmount(model, loadingTime);
+                this.cargoPerTick[model.ordinal()][loadPercent] =
+                        this.computeCargoPerTick(model, loadPercent, loadingTime);
+            }
+        }
+    }
+
+    /**
+     * Returns the fuel burned by an aircraft with the given characteristics during one AWAY
+     * tick: its fuel capacity divided by 10, as a double with no rounding.
+     *
+     * @param model - characteristics of the aircraft
+     * @return fuel burned, in litres
+     */
+    static double fuelBurn(AircraftCharacteristics model) {
+        return FUEL_BURN[model.ordinal()];
+    }
+
+    /**
+     * Returns the number of ticks needed to load an aircraft with the given characteristics
+     * for a LOAD task with the given load percentage.
+     *
+     * @param model - characteristics of the aircraft
+     * @param loadPercent - load percentage of the LOAD task
+     * @return loading time, in ticks
+     */
+    int loadingTime(AircraftCharacteristics model, int loadPercent) {
+        if (loadPercent < 0 || loadPercent > MAX_LOAD_PERCENT) {
+            return this.computeLoadingTime(model, loadPercent);
+        }
+        return this.loadingTimes[model.ordinal()][loadPercent];
+    }
+
+    /**
+     * Returns the fuel added to an aircraft with the given characteristics during one tick of
+     * a LOAD task with the given load percentage, before limiting it to the fuel capacity.
+     *
+     * @param model - characteristics of the aircraft
+     * @param loadPercent - load percentage of the LOAD task
+     * @return fuel added, in litres
+     */
+    double refuelAmount(AircraftCharacteristics model, int loadPercent) {
+        if (loadPercent < 0 || loadPercent > MAX_LOAD_PERCENT) {
+            return computeRefuelAmount(model, this.computeLoadingTime(model, loadPercent));
+        }
+        return this.refuelAmounts[model.ordinal()][loadPercent];
+    }
+
+    /**
+     * Returns the passengers or freight loaded onto an aircraft with the given characteristics
+     * during one tick of a LOAD task with the given load percentage, before limiting it to
+     * the aircraft's capacity.
+     *
+     * @param model - characteristics of the aircraft
+     * @param loadPercent - load percentage of the LOAD task
+     * @return passengers or kilograms of freight loaded
+     */
+    int cargoPerTick(AircraftCharacteristics model, int loadPercent) {
+        if (loadPercent < 0 || loadPercent > MAX_LOAD_PERCENT) {
+            return this.computeCargoPerTick(model, loadPercent,
+                    this.computeLoadingTime(model, loadPercent));
+        }
+        return this.cargoPerTick[model.ordinal()][loadPercent];
+    }
+
+    /**
+     * Returns the passengers or freight to be loaded onto an aircraft with the given
+     * characteristics for a LOAD task with the given load percentage.
+     *
+     * @param model - characteristics of the aircraft
+     * @param loadPercent - load percentage of the LOAD task
+     * @return passengers or kilograms of freight to be loaded
+     */
+    private int computeCargoToLoad(AircraftCharacteristics model, int loadPercent) {
+        if (this.freight) {
+            return FreightAircraft.freightToLoad(model.freightCapacity, loadPercent);
+        } else {
+            return PassengerAircraft.passengersToLoad(model.passengerCapacity, loadPercent);
+        }
+    }
+
+    /**
+     * Computes the loading time, as described in {@link PassengerAircraft#getLoadingTime()}
+     * and {@link FreightAircraft#getLoadingTime()}.
+     *
+     * @param model - characteristics of the aircraft
+     * @param loadPercent - load percentage of the LOAD task
+     * @return loading time, in ticks
+     */
+    private int computeLoadingTime(AircraftCharacteristics model, int loadPercent) {
+        int toLoad = this.computeCargoToLoad(model, loadPercent);
+        return this.freight ? FreightAircraft.loadingTime(toLoad)
+                : PassengerAircraft.loadingTime(toLoad);
+    }
+
+    /**
+     * Computes the fuel added during one LOAD tick, as described in {@link Aircraft#tick()}.
+     *
+     * @param model - characteristics of the aircraft
+     * @param loadingTime - loading time of the aircraft, in ticks
+     * @return fuel added, in litres
+     */
+    private static double computeRefuelAmount(AircraftCharacteristics model, int loadingTime) {
+        //Exact double division with no rounding, as Aircraft.tick() computed it
+        return model.fuelCapacity / loadingTime;
+    }
+
+    /**
+     * Computes the cargo loaded during one LOAD tick, as described in
+     * {@link PassengerAircraft#tick()} and {@link FreightAircraft#tick()}.
+     *
+     * @param model - characteristics of the aircraft
+     * @param loadPercent - load percentage of the LOAD task
+     * @param loadingTime - loading time of the aircraft, in ticks
+     * @return passengers or kilograms of freight loaded
+     */
+    private int computeCargoPerTick(AircraftCharacteristics model, int loadPercent,
+                                    int loadingTime) {
+        return (int) Math.round(this.computeCargoToLoad(model, loadPercent)
+                / (double) loadingTime);
+    }
+}
@@ -3,7 +3,10 @@ package towersim.control;
 import towersim.aircraft.Aircraft;
 import towersim.util.Encodable;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.StringJoiner;
 
 /**
  * Abstract representation of a queue containing aircraft.
@@ -14,8 +17,10 @@ import java.util.List;
  *
  * The order that aircraft are removed from the queue depends on
  * the chosen concrete implementation of the AircraftQueue.
+ *
+ * Iterating over the queue visits every aircraft in queue order without modifying the queue.
  */
-public abstract class AircraftQueue implements Encodable {
+public abstract class AircraftQueue implements Encodable, Iterable<Aircraft> {
     /**
      * Adds the given aircraft to the queue.
      *
@@ -49,7 +54,34 @@ public abstract class AircraftQueue implements Encodable {
      *
      * @return list of all aircraft in queue, in queue order
      */
-    public abstract List<Aircraft> getAircraftInOrder();
+    public List<Aircraft> getAircraftInOrder() {
+        List<Aircraft> orderedAircraft = new ArrayList<>(this.size());
+        for (Aircraft aircraft : this) {
+            orderedAircraft.add(aircraft);
+        }
+        return orderedAircraft;
+    }
+
+    /**
+     * Returns an iterator over all aircraft in the queue, in queue order.
+     *
+     * The first aircraft returned by the iterator should be the first aircraft that would be
+     * returned by calling removeAircraft(), and so on. Iterating does not modify the queue,
+     * and the iterator does not support removing aircraft.
+     *
+     * The queue should not be modified while an iterator is in use.
+     *
+     * @return iterator over all aircraft in queue, in queue order
+     */
+    @Override
+    public abstract Iterator<Aircraft> iterator();
+
+    /**
+     * Returns the number of aircraft currently in the queue.
+     *
+     * @return number of aircraft in queue
+     */
+    public abstract int size();
 
     /**
      * Returns true if the given aircraft is in the queue.
@@ -73,24 +105,14 @@ public abstract class AircraftQueue implements Encodable {
      */
     @Override
     public String toString() {
-        StringBuilder aircraftQueue = new StringBuilder(this.getClass().getSimpleName() + " [");
+        StringJoiner aircraftQueue = new StringJoiner(", ",
+                this.getClass().getSimpleName() + " [", "]");
 
-        if (this.getAircraftInOrder().size() != 0) {
-            for (int i = 0; i < this.getAircraftInOrder().size(); i++) {
-                //If loop doesn't reach the last aircraft
-                if (i != this.getAircraftInOrder().size() - 1) {
-                    aircraftQueue.append(this.getAircraftInOrder().get(i).getCallsign());
-                    aircraftQueue.append(", ");
-                } else {
-                    //If loop reaches the last aircraft
-                    aircraftQueue.append(this.getAircraftInOrder().get(i).getCallsign());
-                }
-            }
+        for (Aircraft aircraft : this) {
+            aircraftQueue.add(aircraft.getCallsign());
         }
 
-        aircraftQueue.append("]");
-
-        return aircraftQueue.substring(0);
+        return aircraftQueue.toString();
     }
 
     /**
@@ -109,22 +131,16 @@ public abstract class AircraftQueue implements Encodable {
     @Override
     public String encode() {
         StringBuilder encodeContent = new StringBuilder(this.getClass().getSimpleName()
-                + ":" + this.getAircraftInOrder().size());
+                + ":" + this.size());
 
-        if (this.getAircraftInOrder().size() != 0) {
-            encodeContent.append("\n");
-            for (int i = 0; i < this.getAircraftInOrder().size(); i++) {
-                //If loop doesn't reach the last aircraft
-                if (i != this.getAircraftInOrder().size() - 1) {
-                    encodeContent.append(this.getAircraftInOrder().get(i)
-                            .getCallsign()).append(",");
-                } else {
-                    //If loop reaches the last aircraft
-                    encodeContent.append(this.getAircraftInOrder().get(i).getCallsign());
-                }
+        if (this.size() != 0) {
+            StringJoiner callsigns = new StringJoiner(",");
+            for (Aircraft aircraft : this) {
+                callsigns.add(aircraft.getCallsign());
             }
+            encodeContent.append("\n").append(callsigns);
         }
 
-        return encodeContent.substring(0);
+        return encodeContent.toString();
     }
 }
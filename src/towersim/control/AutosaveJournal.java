@@ -0,0 +1,616 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.Terminal;
+import towersim.util.MalformedSaveException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Autosaves a control tower to a directory, writing only what has changed since the last
+ * checkpoint.
+ *
+ * The directory holds a full save of the tower, in the four text save formats read by
+ * {@link ControlTowerInitialiser}, in a subdirectory named {@code snapshot-N}, and a journal
+ * {@code journal-N.txt} of the changes made since that save was written. Each call to
+ * {@link #checkpoint()} appends one record to the journal, holding the encoded form of each
+ * aircraft and terminal that changed since the previous checkpoint, and of the queues if they
+ * changed. Once the journal is larger than the full save, it is compacted into a new full
+ * save with the next value of N, and the old save and journal are deleted.
+ *
+ * Each journal record has the format:
+ * <pre>
+ * checkpoint:ticksElapsed
+ * aircraft:index
+ * encodedAircraft
+ * terminal:index:numLines
+ * encodedTerminal
+ * queues:numLines
+ * encodedQueues
+ * end
+ * </pre>
+ * where there is one {@code aircraft} entry for each changed aircraft, one {@code terminal}
+ * entry for each changed terminal, and a {@code queues} entry only if the queues or loading
+ * aircraft changed. {@code numLines} is the number of lines taken by the encoded terminal or
+ * queues that follow. A record that is not followed by {@code end} (for example, because
+ * the program stopped while writing it) is ignored by {@link #recover(Path)}.
+ *
+ * Changes to aircraft are found by comparing each aircraft's fuel, cargo, current task and
+ * emergency state with their values at the previous checkpoint, which does not require
+ * encoding aircraft that have not changed.
+ */
+public class AutosaveJournal implements Closeable {
+    /** Prefix of the names of full save directories */
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+
+    /** Prefix of the names of journal files */
+    private static final String JOURNAL_PREFIX = "journal-";
+
+    /** Suffix of the names of journal files */
+    private static final String JOURNAL_SUFFIX = ".txt";
+
+    /** Names of the four files in a full save */
+    private static final String[] SAVE_FILES = {"tick.txt", "aircraft.txt", "queues.txt",
+        "terminalsWithGates.txt"};
+
+    /** Control tower being saved */
+    private final ControlTower tower;
+
+    /** Directory to save to */
+    private final Path directory;
+
+    /** Number of the current full save and journal */
+    private long sequence;
+
+    /** Writer for the current journal */
+    private BufferedWriter journalWriter;
+
+    /** Number of characters written to the current journal */
+    private long journalLength;
+
+    /** Size of the current full save, in bytes */
+    private long snapshotLength;
+
+    /** Number of aircraft saved at the previous checkpoint */
+    private int numAircraft;
+
+    /** Fuel amount of each aircraft at the previous checkpoint */
+    private double[] fuelAmounts;
+
+    /** Cargo of each aircraft at the previous checkpoint */
+    private int[] cargo;
+
+    /** Current task index of each aircraft at the previous checkpoint */
+    private int[] taskIndices;
+
+    /** Emergency state of each aircraft at the previous checkpoint */
+    private boolean[] emergencies;
+
+    /** Encoded form of each terminal at the previous checkpoint */
+    private final List<String> terminals;
+
+    /** Encoded queues and loading aircraft at the previous checkpoint */
+    private String queues;
+
+    /**
+     * Creates a new autosave journal for the given control tower, and writes a full save of
+     * the tower to the given directory.
+     *
+     * If the directory already contains an autosave, it is replaced once the new full save
+     * has been written.
+     *
+     * @param tower - control tower to save
+     * @param directory - directory to save to, which is created if it does not exist
+     * @throws IOException - if an IOException occurs when writing the save
+     */
+    public AutosaveJournal(ControlTower tower, Path directory) throws IOException {
+        this.tower = tower;
+        this.directory = directory;
+        this.sequence = -1;
+        this.fuelAmounts = new double[0];
+        this.cargo = new int[0];
+        this.taskIndices = new int[0];
+        this.emergencies = new boolean[0];
+        this.terminals = new ArrayList<>();
+
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                this.sequence = Math.max(this.sequence, sequenceOf(entry, SNAPSHOT_PREFIX, ""));
+            }
+        }
+        this.compact();
+    }
+
+    /**
+     * Appends a record of everything that has changed since the previous checkpoint to the
+     * journal, compacting the journal into a new full save if it has grown larger than the
+     * current full save.
+     *
+     * @throws IOException - if an IOException occurs when writing to the journal
+     */
+    public void checkpoint() throws IOException {
+        StringBuilder record = new StringBuilder();
+        record.append("checkpoint:").append(this.tower.getTicksElapsed()).append("\n");
+
+        List<Aircraft> allAircraft = this.tower.getAircraft();
+        this.ensureCapacity(allAircraft.size());
+        for (int i = 0; i < allAircraft.size(); i++) {
+            Aircraft aircraft = allAircraft.get(i);
+            //New aircraft are always saved
+            if (i >= this.numAircraft || this.hasChanged(i, aircraft)) {
+                record.append("aircraft:").append(i).append("\n");
+                record.append(aircraft.encode()).append("\n");
+                this.remember(i, aircraft);
+            }
+        }
+        this.numAircraft = allAircraft.size();
+
+        List<Terminal> allTerminals = this.tower.getTerminals();
+        for (int i = 0; i < allTerminals.size(); i++) {
+            String encoded = allTerminals.get(i).encode();
+            if (i >= this.terminals.size()) {
+                this.terminals.add(encoded);
+            } else if (!encoded.equals(this.terminals.get(i))) {
+                this.terminals.set(i, encoded);
+            } else {
+                continue;
+            }
+            record.append("terminal:").append(i).append(":").append(countLines(encoded))
+                    .append("\n").append(encoded).append("\n");
+        }
+
+        String encodedQueues = ControlTowerSaver.encodeQueues(this.tower);
+        if (!encodedQueues.equals(this.queues)) {
+            this.queues = encodedQueues;
+            record.append("queues:").append(countLines(encodedQueues)).append("\n")
+                    .append(encodedQueues).append("\n");
+        }
+        record.append("end\n");
+
+        this.journalWriter.write(record.toString());
+        this.journalWriter.flush();
+        this.journalLength += record.length();
+
+        if (this.journalLength > this.snapshotLength) {
+            this.compact();
+        }
+    }
+
+    /**
+     * Writes a new full save of the control tower and starts a new, empty journal, then
+     * deletes the previous full save and journal.
+     *
+     * The new full save is written to a temporary directory that is only renamed once it is
+     * complete, so the previous save can always be recovered if writing fails part way.
+     *
+     * @throws IOException - if an IOException occurs when writing the save
+     */
+    public void compact() throws IOException {
+        long nextSequence = this.sequence + 1;
+        Path temporary = this.directory.resolve(SNAPSHOT_PREFIX + nextSequence + ".tmp");
+        deleteSnapshot(temporary);
+        Files.createDirectories(temporary);
+        ControlTowerSaver.saveAs(this.tower,
+                Files.newBufferedWriter(temporary.resolve(SAVE_FILES[0])),
+                Files.newBufferedWriter(temporary.resolve(SAVE_FILES[1])),
+                Files.newBufferedWriter(temporary.resolve(SAVE_FILES[2])),
+                Files.newBufferedWriter(temporary.resolve(SAVE_FILES[3])));
+        Files.move(temporary, this.directory.resolve(SNAPSHOT_PREFIX + nextSequence),
+                StandardCopyOption.ATOMIC_MOVE);
+
+        if (this.journalWriter != null) {
+            this.journalWriter.close();
+        }
+        this.sequence = nextSequence;
+        this.journalWriter = Files.newBufferedWriter(
+                this.directory.resolve(JOURNAL_PREFIX + nextSequence + JOURNAL_SUFFIX));
+        this.journalLength = 0;
+        this.snapshotLength = 0;
+        for (String file : SAVE_FILES) {
+            this.snapshotLength += Files.size(
+                    this.directory.resolve(SNAPSHOT_PREFIX + nextSequence).resolve(file));
+        }
+
+        //Remember the state that was just saved
+        List<Aircraft> allAircraft = this.tower.getAircraft();
+        this.ensureCapacity(allAircraft.size());
+        for (int i = 0; i < allAircraft.size(); i++) {
+            this.remember(i, allAircraft.get(i));
+        }
+        this.numAircraft = allAircraft.size();
+        this.terminals.clear();
+        for (Terminal terminal : this.tower.getTerminals()) {
+            this.terminals.add(terminal.encode());
+        }
+        this.queues = ControlTowerSaver.encodeQueues(this.tower);
+
+        //Delete older saves and journals
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(this.directory)) {
+            for (Path entry : entries) {
+                if (sequenceOf(entry, SNAPSHOT_PREFIX, "") >= 0
+                        && sequenceOf(entry, SNAPSHOT_PREFIX, "") < this.sequence) {
+                    deleteSnapshot(entry);
+                } else if (sequenceOf(entry, JOURNAL_PREFIX, JOURNAL_SUFFIX) >= 0
+                        && sequenceOf(entry, JOURNAL_PREFIX, JOURNAL_SUFFIX) < this.sequence) {
+                    Files.delete(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes the journal. No more checkpoints can be written after closing.
+     *
+     * @throws IOException - if an IOException occurs when closing the journal
+     */
+    @Override
+    public void close() throws IOException {
+        this.journalWriter.close();
+    }
+
+    /**
+     * Loads the control tower saved at the latest complete checkpoint in the given directory.
+     *
+     * @param directory - directory written to by an autosave journal
+     * @return control tower at the latest checkpoint
+     * @throws IOException - if the directory contains no full save, or an IOException occurs
+     *                     when reading it
+     * @throws MalformedSaveException - if the full save or journal is invalid
+     */
+    public static ControlTower recover(Path directory) throws IOException,
+            MalformedSaveException {
+        long latest = -1;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                latest = Math.max(latest, sequenceOf(entry, SNAPSHOT_PREFIX, ""));
+            }
+        }
+        if (latest < 0) {
+            throw new IOException("No autosave found in " + directory);
+        }
+
+        Path snapshot = directory.resolve(SNAPSHOT_PREFIX + latest);
+        SaveImage image = new SaveImage(
+                Files.readString(snapshot.resolve(SAVE_FILES[0]), StandardCharsets.UTF_8),
+                Files.readString(snapshot.resolve(SAVE_FILES[1]), StandardCharsets.UTF_8),
+                Files.readString(snapshot.resolve(SAVE_FILES[2]), StandardCharsets.UTF_8),
+                Files.readString(snapshot.resolve(SAVE_FILES[3]), StandardCharsets.UTF_8));
+
+        Path journal = directory.resolve(JOURNAL_PREFIX + latest + JOURNAL_SUFFIX);
+        if (Files.exists(journal)) {
+            try (BufferedReader reader = Files.newBufferedReader(journal)) {
+                //Apply records until the end of the journal or an incomplete record
+                while (image.applyRecord(reader)) {
+                    //Keep applying
+                }
+            }
+        }
+
+        return StreamingControlTowerInitialiser.createControlTower(
+                new StringReader(image.tick), new StringReader(image.encodeAircraft()),
+                new StringReader(image.queues), new StringReader(image.encodeTerminals()));
+    }
+
+    /**
+     * Returns true if the given aircraft's state differs from its state at the previous
+     * checkpoint.
+     *
+     * @param index - index of the aircraft
+     * @param aircraft - aircraft to check
+     * @return true if the aircraft has changed; false otherwise
+     */
+    private boolean hasChanged(int index, Aircraft aircraft) {
+        return this.fuelAmounts[index] != aircraft.getFuelAmount()
+                || this.cargo[index] != cargoOf(aircraft)
+                || this.taskIndices[index] != aircraft.getTaskList().getCurrentTaskIndex()
+                || this.emergencies[index] != aircraft.hasEmergency();
+    }
+
+    /**
+     * Records the current state of the given aircraft, to compare against at the next
+     * checkpoint.
+     *
+     * @param index - index of the aircraft
+     * @param aircraft - aircraft to record
+     */
+    private void remember(int index, Aircraft aircraft) {
+        this.fuelAmounts[index] = aircraft.getFuelAmount();
+        this.cargo[index] = cargoOf(aircraft);
+        this.taskIndices[index] = aircraft.getTaskList().getCurrentTaskIndex();
+        this.emergencies[index] = aircraft.hasEmergency();
+    }
+
+    /**
+     * Makes room to record the state of at least the given number of aircraft.
+     *
+     * @param size - number of aircraft
+     */
+    private void ensureCapacity(int size) {
+        if (size > this.fuelAmounts.length) {
+            int capacity = Math.max(size, this.fuelAmounts.length * 2);
+            this.fuelAmounts = Arrays.copyOf(this.fuelAmounts, capacity);
+            this.cargo = Arrays.copyOf(this.cargo, capacity);
+            this.taskIndices = Arrays.copyOf(this.taskIndices, capacity);
+            this.emergencies = Arrays.copyOf(this.emergencies, capacity);
+        }
+    }
+
+    /**
+     * Returns the number of passengers or amount of freight onboard the given aircraft.
+     *
+     * @param aircraft - aircraft to check
+     * @return cargo onboard
+     */
+    private static int cargoOf(Aircraft aircraft) {
+        if (aircraft instanceof PassengerAircraft) {
+            return ((PassengerAircraft) aircraft).getNumPassengers();
+        } else if (aircraft instanceof FreightAircraft) {
+            return ((FreightAircraft) aircraft).getFreightAmount();
+        }
+        return aircraft.calculateOccupancyLevel();
+    }
+
+    /**
+     * Returns the number of lines in the given string.
+     *
+     * @param text - string to count lines of
+     * @return number of lines
+     */
+    private static int countLines(String text) {
+        int lines = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Returns the number in the name of the given full save directory or journal file, or -1
+     * if its name does not have the given prefix and suffix followed by a number.
+     *
+     * @param path - path to check
+     * @param prefix - start of the name
+     * @param suffix - end of the name
+     * @return number in the name; or -1 if none
+     */
+    private static long sequenceOf(Path path, String prefix, String suffix) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(prefix) || !name.endsWith(suffix)
+                || name.length() == prefix.length() + suffix.length()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(prefix.length(),
+                    name.length() - suffix.length()));
+        } catch (NumberFormatException nfe) {
+            return -1;
+        }
+    }
+
+    /**
+     * Deletes the given full save directory and the files in it, if it exists.
+     *
+     * @param snapshot - full save directory to delete
+     * @throws IOException - if an IOException occurs when deleting
+     */
+    private static void deleteSnapshot(Path snapshot) throws IOException {
+        if (!Files.exists(snapshot)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(snapshot)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(snapshot);
+    }
+
+    /**
+     * Contents of the four save files, split into lines for each aircraft and each terminal
+     * so that journal records can replace them.
+     */
+    private static class SaveImage {
+        /** Contents of the tick file */
+        private String tick;
+
+        /** Encoded form of each aircraft */
+        private final List<String> aircraft;
+
+        /** Contents of the queues file */
+        private String queues;
+
+        /** Encoded form of each terminal */
+        private final List<String> terminals;
+
+        /**
+         * Splits the given full save into aircraft and terminals.
+         *
+         * @param tick - contents of the tick file
+         * @param aircraft - contents of the aircraft file
+         * @param queues - contents of the queues file
+         * @param terminals - contents of the terminals with gates file
+         * @throws MalformedSaveException - if the aircraft or terminals file is invalid
+         */
+        private SaveImage(String tick, String aircraft, String queues, String terminals)
+                throws MalformedSaveException {
+            this.tick = tick;
+            this.queues = queues;
+            this.aircraft = new ArrayList<>();
+            this.terminals = new ArrayList<>();
+
+            try {
+                String[] aircraftLines = aircraft.split("\n");
+                int numAircraft = Integer.parseInt(aircraftLines[0]);
+                this.aircraft.addAll(Arrays.asList(aircraftLines).subList(1, numAircraft + 1));
+
+                String[] terminalLines = terminals.split("\n");
+                int numTerminals = Integer.parseInt(terminalLines[0]);
+                int line = 1;
+                for (int i = 0; i < numTerminals; i++) {
+                    String header = terminalLines[line];
+                    int numGates = Integer.parseInt(header.substring(header.lastIndexOf(':') + 1));
+                    this.terminals.add(String.join("\n",
+                            Arrays.copyOfRange(terminalLines, line, line + numGates + 1)));
+                    line += numGates + 1;
+                }
+            } catch (RuntimeException e) {
+                throw new MalformedSaveException(e);
+            }
+        }
+
+        /**
+         * Reads the next record from the given journal and applies it, if the record is
+         * complete.
+         *
+         * @param reader - reader positioned at the start of a record
+         * @return true if a record was applied; false if the end of the journal or an
+         *         incomplete or invalid record was reached
+         * @throws IOException - if an IOException occurs when reading
+         */
+        private boolean applyRecord(BufferedReader reader) throws IOException {
+            String line = reader.readLine();
+            if (line == null || !line.startsWith("checkpoint:")) {
+                return false;
+            }
+            String recordTick = line.substring("checkpoint:".length());
+            List<Integer> aircraftIndices = new ArrayList<>();
+            List<String> aircraftLines = new ArrayList<>();
+            List<Integer> terminalIndices = new ArrayList<>();
+            List<String> terminalLines = new ArrayList<>();
+            String recordQueues = null;
+
+            while (!"end".equals(line = reader.readLine())) {
+                //The journal ended part way through this record
+                if (line == null) {
+                    return false;
+                }
+
+                String[] fields = line.split(":");
+                String lines;
+                try {
+                    if (fields[0].equals("aircraft")) {
+                        aircraftIndices.add(Integer.parseInt(fields[1]));
+                        lines = readLines(reader, 1);
+                        aircraftLines.add(lines);
+                    } else if (fields[0].equals("terminal")) {
+                        terminalIndices.add(Integer.parseInt(fields[1]));
+                        lines = readLines(reader, Integer.parseInt(fields[2]));
+                        terminalLines.add(lines);
+                    } else if (fields[0].equals("queues")) {
+                        lines = readLines(reader, Integer.parseInt(fields[1]));
+                        recordQueues = lines;
+                    } else {
+                        return false;
+                    }
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    return false;
+                }
+                if (lines == null) {
+                    return false;
+                }
+            }
+
+            for (int i = 0; i < aircraftIndices.size(); i++) {
+                if (!setOrAppend(this.aircraft, aircraftIndices.get(i), aircraftLines.get(i))) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < terminalIndices.size(); i++) {
+                if (!setOrAppend(this.terminals, terminalIndices.get(i), terminalLines.get(i))) {
+                    return false;
+                }
+            }
+            if (recordQueues != null) {
+                this.queues = recordQueues;
+            }
+            this.tick = recordTick;
+            return true;
+        }
+
+        /**
+         * Replaces the element at the given index of the given list, or appends to the list
+         * if the index is one past its end.
+         *
+         * @param list - list to update
+         * @param index - index of the element
+         * @param value - new value of the element
+         * @return true if the list was updated; false if the index is out of range
+         */
+        private static boolean setOrAppend(List<String> list, int index, String value) {
+            if (index == list.size()) {
+                list.add(value);
+            } else if (index >= 0 && index < list.size()) {
+                list.set(index, value);
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Reads the given number of lines and joins them back together.
+         *
+         * @param reader - reader to read from
+         * @param numLines - number of lines to read
+         * @return lines read, separated by newlines; or null if the journal ends first
+         * @throws IOException - if an IOException occurs when reading
+         */
+        private static String readLines(BufferedReader reader, int numLines) throws IOException {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < numLines; i++) {
+                String line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                if (i > 0) {
+                    sb.append("\n");
+                }
+                sb.append(line);
+            }
+            return sb.toString();
+        }
+
+        /**
+         * Returns the contents of the aircraft file.
+         *
+         * @return encoded aircraft
+         */
+        private String encodeAircraft() {
+            StringBuilder sb = new StringBuilder().append(this.aircraft.size());
+            for (String line : this.aircraft) {
+                sb.append("\n").append(line);
+            }
+            return sb.toString();
+        }
+
+        /**
+         * Returns the contents of the terminals with gates file.
+         *
+         * @return encoded terminals
+         */
+        private String encodeTerminals() {
+            StringBuilder sb = new StringBuilder().append(this.terminals.size());
+            for (String terminal : this.terminals) {
+                sb.append("\n").append(terminal);
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -2,16 +2,29 @@ package towersim.control;
 
 import towersim.aircraft.Aircraft;
 import towersim.aircraft.AircraftType;
-import towersim.ground.AirplaneTerminal;
+import towersim.aircraft.FleetStore;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
 import towersim.ground.Gate;
-import towersim.ground.HelicopterTerminal;
+import towersim.ground.GateIndex;
 import towersim.ground.Terminal;
+import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
 import towersim.util.NoSpaceException;
+import towersim.util.EmergencyState;
 import towersim.util.NoSuitableGateException;
 import towersim.util.Tickable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Represents a the control tower of an airport.
@@ -22,6 +35,15 @@ import java.util.*;
  * @ass1
  */
 public class ControlTower implements Tickable {
+    /**
+     * Number of aircraft below which the aircraft update phase of a parallel tick is not
+     * split any further
+     */
+    private static final int PARALLEL_TICK_GRANULARITY = 1024;
+
+    /** Number of locks that the terminals are spread across, which must be a power of two */
+    private static final int NUM_TERMINAL_LOCKS = 16;
+
     /**
      * number of ticks that have elapsed since the tower was first created
      */
@@ -43,10 +65,67 @@ public class ControlTower implements Tickable {
     /** List of all terminals in the airport. */
     private final List<Terminal> terminals;
 
+    /** Index of the free gates and parked aircraft across all terminals. */
+    private final GateIndex gateIndex;
+
     /**
      * Mapping of aircraft that are loading cargo to the number of ticks remaining for loading
      */
-    private Map<Aircraft, Integer> loadingAircraft;
+    private final LoadingWheel loadingAircraft;
+
+    /**
+     * Whether tick() should only route aircraft whose task changed, see
+     * {@link #setIncrementalTick(boolean)}
+     */
+    private boolean incrementalTick;
+
+    /**
+     * Aircraft grouped by the type of their current task; only kept up to date while
+     * incremental ticking is enabled
+     */
+    private Map<TaskType, Set<Aircraft>> aircraftByTaskType;
+
+    /**
+     * Position of each aircraft in the list of aircraft; only kept up to date while
+     * incremental ticking is enabled
+     */
+    private Map<Aircraft, Integer> aircraftIndices;
+
+    /** Pool used to update aircraft in parallel during tick(), or null to update serially */
+    private ForkJoinPool tickPool;
+
+    /** Number of aircraft that were checked for shared task lists by the last parallel tick */
+    private int aircraftCheckedForSharedTasks;
+
+    /** Whether any of the checked aircraft share the same task list */
+    private boolean sharedTaskLists;
+
+    /** Fleet store holding the state of all aircraft, or null if aircraft hold their own */
+    private FleetStore fleetStore;
+
+    /** Log that state transitions are recorded to, or null if they are not recorded */
+    private EventLog eventLog;
+
+    /** Runways used to land and take off aircraft, in the order they are used each tick */
+    private List<Runway> runways;
+
+    /** Policy deciding which operations each runway attempts */
+    private RunwayPolicy runwayPolicy;
+
+    /** Recorder that every tick is measured by, or null if ticks are not measured */
+    private TowerMetrics metrics;
+
+    /** Whether a tower state is published at the end of every tick */
+    private boolean publishingStates;
+
+    /** Tower state most recently published, or null if none has been published */
+    private volatile TowerState publishedState;
+
+    /** Requests made by other threads, applied by the ticking thread before each tick */
+    private final Queue<Runnable> pendingRequests;
+
+    /** Locks guarding the gates of the terminals, with each terminal assigned to one lock */
+    private final ReadWriteLock[] terminalLocks;
 
     /**
      * Creates a new ControlTower.
@@ -56,6 +135,10 @@ public class ControlTower implements Tickable {
      * all be set to the values passed as parameters.
      *
      * The list of terminals should be initialised as an empty list.
+     *
+     * The aircraft and ticks remaining in the given loading map are moved into a timer wheel,
+     * which becomes the tower's loading map. Later changes to the loading map should be made
+     * through {@link #getLoadingAircraft()}, since the given map is not updated by the tower.
      * @param ticksElapsed - number of ticks that have elapsed since the tower was first created
      * @param aircraft - list of aircraft managed by the control tower
      * @param landingQueue - queue of aircraft waiting to land
@@ -71,10 +154,29 @@ public class ControlTower implements Tickable {
                         Map<Aircraft, Integer> loadingAircraft) {
         this.ticksElapsed = ticksElapsed;
         this.aircraft = aircraft;
-        this.terminals = new ArrayList<>();
+        this.terminals = new CopyOnWriteArrayList<>();
+        this.gateIndex = new GateIndex();
         this.landingQueue = landingQueue;
         this.takeoffQueue = takeoffQueue;
-        this.loadingAircraft = loadingAircraft;
+        this.loadingAircraft = new LoadingWheel(loadingAircraft);
+        this.incrementalTick = false;
+        this.aircraftByTaskType = null;
+        this.aircraftIndices = null;
+        this.tickPool = null;
+        this.aircraftCheckedForSharedTasks = 0;
+        this.sharedTaskLists = false;
+        this.fleetStore = null;
+        this.eventLog = null;
+        this.runways = List.of(new Runway(Runway.Mode.MIXED));
+        this.runwayPolicy = RunwayPolicy.ALTERNATING;
+        this.metrics = null;
+        this.publishingStates = false;
+        this.publishedState = null;
+        this.pendingRequests = new ConcurrentLinkedQueue<>();
+        this.terminalLocks = new ReadWriteLock[NUM_TERMINAL_LOCKS];
+        for (int i = 0; i < NUM_TERMINAL_LOCKS; i++) {
+            this.terminalLocks[i] = new ReentrantReadWriteLock();
+        }
     }
 
     /**
@@ -85,6 +187,12 @@ public class ControlTower implements Tickable {
      */
     public void addTerminal(Terminal terminal) {
         this.terminals.add(terminal);
+        this.gateIndex.addTerminal(terminal);
+
+        if (this.eventLog != null) {
+            this.eventLog.terminalAdded(terminal);
+            this.eventLog.flush();
+        }
     }
 
     /**
@@ -94,6 +202,8 @@ public class ControlTower implements Tickable {
      * they were added by calling {@link #addTerminal(Terminal)}.
      * <p>
      * Adding or removing elements from the returned list should not affect the original list.
+     * <p>
+     * This method may be called from any thread.
      *
      * @return all terminals
      * @ass1
@@ -120,17 +230,29 @@ public class ControlTower implements Tickable {
      */
     public void addAircraft(Aircraft aircraft) throws NoSuitableGateException {
         TaskType currentTaskType = aircraft.getTaskList().getCurrentTask().getType();
+        Gate gate = null;
         if (currentTaskType == TaskType.WAIT || currentTaskType == TaskType.LOAD) {
-            Gate gate = findUnoccupiedGate(aircraft);
+            gate = findUnoccupiedGate(aircraft);
             try {
-                gate.parkAircraft(aircraft);
+                this.parkAircraft(gate, aircraft);
             } catch (NoSpaceException ignored) {
                 // not possible, gate unoccupied
             }
         }
         this.aircraft.add(aircraft);
 
+        if (this.eventLog != null) {
+            this.eventLog.aircraftAdded(aircraft, gate);
+        }
         this.placeAircraftInQueues(aircraft);
+        if (this.eventLog != null) {
+            this.eventLog.flush();
+        }
+
+        if (this.aircraftByTaskType != null) {
+            this.aircraftIndices.put(aircraft, this.aircraft.size() - 1);
+            this.aircraftByTaskType.get(currentTaskType).add(aircraft);
+        }
     }
 
     /**
@@ -173,26 +295,8 @@ public class ControlTower implements Tickable {
      * @ass1
      */
     public Gate findUnoccupiedGate(Aircraft aircraft) throws NoSuitableGateException {
-        AircraftType aircraftType = aircraft.getCharacteristics().type;
-        for (Terminal terminal : terminals) {
-            if (!terminal.hasEmergency()) {
-                /*
-                 * Only check for available gates at terminals that are of the same aircraft type as
-                 * the aircraft
-                 */
-                if ((terminal instanceof AirplaneTerminal && aircraftType == AircraftType.AIRPLANE)
-                        || (terminal instanceof HelicopterTerminal
-                        && aircraftType == AircraftType.HELICOPTER)) {
-                    try {
-                        // This terminal found a gate, return it
-                        return terminal.findUnoccupiedGate();
-                    } catch (NoSuitableGateException e) {
-                        // If this terminal has no unoccupied gates, try the next one
-                    }
-                }
-            }
-        }
-        throw new NoSuitableGateException("No gate available for aircraft");
+        //The gate index keeps free gates in terminal order, skipping terminals in emergency
+        return this.gateIndex.findUnoccupiedGate(aircraft.getCharacteristics().type);
     }
 
     /**
@@ -204,14 +308,7 @@ public class ControlTower implements Tickable {
      * @ass1
      */
     public Gate findGateOfAircraft(Aircraft aircraft) {
-        for (Terminal terminal : this.terminals) {
-            for (Gate gate : terminal.getGates()) {
-                if (Objects.equals(gate.getAircraftAtGate(), aircraft)) {
-                    return gate;
-                }
-            }
-        }
-        return null;
+        return this.gateIndex.findGateOfAircraft(aircraft);
     }
 
     /**
@@ -235,37 +332,852 @@ public class ControlTower implements Tickable {
      *
      * 6. Place all aircraft in their appropriate queues by calling placeAllAircraftInQueues().
      *
+     * Steps 4 and 5 describe the default of one mixed-mode runway with the
+     * {@link RunwayPolicy#ALTERNATING} policy. If other runways are set
+     * (see {@link #setRunways(List, RunwayPolicy)}), each runway instead lands or takes off
+     * aircraft as decided by the runway policy.
+     *
+     * If incremental ticking is enabled (see {@link #setIncrementalTick(boolean)}), the same
+     * steps are performed but only aircraft whose task type changed are placed in queues.
+     *
+     * If a tick pool is set (see {@link #setTickPool(ForkJoinPool)}), steps 1 and 2 are
+     * performed in parallel for large numbers of aircraft.
+     *
+     * If an event sink is set (see {@link #setEventSink(EventSink)}), the events of this tick
+     * are written to it once the tick has finished.
+     *
+     * Before any of these steps, requests made by other threads are applied
+     * (see {@link #applyRequests()}). If publishing tower states is enabled
+     * (see {@link #setPublishingStates(boolean)}), the state at the end of the tick is
+     * published once the tick has finished. If a metrics recorder is set
+     * (see {@link #setMetrics(TowerMetrics)}), the tick is measured by it.
+     *
      * Note that the actions performed by {@code tick()} are very simple at the moment and will be
      * expanded on in assignment 2.
      * @ass1
      */
     @Override
     public void tick() {
+        if (this.metrics != null) {
+            this.metrics.tickStarted();
+        }
+
+        this.applyRequests();
+
+        if (this.eventLog != null) {
+            this.eventLog.tickStarted(this.ticksElapsed + 1);
+        }
+
+        if (this.canTickIncrementally()) {
+            this.incrementalTick();
+        } else {
+            this.fullTick();
+        }
+
+        if (this.eventLog != null) {
+            this.eventLog.flush();
+        }
+
+        if (this.publishingStates) {
+            this.publishState();
+        }
+
+        if (this.metrics != null) {
+            this.metrics.tickFinished(this, this.aircraft, this.terminals);
+        }
+    }
+
+    /**
+     * Advances the simulation by one tick, placing every aircraft in queues.
+     *
+     * The steps performed are described in {@link #tick()}.
+     */
+    private void fullTick() {
         this.ticksElapsed++;
+        if (this.metrics != null) {
+            this.metrics.phaseStarted();
+        }
 
-        for (Aircraft aircraft : this.aircraft) {
-            aircraft.tick();
-            //If current task is AWAY or WAIT, then move to next task
-            if (aircraft.getTaskList().getCurrentTask().getType() == TaskType.AWAY
-                    || aircraft.getTaskList().getCurrentTask().getType() == TaskType.WAIT) {
-                aircraft.getTaskList().moveToNextTask();
+        if (this.canTickFleetStore()) {
+            this.fleetStore.tick();
+            for (Aircraft aircraft : this.aircraft) {
+                moveAircraftToNextTask(aircraft);
+            }
+        } else if (this.canTickInParallel()) {
+            Aircraft[] allAircraft = this.aircraft.toArray(new Aircraft[0]);
+            this.tickPool.invoke(new AircraftTickTask(allAircraft, 0, allAircraft.length));
+        } else {
+            for (Aircraft aircraft : this.aircraft) {
+                tickAircraft(aircraft);
             }
         }
+        this.phaseFinished(TowerMetrics.Phase.AIRCRAFT);
 
         this.loadAircraft();
+        this.phaseFinished(TowerMetrics.Phase.LOADING);
 
-        //Every even tick try to land aircraft
-        if (this.ticksElapsed % 2 == 0) {
-            if (this.tryLandAircraft()) {
-                //ignore
-            } else { //If unable to land aircraft, then try to take off
-                this.tryTakeOffAircraft();
+        this.useRunways();
+        this.phaseFinished(TowerMetrics.Phase.RUNWAY);
+
+        this.placeAllAircraftInQueues();
+        this.phaseFinished(TowerMetrics.Phase.QUEUES);
+
+        if (this.incrementalTick && !this.hasSharedTaskLists()) {
+            //All aircraft are now in their queues, so later ticks can be incremental
+            this.rebuildTaskTypeIndex();
+        }
+    }
+
+    /**
+     * Returns true if this tick can be done incrementally.
+     *
+     * Aircraft that share a task list move each other between tasks, so they cannot each be
+     * kept under a single task type; while any task list is shared, every tick is a full tick.
+     *
+     * @return true if this tick can be incremental; false otherwise
+     */
+    private boolean canTickIncrementally() {
+        if (this.aircraftByTaskType == null) {
+            return false;
+        }
+        if (this.hasSharedTaskLists()) {
+            this.aircraftByTaskType = null;
+            this.aircraftIndices = null;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Enables or disables incremental ticking.
+     *
+     * When incremental ticking is enabled, tick() produces exactly the same state as a normal
+     * tick, but only aircraft whose current task type changed during the tick are placed in
+     * queues, instead of every aircraft managed by the tower. Aircraft that are waiting to land
+     * or take off are not ticked at all, since ticking has no effect on them.
+     *
+     * The first tick after enabling incremental ticking is a normal tick, which ensures every
+     * aircraft is in its appropriate queue.
+     *
+     * While incremental ticking is enabled, aircraft should only be added through
+     * {@link #addAircraft(Aircraft)} and their task lists should only be advanced by the
+     * control tower itself. While any two aircraft share a task list, every tick is a normal
+     * tick.
+     *
+     * @param incrementalTick - true to enable incremental ticking; false to disable it
+     */
+    public void setIncrementalTick(boolean incrementalTick) {
+        this.incrementalTick = incrementalTick;
+        this.aircraftByTaskType = null;
+        this.aircraftIndices = null;
+    }
+
+    /**
+     * Returns whether incremental ticking is enabled.
+     *
+     * @return true if incremental ticking is enabled; false otherwise
+     */
+    public boolean isIncrementalTick() {
+        return this.incrementalTick;
+    }
+
+    /**
+     * Sets the pool used to update aircraft in parallel during tick(), or disables parallel
+     * updates if the given pool is null.
+     *
+     * When a pool is set, the calls to {@link Aircraft#tick()} and the moves of AWAY and WAIT
+     * aircraft to their next task are split across the pool, since each aircraft is updated
+     * independently of all others. Loading, landing, taking off and placing aircraft in
+     * queues always happen afterwards on the calling thread, in the same order as a serial
+     * tick, so the resulting state is identical to a serial tick.
+     *
+     * Small numbers of aircraft, and aircraft lists where two aircraft share the same
+     * task list, are always updated serially. Parallel updates are not used while incremental
+     * ticking is enabled.
+     *
+     * @param tickPool - pool to update aircraft with; or null to update them serially
+     */
+    public void setTickPool(ForkJoinPool tickPool) {
+        this.tickPool = tickPool;
+    }
+
+    /**
+     * Returns the pool used to update aircraft in parallel during tick(), or null if aircraft
+     * are updated serially.
+     *
+     * @return pool used to update aircraft; or null if none is set
+     */
+    public ForkJoinPool getTickPool() {
+        return this.tickPool;
+    }
+
+    /**
+     * Enables or disables keeping the state of all aircraft in a {@link FleetStore}.
+     *
+     * While enabled, the fuel, cargo and emergency state of every aircraft managed by this
+     * control tower is held in one fleet store, and tick() burns fuel and loads all aircraft
+     * in one pass over the store before moving AWAY and WAIT aircraft to their next task. The
+     * resulting state is identical to a normal tick. Disabling moves the state back into the
+     * aircraft.
+     *
+     * A fleet store is only used when every aircraft is a PassengerAircraft or FreightAircraft
+     * and no two aircraft share a task list; otherwise aircraft are ticked as normal. When
+     * enabled, the fleet store is used instead of the tick pool, and is not used while
+     * incremental ticking is enabled.
+     *
+     * @param enabled - true to keep aircraft state in a fleet store; false to disable it
+     */
+    public void setFleetStoreEnabled(boolean enabled) {
+        this.setFleetStore(enabled ? new FleetStore() : null);
+    }
+
+    /**
+     * Keeps the state of all aircraft in the given fleet store, as described in
+     * {@link #setFleetStoreEnabled(boolean)}, or disables keeping aircraft state in a fleet
+     * store if the given store is null.
+     *
+     * The given store must either be empty, or hold the first aircraft managed by this control
+     * tower in the order they were added (such as a store returned by
+     * {@link towersim.aircraft.MappedFleetStore#recover(java.nio.file.Path, long, List)}). The
+     * remaining aircraft are added to the store on the next tick. Any fleet store that was
+     * previously in use is cleared, moving the state back into its aircraft.
+     *
+     * @param fleetStore - fleet store to keep aircraft state in; or null to disable it
+     * @throws IllegalArgumentException if the store holds aircraft that are not the first
+     *                                  aircraft managed by this control tower
+     */
+    public void setFleetStore(FleetStore fleetStore) {
+        if (fleetStore != null) {
+            if (fleetStore.size() > this.aircraft.size()) {
+                throw new IllegalArgumentException("Fleet store holds aircraft not managed by "
+                        + "this control tower");
+            }
+            for (int i = 0; i < fleetStore.size(); i++) {
+                if (!fleetStore.contains(this.aircraft.get(i))) {
+                    throw new IllegalArgumentException("Fleet store holds aircraft not managed "
+                            + "by this control tower");
+                }
             }
-        } else { //Every odd tick try to take off aircraft
-            this.tryTakeOffAircraft();
         }
+        if (this.fleetStore != null && this.fleetStore != fleetStore) {
+            this.fleetStore.clear();
+        }
+        this.fleetStore = fleetStore;
+    }
 
-        this.placeAllAircraftInQueues();
+    /**
+     * Returns whether aircraft state is kept in a fleet store.
+     *
+     * @return true if a fleet store is enabled; false otherwise
+     */
+    public boolean isFleetStoreEnabled() {
+        return this.fleetStore != null;
+    }
+
+    /**
+     * Sets the sink that every state transition of this control tower is recorded to, or stops
+     * recording if the given sink is null.
+     *
+     * While a sink is set, this control tower writes an append-only binary log of events to
+     * it: aircraft and terminals being added, aircraft and terminals declaring or clearing an
+     * emergency, and, for every tick, aircraft landing, taking off, starting and finishing
+     * loading, and parking at or leaving gates. A START event is written as soon as the sink
+     * is set. The log can be replayed onto a saved copy of this control tower by
+     * {@link EventReplayer} to bring it up to date.
+     *
+     * Emergencies are recorded at the start of the next tick, since that is when they first
+     * affect the simulation. Only the aircraft and terminals that declared or cleared an
+     * emergency since the previous tick are checked, so recording does not add work for every
+     * aircraft to each tick. Aircraft must be added through {@link #addAircraft(Aircraft)} to
+     * be recorded; other changes made outside of the control tower, such as adding a gate to a
+     * terminal that has already been added, are not recorded.
+     *
+     * The events of each tick are written to the sink in one batch once the tick has finished,
+     * and the events of each added aircraft or terminal in one batch once it has been added.
+     * If the sink throws an IOException, it is rethrown as an UncheckedIOException. The
+     * previous sink, if any, is not closed.
+     *
+     * Only passenger and freight aircraft, and airplane and helicopter terminals, can be
+     * recorded as added.
+     *
+     * @param sink - sink to record events to; or null to stop recording
+     */
+    public void setEventSink(EventSink sink) {
+        if (this.eventLog != null) {
+            this.eventLog.close();
+        }
+        this.eventLog = sink == null ? null : new EventLog(sink, this.aircraft, this.terminals,
+                this.gateIndex, this.ticksElapsed);
+    }
+
+    /**
+     * Returns the sink that state transitions are recorded to, or null if they are not
+     * recorded.
+     *
+     * @return event sink; or null if none is set
+     */
+    public EventSink getEventSink() {
+        return this.eventLog == null ? null : this.eventLog.getSink();
+    }
+
+    /**
+     * Sets the runways used to land and take off aircraft, and the policy deciding which
+     * operations each runway attempts on each tick.
+     *
+     * Every tick, the runways are used in the given order, so that landing and taking off
+     * aircraft happens in batches of up to the total capacity of the runways. By default, a
+     * control tower has one mixed-mode runway with the {@link RunwayPolicy#ALTERNATING}
+     * policy, which behaves as described in {@link #tick()}.
+     *
+     * The runways are not saved with the control tower, so the same runways should be set
+     * before replaying its event log (see {@link EventReplayer}).
+     *
+     * @param runways - runways to use, in order
+     * @param runwayPolicy - policy deciding which operations each runway attempts
+     * @throws IllegalArgumentException - if there are no runways, or the policy is null
+     */
+    public void setRunways(List<Runway> runways, RunwayPolicy runwayPolicy) {
+        if (runways.isEmpty()) {
+            throw new IllegalArgumentException("Control tower must have at least one runway");
+        }
+        if (runwayPolicy == null) {
+            throw new IllegalArgumentException("Runway policy cannot be null");
+        }
+        this.runways = List.copyOf(runways);
+        this.runwayPolicy = runwayPolicy;
+    }
+
+    /**
+     * Returns the runways used to land and take off aircraft, in the order they are used each
+     * tick.
+     *
+     * The returned list cannot be modified.
+     *
+     * @return runways of this control tower
+     */
+    public List<Runway> getRunways() {
+        return this.runways;
+    }
+
+    /**
+     * Returns the policy deciding which operations each runway attempts on each tick.
+     *
+     * @return runway policy
+     */
+    public RunwayPolicy getRunwayPolicy() {
+        return this.runwayPolicy;
+    }
+
+    /**
+     * Sets the recorder that every tick of this control tower is measured by, or stops
+     * measuring ticks if the given recorder is null.
+     *
+     * While a recorder is set, the wall-clock time taken by each phase of every tick is
+     * measured, along with the number of aircraft landed and taken off, and at the end of the
+     * tick the queue depths, loading aircraft, emergencies, aircraft low on fuel and terminal
+     * occupancy levels are counted (see {@link TickMetrics}). Counting takes time proportional
+     * to the number of aircraft.
+     *
+     * @param metrics - recorder to measure ticks with; or null to stop measuring
+     */
+    public void setMetrics(TowerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the recorder that every tick is measured by, or null if ticks are not measured.
+     *
+     * @return metrics recorder; or null if none is set
+     */
+    public TowerMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Enables or disables publishing a {@link TowerState} at the end of every tick.
+     *
+     * While enabled, an immutable copy of the state of this control tower is published at the
+     * end of every tick, and can be read from any thread by {@link #getPublishedState()}
+     * without copying any lists and without racing the tick. Enabling publishes the current
+     * state straight away; disabling discards the published state.
+     *
+     * Changes made between ticks, such as adding aircraft or declaring emergencies, are only
+     * included in the next published state, unless {@link #publishState()} is called after
+     * making them.
+     *
+     * @param publishingStates - true to publish a tower state every tick; false to stop
+     */
+    public void setPublishingStates(boolean publishingStates) {
+        this.publishingStates = publishingStates;
+        if (publishingStates) {
+            this.publishState();
+        } else {
+            this.publishedState = null;
+        }
+    }
+
+    /**
+     * Returns whether a tower state is published at the end of every tick.
+     *
+     * @return true if tower states are published; false otherwise
+     */
+    public boolean isPublishingStates() {
+        return this.publishingStates;
+    }
+
+    /**
+     * Publishes and returns an immutable copy of the current state of this control tower.
+     *
+     * Every part of the state that did not change since the last published state is shared
+     * with it, so only the aircraft, terminals and queues that changed are copied, although
+     * every aircraft is still compared with its previous state. This method should only be
+     * called by the thread that ticks this control tower.
+     *
+     * @return current state of this control tower
+     */
+    public TowerState publishState() {
+        TowerState state = TowerState.of(this, this.publishedState, this.terminals,
+                this.aircraft);
+        this.publishedState = state;
+        return state;
+    }
+
+    /**
+     * Returns the tower state most recently published by {@link #publishState()}, or null if
+     * no state has been published.
+     *
+     * This method may be called from any thread.
+     *
+     * @return most recently published tower state; or null if none
+     */
+    public TowerState getPublishedState() {
+        return this.publishedState;
+    }
+
+    /**
+     * Requests that the given aircraft or terminal declares or clears an emergency.
+     *
+     * This method may be called from any thread. The request is applied by the thread that
+     * ticks this control tower, just before its next tick, or when it next calls
+     * {@link #applyRequests()}, so it never races with a tick.
+     *
+     * @param subject - aircraft or terminal managed by this control tower
+     * @param emergency - true to declare an emergency; false to clear it
+     * @return future that completes once the request has been applied
+     */
+    public CompletableFuture<Void> requestEmergency(EmergencyState subject, boolean emergency) {
+        return this.request(() -> {
+            //Terminal emergencies change which gates are free, so are guarded by its lock
+            Lock lock = subject instanceof Terminal
+                    ? this.lockOf((Terminal) subject).writeLock() : null;
+            if (lock != null) {
+                lock.lock();
+            }
+            try {
+                if (emergency) {
+                    subject.declareEmergency();
+                } else {
+                    subject.clearEmergency();
+                }
+            } finally {
+                if (lock != null) {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Requests that the given aircraft is added to this control tower, as if by
+     * {@link #addAircraft(Aircraft)}.
+     *
+     * This method may be called from any thread. The request is applied in the same way as
+     * {@link #requestEmergency(EmergencyState, boolean)}.
+     *
+     * @param aircraft - aircraft to add
+     * @return future that completes once the aircraft has been added, or completes
+     *         exceptionally with a NoSuitableGateException if there was no suitable gate
+     */
+    public CompletableFuture<Void> requestAddAircraft(Aircraft aircraft) {
+        return this.request(() -> {
+            try {
+                this.addAircraft(aircraft);
+            } catch (NoSuitableGateException nsge) {
+                throw new CompletionException(nsge);
+            }
+        });
+    }
+
+    /**
+     * Applies every request made by other threads that has not yet been applied, in the order
+     * they were made.
+     *
+     * This is called at the start of every tick, and should only be called by the thread that
+     * ticks this control tower, for example to apply requests while the simulation is paused.
+     */
+    public void applyRequests() {
+        Runnable request;
+        while ((request = this.pendingRequests.poll()) != null) {
+            request.run();
+        }
+    }
+
+    /**
+     * Returns the aircraft parked at each gate of the given terminal, in the same order as
+     * {@link Terminal#getGates()}, with null for each unoccupied gate.
+     *
+     * This method may be called from any thread. The gates of the terminal are read while
+     * holding the terminal's lock, which this control tower also holds whenever it parks an
+     * aircraft at or removes an aircraft from one of the terminal's gates, so the result is
+     * always the occupancy at the start or end of a landing or departure, never part way
+     * through. Gates should be added to the terminal before it is shared with other threads.
+     *
+     * @param terminal - terminal managed by this control tower
+     * @return aircraft parked at each gate
+     */
+    public List<Aircraft> getGateOccupancy(Terminal terminal) {
+        Lock lock = this.lockOf(terminal).readLock();
+        lock.lock();
+        try {
+            List<Aircraft> parkedAircraft = new ArrayList<>();
+            for (Gate gate : terminal.getGates()) {
+                parkedAircraft.add(gate.getAircraftAtGate());
+            }
+            return parkedAircraft;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the given action to the requests to apply before the next tick.
+     *
+     * @param action - action to perform on the ticking thread
+     * @return future that completes once the action has been performed, or completes
+     *         exceptionally if the action throws an exception
+     */
+    private CompletableFuture<Void> request(Runnable action) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        this.pendingRequests.add(() -> {
+            try {
+                action.run();
+                result.complete(null);
+            } catch (CompletionException ce) {
+                result.completeExceptionally(ce.getCause());
+            } catch (RuntimeException re) {
+                result.completeExceptionally(re);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Parks the given aircraft at the given gate while holding the lock of the gate's
+     * terminal.
+     *
+     * @param gate - gate to park at
+     * @param aircraft - aircraft to park
+     * @throws NoSpaceException - if the gate is already occupied
+     */
+    private void parkAircraft(Gate gate, Aircraft aircraft) throws NoSpaceException {
+        Lock lock = this.lockOf(this.gateIndex.findTerminalOfGate(gate)).writeLock();
+        lock.lock();
+        try {
+            gate.parkAircraft(aircraft);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the aircraft parked at the given gate while holding the lock of the gate's
+     * terminal.
+     *
+     * @param gate - gate the aircraft is leaving
+     */
+    private void leaveGate(Gate gate) {
+        Lock lock = this.lockOf(this.gateIndex.findTerminalOfGate(gate)).writeLock();
+        lock.lock();
+        try {
+            gate.aircraftLeaves();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the lock guarding the gates of the given terminal.
+     *
+     * Terminals are spread across a fixed number of locks, so terminals never need to be
+     * registered before their lock is used.
+     *
+     * @param terminal - terminal to find the lock of; or null for gates not in any terminal
+     * @return lock of the terminal
+     */
+    private ReadWriteLock lockOf(Terminal terminal) {
+        return this.terminalLocks[System.identityHashCode(terminal) & (NUM_TERMINAL_LOCKS - 1)];
+    }
+
+    /**
+     * Returns true if the aircraft update phase of this tick can be done by the fleet store.
+     *
+     * Any aircraft that are not yet in the fleet store are added first, in the order they
+     * were added to this control tower.
+     *
+     * @return true if the fleet store can tick all aircraft; false otherwise
+     */
+    private boolean canTickFleetStore() {
+        if (this.fleetStore == null || this.hasSharedTaskLists()) {
+            return false;
+        }
+
+        if (this.fleetStore.size() > this.aircraft.size()) {
+            this.fleetStore.clear();
+        }
+
+        //Aircraft are only ever appended, so only the newly added aircraft need storing
+        List<Aircraft> newAircraft =
+                this.aircraft.subList(this.fleetStore.size(), this.aircraft.size());
+        for (Aircraft aircraft : newAircraft) {
+            if (aircraft.getClass() != PassengerAircraft.class
+                    && aircraft.getClass() != FreightAircraft.class) {
+                return false;
+            }
+        }
+        for (Aircraft aircraft : newAircraft) {
+            this.fleetStore.add(aircraft);
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the aircraft update phase of this tick can be split across the tick pool.
+     *
+     * @return true if aircraft can be updated in parallel; false otherwise
+     */
+    private boolean canTickInParallel() {
+        return this.tickPool != null && this.aircraft.size() > PARALLEL_TICK_GRANULARITY
+                && !this.hasSharedTaskLists();
+    }
+
+    /**
+     * Returns true if two aircraft managed by this control tower share the same task list.
+     *
+     * Aircraft that share a task list would both advance it, so the result of a tick would
+     * depend on the order they are updated in. Aircraft are only checked for shared task lists
+     * again once more aircraft have been added.
+     *
+     * @return true if any task list is shared; false otherwise
+     */
+    private boolean hasSharedTaskLists() {
+        if (this.aircraft.size() != this.aircraftCheckedForSharedTasks) {
+            Set<TaskList> taskLists = Collections.newSetFromMap(new IdentityHashMap<>());
+            this.sharedTaskLists = false;
+            for (Aircraft aircraft : this.aircraft) {
+                if (!taskLists.add(aircraft.getTaskList())) {
+                    this.sharedTaskLists = true;
+                    break;
+                }
+            }
+            this.aircraftCheckedForSharedTasks = this.aircraft.size();
+        }
+        return this.sharedTaskLists;
+    }
+
+    /**
+     * Ticks the given aircraft and, if its current task is AWAY or WAIT, moves it to its
+     * next task.
+     *
+     * @param aircraft - aircraft to update
+     */
+    private static void tickAircraft(Aircraft aircraft) {
+        aircraft.tick();
+        moveAircraftToNextTask(aircraft);
+    }
+
+    /**
+     * Moves the given aircraft to its next task if its current task is AWAY or WAIT.
+     *
+     * @param aircraft - aircraft to update
+     */
+    private static void moveAircraftToNextTask(Aircraft aircraft) {
+        //If current task is AWAY or WAIT, then move to next task
+        if (aircraft.getTaskList().getCurrentTask().getType() == TaskType.AWAY
+                || aircraft.getTaskList().getCurrentTask().getType() == TaskType.WAIT) {
+            aircraft.getTaskList().moveToNextTask();
+        }
+    }
+
+    /**
+     * Advances the simulation by one tick, only routing the aircraft whose current task type
+     * changed during this tick.
+     *
+     * The steps performed are the same as in {@link #tick()}.
+     */
+    private void incrementalTick() {
+        this.ticksElapsed++;
+        if (this.metrics != null) {
+            this.metrics.phaseStarted();
+        }
+        List<Aircraft> changedAircraft = new ArrayList<>();
+
+        //Loading aircraft are ticked first, so aircraft that start loading this tick are not
+        //ticked as loading until the next tick, as in a full tick
+        for (Aircraft aircraft : this.aircraftByTaskType.get(TaskType.LOAD)) {
+            aircraft.tick();
+        }
+
+        //All AWAY and WAIT aircraft move to their next task
+        Set<Aircraft> awayAircraft = this.aircraftByTaskType.put(TaskType.AWAY, createBucket());
+        Set<Aircraft> waitAircraft = this.aircraftByTaskType.put(TaskType.WAIT, createBucket());
+        this.advanceAircraft(awayAircraft, TaskType.AWAY, changedAircraft);
+        this.advanceAircraft(waitAircraft, TaskType.WAIT, changedAircraft);
+        this.phaseFinished(TowerMetrics.Phase.AIRCRAFT);
+
+        for (Aircraft aircraft : this.finishLoadingAircraft()) {
+            this.moveToBucket(aircraft, changedAircraft);
+        }
+        this.phaseFinished(TowerMetrics.Phase.LOADING);
+
+        for (Aircraft aircraft : this.useRunways()) {
+            this.moveToBucket(aircraft, changedAircraft);
+        }
+        this.phaseFinished(TowerMetrics.Phase.RUNWAY);
+
+        //Place aircraft in the same order as placeAllAircraftInQueues() would
+        changedAircraft.sort(Comparator.comparing(this.aircraftIndices::get));
+        for (Aircraft aircraft : changedAircraft) {
+            this.placeAircraftInQueues(aircraft);
+        }
+        this.phaseFinished(TowerMetrics.Phase.QUEUES);
+    }
+
+    /**
+     * Lands and takes off aircraft on every runway, in order, as decided by the runway policy.
+     *
+     * Each runway is offered to the policy once for every aircraft it can handle, so that
+     * each decision sees the queues left by the one before it. The first operation chosen by
+     * the policy that the runway's mode allows and that succeeds is performed; if none do, the
+     * runway is idle for the rest of the tick.
+     *
+     * The built-in policies that do not look at the queues choose the same operations for
+     * every aircraft a runway can handle in a tick, so when they land, the rest of the
+     * runway's capacity is landed in one batch. The result is the same as landing one
+     * aircraft at a time, since once landing fails it keeps failing for the rest of the tick.
+     *
+     * @return aircraft that landed or took off, in the order they did so
+     */
+    private List<Aircraft> useRunways() {
+        List<Aircraft> movedAircraft = new ArrayList<>();
+        boolean batchLandings = this.runwayPolicy == RunwayPolicy.ALTERNATING
+                || this.runwayPolicy == RunwayPolicy.LANDING_FIRST;
+        for (Runway runway : this.runways) {
+            int remainingCapacity = runway.getCapacity();
+            while (remainingCapacity > 0) {
+                int numMoved = 0;
+                for (RunwayPolicy.Operation operation : this.runwayPolicy.choose(runway,
+                        this.ticksElapsed, this.landingQueue, this.takeoffQueue)) {
+                    if (!runway.getMode().allows(operation)) {
+                        continue;
+                    }
+                    if (operation == RunwayPolicy.Operation.LAND) {
+                        List<Aircraft> landedAircraft =
+                                this.landAircraft(batchLandings ? remainingCapacity : 1);
+                        movedAircraft.addAll(landedAircraft);
+                        numMoved = landedAircraft.size();
+                    } else if (this.takeoffQueue.peekAircraft() != null) {
+                        movedAircraft.add(this.takeoffQueue.peekAircraft());
+                        this.tryTakeOffAircraft();
+                        numMoved = 1;
+                    }
+                    if (numMoved > 0) {
+                        break;
+                    }
+                }
+                if (numMoved == 0) {
+                    //Runway stays idle for the rest of this tick
+                    break;
+                }
+                remainingCapacity -= numMoved;
+            }
+        }
+        return movedAircraft;
+    }
+
+    /**
+     * Records that the given phase of this tick has finished, if ticks are being measured.
+     *
+     * @param phase - phase that has finished
+     */
+    private void phaseFinished(TowerMetrics.Phase phase) {
+        if (this.metrics != null) {
+            this.metrics.phaseFinished(phase);
+        }
+    }
+
+    /**
+     * Ticks all of the given aircraft and moves each of them to its next task, recording
+     * those whose current task type changed.
+     *
+     * @param bucket - aircraft whose current task type is previousType
+     * @param previousType - current task type of the aircraft before advancing
+     * @param changedAircraft - list to add aircraft whose task type changed to
+     */
+    private void advanceAircraft(Set<Aircraft> bucket, TaskType previousType,
+                                 List<Aircraft> changedAircraft) {
+        for (Aircraft aircraft : bucket) {
+            aircraft.tick();
+            aircraft.getTaskList().moveToNextTask();
+            TaskType newType = aircraft.getTaskList().getCurrentTask().getType();
+            this.aircraftByTaskType.get(newType).add(aircraft);
+            if (newType != previousType) {
+                changedAircraft.add(aircraft);
+            }
+        }
+    }
+
+    /**
+     * Moves the given aircraft into the bucket of its current task type, recording it
+     * as changed.
+     *
+     * @param aircraft - aircraft whose task has just changed
+     * @param changedAircraft - list to add the aircraft to
+     */
+    private void moveToBucket(Aircraft aircraft, List<Aircraft> changedAircraft) {
+        for (Set<Aircraft> bucket : this.aircraftByTaskType.values()) {
+            bucket.remove(aircraft);
+        }
+        this.aircraftByTaskType.get(aircraft.getTaskList().getCurrentTask().getType())
+                .add(aircraft);
+        changedAircraft.add(aircraft);
+    }
+
+    /**
+     * Rebuilds the grouping of aircraft by current task type and the index of each aircraft
+     * in the list of aircraft.
+     */
+    private void rebuildTaskTypeIndex() {
+        this.aircraftByTaskType = new EnumMap<>(TaskType.class);
+        for (TaskType taskType : TaskType.values()) {
+            this.aircraftByTaskType.put(taskType, createBucket());
+        }
+        this.aircraftIndices = new IdentityHashMap<>();
+
+        for (int i = 0; i < this.aircraft.size(); i++) {
+            Aircraft aircraft = this.aircraft.get(i);
+            this.aircraftIndices.put(aircraft, i);
+            this.aircraftByTaskType.get(aircraft.getTaskList().getCurrentTask().getType())
+                    .add(aircraft);
+        }
+    }
+
+    /**
+     * Creates an empty set of aircraft that compares aircraft by identity.
+     *
+     * @return empty set of aircraft
+     */
+    private static Set<Aircraft> createBucket() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
     }
 
     /**
@@ -330,26 +1242,76 @@ public class ControlTower implements Tickable {
      * @return true if an aircraft was successfully landed and parked; false otherwise
      */
     public boolean tryLandAircraft() {
-        if (this.landingQueue.peekAircraft() == null) {
-            return false;
-        } else {
-            Aircraft nextLandingAircraft = this.landingQueue.peekAircraft();
+        return !this.landAircraft(1).isEmpty();
+    }
+
+    /**
+     * Attempts to land up to the given number of aircraft waiting in the landing queue, parking
+     * each at a suitable gate.
+     *
+     * The result is the same as calling {@link #tryLandAircraft()} up to the given number of
+     * times, stopping as soon as it returns false: aircraft are landed in queue order until the
+     * queue is empty or there is no suitable gate for the aircraft at the front of the queue.
+     *
+     * @param maxAircraft - maximum number of aircraft to land
+     * @return number of aircraft landed and parked
+     */
+    public int tryLandAircraft(int maxAircraft) {
+        return this.landAircraft(maxAircraft).size();
+    }
+
+    /**
+     * Performs the actions described in {@link #tryLandAircraft(int)}, returning the aircraft
+     * that landed.
+     *
+     * The landing aircraft are found in one pass over the front of the landing queue, matching
+     * each against the free gates of its aircraft type, before any of them are removed from
+     * the queue and parked.
+     *
+     * @param maxAircraft - maximum number of aircraft to land
+     * @return aircraft that landed, in the order they landed
+     */
+    private List<Aircraft> landAircraft(int maxAircraft) {
+        List<Aircraft> landingAircraft = new ArrayList<>();
+        List<Gate> suitableGates = new ArrayList<>();
+        Map<AircraftType, Iterator<Gate>> freeGates = new EnumMap<>(AircraftType.class);
+        for (Aircraft aircraft : this.landingQueue) {
+            if (landingAircraft.size() >= maxAircraft) {
+                break;
+            }
+            AircraftType aircraftType = aircraft.getCharacteristics().type;
+            Iterator<Gate> gates = freeGates.get(aircraftType);
+            if (gates == null) {
+                gates = this.gateIndex.findUnoccupiedGates(aircraftType, maxAircraft).iterator();
+                freeGates.put(aircraftType, gates);
+            }
+            if (!gates.hasNext()) {
+                //Aircraft further back in the queue cannot land before this one
+                break;
+            }
+            landingAircraft.add(aircraft);
+            suitableGates.add(gates.next());
+        }
+
+        //The landing aircraft are at the front of the queue, in order
+        for (int i = 0; i < landingAircraft.size(); i++) {
+            Aircraft landedAircraft = this.landingQueue.removeAircraft();
+            Gate suitableGate = suitableGates.get(i);
             try {
-                Gate suitableGate = this.findUnoccupiedGate(nextLandingAircraft);
-                Aircraft landedAircraft = this.landingQueue.removeAircraft();
-                try {
-                    suitableGate.parkAircraft(landedAircraft);
-                    landedAircraft.unload();
-                    landedAircraft.getTaskList().moveToNextTask();
-                } catch (NoSpaceException nse) {
-                    //ignore
+                this.parkAircraft(suitableGate, landedAircraft);
+                landedAircraft.unload();
+                landedAircraft.getTaskList().moveToNextTask();
+                if (this.eventLog != null) {
+                    this.eventLog.aircraftLanded(landedAircraft, suitableGate);
                 }
-            } catch (NoSuitableGateException nsge) {
-                return false;
+                if (this.metrics != null) {
+                    this.metrics.aircraftLanded();
+                }
+            } catch (NoSpaceException nse) {
+                //ignore
             }
         }
-
-        return true;
+        return landingAircraft;
     }
 
     /**
@@ -365,6 +1327,12 @@ public class ControlTower implements Tickable {
         } else {
             Aircraft takingOffAircraft = this.takeoffQueue.removeAircraft();
             takingOffAircraft.getTaskList().moveToNextTask();
+            if (this.eventLog != null) {
+                this.eventLog.aircraftTookOff(takingOffAircraft);
+            }
+            if (this.metrics != null) {
+                this.metrics.aircraftTookOff();
+            }
         }
     }
 
@@ -378,24 +1346,30 @@ public class ControlTower implements Tickable {
      * Additionally, it should leave the gate it is parked at and should move on to its next task.
      */
     public void loadAircraft() {
-        Iterator<Map.Entry<Aircraft, Integer>> itr = this.loadingAircraft.entrySet().iterator();
-        while (itr.hasNext()) {
-            Map.Entry<Aircraft, Integer> entry = itr.next();
-            this.loadingAircraft.put(entry.getKey(), entry.getValue() - 1);
-
-            if (entry.getValue() <= 0) {
-                //If load remaining is less than 1, then remove it from load map
-                Aircraft finishedLoadingAircraft = entry.getKey();
-                itr.remove();
-
-                //Find the gate aircraft parked, and remove it if gate exist
-                Gate initialGate = this.findGateOfAircraft(finishedLoadingAircraft);
-                if (initialGate != null) {
-                    initialGate.aircraftLeaves();
-                }
-                finishedLoadingAircraft.getTaskList().moveToNextTask();
+        this.finishLoadingAircraft();
+    }
+
+    /**
+     * Performs the actions described in {@link #loadAircraft()}, returning the aircraft that
+     * finished loading.
+     *
+     * @return aircraft that finished loading, in the order they were removed from the map
+     */
+    private List<Aircraft> finishLoadingAircraft() {
+        //Only the aircraft whose load remaining reaches zero this tick are visited
+        List<Aircraft> finishedAircraft = this.loadingAircraft.advance();
+        for (Aircraft finishedLoadingAircraft : finishedAircraft) {
+            //Find the gate aircraft parked, and remove it if gate exist
+            Gate initialGate = this.findGateOfAircraft(finishedLoadingAircraft);
+            if (initialGate != null) {
+                this.leaveGate(initialGate);
+            }
+            finishedLoadingAircraft.getTaskList().moveToNextTask();
+            if (this.eventLog != null) {
+                this.eventLog.loadingFinished(finishedLoadingAircraft, initialGate);
             }
         }
+        return finishedAircraft;
     }
 
     /**
@@ -435,7 +1409,11 @@ public class ControlTower implements Tickable {
             }
         } else if (aircraft.getTaskList().getCurrentTask().getType() == TaskType.LOAD) {
             if (!this.loadingAircraft.containsKey(aircraft)) {
-                this.loadingAircraft.put(aircraft, aircraft.getLoadingTime());
+                int loadingTime = aircraft.getLoadingTime();
+                this.loadingAircraft.put(aircraft, loadingTime);
+                if (this.eventLog != null) {
+                    this.eventLog.loadingStarted(aircraft, loadingTime);
+                }
             }
         }
     }
@@ -461,12 +1439,54 @@ public class ControlTower implements Tickable {
                 + " terminals, "
                 + this.aircraft.size()
                 + " total aircraft ("
-                + this.getLandingQueue().getAircraftInOrder().size()
+                + this.getLandingQueue().size()
                 + " LAND, "
-                + this.getTakeoffQueue().getAircraftInOrder().size()
+                + this.getTakeoffQueue().size()
                 + " TAKEOFF, "
                 + this.getLoadingAircraft().size()
                 + " LOAD)";
     }
 
+    /**
+     * Task that updates a range of aircraft, splitting the range in half until it is small
+     * enough to update directly.
+     */
+    private static class AircraftTickTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        /** All aircraft managed by the control tower */
+        private final Aircraft[] aircraft;
+
+        /** Index of the first aircraft to update */
+        private final int start;
+
+        /** Index after the last aircraft to update */
+        private final int end;
+
+        /**
+         * Creates a new task that updates the aircraft between the given indices.
+         *
+         * @param aircraft - all aircraft managed by the control tower
+         * @param start - index of the first aircraft to update
+         * @param end - index after the last aircraft to update
+         */
+        private AircraftTickTask(Aircraft[] aircraft, int start, int end) {
+            this.aircraft = aircraft;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start <= PARALLEL_TICK_GRANULARITY) {
+                for (int i = this.start; i < this.end; i++) {
+                    tickAircraft(this.aircraft[i]);
+                }
+            } else {
+                int middle = (this.start + this.end) >>> 1;
+                invokeAll(new AircraftTickTask(this.aircraft, this.start, middle),
+                        new AircraftTickTask(this.aircraft, middle, this.end));
+            }
+        }
+    }
 }
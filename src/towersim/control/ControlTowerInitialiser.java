@@ -411,15 +411,15 @@ public class ControlTowerInitialiser {
                         throw new MalformedSaveException();
                     }
 
-                    tasks.add(new Task(TaskType.LOAD, loadPercentage));
+                    tasks.add(Task.of(TaskType.LOAD, loadPercentage));
                 } else if (taskName.equals("WAIT")) {
-                    tasks.add(new Task(TaskType.WAIT));
+                    tasks.add(Task.of(TaskType.WAIT));
                 } else if (taskName.equals("TAKEOFF")) {
-                    tasks.add(new Task(TaskType.TAKEOFF));
+                    tasks.add(Task.of(TaskType.TAKEOFF));
                 } else if (taskName.equals("AWAY")) {
-                    tasks.add(new Task(TaskType.AWAY));
+                    tasks.add(Task.of(TaskType.AWAY));
                 } else if (taskName.equals("LAND")) {
-                    tasks.add(new Task(TaskType.LAND));
+                    tasks.add(Task.of(TaskType.LAND));
                 } else {
                     throw new MalformedSaveException();
                 }
@@ -0,0 +1,81 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.ground.Terminal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Utility class that saves a control tower to the four text save files read by
+ * {@link ControlTowerInitialiser}.
+ *
+ * This is used both by the GUI and by headless simulation runs, so it does not depend on any
+ * part of the display.
+ */
+public class ControlTowerSaver {
+    /**
+     * Saves the current state of the given control tower to the given writers, then closes
+     * the writers.
+     *
+     * The format written to each writer is described in
+     * {@link towersim.display.ViewModel#saveAs(Writer, Writer, Writer, Writer)}.
+     *
+     * @param controlTower - control tower to save
+     * @param tickWriter - writer to which the number of ticks elapsed will be written
+     * @param aircraftWriter - writer to which the list of aircraft will be written
+     * @param queuesWriter - writer to which the takeoff/landing queues and loading map
+     *                     will be written
+     * @param terminalsWithGatesWriter - writer to which the list of terminals and their gates
+     *                                 will be written
+     * @throws IOException - if an IOException occurs when writing to the writers
+     */
+    public static void saveAs(ControlTower controlTower, Writer tickWriter,
+                              Writer aircraftWriter, Writer queuesWriter,
+                              Writer terminalsWithGatesWriter) throws IOException {
+        //Tick writer
+        tickWriter.write("" + controlTower.getTicksElapsed());
+
+        //Aircraft writer
+        aircraftWriter.write("" + controlTower.getAircraft().size());
+        for (Aircraft aircraft : controlTower.getAircraft()) {
+            aircraftWriter.write("\n" + aircraft.encode());
+        }
+
+        //Queue writer
+        queuesWriter.write(encodeQueues(controlTower));
+
+        //Terminals with Gates writer
+        terminalsWithGatesWriter.write("" + controlTower.getTerminals().size());
+        for (Terminal terminal : controlTower.getTerminals()) {
+            terminalsWithGatesWriter.write("\n" + terminal.encode());
+        }
+
+        //Close all writers
+        tickWriter.close();
+        aircraftWriter.close();
+        queuesWriter.close();
+        terminalsWithGatesWriter.close();
+    }
+
+    /**
+     * Returns the contents of the queues file for the given control tower: the takeoff queue,
+     * the landing queue and the loading aircraft.
+     *
+     * @param controlTower - control tower to encode
+     * @return encoded queues and loading aircraft
+     */
+    static String encodeQueues(ControlTower controlTower) {
+        StringJoiner loadingAircraft = new StringJoiner(",");
+        for (Map.Entry<Aircraft, Integer> entry : controlTower.getLoadingAircraft().entrySet()) {
+            loadingAircraft.add(entry.getKey().getCallsign() + ":" + entry.getValue());
+        }
+
+        return controlTower.getTakeoffQueue().encode() + "\n"
+                + controlTower.getLandingQueue().encode() + "\n"
+                + "LoadingAircraft:" + controlTower.getLoadingAircraft().size() + "\n"
+                + loadingAircraft;
+    }
+}
@@ -0,0 +1,677 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+import towersim.util.NoSpaceException;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Utility class that saves and loads the complete state of a control tower in a compact,
+ * versioned binary format.
+ *
+ * Unlike the text save files read by {@link ControlTowerInitialiser}, a snapshot stores fuel
+ * amounts exactly, the current task of every aircraft and the order in which aircraft were
+ * added to the landing queue, so a tower loaded from a snapshot behaves identically to the
+ * tower that was saved. The text format is still used for interchange.
+ *
+ * All values are big-endian. A snapshot contains, in order:
+ * <ol>
+ * <li>the magic number and format version</li>
+ * <li>the number of ticks elapsed</li>
+ * <li>each distinct task list, stored once and referred to by index</li>
+ * <li>each aircraft: callsign, kind, characteristics ordinal, task list index, current task,
+ * fuel, emergency status and cargo</li>
+ * <li>the takeoff queue, landing queue and loading map, as indices into the aircraft</li>
+ * <li>each terminal: kind, number, emergency status and gates</li>
+ * </ol>
+ */
+public class ControlTowerSnapshot {
+    /** Identifies a file as a control tower snapshot ("TWRS") */
+    private static final int MAGIC = 0x54575253;
+
+    /** Version of the format written by this class */
+    private static final int VERSION = 1;
+
+    /** Size of the buffer used when writing to or reading from a channel */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Kind of a passenger aircraft */
+    private static final byte PASSENGER_AIRCRAFT = 0;
+
+    /** Kind of a freight aircraft */
+    private static final byte FREIGHT_AIRCRAFT = 1;
+
+    /** Kind of an airplane terminal */
+    private static final byte AIRPLANE_TERMINAL = 0;
+
+    /** Kind of a helicopter terminal */
+    private static final byte HELICOPTER_TERMINAL = 1;
+
+    /** Index written for a gate with no aircraft parked at it */
+    private static final int NO_AIRCRAFT = -1;
+
+    /**
+     * Writes a snapshot of the given control tower to the file at the given path, replacing
+     * the file if it already exists.
+     *
+     * @param controlTower - control tower to save
+     * @param path - path of the file to write to
+     * @throws IOException - if an IOException is encountered when writing to the file
+     */
+    public static void save(ControlTower controlTower, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(controlTower, channel);
+        }
+    }
+
+    /**
+     * Loads a control tower from the snapshot in the file at the given path.
+     *
+     * @param path - path of the file to read from
+     * @return control tower read from the snapshot
+     * @throws MalformedSaveException - if the file is not a valid snapshot
+     * @throws IOException - if an IOException is encountered when reading from the file
+     */
+    public static ControlTower load(Path path) throws MalformedSaveException, IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes a snapshot of the given control tower to the given channel.
+     *
+     * The channel is not closed.
+     *
+     * @param controlTower - control tower to save
+     * @param channel - channel to write to
+     * @throws IOException - if an IOException is encountered when writing to the channel
+     * @throws IllegalArgumentException - if a queue, the loading map or a gate of the control
+     * tower refers to an aircraft that is not managed by the control tower
+     */
+    public static void write(ControlTower controlTower, WritableByteChannel channel)
+            throws IOException {
+        SnapshotWriter writer = new SnapshotWriter(channel);
+        writer.ensure(16);
+        writer.buffer.putInt(MAGIC);
+        writer.buffer.putInt(VERSION);
+        writer.buffer.putLong(controlTower.getTicksElapsed());
+
+        List<Aircraft> aircraft = controlTower.getAircraft();
+        Map<Aircraft, Integer> aircraftIndices = new IdentityHashMap<>();
+        for (int i = 0; i < aircraft.size(); i++) {
+            aircraftIndices.put(aircraft.get(i), i);
+        }
+
+        //Store each distinct task list only once
+        Map<List<Task>, Integer> taskListIndices = new HashMap<>();
+        List<List<Task>> taskLists = new ArrayList<>();
+        int[] taskListOfAircraft = new int[aircraft.size()];
+        for (int i = 0; i < aircraft.size(); i++) {
+            List<Task> tasks = aircraft.get(i).getTaskList().getTasks();
+            Integer index = taskListIndices.get(tasks);
+            if (index == null) {
+                index = taskLists.size();
+                taskListIndices.put(tasks, index);
+                taskLists.add(tasks);
+            }
+            taskListOfAircraft[i] = index;
+        }
+
+        writer.putInt(taskLists.size());
+        for (List<Task> tasks : taskLists) {
+            writer.putInt(tasks.size());
+            for (Task task : tasks) {
+                writer.ensure(5);
+                writer.buffer.put((byte) task.getType().ordinal());
+                writer.buffer.putInt(task.getLoadPercent());
+            }
+        }
+
+        writer.putInt(aircraft.size());
+        for (int i = 0; i < aircraft.size(); i++) {
+            writeAircraft(writer, aircraft.get(i), taskListOfAircraft[i]);
+        }
+
+        writeQueue(writer, controlTower.getTakeoffQueue().getAircraftInOrder(), aircraftIndices);
+        AircraftQueue landingQueue = controlTower.getLandingQueue();
+        if (landingQueue instanceof LandingQueue) {
+            writeQueue(writer, ((LandingQueue) landingQueue).getAircraftInArrivalOrder(),
+                    aircraftIndices);
+        } else {
+            writeQueue(writer, landingQueue.getAircraftInOrder(), aircraftIndices);
+        }
+
+        Map<Aircraft, Integer> loadingAircraft = controlTower.getLoadingAircraft();
+        writer.putInt(loadingAircraft.size());
+        for (Map.Entry<Aircraft, Integer> entry : loadingAircraft.entrySet()) {
+            writer.putInt(indexOf(entry.getKey(), aircraftIndices));
+            writer.putInt(entry.getValue());
+        }
+
+        List<Terminal> terminals = controlTower.getTerminals();
+        writer.putInt(terminals.size());
+        for (Terminal terminal : terminals) {
+            writeTerminal(writer, terminal, aircraftIndices);
+        }
+
+        writer.flush();
+    }
+
+    /**
+     * Loads a control tower from the snapshot read from the given channel.
+     *
+     * The channel is read until it reaches end-of-stream, and is not closed.
+     *
+     * @param channel - channel to read from
+     * @return control tower read from the snapshot
+     * @throws MalformedSaveException - if the contents of the channel are not a valid snapshot
+     * @throws IOException - if an IOException is encountered when reading from the channel
+     */
+    public static ControlTower read(ReadableByteChannel channel)
+            throws MalformedSaveException, IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (channel.read(buffer) != -1) {
+            if (!buffer.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+        buffer.flip();
+        return read(buffer);
+    }
+
+    /**
+     * Loads a control tower from the snapshot in the given buffer.
+     *
+     * @param buffer - buffer positioned at the start of the snapshot
+     * @return control tower read from the snapshot
+     * @throws MalformedSaveException - if the buffer does not contain a valid snapshot
+     */
+    private static ControlTower read(ByteBuffer buffer) throws MalformedSaveException {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new MalformedSaveException();
+            }
+            long ticksElapsed = buffer.getLong();
+            if (ticksElapsed < 0) {
+                throw new MalformedSaveException();
+            }
+
+            List<List<Task>> taskLists = new ArrayList<>();
+            int numTaskLists = readCount(buffer);
+            for (int i = 0; i < numTaskLists; i++) {
+                taskLists.add(readTasks(buffer));
+            }
+
+            int numAircraft = readCount(buffer);
+            List<Aircraft> aircraft = new ArrayList<>(Math.min(numAircraft, buffer.remaining()));
+            for (int i = 0; i < numAircraft; i++) {
+                aircraft.add(readAircraft(buffer, taskLists));
+            }
+
+            TakeoffQueue takeoffQueue = new TakeoffQueue();
+            readQueue(buffer, takeoffQueue, aircraft);
+            LandingQueue landingQueue = new LandingQueue();
+            readQueue(buffer, landingQueue, aircraft);
+
+            Map<Aircraft, Integer> loadingAircraft = new TreeMap<>(
+                    Comparator.comparing(Aircraft::getCallsign));
+            int numLoading = readCount(buffer);
+            for (int i = 0; i < numLoading; i++) {
+                Aircraft loading = aircraftAt(buffer.getInt(), aircraft);
+                int ticksRemaining = buffer.getInt();
+                if (loading == null || ticksRemaining < 1) {
+                    throw new MalformedSaveException();
+                }
+                loadingAircraft.put(loading, ticksRemaining);
+            }
+
+            List<Terminal> terminals = new ArrayList<>();
+            int numTerminals = readCount(buffer);
+            for (int i = 0; i < numTerminals; i++) {
+                terminals.add(readTerminal(buffer, aircraft));
+            }
+
+            if (buffer.hasRemaining()) {
+                throw new MalformedSaveException();
+            }
+
+            ControlTower controlTower = new ControlTower(ticksElapsed, aircraft,
+                    landingQueue, takeoffQueue, loadingAircraft);
+            for (Terminal terminal : terminals) {
+                controlTower.addTerminal(terminal);
+            }
+            return controlTower;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new MalformedSaveException();
+        }
+    }
+
+    /**
+     * Writes the given aircraft.
+     *
+     * @param writer - writer to write to
+     * @param aircraft - aircraft to write
+     * @param taskListIndex - index of the aircraft's tasks in the snapshot's task lists
+     * @throws IOException - if an IOException is encountered when writing
+     */
+    private static void writeAircraft(SnapshotWriter writer, Aircraft aircraft,
+                                      int taskListIndex) throws IOException {
+        writer.putString(aircraft.getCallsign());
+
+        byte kind;
+        int cargo;
+        if (aircraft instanceof PassengerAircraft) {
+            kind = PASSENGER_AIRCRAFT;
+            cargo = ((PassengerAircraft) aircraft).getNumPassengers();
+        } else if (aircraft instanceof FreightAircraft) {
+            kind = FREIGHT_AIRCRAFT;
+            cargo = ((FreightAircraft) aircraft).getFreightAmount();
+        } else {
+            throw new IllegalArgumentException("Unsupported kind of aircraft: "
+                    + aircraft.getClass().getSimpleName());
+        }
+
+        writer.ensure(23);
+        writer.buffer.put(kind);
+        writer.buffer.put((byte) aircraft.getCharacteristics().ordinal());
+        writer.buffer.putInt(taskListIndex);
+        writer.buffer.putInt(aircraft.getTaskList().getCurrentTaskIndex());
+        writer.buffer.putDouble(aircraft.getFuelAmount());
+        writer.buffer.put((byte) (aircraft.hasEmergency() ? 1 : 0));
+        writer.buffer.putInt(cargo);
+    }
+
+    /**
+     * Reads an aircraft.
+     *
+     * @param buffer - buffer to read from
+     * @param taskLists - task lists that have already been read
+     * @return aircraft that was read
+     * @throws MalformedSaveException - if the aircraft is invalid
+     */
+    private static Aircraft readAircraft(ByteBuffer buffer, List<List<Task>> taskLists)
+            throws MalformedSaveException {
+        String callsign = readString(buffer);
+        byte kind = buffer.get();
+        AircraftCharacteristics characteristics =
+                readOrdinal(buffer, AircraftCharacteristics.values());
+
+        int taskListIndex = buffer.getInt();
+        int currentTaskIndex = buffer.getInt();
+        if (taskListIndex < 0 || taskListIndex >= taskLists.size()) {
+            throw new MalformedSaveException();
+        }
+        List<Task> tasks = taskLists.get(taskListIndex);
+        if (currentTaskIndex < 0 || currentTaskIndex >= tasks.size()) {
+            throw new MalformedSaveException();
+        }
+        TaskList taskList = new TaskList(tasks);
+        for (int i = 0; i < currentTaskIndex; i++) {
+            taskList.moveToNextTask();
+        }
+
+        double fuelAmount = buffer.getDouble();
+        byte emergency = buffer.get();
+        int cargo = buffer.getInt();
+
+        Aircraft aircraft;
+        if (kind == PASSENGER_AIRCRAFT) {
+            aircraft = new PassengerAircraft(callsign, characteristics, taskList,
+                    fuelAmount, cargo);
+        } else if (kind == FREIGHT_AIRCRAFT) {
+            aircraft = new FreightAircraft(callsign, characteristics, taskList,
+                    fuelAmount, cargo);
+        } else {
+            throw new MalformedSaveException();
+        }
+
+        if (emergency == 1) {
+            aircraft.declareEmergency();
+        } else if (emergency != 0) {
+            throw new MalformedSaveException();
+        }
+        return aircraft;
+    }
+
+    /**
+     * Reads a list of tasks. The list is shared between every aircraft that uses it, which is
+     * safe because task lists never modify their tasks.
+     *
+     * @param buffer - buffer to read from
+     * @return list of tasks
+     * @throws MalformedSaveException - if any of the tasks are invalid
+     */
+    private static List<Task> readTasks(ByteBuffer buffer) throws MalformedSaveException {
+        int numTasks = readCount(buffer);
+        List<Task> tasks = new ArrayList<>(Math.min(numTasks, buffer.remaining()));
+        for (int i = 0; i < numTasks; i++) {
+            TaskType type = readOrdinal(buffer, TaskType.values());
+            tasks.add(Task.of(type, buffer.getInt()));
+        }
+
+        //Validate the order of the tasks once, rather than for every aircraft
+        new TaskList(tasks);
+        return tasks;
+    }
+
+    /**
+     * Writes the aircraft in a queue.
+     *
+     * @param writer - writer to write to
+     * @param queue - aircraft in the queue, in the order they should be added when read
+     * @param aircraftIndices - index of each aircraft managed by the control tower
+     * @throws IOException - if an IOException is encountered when writing
+     */
+    private static void writeQueue(SnapshotWriter writer, List<Aircraft> queue,
+                                   Map<Aircraft, Integer> aircraftIndices) throws IOException {
+        writer.putInt(queue.size());
+        for (Aircraft aircraft : queue) {
+            writer.putInt(indexOf(aircraft, aircraftIndices));
+        }
+    }
+
+    /**
+     * Reads the aircraft in a queue and adds them to the given queue in order.
+     *
+     * @param buffer - buffer to read from
+     * @param queue - empty queue that aircraft will be added to
+     * @param aircraft - all aircraft that have been read
+     * @throws MalformedSaveException - if the queue is invalid
+     */
+    private static void readQueue(ByteBuffer buffer, AircraftQueue queue,
+                                  List<Aircraft> aircraft) throws MalformedSaveException {
+        int queueLength = readCount(buffer);
+        for (int i = 0; i < queueLength; i++) {
+            Aircraft queued = aircraftAt(buffer.getInt(), aircraft);
+            if (queued == null) {
+                throw new MalformedSaveException();
+            }
+            queue.addAircraft(queued);
+        }
+    }
+
+    /**
+     * Writes the given terminal and its gates.
+     *
+     * @param writer - writer to write to
+     * @param terminal - terminal to write
+     * @param aircraftIndices - index of each aircraft managed by the control tower
+     * @throws IOException - if an IOException is encountered when writing
+     */
+    private static void writeTerminal(SnapshotWriter writer, Terminal terminal,
+                                      Map<Aircraft, Integer> aircraftIndices)
+            throws IOException {
+        byte kind;
+        if (terminal instanceof AirplaneTerminal) {
+            kind = AIRPLANE_TERMINAL;
+        } else if (terminal instanceof HelicopterTerminal) {
+            kind = HELICOPTER_TERMINAL;
+        } else {
+            throw new IllegalArgumentException("Unsupported kind of terminal: "
+                    + terminal.getClass().getSimpleName());
+        }
+
+        List<Gate> gates = terminal.getGates();
+        writer.ensure(7);
+        writer.buffer.put(kind);
+        writer.buffer.putInt(terminal.getTerminalNumber());
+        writer.buffer.put((byte) (terminal.hasEmergency() ? 1 : 0));
+        writer.buffer.put((byte) gates.size());
+
+        for (Gate gate : gates) {
+            writer.putInt(gate.getGateNumber());
+            writer.putInt(gate.isOccupied()
+                    ? indexOf(gate.getAircraftAtGate(), aircraftIndices) : NO_AIRCRAFT);
+        }
+    }
+
+    /**
+     * Reads a terminal and its gates.
+     *
+     * @param buffer - buffer to read from
+     * @param aircraft - all aircraft that have been read
+     * @return terminal with its gates added
+     * @throws MalformedSaveException - if the terminal or any of its gates are invalid
+     */
+    private static Terminal readTerminal(ByteBuffer buffer, List<Aircraft> aircraft)
+            throws MalformedSaveException {
+        byte kind = buffer.get();
+        int terminalNumber = buffer.getInt();
+        byte emergency = buffer.get();
+        int numGates = buffer.get();
+        if (terminalNumber < 1 || emergency < 0 || emergency > 1
+                || numGates < 0 || numGates > Terminal.MAX_NUM_GATES) {
+            throw new MalformedSaveException();
+        }
+
+        Terminal terminal;
+        if (kind == AIRPLANE_TERMINAL) {
+            terminal = new AirplaneTerminal(terminalNumber);
+        } else if (kind == HELICOPTER_TERMINAL) {
+            terminal = new HelicopterTerminal(terminalNumber);
+        } else {
+            throw new MalformedSaveException();
+        }
+
+        for (int i = 0; i < numGates; i++) {
+            int gateNumber = buffer.getInt();
+            if (gateNumber < 1) {
+                throw new MalformedSaveException();
+            }
+            Gate gate = new Gate(gateNumber);
+
+            int aircraftIndex = buffer.getInt();
+            if (aircraftIndex != NO_AIRCRAFT) {
+                Aircraft parked = aircraftAt(aircraftIndex, aircraft);
+                if (parked == null) {
+                    throw new MalformedSaveException();
+                }
+                try {
+                    gate.parkAircraft(parked);
+                } catch (NoSpaceException nse) {
+                    //Ignore. New Gate object is always unoccupied
+                }
+            }
+
+            try {
+                terminal.addGate(gate);
+            } catch (NoSpaceException nse) {
+                //Ignore. Number of gates has already been checked
+            }
+        }
+
+        if (emergency == 1) {
+            terminal.declareEmergency();
+        }
+        return terminal;
+    }
+
+    /**
+     * Returns the index of the given aircraft in the control tower's list of aircraft.
+     *
+     * @param aircraft - aircraft to find
+     * @param aircraftIndices - index of each aircraft managed by the control tower
+     * @return index of aircraft
+     * @throws IllegalArgumentException - if the aircraft is not managed by the control tower
+     */
+    private static int indexOf(Aircraft aircraft, Map<Aircraft, Integer> aircraftIndices) {
+        Integer index = aircraftIndices.get(aircraft);
+        if (index == null) {
+            throw new IllegalArgumentException("Aircraft " + aircraft.getCallsign()
+                    + " is not managed by the control tower");
+        }
+        return index;
+    }
+
+    /**
+     * Returns the aircraft at the given index in the given list of aircraft, or null if the
+     * index is out of range.
+     *
+     * @param index - index read from the snapshot
+     * @param aircraft - all aircraft that have been read
+     * @return aircraft at the index; or null if the index is invalid
+     */
+    private static Aircraft aircraftAt(int index, List<Aircraft> aircraft) {
+        if (index < 0 || index >= aircraft.size()) {
+            return null;
+        }
+        return aircraft.get(index);
+    }
+
+    /**
+     * Reads a non-negative count.
+     *
+     * @param buffer - buffer to read from
+     * @return count read
+     * @throws MalformedSaveException - if the count is negative
+     */
+    private static int readCount(ByteBuffer buffer) throws MalformedSaveException {
+        int count = buffer.getInt();
+        if (count < 0) {
+            throw new MalformedSaveException();
+        }
+        return count;
+    }
+
+    /**
+     * Reads a one byte ordinal and returns the corresponding enum constant.
+     *
+     * @param buffer - buffer to read from
+     * @param values - all constants of the enum
+     * @param <T> - type of the enum
+     * @return enum constant with the ordinal read
+     * @throws MalformedSaveException - if the ordinal is out of range
+     */
+    private static <T extends Enum<T>> T readOrdinal(ByteBuffer buffer, T[] values)
+            throws MalformedSaveException {
+        int ordinal = buffer.get();
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new MalformedSaveException();
+        }
+        return values[ordinal];
+    }
+
+    /**
+     * Reads a string stored as its length in bytes followed by its UTF-8 encoding.
+     *
+     * @param buffer - buffer to read from
+     * @return string read
+     * @throws MalformedSaveException - if the length is invalid
+     */
+    private static String readString(ByteBuffer buffer) throws MalformedSaveException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new MalformedSaveException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Buffers values and writes them to a channel whenever the buffer fills up.
+     */
+    private static class SnapshotWriter {
+        /** Channel to write to */
+        private final WritableByteChannel channel;
+
+        /** Values not yet written to the channel */
+        private final ByteBuffer buffer;
+
+        /**
+         * Creates a new writer for the given channel.
+         *
+         * @param channel - channel to write to
+         */
+        private SnapshotWriter(WritableByteChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        }
+
+        /**
+         * Makes sure the buffer has room for the given number of bytes, writing its contents to
+         * the channel if needed.
+         *
+         * @param bytes - number of bytes that are about to be put in the buffer
+         * @throws IOException - if an IOException is encountered when writing
+         */
+        private void ensure(int bytes) throws IOException {
+            if (this.buffer.remaining() < bytes) {
+                this.flush();
+            }
+        }
+
+        /**
+         * Puts an int in the buffer.
+         *
+         * @param value - value to put
+         * @throws IOException - if an IOException is encountered when writing
+         */
+        private void putInt(int value) throws IOException {
+            this.ensure(4);
+            this.buffer.putInt(value);
+        }
+
+        /**
+         * Puts a string in the buffer as its length in bytes followed by its UTF-8 encoding.
+         *
+         * @param value - value to put
+         * @throws IOException - if an IOException is encountered when writing
+         */
+        private void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            this.putInt(bytes.length);
+            int written = 0;
+            while (written < bytes.length) {
+                this.ensure(1);
+                int length = Math.min(this.buffer.remaining(), bytes.length - written);
+                this.buffer.put(bytes, written, length);
+                written += length;
+            }
+        }
+
+        /**
+         * Writes everything in the buffer to the channel.
+         *
+         * @throws IOException - if an IOException is encountered when writing
+         */
+        private void flush() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+            this.buffer.clear();
+        }
+    }
+}
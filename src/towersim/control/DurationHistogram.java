@@ -0,0 +1,177 @@
+package towersim.control;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of durations, such as the time taken by one phase of every tick.
+ *
+ * Durations are counted in buckets whose bounds are powers of two nanoseconds, so recording a
+ * duration takes constant time and memory, and percentiles are accurate to within a factor
+ * of two. The count, total, minimum and maximum are exact.
+ */
+public class DurationHistogram {
+    /** Number of buckets, enough for every non-negative long */
+    private static final int NUM_BUCKETS = 64;
+
+    /** Number of durations recorded in each bucket */
+    private final long[] buckets;
+
+    /** Number of durations recorded */
+    private long count;
+
+    /** Sum of all durations recorded, in nanoseconds */
+    private long total;
+
+    /** Shortest duration recorded, in nanoseconds */
+    private long min;
+
+    /** Longest duration recorded, in nanoseconds */
+    private long max;
+
+    /**
+     * Creates a new, empty histogram.
+     */
+    public DurationHistogram() {
+        this.buckets = new long[NUM_BUCKETS];
+        this.count = 0;
+        this.total = 0;
+        this.min = 0;
+        this.max = 0;
+    }
+
+    /**
+     * Creates a new histogram holding the same durations as the given histogram.
+     *
+     * @param histogram - histogram to copy
+     */
+    public DurationHistogram(DurationHistogram histogram) {
+        this.buckets = Arrays.copyOf(histogram.buckets, NUM_BUCKETS);
+        this.count = histogram.count;
+        this.total = histogram.total;
+        this.min = histogram.min;
+        this.max = histogram.max;
+    }
+
+    /**
+     * Records the given duration. Negative durations are recorded as zero.
+     *
+     * @param nanos - duration to record, in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        this.buckets[bucketOf(nanos)]++;
+        if (this.count == 0 || nanos < this.min) {
+            this.min = nanos;
+        }
+        if (nanos > this.max) {
+            this.max = nanos;
+        }
+        this.count++;
+        this.total += nanos;
+    }
+
+    /**
+     * Returns the number of durations recorded.
+     *
+     * @return number of durations
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the sum of all durations recorded.
+     *
+     * @return total duration, in nanoseconds
+     */
+    public long getTotal() {
+        return this.total;
+    }
+
+    /**
+     * Returns the shortest duration recorded, or 0 if none have been recorded.
+     *
+     * @return shortest duration, in nanoseconds
+     */
+    public long getMin() {
+        return this.min;
+    }
+
+    /**
+     * Returns the longest duration recorded, or 0 if none have been recorded.
+     *
+     * @return longest duration, in nanoseconds
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * Returns the mean of all durations recorded, or 0 if none have been recorded.
+     *
+     * @return mean duration, in nanoseconds
+     */
+    public double getMean() {
+        return this.count == 0 ? 0 : (double) this.total / this.count;
+    }
+
+    /**
+     * Returns an upper bound on the given percentile of the durations recorded, or 0 if none
+     * have been recorded.
+     *
+     * The result is the upper bound of the bucket holding the percentile, capped at the
+     * longest duration recorded, so is at most twice the exact percentile.
+     *
+     * @param percentile - percentile to find, from 0 to 100
+     * @return upper bound on the percentile, in nanoseconds
+     * @throws IllegalArgumentException - if the percentile is not between 0 and 100
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (this.count == 0) {
+            return 0;
+        }
+        //Rank of the duration at the percentile, counting from 1
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * this.count));
+        long seen = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            seen += this.buckets[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), this.max);
+            }
+        }
+        return this.max;
+    }
+
+    /**
+     * Returns the bucket that the given duration is counted in.
+     *
+     * Bucket 0 holds durations of 0, and bucket i holds durations from 2^(i-1) to 2^i - 1.
+     *
+     * @param nanos - non-negative duration
+     * @return bucket of the duration
+     */
+    private static int bucketOf(long nanos) {
+        return Math.min(NUM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Returns the longest duration counted in the given bucket.
+     *
+     * @param bucket - bucket to find the bound of
+     * @return upper bound of the bucket, in nanoseconds
+     */
+    private static long upperBoundOf(int bucket) {
+        return bucket == NUM_BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.0fns p50=%dns p99=%dns max=%dns", this.count,
+                this.getMean(), this.getPercentile(50), this.getPercentile(99), this.max);
+    }
+}
@@ -0,0 +1,523 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftListener;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.GateIndex;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.ground.TerminalListener;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Encodes the state transitions of a control tower as binary events and passes them to an
+ * {@link EventSink}.
+ *
+ * All values are big-endian. Every event starts with a one-byte event type, followed by:
+ * <ul>
+ * <li>{@code START}: magic number, format version and ticks elapsed, written when logging
+ * starts</li>
+ * <li>{@code TICK}: ticks elapsed once the tick has finished, written before any of the events
+ * caused by the tick</li>
+ * <li>{@code AIRCRAFT_EMERGENCY}, {@code TERMINAL_EMERGENCY}: index of the aircraft or
+ * terminal, and whether it is now in a state of emergency</li>
+ * <li>{@code AIRCRAFT_ADDED}: index, callsign, kind, characteristics ordinal, tasks, current
+ * task index, fuel, emergency status and cargo of the aircraft</li>
+ * <li>{@code TERMINAL_ADDED}: index, kind, number and emergency status of the terminal, and the
+ * number of each gate with the index of the aircraft parked at it</li>
+ * <li>{@code LANDED}, {@code TOOK_OFF}, {@code LOAD_FINISHED}: index of the aircraft</li>
+ * <li>{@code LOAD_STARTED}: index of the aircraft and number of ticks to load</li>
+ * <li>{@code GATE_PARKED}, {@code GATE_LEFT}: index of the aircraft, and index of the terminal
+ * and of the gate within that terminal</li>
+ * </ul>
+ * Aircraft and terminals are referred to by their index in the order they were added to the
+ * control tower, or -1 if they are not known to the log.
+ *
+ * Emergencies are declared and cleared outside of the control tower. The log listens to every
+ * known aircraft and to the gate index of the terminals, and remembers which of them changed;
+ * just before each tick starts, only those are compared with their state at the previous tick.
+ * Once the log is no longer used, {@link #close()} must be called to remove its listeners.
+ */
+class EventLog implements AircraftListener, TerminalListener {
+    /** Identifies the start of an event log ("TWRE") */
+    static final int MAGIC = 0x54575245;
+
+    /** Version of the format written by this class */
+    static final int VERSION = 1;
+
+    /** Logging started */
+    static final byte START = 0;
+
+    /** A tick started */
+    static final byte TICK = 1;
+
+    /** An aircraft declared or cleared an emergency */
+    static final byte AIRCRAFT_EMERGENCY = 2;
+
+    /** A terminal declared or cleared an emergency */
+    static final byte TERMINAL_EMERGENCY = 3;
+
+    /** An aircraft was added to the control tower */
+    static final byte AIRCRAFT_ADDED = 4;
+
+    /** A terminal was added to the control tower */
+    static final byte TERMINAL_ADDED = 5;
+
+    /** An aircraft landed */
+    static final byte LANDED = 6;
+
+    /** An aircraft took off */
+    static final byte TOOK_OFF = 7;
+
+    /** An aircraft started loading */
+    static final byte LOAD_STARTED = 8;
+
+    /** An aircraft finished loading */
+    static final byte LOAD_FINISHED = 9;
+
+    /** An aircraft parked at a gate */
+    static final byte GATE_PARKED = 10;
+
+    /** An aircraft left a gate */
+    static final byte GATE_LEFT = 11;
+
+    /** Kind of a passenger aircraft */
+    static final byte PASSENGER_AIRCRAFT = 0;
+
+    /** Kind of a freight aircraft */
+    static final byte FREIGHT_AIRCRAFT = 1;
+
+    /** Kind of an airplane terminal */
+    static final byte AIRPLANE_TERMINAL = 0;
+
+    /** Kind of a helicopter terminal */
+    static final byte HELICOPTER_TERMINAL = 1;
+
+    /** Index written for an aircraft, terminal or gate that is not known to the log */
+    static final int UNKNOWN = -1;
+
+    /** Initial size of the buffer that events are encoded into */
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    /** Sink that batches of events are written to */
+    private final EventSink sink;
+
+    /** All aircraft managed by the control tower */
+    private final List<Aircraft> aircraft;
+
+    /** All terminals managed by the control tower */
+    private final List<Terminal> terminals;
+
+    /** Gate index of the terminals, which reports their emergency changes */
+    private final GateIndex gateIndex;
+
+    /** Index of each aircraft known to the log */
+    private final Map<Aircraft, Integer> aircraftIndices;
+
+    /** Index of each terminal known to the log */
+    private final Map<Terminal, Integer> terminalIndices;
+
+    /** Index of the terminal and of the gate within that terminal, for each known gate */
+    private final Map<Gate, int[]> gateLocations;
+
+    /** Emergency status of each known aircraft at the previous tick */
+    private boolean[] aircraftEmergencies;
+
+    /** Emergency status of each known terminal at the previous tick */
+    private boolean[] terminalEmergencies;
+
+    /** Indices of the aircraft whose emergency status changed since the previous tick */
+    private final TreeSet<Integer> changedAircraft;
+
+    /** Indices of the terminals whose emergency status changed since the previous tick */
+    private final TreeSet<Integer> changedTerminals;
+
+    /** Buffer holding the events of the current batch */
+    private ByteBuffer buffer;
+
+    /**
+     * Creates a new event log for the given aircraft and terminals, and writes a START event.
+     *
+     * @param sink - sink to write events to
+     * @param aircraft - all aircraft managed by the control tower, which is read but never
+     *                 modified
+     * @param terminals - all terminals managed by the control tower, which is read but never
+     *                  modified
+     * @param gateIndex - gate index that all of the terminals are registered with
+     * @param ticksElapsed - number of ticks elapsed for the control tower
+     */
+    EventLog(EventSink sink, List<Aircraft> aircraft, List<Terminal> terminals,
+             GateIndex gateIndex, long ticksElapsed) {
+        this.sink = sink;
+        this.aircraft = aircraft;
+        this.terminals = terminals;
+        this.gateIndex = gateIndex;
+        this.aircraftIndices = new IdentityHashMap<>();
+        this.terminalIndices = new IdentityHashMap<>();
+        this.gateLocations = new IdentityHashMap<>();
+        this.aircraftEmergencies = new boolean[aircraft.size()];
+        this.terminalEmergencies = new boolean[terminals.size()];
+        this.changedAircraft = new TreeSet<>();
+        this.changedTerminals = new TreeSet<>();
+        this.buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+        for (int i = 0; i < aircraft.size(); i++) {
+            this.aircraftIndices.put(aircraft.get(i), i);
+            this.aircraftEmergencies[i] = aircraft.get(i).hasEmergency();
+            aircraft.get(i).addListener(this);
+        }
+        for (int i = 0; i < terminals.size(); i++) {
+            this.terminalIndices.put(terminals.get(i), i);
+            this.indexGates(i);
+            this.terminalEmergencies[i] = terminals.get(i).hasEmergency();
+        }
+        gateIndex.addListener(this);
+
+        this.ensure(17);
+        this.buffer.put(START);
+        this.buffer.putInt(MAGIC);
+        this.buffer.putInt(VERSION);
+        this.buffer.putLong(ticksElapsed);
+        this.flush();
+    }
+
+    /**
+     * Remembers that the emergency status of the given aircraft may have changed, since every
+     * emergency change also changes its landing priority.
+     *
+     * Landing priorities also change as fuel is burnt, including while aircraft are ticked
+     * concurrently, so aircraft are only remembered if their emergency status differs from the
+     * one at the previous tick. That never happens while aircraft are being ticked.
+     *
+     * @param changed - aircraft whose landing priority has changed
+     */
+    @Override
+    public void landingPriorityChanged(Aircraft changed) {
+        Integer index = this.aircraftIndices.get(changed);
+        if (index != null && changed.hasEmergency() != this.aircraftEmergencies[index]) {
+            this.changedAircraft.add(index);
+        }
+    }
+
+    /**
+     * Remembers that the emergency status of the given terminal has changed.
+     *
+     * @param changed - terminal whose emergency status has changed
+     */
+    @Override
+    public void emergencyChanged(Terminal changed) {
+        Integer index = this.terminalIndices.get(changed);
+        if (index != null) {
+            this.changedTerminals.add(index);
+        }
+    }
+
+    /**
+     * Writes an event for every aircraft and terminal whose emergency status changed since
+     * the previous tick, followed by a TICK event.
+     *
+     * @param ticksElapsed - number of ticks elapsed once the tick has finished
+     */
+    void tickStarted(long ticksElapsed) {
+        for (int i : this.changedAircraft) {
+            boolean emergency = this.aircraft.get(i).hasEmergency();
+            if (emergency != this.aircraftEmergencies[i]) {
+                this.aircraftEmergencies[i] = emergency;
+                this.putEmergency(AIRCRAFT_EMERGENCY, i, emergency);
+            }
+        }
+        this.changedAircraft.clear();
+        for (int i : this.changedTerminals) {
+            boolean emergency = this.terminals.get(i).hasEmergency();
+            if (emergency != this.terminalEmergencies[i]) {
+                this.terminalEmergencies[i] = emergency;
+                this.putEmergency(TERMINAL_EMERGENCY, i, emergency);
+            }
+        }
+        this.changedTerminals.clear();
+
+        this.ensure(9);
+        this.buffer.put(TICK);
+        this.buffer.putLong(ticksElapsed);
+    }
+
+    /**
+     * Writes an AIRCRAFT_ADDED event for the given aircraft, which has just been appended to
+     * the list of aircraft, and a GATE_PARKED event if it was parked at a gate.
+     *
+     * @param added - aircraft that was added
+     * @param gate - gate the aircraft was parked at; or null if it was not parked
+     */
+    void aircraftAdded(Aircraft added, Gate gate) {
+        int index = this.aircraft.size() - 1;
+        this.aircraftIndices.put(added, index);
+        if (index >= this.aircraftEmergencies.length) {
+            this.aircraftEmergencies = Arrays.copyOf(this.aircraftEmergencies,
+                    Math.max(index + 1, this.aircraftEmergencies.length * 2));
+        }
+        this.aircraftEmergencies[index] = added.hasEmergency();
+        added.addListener(this);
+
+        byte kind;
+        int cargo;
+        if (added instanceof PassengerAircraft) {
+            kind = PASSENGER_AIRCRAFT;
+            cargo = ((PassengerAircraft) added).getNumPassengers();
+        } else if (added instanceof FreightAircraft) {
+            kind = FREIGHT_AIRCRAFT;
+            cargo = ((FreightAircraft) added).getFreightAmount();
+        } else {
+            throw new IllegalArgumentException("Unsupported kind of aircraft: "
+                    + added.getClass().getSimpleName());
+        }
+
+        byte[] callsign = added.getCallsign().getBytes(StandardCharsets.UTF_8);
+        TaskList taskList = added.getTaskList();
+        List<Task> tasks = taskList.getTasks();
+        this.ensure(32 + callsign.length + 5 * tasks.size());
+        this.buffer.put(AIRCRAFT_ADDED);
+        this.buffer.putInt(index);
+        this.buffer.putInt(callsign.length);
+        this.buffer.put(callsign);
+        this.buffer.put(kind);
+        this.buffer.put((byte) added.getCharacteristics().ordinal());
+        this.buffer.putInt(tasks.size());
+        for (Task task : tasks) {
+            this.buffer.put((byte) task.getType().ordinal());
+            this.buffer.putInt(task.getLoadPercent());
+        }
+        this.buffer.putInt(taskList.getCurrentTaskIndex());
+        this.buffer.putDouble(added.getFuelAmount());
+        this.buffer.put((byte) (added.hasEmergency() ? 1 : 0));
+        this.buffer.putInt(cargo);
+
+        if (gate != null) {
+            this.putGateEvent(GATE_PARKED, added, gate);
+        }
+    }
+
+    /**
+     * Writes a TERMINAL_ADDED event for the given terminal, which has just been appended to
+     * the list of terminals.
+     *
+     * @param added - terminal that was added
+     */
+    void terminalAdded(Terminal added) {
+        int index = this.terminals.size() - 1;
+        this.terminalIndices.put(added, index);
+        this.terminalEmergencies = Arrays.copyOf(this.terminalEmergencies, index + 1);
+        this.terminalEmergencies[index] = added.hasEmergency();
+        this.indexGates(index);
+
+        byte kind;
+        if (added instanceof AirplaneTerminal) {
+            kind = AIRPLANE_TERMINAL;
+        } else if (added instanceof HelicopterTerminal) {
+            kind = HELICOPTER_TERMINAL;
+        } else {
+            throw new IllegalArgumentException("Unsupported kind of terminal: "
+                    + added.getClass().getSimpleName());
+        }
+
+        List<Gate> gates = added.getGates();
+        this.ensure(12 + 8 * gates.size());
+        this.buffer.put(TERMINAL_ADDED);
+        this.buffer.putInt(index);
+        this.buffer.put(kind);
+        this.buffer.putInt(added.getTerminalNumber());
+        this.buffer.put((byte) (added.hasEmergency() ? 1 : 0));
+        this.buffer.put((byte) gates.size());
+        for (Gate gate : gates) {
+            this.buffer.putInt(gate.getGateNumber());
+            this.buffer.putInt(gate.isOccupied()
+                    ? this.indexOf(gate.getAircraftAtGate()) : UNKNOWN);
+        }
+    }
+
+    /**
+     * Writes LANDED and GATE_PARKED events for the given aircraft.
+     *
+     * @param landed - aircraft that landed
+     * @param gate - gate the aircraft parked at
+     */
+    void aircraftLanded(Aircraft landed, Gate gate) {
+        this.putAircraftEvent(LANDED, landed);
+        this.putGateEvent(GATE_PARKED, landed, gate);
+    }
+
+    /**
+     * Writes a TOOK_OFF event for the given aircraft.
+     *
+     * @param tookOff - aircraft that took off
+     */
+    void aircraftTookOff(Aircraft tookOff) {
+        this.putAircraftEvent(TOOK_OFF, tookOff);
+    }
+
+    /**
+     * Writes a LOAD_STARTED event for the given aircraft.
+     *
+     * @param loading - aircraft that started loading
+     * @param loadingTime - number of ticks the aircraft will take to load
+     */
+    void loadingStarted(Aircraft loading, int loadingTime) {
+        this.putAircraftEvent(LOAD_STARTED, loading);
+        this.buffer.putInt(loadingTime);
+    }
+
+    /**
+     * Writes a LOAD_FINISHED event for the given aircraft, and a GATE_LEFT event if it left
+     * a gate.
+     *
+     * @param loaded - aircraft that finished loading
+     * @param gate - gate the aircraft left; or null if it was not parked
+     */
+    void loadingFinished(Aircraft loaded, Gate gate) {
+        this.putAircraftEvent(LOAD_FINISHED, loaded);
+        if (gate != null) {
+            this.putGateEvent(GATE_LEFT, loaded, gate);
+        }
+    }
+
+    /**
+     * Passes all events written since the previous flush to the sink.
+     *
+     * @throws UncheckedIOException - if the sink throws an IOException
+     */
+    void flush() {
+        if (this.buffer.position() == 0) {
+            return;
+        }
+        this.buffer.flip();
+        try {
+            this.sink.write(this.buffer);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        } finally {
+            this.buffer.clear();
+        }
+    }
+
+    /**
+     * Stops listening for emergency changes to the aircraft and terminals known to the log.
+     *
+     * No further events may be written once the log is closed. The sink is not closed.
+     */
+    void close() {
+        for (Aircraft known : this.aircraftIndices.keySet()) {
+            known.removeListener(this);
+        }
+        this.gateIndex.removeListener(this);
+    }
+
+    /**
+     * Returns the sink that events are written to.
+     *
+     * @return event sink
+     */
+    EventSink getSink() {
+        return this.sink;
+    }
+
+    /**
+     * Writes an emergency event.
+     *
+     * @param type - AIRCRAFT_EMERGENCY or TERMINAL_EMERGENCY
+     * @param index - index of the aircraft or terminal
+     * @param emergency - whether it is now in a state of emergency
+     */
+    private void putEmergency(byte type, int index, boolean emergency) {
+        this.ensure(6);
+        this.buffer.put(type);
+        this.buffer.putInt(index);
+        this.buffer.put((byte) (emergency ? 1 : 0));
+    }
+
+    /**
+     * Writes an event consisting of its type and the index of an aircraft, leaving room for
+     * one more int.
+     *
+     * @param type - type of event
+     * @param subject - aircraft the event applies to
+     */
+    private void putAircraftEvent(byte type, Aircraft subject) {
+        this.ensure(9);
+        this.buffer.put(type);
+        this.buffer.putInt(this.indexOf(subject));
+    }
+
+    /**
+     * Writes a GATE_PARKED or GATE_LEFT event.
+     *
+     * @param type - type of event
+     * @param subject - aircraft that parked or left
+     * @param gate - gate the aircraft parked at or left
+     */
+    private void putGateEvent(byte type, Aircraft subject, Gate gate) {
+        int[] location = this.gateLocations.get(gate);
+        if (location == null) {
+            //Gates can be added to a terminal after it was added to the control tower
+            for (int i = 0; i < this.terminals.size(); i++) {
+                this.indexGates(i);
+            }
+            location = this.gateLocations.getOrDefault(gate, new int[] {UNKNOWN, UNKNOWN});
+        }
+
+        this.ensure(13);
+        this.buffer.put(type);
+        this.buffer.putInt(this.indexOf(subject));
+        this.buffer.putInt(location[0]);
+        this.buffer.putInt(location[1]);
+    }
+
+    /**
+     * Records the location of every gate of the terminal at the given index.
+     *
+     * @param terminalIndex - index of the terminal
+     */
+    private void indexGates(int terminalIndex) {
+        List<Gate> gates = this.terminals.get(terminalIndex).getGates();
+        for (int i = 0; i < gates.size(); i++) {
+            this.gateLocations.put(gates.get(i), new int[] {terminalIndex, i});
+        }
+    }
+
+    /**
+     * Returns the index of the given aircraft, or UNKNOWN if it is not known to the log.
+     *
+     * @param subject - aircraft to find
+     * @return index of the aircraft
+     */
+    private int indexOf(Aircraft subject) {
+        return this.aircraftIndices.getOrDefault(subject, UNKNOWN);
+    }
+
+    /**
+     * Makes room for at least the given number of bytes in the buffer.
+     *
+     * @param bytes - number of bytes about to be written
+     */
+    private void ensure(int bytes) {
+        if (this.buffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(
+                    Math.max(this.buffer.capacity() * 2, this.buffer.position() + bytes));
+            this.buffer.flip();
+            larger.put(this.buffer);
+            this.buffer = larger;
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.EmergencyState;
+import towersim.util.MalformedSaveException;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class that brings a saved control tower up to date by replaying the event log
+ * written by a control tower (see {@link ControlTower#setEventSink(EventSink)}).
+ *
+ * The simulation is deterministic, so only the events that come from outside the control
+ * tower need to be applied: aircraft and terminals being added, and emergencies being declared
+ * or cleared. Every TICK event is replayed by calling {@link ControlTower#tick()}, which
+ * repeats the landings, takeoffs, loading and gate changes recorded in the log. Those events
+ * are skipped when replaying.
+ *
+ * Events recorded before the tick that the saved control tower was saved at are skipped, and
+ * aircraft, terminals and emergencies that the saved tower already has are not applied twice,
+ * so a log can be replayed onto any save taken while it was being written. The save should
+ * hold the exact state of the tower, such as a {@link ControlTowerSnapshot} or the same save
+ * files the logging tower was loaded from.
+ *
+ * A final event that was only partly written, for example because the program stopped while
+ * writing it, is ignored.
+ */
+public class EventReplayer {
+    /** Number of bytes of an event log read from a file at a time */
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Loads the control tower saved in the snapshot at the given path and replays the event
+     * log at the given path onto it.
+     *
+     * Incremental ticking is enabled while replaying, which is much faster for large numbers
+     * of aircraft, and disabled again before the control tower is returned.
+     *
+     * @param snapshot - path of a snapshot written by {@link ControlTowerSnapshot}
+     * @param log - path of an event log
+     * @return control tower with the log replayed
+     * @throws MalformedSaveException - if the snapshot or log is invalid, or the log does not
+     *                                continue from the snapshot
+     * @throws IOException - if an IOException occurs when reading either file
+     */
+    public static ControlTower recover(Path snapshot, Path log)
+            throws MalformedSaveException, IOException {
+        ControlTower tower = ControlTowerSnapshot.load(snapshot);
+        tower.setIncrementalTick(true);
+        replay(tower, log);
+        tower.setIncrementalTick(false);
+        return tower;
+    }
+
+    /**
+     * Replays the event log in the file at the given path onto the given control tower.
+     *
+     * @param tower - control tower to bring up to date
+     * @param log - path of an event log
+     * @return number of ticks replayed
+     * @throws MalformedSaveException - if the log is invalid or does not continue from the
+     *                                control tower's current tick
+     * @throws IOException - if an IOException occurs when reading the file
+     */
+    public static long replay(ControlTower tower, Path log)
+            throws MalformedSaveException, IOException {
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            return replay(tower, channel);
+        }
+    }
+
+    /**
+     * Replays the event log read from the given channel onto the given control tower.
+     *
+     * The log is read in fixed-size chunks, so logs of any length can be replayed without
+     * holding them in memory. Once this method returns, the channel is positioned after the
+     * last complete event.
+     *
+     * @param tower - control tower to bring up to date
+     * @param channel - channel positioned at the start of an event log
+     * @return number of ticks replayed
+     * @throws MalformedSaveException - if the log is invalid or does not continue from the
+     *                                control tower's current tick
+     * @throws IOException - if an IOException occurs when reading the channel
+     */
+    public static long replay(ControlTower tower, FileChannel channel)
+            throws MalformedSaveException, IOException {
+        Replay replay = new Replay(tower);
+        ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+        //Position in the channel of the start of the chunk
+        long chunkStart = channel.position();
+        boolean endOfLog = false;
+        while (!endOfLog) {
+            while (chunk.hasRemaining()) {
+                if (channel.read(chunk) == -1) {
+                    endOfLog = true;
+                    break;
+                }
+            }
+            chunk.flip();
+            replay.applyAll(chunk);
+            chunkStart += chunk.position();
+            if (chunk.position() == 0 && chunk.limit() == chunk.capacity()) {
+                //A single event is larger than the chunk
+                chunk = ByteBuffer.allocate(chunk.capacity() * 2).put(chunk);
+            } else {
+                //Keep the start of the event that continues in the next chunk
+                chunk.compact();
+            }
+        }
+        channel.position(chunkStart);
+        return replay.ticksReplayed;
+    }
+
+    /**
+     * Replays the event log in the given buffer onto the given control tower.
+     *
+     * The control tower should not have an event sink set, otherwise the replayed events are
+     * recorded again. Ticks are replayed with the control tower's own settings, so enabling
+     * incremental ticking or a fleet store beforehand speeds up replaying large numbers of
+     * aircraft.
+     *
+     * Once this method returns, the buffer is positioned after the last complete event.
+     *
+     * @param tower - control tower to bring up to date
+     * @param log - buffer positioned at the start of an event log
+     * @return number of ticks replayed
+     * @throws MalformedSaveException - if the log is invalid or does not continue from the
+     *                                control tower's current tick
+     */
+    public static long replay(ControlTower tower, ByteBuffer log)
+            throws MalformedSaveException {
+        Replay replay = new Replay(tower);
+        replay.applyAll(log);
+        return replay.ticksReplayed;
+    }
+
+    /**
+     * State of one replay of an event log onto a control tower.
+     */
+    private static class Replay {
+        /** Control tower being brought up to date */
+        private final ControlTower tower;
+
+        /** All aircraft managed by the control tower */
+        private final List<Aircraft> aircraft;
+
+        /** All terminals managed by the control tower */
+        private final List<Terminal> terminals;
+
+        /** Tick of the most recent START or TICK event, or -1 before the first */
+        private long eventTick;
+
+        /** Number of ticks replayed */
+        private long ticksReplayed;
+
+        /**
+         * Creates a new replay onto the given control tower.
+         *
+         * @param tower - control tower to bring up to date
+         */
+        private Replay(ControlTower tower) {
+            this.tower = tower;
+            this.aircraft = tower.getAircraft();
+            this.terminals = tower.getTerminals();
+            this.eventTick = -1;
+            this.ticksReplayed = 0;
+        }
+
+        /**
+         * Reads and applies every complete event remaining in the given buffer, leaving the
+         * buffer positioned after the last complete event.
+         *
+         * @param log - buffer positioned at the start of an event
+         * @throws MalformedSaveException - if an event is invalid or out of order
+         */
+        private void applyAll(ByteBuffer log) throws MalformedSaveException {
+            while (log.hasRemaining()) {
+                int start = log.position();
+                try {
+                    this.apply(log);
+                } catch (BufferUnderflowException bue) {
+                    //The last event was only partly written, or continues past the buffer
+                    log.position(start);
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Reads the next event from the given buffer and applies it, if it has not already
+         * been applied to the control tower.
+         *
+         * @param log - buffer positioned at the start of an event
+         * @throws MalformedSaveException - if the event is invalid or out of order
+         * @throws BufferUnderflowException - if the buffer ends part way through the event
+         */
+        private void apply(ByteBuffer log) throws MalformedSaveException {
+            byte type = log.get();
+            if (this.eventTick < 0 && type != EventLog.START) {
+                throw new MalformedSaveException();
+            }
+
+            switch (type) {
+                case EventLog.START:
+                    int magic = log.getInt();
+                    int version = log.getInt();
+                    long startTick = log.getLong();
+                    if (magic != EventLog.MAGIC || version != EventLog.VERSION) {
+                        throw new MalformedSaveException();
+                    }
+                    //If logging started after the control tower was saved, ticks are missing
+                    if (startTick > this.tower.getTicksElapsed()) {
+                        throw new MalformedSaveException();
+                    }
+                    this.eventTick = startTick;
+                    break;
+                case EventLog.TICK:
+                    long tick = log.getLong();
+                    if (tick > this.tower.getTicksElapsed() + 1) {
+                        throw new MalformedSaveException();
+                    } else if (tick == this.tower.getTicksElapsed() + 1) {
+                        this.tower.tick();
+                        this.ticksReplayed++;
+                    }
+                    this.eventTick = tick;
+                    break;
+                case EventLog.AIRCRAFT_EMERGENCY:
+                    int aircraftIndex = log.getInt();
+                    boolean aircraftEmergency = readBoolean(log);
+                    if (this.isCurrent()) {
+                        setEmergency(elementAt(this.aircraft, aircraftIndex), aircraftEmergency);
+                    }
+                    break;
+                case EventLog.TERMINAL_EMERGENCY:
+                    int terminalIndex = log.getInt();
+                    boolean terminalEmergency = readBoolean(log);
+                    if (this.isCurrent()) {
+                        setEmergency(elementAt(this.terminals, terminalIndex), terminalEmergency);
+                    }
+                    break;
+                case EventLog.AIRCRAFT_ADDED:
+                    this.addAircraft(log);
+                    break;
+                case EventLog.TERMINAL_ADDED:
+                    this.addTerminal(log);
+                    break;
+                case EventLog.LANDED:
+                case EventLog.TOOK_OFF:
+                case EventLog.LOAD_FINISHED:
+                    skip(log, 4);
+                    break;
+                case EventLog.LOAD_STARTED:
+                    skip(log, 8);
+                    break;
+                case EventLog.GATE_PARKED:
+                case EventLog.GATE_LEFT:
+                    skip(log, 12);
+                    break;
+                default:
+                    throw new MalformedSaveException();
+            }
+        }
+
+        /**
+         * Returns true if events read now happened after the control tower was saved, so
+         * they may need to be applied.
+         *
+         * @return true if the most recent START or TICK event is for the control tower's
+         *         current tick; false otherwise
+         */
+        private boolean isCurrent() {
+            return this.eventTick == this.tower.getTicksElapsed();
+        }
+
+        /**
+         * Reads an AIRCRAFT_ADDED event and adds the aircraft to the control tower, unless it
+         * already has an aircraft at the event's index.
+         *
+         * @param log - buffer positioned after the event type
+         * @throws MalformedSaveException - if the event is invalid
+         */
+        private void addAircraft(ByteBuffer log) throws MalformedSaveException {
+            int index = log.getInt();
+            String callsign = readString(log);
+            byte kind = log.get();
+            AircraftCharacteristics characteristics =
+                    readOrdinal(log, AircraftCharacteristics.values());
+            int numTasks = log.getInt();
+            if (numTasks < 1) {
+                throw new MalformedSaveException();
+            }
+            List<Task> tasks = new ArrayList<>(Math.min(numTasks, log.remaining()));
+            for (int i = 0; i < numTasks; i++) {
+                TaskType taskType = readOrdinal(log, TaskType.values());
+                tasks.add(Task.of(taskType, log.getInt()));
+            }
+            int currentTaskIndex = log.getInt();
+            double fuelAmount = log.getDouble();
+            boolean emergency = readBoolean(log);
+            int cargo = log.getInt();
+
+            if (!this.isCurrent() || index < this.aircraft.size()) {
+                return;
+            }
+            if (index > this.aircraft.size() || currentTaskIndex < 0
+                    || currentTaskIndex >= numTasks) {
+                throw new MalformedSaveException();
+            }
+
+            try {
+                TaskList taskList = new TaskList(tasks);
+                for (int i = 0; i < currentTaskIndex; i++) {
+                    taskList.moveToNextTask();
+                }
+                Aircraft added;
+                if (kind == EventLog.PASSENGER_AIRCRAFT) {
+                    added = new PassengerAircraft(callsign, characteristics, taskList,
+                            fuelAmount, cargo);
+                } else if (kind == EventLog.FREIGHT_AIRCRAFT) {
+                    added = new FreightAircraft(callsign, characteristics, taskList,
+                            fuelAmount, cargo);
+                } else {
+                    throw new MalformedSaveException();
+                }
+                if (emergency) {
+                    added.declareEmergency();
+                }
+                this.tower.addAircraft(added);
+                this.aircraft.add(added);
+            } catch (IllegalArgumentException | NoSuitableGateException e) {
+                throw new MalformedSaveException(e);
+            }
+        }
+
+        /**
+         * Reads a TERMINAL_ADDED event and adds the terminal to the control tower, unless it
+         * already has a terminal at the event's index.
+         *
+         * @param log - buffer positioned after the event type
+         * @throws MalformedSaveException - if the event is invalid
+         */
+        private void addTerminal(ByteBuffer log) throws MalformedSaveException {
+            int index = log.getInt();
+            byte kind = log.get();
+            int terminalNumber = log.getInt();
+            boolean emergency = readBoolean(log);
+            int numGates = log.get();
+            if (numGates < 0 || numGates > Terminal.MAX_NUM_GATES) {
+                throw new MalformedSaveException();
+            }
+            int[] gateNumbers = new int[numGates];
+            int[] parkedAircraft = new int[numGates];
+            for (int i = 0; i < numGates; i++) {
+                gateNumbers[i] = log.getInt();
+                parkedAircraft[i] = log.getInt();
+            }
+
+            if (!this.isCurrent() || index < this.terminals.size()) {
+                return;
+            }
+            if (index > this.terminals.size() || terminalNumber < 1) {
+                throw new MalformedSaveException();
+            }
+
+            Terminal terminal;
+            if (kind == EventLog.AIRPLANE_TERMINAL) {
+                terminal = new AirplaneTerminal(terminalNumber);
+            } else if (kind == EventLog.HELICOPTER_TERMINAL) {
+                terminal = new HelicopterTerminal(terminalNumber);
+            } else {
+                throw new MalformedSaveException();
+            }
+            try {
+                for (int i = 0; i < numGates; i++) {
+                    Gate gate = new Gate(gateNumbers[i]);
+                    if (parkedAircraft[i] != EventLog.UNKNOWN) {
+                        gate.parkAircraft(elementAt(this.aircraft, parkedAircraft[i]));
+                    }
+                    terminal.addGate(gate);
+                }
+            } catch (NoSpaceException nse) {
+                //Not possible, new gates are unoccupied and the number of gates is checked
+                throw new MalformedSaveException(nse);
+            }
+            if (emergency) {
+                terminal.declareEmergency();
+            }
+            this.tower.addTerminal(terminal);
+            this.terminals.add(terminal);
+        }
+
+        /**
+         * Declares or clears an emergency, if the given aircraft or terminal is not already in
+         * that state.
+         *
+         * @param subject - aircraft or terminal to update
+         * @param emergency - true to declare an emergency; false to clear it
+         */
+        private static void setEmergency(EmergencyState subject, boolean emergency) {
+            if (subject.hasEmergency() == emergency) {
+                return;
+            }
+            if (emergency) {
+                subject.declareEmergency();
+            } else {
+                subject.clearEmergency();
+            }
+        }
+
+        /**
+         * Returns the element at the given index of the given list.
+         *
+         * @param list - list to get the element from
+         * @param index - index of the element
+         * @param <T> - type of the elements
+         * @return element at the index
+         * @throws MalformedSaveException - if the index is out of range
+         */
+        private static <T> T elementAt(List<T> list, int index) throws MalformedSaveException {
+            if (index < 0 || index >= list.size()) {
+                throw new MalformedSaveException();
+            }
+            return list.get(index);
+        }
+
+        /**
+         * Moves past the given number of bytes.
+         *
+         * @param log - buffer to move through
+         * @param length - number of bytes to skip
+         * @throws BufferUnderflowException - if fewer bytes remain
+         */
+        private static void skip(ByteBuffer log, int length) {
+            if (log.remaining() < length) {
+                throw new BufferUnderflowException();
+            }
+            log.position(log.position() + length);
+        }
+
+        /**
+         * Reads a boolean stored as one byte.
+         *
+         * @param log - buffer to read from
+         * @return boolean read
+         * @throws MalformedSaveException - if the byte is not 0 or 1
+         */
+        private static boolean readBoolean(ByteBuffer log) throws MalformedSaveException {
+            byte value = log.get();
+            if (value != 0 && value != 1) {
+                throw new MalformedSaveException();
+            }
+            return value == 1;
+        }
+
+        /**
+         * Reads an enum constant stored as its one-byte ordinal.
+         *
+         * @param log - buffer to read from
+         * @param values - all constants of the enum
+         * @param <T> - type of the enum
+         * @return constant read
+         * @throws MalformedSaveException - if the ordinal is out of range
+         */
+        private static <T extends Enum<T>> T readOrdinal(ByteBuffer log, T[] values)
+                throws MalformedSaveException {
+            int ordinal = log.get();
+            if (ordinal < 0 || ordinal >= values.length) {
+                throw new MalformedSaveException();
+            }
+            return values[ordinal];
+        }
+
+        /**
+         * Reads a string stored as its length in bytes followed by its UTF-8 encoding.
+         *
+         * @param log - buffer to read from
+         * @return string read
+         * @throws MalformedSaveException - if the length is negative
+         * @throws BufferUnderflowException - if the buffer ends before the string does
+         */
+        private static String readString(ByteBuffer log) throws MalformedSaveException {
+            int length = log.getInt();
+            if (length < 0) {
+                throw new MalformedSaveException();
+            }
+            //Never allocate more than one byte past the end of the log, which underflows
+            byte[] bytes = new byte[Math.min(length, log.remaining() + 1)];
+            log.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
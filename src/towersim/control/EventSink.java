@@ -0,0 +1,37 @@
+package towersim.control;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Destination for the binary event log written by a control tower
+ * (see {@link ControlTower#setEventSink(EventSink)}).
+ *
+ * Events are passed to the sink in batches: one batch at the end of every tick, and one
+ * after every aircraft or terminal added to the control tower. A sink should append each
+ * batch in full, in the order received, so that the log can later be read back by
+ * {@link EventReplayer}.
+ */
+public interface EventSink extends Closeable {
+    /**
+     * Appends the given batch of events to the log.
+     *
+     * All bytes between the buffer's position and its limit should be written. The buffer is
+     * reused once this method returns, so it should not be kept.
+     *
+     * @param events - buffer holding one batch of encoded events
+     * @throws IOException - if an IOException occurs when writing the events
+     */
+    void write(ByteBuffer events) throws IOException;
+
+    /**
+     * Closes the sink, writing any events that are still buffered. By default, does nothing.
+     *
+     * @throws IOException - if an IOException occurs when closing the sink
+     */
+    @Override
+    default void close() throws IOException {
+        //Nothing to close
+    }
+}
@@ -0,0 +1,53 @@
+package towersim.control;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Event sink that appends events to a file.
+ *
+ * Each batch of events is written straight to the file, so every completed tick survives the
+ * program stopping unexpectedly. If syncing is enabled, each batch is also forced to the
+ * storage device before the tick ends, so completed ticks survive the machine itself stopping,
+ * at the cost of one disk sync per tick.
+ */
+public class FileEventSink implements EventSink {
+    /** Channel of the file being appended to */
+    private final FileChannel channel;
+
+    /** Whether every batch is forced to the storage device */
+    private final boolean sync;
+
+    /**
+     * Creates a new event sink appending to the file at the given path, creating the file if
+     * it does not exist.
+     *
+     * @param path - path of the file to append to
+     * @param sync - true to force every batch of events to the storage device; false to leave
+     *             it to the operating system
+     * @throws IOException - if an IOException occurs when opening the file
+     */
+    public FileEventSink(Path path, boolean sync) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.sync = sync;
+    }
+
+    @Override
+    public void write(ByteBuffer events) throws IOException {
+        while (events.hasRemaining()) {
+            this.channel.write(events);
+        }
+        if (this.sync) {
+            this.channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
@@ -1,12 +1,16 @@
 package towersim.control;
 
 import towersim.aircraft.Aircraft;
-import towersim.aircraft.PassengerAircraft;
-import towersim.util.Encodable;
+import towersim.aircraft.AircraftListener;
+import towersim.aircraft.LandingPriority;
 
-import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
 
 /**
  * Represents a rule-based queue of aircraft waiting in the air to land.
@@ -14,27 +18,58 @@ import java.util.List;
  * The rules in the landing queue are designed to ensure that aircraft are
  * prioritised for landing based on "urgency" factors such as
  * remaining fuel onboard, emergency status and cargo type.
+ *
+ * Internally, aircraft are kept in one bucket per priority tier (see
+ * {@link Aircraft#getLandingPriority()}), ordered by the time they were added to the queue.
+ * Aircraft are moved between tiers as soon as they notify the queue that their landing
+ * priority has changed, so the front of the queue can be found without scanning every aircraft.
  */
-public class LandingQueue extends AircraftQueue {
+public class LandingQueue extends AircraftQueue implements AircraftListener {
+    /**
+     * Aircraft in each priority tier, indexed by tier ordinal and keyed by the order in which
+     * they were added.
+     */
+    private final List<TreeMap<Long, Aircraft>> tiers;
+
+    /**
+     * Position in the queue of every aircraft in the queue.
+     */
+    private final Map<Aircraft, QueueEntry> entries;
+
     /**
-     * The landing queue list.
+     * Sequence number to give to the next aircraft added to the queue.
      */
-    private ArrayList<Aircraft> landingQueue;
+    private long nextSequenceNumber;
 
     /**
      * Constructs a new LandingQueue with an initially empty queue of aircraft.
      */
     public LandingQueue() {
-        landingQueue = new ArrayList<Aircraft>();
+        this.tiers = new ArrayList<>();
+        for (int i = 0; i < LandingPriority.values().length; i++) {
+            this.tiers.add(new TreeMap<>());
+        }
+        this.entries = new HashMap<>();
+        this.nextSequenceNumber = 0;
     }
 
     /**
      * Adds the given aircraft to the queue.
      *
+     * If the aircraft is already in the queue, it is not added again.
+     *
      * @param aircraft - aircraft to add to queue
      */
     public void addAircraft(Aircraft aircraft) {
-        landingQueue.add(aircraft);
+        if (this.entries.containsKey(aircraft)) {
+            return;
+        }
+
+        QueueEntry entry = new QueueEntry(this.nextSequenceNumber++,
+                aircraft.getLandingPriority());
+        this.entries.put(aircraft, entry);
+        this.tiers.get(entry.tier.ordinal()).put(entry.sequenceNumber, aircraft);
+        aircraft.addListener(this);
     }
 
     /**
@@ -59,29 +94,13 @@ public class LandingQueue extends AircraftQueue {
      * @return aircraft at front of queue
      */
     public Aircraft peekAircraft() {
-        if (this.landingQueue.isEmpty()) {
-            return null;
-        }
-
-        for (Aircraft aircraft : this.landingQueue) {
-            if (aircraft.hasEmergency()) {
-                return aircraft;
+        for (TreeMap<Long, Aircraft> tier : this.tiers) {
+            if (!tier.isEmpty()) {
+                return tier.firstEntry().getValue();
             }
         }
 
-        for (Aircraft aircraft : this.landingQueue) {
-            if (aircraft.getFuelPercentRemaining() <= 20) {
-                return aircraft;
-            }
-        }
-
-        for (Aircraft aircraft : this.landingQueue) {
-            if (aircraft instanceof PassengerAircraft) {
-                return aircraft;
-            }
-        }
-
-        return this.landingQueue.get(0);
+        return null;
     }
 
     /**
@@ -94,59 +113,79 @@ public class LandingQueue extends AircraftQueue {
      * @return aircraft at front of queue
      */
     public Aircraft removeAircraft() {
-        Aircraft poppedAircraft;
-        if (this.landingQueue.isEmpty()) {
-            return null;
-        }
-
-        for (Aircraft aircraft : this.landingQueue) {
-            if (aircraft.hasEmergency()) {
-                poppedAircraft = aircraft;
-                this.landingQueue.remove(aircraft);
+        for (TreeMap<Long, Aircraft> tier : this.tiers) {
+            if (!tier.isEmpty()) {
+                Aircraft poppedAircraft = tier.pollFirstEntry().getValue();
+                this.entries.remove(poppedAircraft);
+                poppedAircraft.removeListener(this);
                 return poppedAircraft;
             }
         }
 
-        for (Aircraft aircraft : this.landingQueue) {
-            if (aircraft.getFuelPercentRemaining() <= 20) {
-                poppedAircraft = aircraft;
-                this.landingQueue.remove(aircraft);
-                return poppedAircraft;
+        return null;
+    }
+
+    /**
+     * Returns an iterator over all aircraft in the queue, in the order they would be
+     * removed by removeAircraft().
+     *
+     * The iterator does not modify the queue and does not support removing aircraft.
+     *
+     * @return iterator over all aircraft in queue, in queue order
+     */
+    @Override
+    public Iterator<Aircraft> iterator() {
+        return new Iterator<Aircraft>() {
+            /** Index of the tier currently being iterated over */
+            private int tierIndex = 0;
+
+            /** Iterator over the aircraft in the current tier */
+            private Iterator<Aircraft> tierIterator = tiers.get(0).values().iterator();
+
+            @Override
+            public boolean hasNext() {
+                //Skip over tiers that have no aircraft left
+                while (!this.tierIterator.hasNext() && this.tierIndex < tiers.size() - 1) {
+                    this.tierIndex++;
+                    this.tierIterator = tiers.get(this.tierIndex).values().iterator();
+                }
+                return this.tierIterator.hasNext();
             }
-        }
 
-        for (Aircraft aircraft : this.landingQueue) {
-            if (aircraft instanceof PassengerAircraft) {
-                poppedAircraft = aircraft;
-                this.landingQueue.remove(aircraft);
-                return poppedAircraft;
+            @Override
+            public Aircraft next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return this.tierIterator.next();
             }
-        }
+        };
+    }
 
-        poppedAircraft = this.landingQueue.get(0);
-        this.landingQueue.remove(0);
-        return poppedAircraft;
+    /**
+     * Returns the number of aircraft currently in the queue.
+     *
+     * @return number of aircraft in queue
+     */
+    @Override
+    public int size() {
+        return this.entries.size();
     }
 
     /**
-     * Returns a list containing all aircraft in the queue, in order.
+     * Returns all aircraft in the queue in the order they were added, regardless of priority.
      *
-     * Adding or removing elements from the returned list should not affect the original queue.
+     * Adding these aircraft to an empty landing queue in this order gives a queue that behaves
+     * identically to this one, even after the priority of some aircraft changes.
      *
-     * @return list of all aircraft in queue, in queue order
+     * @return list of all aircraft in queue, in the order they were added
      */
-    public List<Aircraft> getAircraftInOrder() {
-        ArrayList<Aircraft> landingQueueCopy = new ArrayList<Aircraft>(this.landingQueue);
-        ArrayList<Aircraft> orderedAircraft = new ArrayList<Aircraft>();
-        if (landingQueueCopy.size() > 0) {
-            for (int i = 0; i < landingQueueCopy.size(); i++) {
-                orderedAircraft.add(this.removeAircraft());
-            }
+    List<Aircraft> getAircraftInArrivalOrder() {
+        TreeMap<Long, Aircraft> arrivalOrder = new TreeMap<>();
+        for (TreeMap<Long, Aircraft> tier : this.tiers) {
+            arrivalOrder.putAll(tier);
         }
-
-        this.landingQueue = landingQueueCopy;
-
-        return orderedAircraft;
+        return new ArrayList<>(arrivalOrder.values());
     }
 
     /**
@@ -156,6 +195,56 @@ public class LandingQueue extends AircraftQueue {
      * @return true if aircraft is in queue; false otherwise
      */
     public boolean containsAircraft(Aircraft aircraft) {
-        return this.landingQueue.contains(aircraft);
+        return this.entries.containsKey(aircraft);
+    }
+
+    /**
+     * Moves the given aircraft to its new priority tier after its landing priority has changed.
+     *
+     * The aircraft keeps its original position relative to the other aircraft in its new tier,
+     * as if it had always been in that tier. If the aircraft is not in the queue,
+     * no action is taken.
+     *
+     * This method is synchronized because aircraft may be ticked concurrently (see
+     * {@link ControlTower#setTickPool(java.util.concurrent.ForkJoinPool)}). The resulting queue
+     * does not depend on the order in which aircraft are moved.
+     *
+     * @param aircraft - aircraft whose landing priority has changed
+     */
+    @Override
+    public synchronized void landingPriorityChanged(Aircraft aircraft) {
+        QueueEntry entry = this.entries.get(aircraft);
+        if (entry == null) {
+            return;
+        }
+
+        LandingPriority newTier = aircraft.getLandingPriority();
+        if (newTier != entry.tier) {
+            this.tiers.get(entry.tier.ordinal()).remove(entry.sequenceNumber);
+            this.tiers.get(newTier.ordinal()).put(entry.sequenceNumber, aircraft);
+            entry.tier = newTier;
+        }
+    }
+
+    /**
+     * Position of an aircraft in the landing queue.
+     */
+    private static class QueueEntry {
+        /** Order in which the aircraft was added to the queue */
+        private final long sequenceNumber;
+
+        /** Priority tier the aircraft is currently in */
+        private LandingPriority tier;
+
+        /**
+         * Creates a new queue entry.
+         *
+         * @param sequenceNumber - order in which the aircraft was added to the queue
+         * @param tier - priority tier the aircraft is currently in
+         */
+        private QueueEntry(long sequenceNumber, LandingPriority tier) {
+            this.sequenceNumber = sequenceNumber;
+            this.tier = tier;
+        }
     }
 }
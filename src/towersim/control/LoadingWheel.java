@@ -0,0 +1,235 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Mapping of aircraft that are loading cargo to the number of ticks remaining for loading,
+ * which finds the aircraft that finish loading each tick without visiting every loading
+ * aircraft.
+ *
+ * Instead of a number of ticks remaining, the tick on which each aircraft finishes loading is
+ * stored once, and the aircraft is placed in the slot of a timer wheel for that tick (the
+ * finish tick modulo the number of slots). Advancing the wheel by one tick only looks at the
+ * aircraft in the slot for the new tick; aircraft in that slot that finish on a later
+ * revolution of the wheel are left in place.
+ *
+ * As a map, the wheel behaves as a map of each aircraft to its ticks remaining, in the same
+ * order as the map it was created from. Advancing the wheel reduces the ticks remaining of
+ * every aircraft by one, and removes the aircraft whose ticks remaining is then zero or less.
+ */
+class LoadingWheel extends AbstractMap<Aircraft, Integer> {
+    /** Number of slots in the wheel, a power of two */
+    private static final int NUM_SLOTS = 64;
+
+    /** Tick on which each loading aircraft finishes loading */
+    private final Map<Aircraft, Long> finishTicks;
+
+    /**
+     * Order of the aircraft in the map, or null if they are kept in the order they were
+     * added
+     */
+    private final Comparator<? super Aircraft> order;
+
+    /**
+     * Timers in each slot of the wheel; timers for aircraft that were removed from the map, or
+     * given a new number of ticks remaining, are discarded when their slot is next advanced to
+     */
+    private final List<List<Timer>> slots;
+
+    /** Number of times the wheel has been advanced */
+    private long currentTick;
+
+    /**
+     * Creates a new wheel holding the aircraft and ticks remaining in the given map.
+     *
+     * If the given map is sorted, the wheel keeps its aircraft in the same order; otherwise
+     * aircraft are kept in the order they were added.
+     *
+     * @param loadingAircraft - mapping of loading aircraft to their ticks remaining
+     */
+    @SuppressWarnings("unchecked")
+    LoadingWheel(Map<Aircraft, Integer> loadingAircraft) {
+        if (loadingAircraft instanceof SortedMap) {
+            this.order = ((SortedMap<Aircraft, Integer>) loadingAircraft).comparator();
+            this.finishTicks = new TreeMap<>(this.order);
+        } else {
+            this.order = null;
+            this.finishTicks = new LinkedHashMap<>();
+        }
+        this.slots = new ArrayList<>(NUM_SLOTS);
+        for (int i = 0; i < NUM_SLOTS; i++) {
+            this.slots.add(new ArrayList<>());
+        }
+        this.currentTick = 0;
+        this.putAll(loadingAircraft);
+    }
+
+    /**
+     * Sets the number of ticks remaining for the given aircraft to finish loading, adding the
+     * aircraft to the map if it is not already loading.
+     *
+     * @param aircraft - loading aircraft
+     * @param ticksRemaining - number of ticks remaining for loading
+     * @return previous number of ticks remaining; or null if the aircraft was not loading
+     */
+    @Override
+    public Integer put(Aircraft aircraft, Integer ticksRemaining) {
+        long finishTick = this.currentTick + ticksRemaining;
+        Long previousFinishTick = this.finishTicks.put(aircraft, finishTick);
+        if (previousFinishTick == null || previousFinishTick != finishTick) {
+            //Aircraft with no ticks remaining finish when the wheel is next advanced
+            long slotTick = Math.max(finishTick, this.currentTick + 1);
+            this.slots.get(slotOf(slotTick)).add(new Timer(aircraft, finishTick));
+        }
+        return this.ticksRemaining(previousFinishTick);
+    }
+
+    @Override
+    public Integer get(Object aircraft) {
+        return this.ticksRemaining(this.finishTicks.get(aircraft));
+    }
+
+    @Override
+    public boolean containsKey(Object aircraft) {
+        return this.finishTicks.containsKey(aircraft);
+    }
+
+    @Override
+    public Integer remove(Object aircraft) {
+        return this.ticksRemaining(this.finishTicks.remove(aircraft));
+    }
+
+    @Override
+    public int size() {
+        return this.finishTicks.size();
+    }
+
+    @Override
+    public void clear() {
+        this.finishTicks.clear();
+        for (List<Timer> slot : this.slots) {
+            slot.clear();
+        }
+    }
+
+    @Override
+    public Set<Entry<Aircraft, Integer>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Aircraft, Integer>> iterator() {
+                Iterator<Entry<Aircraft, Long>> finishTickIterator =
+                        finishTicks.entrySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return finishTickIterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<Aircraft, Integer> next() {
+                        Entry<Aircraft, Long> entry = finishTickIterator.next();
+                        return new SimpleImmutableEntry<>(entry.getKey(),
+                                ticksRemaining(entry.getValue()));
+                    }
+
+                    @Override
+                    public void remove() {
+                        finishTickIterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return finishTicks.size();
+            }
+        };
+    }
+
+    /**
+     * Advances the wheel by one tick, removing and returning the aircraft that have finished
+     * loading.
+     *
+     * @return aircraft that finished loading, in the order they were held in the map
+     */
+    List<Aircraft> advance() {
+        this.currentTick++;
+        List<Timer> slot = this.slots.get(slotOf(this.currentTick));
+        List<Aircraft> finishedAircraft = new ArrayList<>();
+        //Timers that stay in the slot are moved to the front of it in one pass
+        int kept = 0;
+        for (int i = 0; i < slot.size(); i++) {
+            Timer timer = slot.get(i);
+            Long finishTick = this.finishTicks.get(timer.aircraft);
+            if (finishTick == null || finishTick != timer.finishTick) {
+                //Aircraft was removed or given a new number of ticks remaining
+                continue;
+            }
+            if (finishTick <= this.currentTick) {
+                this.finishTicks.remove(timer.aircraft);
+                finishedAircraft.add(timer.aircraft);
+            } else {
+                slot.set(kept++, timer);
+            }
+        }
+        slot.subList(kept, slot.size()).clear();
+        if (this.order != null) {
+            finishedAircraft.sort(this.order);
+        }
+        return finishedAircraft;
+    }
+
+    /**
+     * Returns the number of ticks remaining until the given finish tick.
+     *
+     * @param finishTick - tick on which an aircraft finishes loading; or null
+     * @return ticks remaining; or null if the given finish tick is null
+     */
+    private Integer ticksRemaining(Long finishTick) {
+        return finishTick == null ? null : (int) (finishTick - this.currentTick);
+    }
+
+    /**
+     * Returns the index of the slot that timers finishing on the given tick are placed in.
+     *
+     * @param tick - tick to find the slot of
+     * @return index of slot
+     */
+    private static int slotOf(long tick) {
+        return (int) (tick & (NUM_SLOTS - 1));
+    }
+
+    /**
+     * Aircraft waiting in a slot of the wheel for the tick it finishes loading on.
+     */
+    private static class Timer {
+        /** Aircraft that is loading */
+        private final Aircraft aircraft;
+
+        /** Tick on which the aircraft finishes loading */
+        private final long finishTick;
+
+        /**
+         * Creates a new timer.
+         *
+         * @param aircraft - aircraft that is loading
+         * @param finishTick - tick on which the aircraft finishes loading
+         */
+        private Timer(Aircraft aircraft, long finishTick) {
+            this.aircraft = aircraft;
+            this.finishTick = finishTick;
+        }
+    }
+}
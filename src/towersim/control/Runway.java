@@ -0,0 +1,105 @@
+package towersim.control;
+
+/**
+ * Represents one runway of an airport, used by a control tower to land and take off aircraft
+ * (see {@link ControlTower#setRunways(java.util.List, RunwayPolicy)}).
+ *
+ * Each runway has a mode, limiting which operations it can be used for, and a capacity, which
+ * is the number of aircraft it can land or take off per tick.
+ */
+public class Runway {
+    /**
+     * Operations that a runway can be used for.
+     */
+    public enum Mode {
+        /** Runway is only used for landing */
+        LANDING,
+        /** Runway is only used for taking off */
+        TAKEOFF,
+        /** Runway is used for both landing and taking off */
+        MIXED;
+
+        /**
+         * Returns true if a runway in this mode can be used for the given operation.
+         *
+         * @param operation - operation to check
+         * @return true if the operation is allowed; false otherwise
+         */
+        public boolean allows(RunwayPolicy.Operation operation) {
+            switch (this) {
+                case LANDING:
+                    return operation == RunwayPolicy.Operation.LAND;
+                case TAKEOFF:
+                    return operation == RunwayPolicy.Operation.TAKE_OFF;
+                default:
+                    return true;
+            }
+        }
+    }
+
+    /** Operations this runway is used for */
+    private final Mode mode;
+
+    /** Number of aircraft that can land or take off on this runway per tick */
+    private final int capacity;
+
+    /**
+     * Creates a new runway with the given mode, which can land or take off one aircraft per
+     * tick.
+     *
+     * @param mode - operations the runway is used for
+     */
+    public Runway(Mode mode) {
+        this(mode, 1);
+    }
+
+    /**
+     * Creates a new runway with the given mode and capacity.
+     *
+     * @param mode - operations the runway is used for
+     * @param capacity - number of aircraft that can land or take off on the runway per tick
+     * @throws IllegalArgumentException - if the mode is null or the capacity is less than 1
+     */
+    public Runway(Mode mode, int capacity) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Runway mode cannot be null");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Runway capacity must be at least 1");
+        }
+        this.mode = mode;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the operations this runway is used for.
+     *
+     * @return runway mode
+     */
+    public Mode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * Returns the number of aircraft that can land or take off on this runway per tick.
+     *
+     * @return runway capacity
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Returns the human-readable string representation of this runway.
+     *
+     * The format of the string to return is
+     * <pre>MODE runway, capacity per tick</pre>
+     * For example, {@code "MIXED runway, 1 per tick"}.
+     *
+     * @return string representation of this runway
+     */
+    @Override
+    public String toString() {
+        return String.format("%s runway, %d per tick", this.mode, this.capacity);
+    }
+}
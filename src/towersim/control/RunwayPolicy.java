@@ -0,0 +1,71 @@
+package towersim.control;
+
+import java.util.List;
+
+/**
+ * Policy deciding which operations each runway of a control tower attempts on each tick
+ * (see {@link ControlTower#setRunways(List, RunwayPolicy)}).
+ *
+ * Every tick, each runway is offered to the policy once for every aircraft it can handle.
+ * The policy returns the operations to attempt, in order of preference; the control tower
+ * performs the first one that the runway's mode allows and that succeeds, or leaves the
+ * runway idle for the rest of the tick if none do. Landing fails if the landing queue is
+ * empty or there is no suitable gate for the aircraft at its front, and taking off fails if
+ * the takeoff queue is empty.
+ *
+ * Policies should only decide based on their arguments, so that replaying a control tower
+ * with the same runways and policy produces the same result.
+ */
+@FunctionalInterface
+public interface RunwayPolicy {
+    /**
+     * Operations that can be attempted on a runway.
+     */
+    enum Operation {
+        /** Land the aircraft at the front of the landing queue */
+        LAND,
+        /** Take off the aircraft at the front of the takeoff queue */
+        TAKE_OFF
+    }
+
+    /** Try to land, then try to take off if unable to land */
+    List<Operation> LAND_THEN_TAKE_OFF = List.of(Operation.LAND, Operation.TAKE_OFF);
+
+    /** Try to take off, then try to land if unable to take off */
+    List<Operation> TAKE_OFF_THEN_LAND = List.of(Operation.TAKE_OFF, Operation.LAND);
+
+    /** Only try to take off */
+    List<Operation> TAKE_OFF_ONLY = List.of(Operation.TAKE_OFF);
+
+    /**
+     * Policy of the original single runway: land on even ticks, taking off instead if unable
+     * to land, and take off on odd ticks. Landing-only runways are idle on odd ticks.
+     */
+    RunwayPolicy ALTERNATING = (runway, tick, landingQueue, takeoffQueue) ->
+            tick % 2 == 0 ? LAND_THEN_TAKE_OFF : TAKE_OFF_ONLY;
+
+    /**
+     * Policy that always lands if possible, only taking off when unable to land.
+     */
+    RunwayPolicy LANDING_FIRST = (runway, tick, landingQueue, takeoffQueue) ->
+            LAND_THEN_TAKE_OFF;
+
+    /**
+     * Policy that serves the longer of the landing and takeoff queues first, landing if both
+     * are the same length.
+     */
+    RunwayPolicy LONGEST_QUEUE_FIRST = (runway, tick, landingQueue, takeoffQueue) ->
+            takeoffQueue.size() > landingQueue.size() ? TAKE_OFF_THEN_LAND : LAND_THEN_TAKE_OFF;
+
+    /**
+     * Returns the operations to attempt on the given runway, in order of preference.
+     *
+     * @param runway - runway that is free
+     * @param tick - number of ticks elapsed, including the current tick
+     * @param landingQueue - aircraft waiting to land
+     * @param takeoffQueue - aircraft waiting to take off
+     * @return operations to attempt, in order; or an empty list to leave the runway idle
+     */
+    List<Operation> choose(Runway runway, long tick, AircraftQueue landingQueue,
+                           AircraftQueue takeoffQueue);
+}
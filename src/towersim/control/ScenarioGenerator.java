@@ -0,0 +1,345 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.AircraftType;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Generates control towers of any size from a seed, for load testing the save loaders, the
+ * tick and the savers.
+ *
+ * Each terminal has between one and {@link Terminal#MAX_NUM_GATES} gates. Each aircraft is
+ * drawn from the {@link AircraftCharacteristics} that can park at one of the terminals, and
+ * given a task list that cycles through one to three AWAY tasks, LAND, up to two WAIT tasks,
+ * LOAD and TAKEOFF, starting at a random task. Aircraft starting on the ground are parked at
+ * a gate, and start with the first AWAY task instead if there is no free gate for them.
+ * Landing and takeoff queues are populated as usual, and loading aircraft are part way
+ * through loading.
+ *
+ * The same seed and sizes always generate the same control tower, and therefore the same
+ * save files.
+ */
+public class ScenarioGenerator {
+    /** Chance that an aircraft in the air is in a state of emergency */
+    private static final double EMERGENCY_CHANCE = 0.001;
+
+    /** Airline codes used as callsign prefixes for passenger airplanes */
+    private static final String[] PASSENGER_AIRLINES = {"QFA", "VOZ", "JST", "UAL", "SIA"};
+
+    /** Airline codes used as callsign prefixes for freight airplanes */
+    private static final String[] FREIGHT_AIRLINES = {"UPS", "FDX", "GTI"};
+
+    /** Callsign prefix used for helicopters */
+    private static final String HELICOPTER_PREFIX = "VH-";
+
+    /** Seed of the random number generator */
+    private final long seed;
+
+    /** Number of airplane terminals to generate */
+    private final int numAirplaneTerminals;
+
+    /** Number of helicopter terminals to generate */
+    private final int numHelicopterTerminals;
+
+    /** Number of aircraft to generate */
+    private final int numAircraft;
+
+    /**
+     * Creates a new generator of control towers with the given number of terminals and
+     * aircraft.
+     *
+     * @param seed - seed from which the control tower is generated
+     * @param numAirplaneTerminals - number of airplane terminals
+     * @param numHelicopterTerminals - number of helicopter terminals
+     * @param numAircraft - number of aircraft
+     * @throws IllegalArgumentException - if any number is negative
+     */
+    public ScenarioGenerator(long seed, int numAirplaneTerminals, int numHelicopterTerminals,
+                             int numAircraft) {
+        if (numAirplaneTerminals < 0 || numHelicopterTerminals < 0 || numAircraft < 0) {
+            throw new IllegalArgumentException("Number of terminals and aircraft cannot be "
+                    + "negative");
+        }
+        this.seed = seed;
+        this.numAirplaneTerminals = numAirplaneTerminals;
+        this.numHelicopterTerminals = numHelicopterTerminals;
+        this.numAircraft = numAircraft;
+    }
+
+    /**
+     * Returns a new control tower generated from this generator's seed, with no ticks elapsed.
+     *
+     * @return generated control tower
+     */
+    public ControlTower generate() {
+        Random random = new Random(this.seed);
+        ControlTower controlTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        Map<Aircraft, Integer> loadingAircraft = controlTower.getLoadingAircraft();
+
+        //Terminal types are shuffled so that terminal numbers do not depend on type
+        int remainingAirplaneTerminals = this.numAirplaneTerminals;
+        int remainingHelicopterTerminals = this.numHelicopterTerminals;
+        int terminalNumber = 1;
+        int gateNumber = 1;
+        while (remainingAirplaneTerminals + remainingHelicopterTerminals > 0) {
+            Terminal terminal;
+            if (random.nextInt(remainingAirplaneTerminals + remainingHelicopterTerminals)
+                    < remainingAirplaneTerminals) {
+                terminal = new AirplaneTerminal(terminalNumber);
+                remainingAirplaneTerminals--;
+            } else {
+                terminal = new HelicopterTerminal(terminalNumber);
+                remainingHelicopterTerminals--;
+            }
+            int numGates = 1 + random.nextInt(Terminal.MAX_NUM_GATES);
+            for (int i = 0; i < numGates; i++) {
+                try {
+                    terminal.addGate(new Gate(gateNumber++));
+                } catch (NoSpaceException nse) {
+                    //Not possible, at most MAX_NUM_GATES are added
+                }
+            }
+            controlTower.addTerminal(terminal);
+            terminalNumber++;
+        }
+
+        List<AircraftCharacteristics> characteristics = this.parkableCharacteristics();
+        for (int i = 1; i <= this.numAircraft; i++) {
+            AircraftCharacteristics aircraftCharacteristics =
+                    characteristics.get(random.nextInt(characteristics.size()));
+            String callsign = callsignPrefix(aircraftCharacteristics, random) + i;
+            List<Task> tasks = generateTasks(random);
+            int currentTaskIndex = random.nextInt(tasks.size());
+            TaskType currentTaskType = tasks.get(currentTaskIndex).getType();
+            boolean emergency = random.nextDouble() < EMERGENCY_CHANCE;
+            Aircraft aircraft = createAircraft(callsign, aircraftCharacteristics, tasks,
+                    currentTaskIndex, random);
+            if (emergency && (currentTaskType == TaskType.AWAY
+                    || currentTaskType == TaskType.LAND)) {
+                aircraft.declareEmergency();
+            }
+            try {
+                controlTower.addAircraft(aircraft);
+            } catch (NoSuitableGateException nsge) {
+                //No free gate, so start in the air instead
+                aircraft = createAircraft(callsign, aircraftCharacteristics, tasks, 0, random);
+                try {
+                    controlTower.addAircraft(aircraft);
+                } catch (NoSuitableGateException impossible) {
+                    //Not possible, aircraft that are away do not need a gate
+                }
+            }
+            if (loadingAircraft.containsKey(aircraft)) {
+                //Part way through loading
+                loadingAircraft.put(aircraft, 1 + random.nextInt(aircraft.getLoadingTime()));
+            }
+        }
+        return controlTower;
+    }
+
+    /**
+     * Generates a control tower and writes it to the four save files in the given directory,
+     * named in the same way as the files in the {@code saves} directory. The directory is
+     * created if it does not exist.
+     *
+     * For example, if the name is {@code "load"}, the files written are
+     * {@code tick_load.txt}, {@code aircraft_load.txt}, {@code queues_load.txt} and
+     * {@code terminalsWithGates_load.txt}.
+     *
+     * @param directory - directory to write the save files to
+     * @param name - name of the save
+     * @return generated control tower
+     * @throws IOException - if an IOException occurs when writing the files
+     */
+    public ControlTower writeSave(Path directory, String name) throws IOException {
+        Files.createDirectories(directory);
+        ControlTower controlTower = this.generate();
+        //Writers opened before one that fails to open are still closed
+        try (BufferedWriter tickWriter = Files.newBufferedWriter(
+                     directory.resolve("tick_" + name + ".txt"));
+             BufferedWriter aircraftWriter = Files.newBufferedWriter(
+                     directory.resolve("aircraft_" + name + ".txt"));
+             BufferedWriter queuesWriter = Files.newBufferedWriter(
+                     directory.resolve("queues_" + name + ".txt"));
+             BufferedWriter terminalsWriter = Files.newBufferedWriter(
+                     directory.resolve("terminalsWithGates_" + name + ".txt"))) {
+            ControlTowerSaver.saveAs(controlTower, tickWriter, aircraftWriter, queuesWriter,
+                    terminalsWriter);
+        }
+        return controlTower;
+    }
+
+    /**
+     * Returns the aircraft characteristics of every type of aircraft that at least one
+     * generated terminal can park, or all characteristics if there are no terminals.
+     *
+     * @return characteristics that aircraft are drawn from
+     */
+    private List<AircraftCharacteristics> parkableCharacteristics() {
+        List<AircraftCharacteristics> characteristics = new ArrayList<>();
+        for (AircraftCharacteristics aircraftCharacteristics : AircraftCharacteristics.values()) {
+            if ((aircraftCharacteristics.type == AircraftType.AIRPLANE
+                    && this.numAirplaneTerminals > 0)
+                    || (aircraftCharacteristics.type == AircraftType.HELICOPTER
+                    && this.numHelicopterTerminals > 0)) {
+                characteristics.add(aircraftCharacteristics);
+            }
+        }
+        if (characteristics.isEmpty()) {
+            characteristics.addAll(List.of(AircraftCharacteristics.values()));
+        }
+        return characteristics;
+    }
+
+    /**
+     * Returns a random cyclic list of tasks, starting with an AWAY task.
+     *
+     * @param random - random number generator to use
+     * @return one cycle of tasks
+     */
+    private static List<Task> generateTasks(Random random) {
+        List<Task> tasks = new ArrayList<>();
+        int numAway = 1 + random.nextInt(3);
+        for (int i = 0; i < numAway; i++) {
+            tasks.add(new Task(TaskType.AWAY));
+        }
+        tasks.add(new Task(TaskType.LAND));
+        int numWait = random.nextInt(3);
+        for (int i = 0; i < numWait; i++) {
+            tasks.add(new Task(TaskType.WAIT));
+        }
+        tasks.add(new Task(TaskType.LOAD, 20 + random.nextInt(81)));
+        tasks.add(new Task(TaskType.TAKEOFF));
+        return tasks;
+    }
+
+    /**
+     * Returns a new aircraft with the given tasks, starting at the given task, and with an
+     * amount of fuel and cargo that suits that task.
+     *
+     * Aircraft on the ground have no cargo and some fuel, aircraft waiting to take off are
+     * fully fuelled, and aircraft in the air have some fuel and cargo. Fuel amounts are
+     * rounded down to two decimal places, so they are unchanged by saving and loading.
+     *
+     * @param callsign - callsign of the aircraft
+     * @param characteristics - characteristics of the aircraft
+     * @param tasks - one cycle of tasks
+     * @param currentTaskIndex - index of the task to start at
+     * @param random - random number generator to use
+     * @return new aircraft
+     */
+    private static Aircraft createAircraft(String callsign,
+                                           AircraftCharacteristics characteristics,
+                                           List<Task> tasks, int currentTaskIndex,
+                                           Random random) {
+        List<Task> rotatedTasks = new ArrayList<>(tasks.subList(currentTaskIndex, tasks.size()));
+        rotatedTasks.addAll(tasks.subList(0, currentTaskIndex));
+        TaskType currentTaskType = rotatedTasks.get(0).getType();
+        boolean passenger = characteristics.passengerCapacity > 0;
+        int cargoCapacity = passenger ? characteristics.passengerCapacity
+                : characteristics.freightCapacity;
+
+        double fuelFraction;
+        int cargo;
+        if (currentTaskType == TaskType.WAIT || currentTaskType == TaskType.LOAD) {
+            fuelFraction = 0.05 + random.nextDouble() * 0.55;
+            cargo = 0;
+        } else if (currentTaskType == TaskType.TAKEOFF) {
+            fuelFraction = 1;
+            cargo = random.nextInt(cargoCapacity + 1);
+        } else {
+            fuelFraction = 0.1 + random.nextDouble() * 0.9;
+            cargo = random.nextInt(cargoCapacity + 1);
+        }
+        double fuelAmount = Math.floor(characteristics.fuelCapacity * fuelFraction * 100) / 100;
+
+        TaskList taskList = new TaskList(rotatedTasks);
+        if (passenger) {
+            return new PassengerAircraft(callsign, characteristics, taskList, fuelAmount, cargo);
+        } else {
+            return new FreightAircraft(callsign, characteristics, taskList, fuelAmount, cargo);
+        }
+    }
+
+    /**
+     * Returns a random callsign prefix suited to the given aircraft characteristics.
+     *
+     * @param characteristics - characteristics of the aircraft
+     * @param random - random number generator to use
+     * @return callsign prefix
+     */
+    private static String callsignPrefix(AircraftCharacteristics characteristics,
+                                         Random random) {
+        if (characteristics.type == AircraftType.HELICOPTER) {
+            return HELICOPTER_PREFIX;
+        } else if (characteristics.passengerCapacity > 0) {
+            return PASSENGER_AIRLINES[random.nextInt(PASSENGER_AIRLINES.length)];
+        } else {
+            return FREIGHT_AIRLINES[random.nextInt(FREIGHT_AIRLINES.length)];
+        }
+    }
+
+    /**
+     * Generates a control tower and writes it to save files.
+     * <p>
+     * Usage: {@code seed num_airplane_terminals num_helicopter_terminals num_aircraft directory
+     * [name]}
+     * <p>
+     * The save files are written to the given directory, named as described in
+     * {@link #writeSave(Path, String)}, using the name {@code generated} if none is given.
+     * They can then be loaded by {@link towersim.HeadlessLauncher} or the GUI.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 5 || args.length > 6) {
+            System.err.println("Usage: seed num_airplane_terminals num_helicopter_terminals"
+                    + " num_aircraft directory [name]");
+            System.exit(1);
+        }
+
+        ScenarioGenerator generator;
+        try {
+            generator = new ScenarioGenerator(Long.parseLong(args[0]),
+                    Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+                    Integer.parseInt(args[3]));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid arguments: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        String name = args.length == 6 ? args[5] : "generated";
+        try {
+            System.out.println(generator.writeSave(Paths.get(args[4]), name));
+        } catch (IOException e) {
+            System.err.println("Error writing save files. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,901 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+import towersim.util.NoSpaceException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Utility class that loads a control tower from the same four save files as
+ * {@link ControlTowerInitialiser}, but is designed for very large saves.
+ *
+ * Each file is read into a single character buffer and tokenised in one pass by a cursor that
+ * records the boundaries of lines and fields, rather than splitting every line into arrays of
+ * substrings. Callsigns are resolved through a hash index instead of searching the list of all
+ * aircraft.
+ *
+ * The save files are accepted and rejected in exactly the same cases as
+ * {@link ControlTowerInitialiser#createControlTower(Reader, Reader, Reader, Reader)}, and a
+ * {@code MalformedSaveException} is thrown in the same cases.
+ */
+public class StreamingControlTowerInitialiser {
+    /** Size of the chunks used when reading from a reader */
+    private static final int READ_CHUNK_SIZE = 8192;
+
+    /**
+     * Creates a control tower instance by reading various airport entities from the given
+     * readers. All readers are closed once loading is complete.
+     *
+     * @param tick - reader from which to load the number of ticks elapsed
+     * @param aircraft - reader from which to load the list of aircraft
+     * @param queues - reader from which to load the aircraft queues and map of loading aircraft
+     * @param terminalsWithGates - reader from which to load the terminals and their gates
+     * @return control tower created by reading from the given readers
+     * @throws MalformedSaveException - if the contents of any of the readers are invalid
+     * @throws IOException - if an IOException is encountered when reading from any of the readers
+     */
+    public static ControlTower createControlTower(Reader tick, Reader aircraft,
+                                                  Reader queues, Reader terminalsWithGates)
+            throws MalformedSaveException, IOException {
+        ControlTower controlTower = createControlTower(readAll(tick), readAll(aircraft),
+                readAll(queues), readAll(terminalsWithGates));
+
+        tick.close();
+        aircraft.close();
+        queues.close();
+        terminalsWithGates.close();
+
+        return controlTower;
+    }
+
+    /**
+     * Creates a control tower instance by reading various airport entities from the files at
+     * the given paths. Each file is memory-mapped and decoded using the default charset, as
+     * a FileReader would.
+     *
+     * @param tick - path of the file containing the number of ticks elapsed
+     * @param aircraft - path of the file containing the list of aircraft
+     * @param queues - path of the file containing the aircraft queues and map of loading aircraft
+     * @param terminalsWithGates - path of the file containing the terminals and their gates
+     * @return control tower created by reading from the given files
+     * @throws MalformedSaveException - if the contents of any of the files are invalid
+     * @throws IOException - if an IOException is encountered when reading from any of the files
+     */
+    public static ControlTower createControlTower(Path tick, Path aircraft,
+                                                  Path queues, Path terminalsWithGates)
+            throws MalformedSaveException, IOException {
+        return createControlTower(map(tick), map(aircraft), map(queues), map(terminalsWithGates));
+    }
+
+    /**
+     * Creates a control tower from the full contents of the four save files.
+     *
+     * @param tick - contents of the tick file
+     * @param aircraft - contents of the aircraft file
+     * @param queues - contents of the queues file
+     * @param terminalsWithGates - contents of the terminals with gates file
+     * @return control tower created from the given contents
+     * @throws MalformedSaveException - if any of the contents are invalid
+     */
+    private static ControlTower createControlTower(CharBuffer tick, CharBuffer aircraft,
+                                                   CharBuffer queues,
+                                                   CharBuffer terminalsWithGates)
+            throws MalformedSaveException {
+        long tickNumber = loadTick(new SaveCursor(tick));
+
+        List<Aircraft> allAircraft = loadAircraft(new SaveCursor(aircraft));
+        CallsignIndex callsigns = new CallsignIndex(allAircraft.size());
+        for (Aircraft craft : allAircraft) {
+            callsigns.add(craft);
+        }
+
+        List<Terminal> terminals = loadTerminalsWithGates(new SaveCursor(terminalsWithGates),
+                callsigns);
+
+        TakeoffQueue takeoffQueue = new TakeoffQueue();
+        LandingQueue landingQueue = new LandingQueue();
+        Map<Aircraft, Integer> loadingAircraft = new TreeMap<>(
+                Comparator.comparing(Aircraft::getCallsign));
+
+        SaveCursor queuesCursor = new SaveCursor(queues);
+        loadQueue(queuesCursor, callsigns, takeoffQueue);
+        loadQueue(queuesCursor, callsigns, landingQueue);
+        loadLoadingAircraft(queuesCursor, callsigns, loadingAircraft);
+
+        ControlTower controlTower = new ControlTower(tickNumber, allAircraft,
+                landingQueue, takeoffQueue, loadingAircraft);
+
+        for (Terminal terminal : terminals) {
+            controlTower.addTerminal(terminal);
+        }
+
+        return controlTower;
+    }
+
+    /**
+     * Loads the number of ticks elapsed, following the rules of
+     * {@link ControlTowerInitialiser#loadTick(Reader)}.
+     *
+     * @param cursor - cursor over the tick file
+     * @return number of ticks elapsed
+     * @throws MalformedSaveException - if the tick file is invalid
+     */
+    private static long loadTick(SaveCursor cursor) throws MalformedSaveException {
+        if (!cursor.nextLine()) {
+            throw new MalformedSaveException();
+        }
+
+        long tick = cursor.parseLong(cursor.lineStart, cursor.lineEnd);
+        if (tick < 0) {
+            throw new MalformedSaveException();
+        }
+        return tick;
+    }
+
+    /**
+     * Loads the list of all aircraft, following the rules of
+     * {@link ControlTowerInitialiser#loadAircraft(Reader)}.
+     *
+     * @param cursor - cursor over the aircraft file
+     * @return list of aircraft
+     * @throws MalformedSaveException - if the aircraft file is invalid
+     */
+    private static List<Aircraft> loadAircraft(SaveCursor cursor) throws MalformedSaveException {
+        if (!cursor.nextLine()) {
+            throw new MalformedSaveException();
+        }
+        int aircraftNum = cursor.parseInt(cursor.lineStart, cursor.lineEnd);
+
+        //Every aircraft takes up more than one character, so this bounds the initial capacity
+        List<Aircraft> aircraftList = new ArrayList<>(
+                Math.max(0, Math.min(aircraftNum, cursor.text.length())));
+        for (int i = 0; i < aircraftNum; i++) {
+            if (!cursor.nextLine()) {
+                throw new MalformedSaveException();
+            }
+            aircraftList.add(readAircraft(cursor));
+        }
+
+        if (cursor.nextLine()) {
+            throw new MalformedSaveException();
+        }
+        return aircraftList;
+    }
+
+    /**
+     * Reads the aircraft on the current line, following the rules of
+     * {@link ControlTowerInitialiser#readAircraft(String)}.
+     *
+     * @param cursor - cursor positioned on an encoded aircraft
+     * @return decoded aircraft
+     * @throws MalformedSaveException - if the encoded aircraft is invalid
+     */
+    private static Aircraft readAircraft(SaveCursor cursor) throws MalformedSaveException {
+        Fields fields = cursor.fields;
+        if (fields.split(cursor.text, cursor.lineStart, cursor.lineEnd, ':') != 6) {
+            throw new MalformedSaveException();
+        }
+
+        AircraftCharacteristics characteristics = null;
+        for (AircraftCharacteristics candidate : AircraftCharacteristics.values()) {
+            if (cursor.fieldEquals(fields, 1, candidate.name())) {
+                characteristics = candidate;
+            }
+        }
+        if (characteristics == null) {
+            throw new MalformedSaveException();
+        }
+
+        double fuelAmount;
+        try {
+            fuelAmount = Double.parseDouble(cursor.fieldString(fields, 3));
+        } catch (NumberFormatException nfe) {
+            throw new MalformedSaveException();
+        }
+        if (fuelAmount < 0 || fuelAmount > characteristics.fuelCapacity) {
+            throw new MalformedSaveException();
+        }
+
+        int cargoAmount = cursor.parseInt(fields.starts[5], fields.ends[5]);
+        int cargoCapacity = characteristics.passengerCapacity <= 0
+                ? characteristics.freightCapacity : characteristics.passengerCapacity;
+        if (cargoAmount < 0 || cargoAmount > cargoCapacity) {
+            throw new MalformedSaveException();
+        }
+
+        boolean emergency;
+        if (cursor.fieldEquals(fields, 4, "true")) {
+            emergency = true;
+        } else if (cursor.fieldEquals(fields, 4, "false")) {
+            emergency = false;
+        } else {
+            throw new MalformedSaveException();
+        }
+
+        String callsign = cursor.fieldString(fields, 0);
+        TaskList taskList = readTaskList(cursor, fields.starts[2], fields.ends[2]);
+
+        Aircraft aircraft;
+        if (characteristics.passengerCapacity <= 0) {
+            aircraft = new FreightAircraft(callsign, characteristics,
+                    taskList, fuelAmount, cargoAmount);
+        } else {
+            aircraft = new PassengerAircraft(callsign, characteristics,
+                    taskList, fuelAmount, cargoAmount);
+        }
+        if (emergency) {
+            aircraft.declareEmergency();
+        }
+        return aircraft;
+    }
+
+    /**
+     * Reads the task list between the given positions, following the rules of
+     * {@link ControlTowerInitialiser#readTaskList(String)}.
+     *
+     * @param cursor - cursor over the aircraft file
+     * @param start - index of the first character of the encoded task list
+     * @param end - index after the last character of the encoded task list
+     * @return decoded task list
+     * @throws MalformedSaveException - if the encoded task list is invalid
+     */
+    private static TaskList readTaskList(SaveCursor cursor, int start, int end)
+            throws MalformedSaveException {
+        Fields tasksFields = cursor.subFields;
+        Fields loadFields = cursor.loadFields;
+        int numTasks = tasksFields.split(cursor.text, start, end, ',');
+        List<Task> tasks = new ArrayList<>(numTasks);
+
+        for (int i = 0; i < numTasks; i++) {
+            int taskStart = tasksFields.starts[i];
+            int taskEnd = tasksFields.ends[i];
+            if (cursor.rangeEquals(taskStart, taskEnd, "AWAY")) {
+                tasks.add(Task.of(TaskType.AWAY));
+            } else if (cursor.rangeEquals(taskStart, taskEnd, "LAND")) {
+                tasks.add(Task.of(TaskType.LAND));
+            } else if (cursor.rangeEquals(taskStart, taskEnd, "WAIT")) {
+                tasks.add(Task.of(TaskType.WAIT));
+            } else if (cursor.rangeEquals(taskStart, taskEnd, "TAKEOFF")) {
+                tasks.add(Task.of(TaskType.TAKEOFF));
+            } else if (cursor.rangeStartsWith(taskStart, taskEnd, "LOAD@")) {
+                if (loadFields.split(cursor.text, taskStart, taskEnd, '@') != 2) {
+                    throw new MalformedSaveException();
+                }
+                int loadPercentage = cursor.parseInt(loadFields.starts[1], loadFields.ends[1]);
+                if (loadPercentage < 0) {
+                    throw new MalformedSaveException();
+                }
+                tasks.add(Task.of(TaskType.LOAD, loadPercentage));
+            } else {
+                throw new MalformedSaveException();
+            }
+        }
+
+        //Check the number of "@" across the whole task list
+        if (loadFields.split(cursor.text, start, end, '@') > 2) {
+            throw new MalformedSaveException();
+        }
+
+        try {
+            return new TaskList(tasks);
+        } catch (IllegalArgumentException e) {
+            throw new MalformedSaveException();
+        }
+    }
+
+    /**
+     * Loads an aircraft queue, following the rules of
+     * {@link ControlTowerInitialiser#readQueue(java.io.BufferedReader, List, AircraftQueue)}.
+     *
+     * @param cursor - cursor over the queues file
+     * @param callsigns - index of all aircraft by callsign
+     * @param queue - empty queue that aircraft will be added to
+     * @throws MalformedSaveException - if the encoded queue is invalid
+     */
+    private static void loadQueue(SaveCursor cursor, CallsignIndex callsigns,
+                                  AircraftQueue queue) throws MalformedSaveException {
+        if (!cursor.nextLine()) {
+            throw new MalformedSaveException();
+        }
+
+        Fields fields = cursor.fields;
+        if (fields.split(cursor.text, cursor.lineStart, cursor.lineEnd, ':') != 2
+                || !cursor.fieldEquals(fields, 0, queue.getClass().getSimpleName())) {
+            throw new MalformedSaveException();
+        }
+        int aircraftNumber = cursor.parseInt(fields.starts[1], fields.ends[1]);
+
+        if (aircraftNumber != 0) {
+            if (!cursor.nextLine()
+                    || fields.split(cursor.text, cursor.lineStart, cursor.lineEnd, ',')
+                    != aircraftNumber) {
+                throw new MalformedSaveException();
+            }
+
+            for (int i = 0; i < aircraftNumber; i++) {
+                Aircraft aircraft = callsigns.get(cursor.text, fields.starts[i], fields.ends[i]);
+                if (aircraft == null) {
+                    throw new MalformedSaveException();
+                }
+                queue.addAircraft(aircraft);
+            }
+        }
+    }
+
+    /**
+     * Loads the map of loading aircraft, following the rules of
+     * {@link ControlTowerInitialiser#readLoadingAircraft(java.io.BufferedReader, List, Map)}.
+     *
+     * @param cursor - cursor over the queues file
+     * @param callsigns - index of all aircraft by callsign
+     * @param loadingAircraft - empty map that aircraft and their loading times will be added to
+     * @throws MalformedSaveException - if the encoded map is invalid
+     */
+    private static void loadLoadingAircraft(SaveCursor cursor, CallsignIndex callsigns,
+                                            Map<Aircraft, Integer> loadingAircraft)
+            throws MalformedSaveException {
+        if (!cursor.nextLine()) {
+            throw new MalformedSaveException();
+        }
+
+        Fields fields = cursor.fields;
+        if (fields.split(cursor.text, cursor.lineStart, cursor.lineEnd, ':') != 2
+                || cursor.charAt(cursor.lineStart) == ':'
+                || cursor.charAt(cursor.lineEnd - 1) == ':') {
+            throw new MalformedSaveException();
+        }
+        int queueLength = cursor.parseInt(fields.starts[1], fields.ends[1]);
+
+        if (queueLength == 0) {
+            if (cursor.nextLine()) {
+                throw new MalformedSaveException();
+            }
+            return;
+        }
+
+        if (!cursor.nextLine()
+                || fields.split(cursor.text, cursor.lineStart, cursor.lineEnd, ',')
+                != queueLength) {
+            throw new MalformedSaveException();
+        }
+
+        Fields pairFields = cursor.subFields;
+        for (int i = 0; i < queueLength; i++) {
+            int pairStart = fields.starts[i];
+            int pairEnd = fields.ends[i];
+            if (pairFields.split(cursor.text, pairStart, pairEnd, ':') != 2
+                    || cursor.charAt(pairStart) == ':' || cursor.charAt(pairEnd - 1) == ':') {
+                throw new MalformedSaveException();
+            }
+
+            Aircraft aircraft = callsigns.get(cursor.text, pairFields.starts[0],
+                    pairFields.ends[0]);
+            if (aircraft == null) {
+                throw new MalformedSaveException();
+            }
+
+            int ticksRemaining = cursor.parseInt(pairFields.starts[1], pairFields.ends[1]);
+            if (ticksRemaining < 1) {
+                throw new MalformedSaveException();
+            }
+            loadingAircraft.put(aircraft, ticksRemaining);
+        }
+    }
+
+    /**
+     * Loads the list of terminals and their gates, following the rules of
+     * {@link ControlTowerInitialiser#loadTerminalsWithGates(Reader, List)}.
+     *
+     * @param cursor - cursor over the terminals with gates file
+     * @param callsigns - index of all aircraft by callsign
+     * @return list of terminals with their gates
+     * @throws MalformedSaveException - if the terminals with gates file is invalid
+     */
+    private static List<Terminal> loadTerminalsWithGates(SaveCursor cursor,
+                                                         CallsignIndex callsigns)
+            throws MalformedSaveException {
+        if (!cursor.nextLine()) {
+            throw new MalformedSaveException();
+        }
+        int terminalNumber = cursor.parseInt(cursor.lineStart, cursor.lineEnd);
+
+        List<Terminal> terminals = new ArrayList<>();
+        for (int i = 0; i < terminalNumber; i++) {
+            if (!cursor.nextLine()) {
+                throw new MalformedSaveException();
+            }
+            terminals.add(readTerminal(cursor, callsigns));
+        }
+
+        if (cursor.nextLine()) {
+            throw new MalformedSaveException();
+        }
+        return terminals;
+    }
+
+    /**
+     * Reads the terminal on the current line and its gates on the following lines, following
+     * the rules of
+     * {@link ControlTowerInitialiser#readTerminal(String, java.io.BufferedReader, List)}.
+     *
+     * @param cursor - cursor positioned on an encoded terminal
+     * @param callsigns - index of all aircraft by callsign
+     * @return decoded terminal with its gates added
+     * @throws MalformedSaveException - if the encoded terminal or its gates are invalid
+     */
+    private static Terminal readTerminal(SaveCursor cursor, CallsignIndex callsigns)
+            throws MalformedSaveException {
+        Fields fields = cursor.fields;
+        if (fields.split(cursor.text, cursor.lineStart, cursor.lineEnd, ':') != 4
+                || cursor.charAt(cursor.lineEnd - 1) == ':') {
+            throw new MalformedSaveException();
+        }
+
+        boolean helicopterTerminal = cursor.fieldEquals(fields, 0, "HelicopterTerminal");
+        if (!helicopterTerminal && !cursor.fieldEquals(fields, 0, "AirplaneTerminal")) {
+            throw new MalformedSaveException();
+        }
+
+        int terminalNumber = cursor.parseInt(fields.starts[1], fields.ends[1]);
+        if (terminalNumber < 1) {
+            throw new MalformedSaveException();
+        }
+        int numberOfGates = cursor.parseInt(fields.starts[3], fields.ends[3]);
+        if (numberOfGates < 0 || numberOfGates > Terminal.MAX_NUM_GATES) {
+            throw new MalformedSaveException();
+        }
+        //Read before the fields are reused for the gates
+        boolean emergency = cursor.fieldEquals(fields, 2, "true");
+
+        Terminal terminal;
+        if (helicopterTerminal) {
+            terminal = new HelicopterTerminal(terminalNumber);
+        } else {
+            terminal = new AirplaneTerminal(terminalNumber);
+        }
+
+        for (int i = 0; i < numberOfGates; i++) {
+            if (!cursor.nextLine()) {
+                throw new MalformedSaveException();
+            }
+            try {
+                terminal.addGate(readGate(cursor, callsigns));
+            } catch (NoSpaceException nse) {
+                //Ignore. Number of gates has already been checked
+            }
+        }
+
+        if (emergency) {
+            terminal.declareEmergency();
+        }
+        return terminal;
+    }
+
+    /**
+     * Reads the gate on the current line, following the rules of
+     * {@link ControlTowerInitialiser#readGate(String, List)}.
+     *
+     * @param cursor - cursor positioned on an encoded gate
+     * @param callsigns - index of all aircraft by callsign
+     * @return decoded gate
+     * @throws MalformedSaveException - if the encoded gate is invalid
+     */
+    private static Gate readGate(SaveCursor cursor, CallsignIndex callsigns)
+            throws MalformedSaveException {
+        Fields fields = cursor.fields;
+        if (fields.split(cursor.text, cursor.lineStart, cursor.lineEnd, ':') != 2
+                || cursor.charAt(cursor.lineEnd - 1) == ':') {
+            throw new MalformedSaveException();
+        }
+
+        int gateNumber = cursor.parseInt(fields.starts[0], fields.ends[0]);
+        if (gateNumber < 1) {
+            throw new MalformedSaveException();
+        }
+
+        Gate gate = new Gate(gateNumber);
+        if (!cursor.fieldEquals(fields, 1, "empty")) {
+            Aircraft aircraft = callsigns.get(cursor.text, fields.starts[1], fields.ends[1]);
+            if (aircraft == null) {
+                throw new MalformedSaveException();
+            }
+            try {
+                gate.parkAircraft(aircraft);
+            } catch (NoSpaceException nse) {
+                //Ignore. New Gate object is always unoccupied
+            }
+        }
+        return gate;
+    }
+
+    /**
+     * Reads all remaining characters from the given reader into a buffer.
+     *
+     * @param reader - reader to read from
+     * @return buffer containing everything read
+     * @throws IOException - if an IOException is encountered when reading
+     */
+    private static CharBuffer readAll(Reader reader) throws IOException {
+        char[] contents = new char[READ_CHUNK_SIZE];
+        int length = 0;
+        int read;
+        while ((read = reader.read(contents, length, contents.length - length)) != -1) {
+            length += read;
+            if (length == contents.length) {
+                char[] larger = new char[contents.length * 2];
+                System.arraycopy(contents, 0, larger, 0, length);
+                contents = larger;
+            }
+        }
+        return CharBuffer.wrap(contents, 0, length);
+    }
+
+    /**
+     * Memory-maps the file at the given path and decodes it using the default charset.
+     *
+     * @param path - path of the file to read
+     * @return buffer containing the decoded file
+     * @throws IOException - if an IOException is encountered when reading the file
+     */
+    private static CharBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+            return Charset.defaultCharset().decode(bytes);
+        }
+    }
+
+    /**
+     * Boundaries of the fields of a line (or part of a line) split on a separator character.
+     *
+     * Fields follow the rules of {@link String#split(String)}: trailing empty fields are
+     * discarded, and splitting an empty range gives a single empty field.
+     */
+    private static class Fields {
+        /** Index of the first character of each field */
+        private int[] starts = new int[8];
+
+        /** Index after the last character of each field */
+        private int[] ends = new int[8];
+
+        /** Number of fields found by the last split */
+        private int count;
+
+        /**
+         * Splits the given range of text on the given separator, replacing any previous fields.
+         *
+         * @param text - text to split
+         * @param start - index of the first character of the range
+         * @param end - index after the last character of the range
+         * @param separator - character that separates fields
+         * @return number of fields
+         */
+        private int split(CharSequence text, int start, int end, char separator) {
+            this.count = 0;
+            int fieldStart = start;
+            for (int i = start; i < end; i++) {
+                if (text.charAt(i) == separator) {
+                    this.add(fieldStart, i);
+                    fieldStart = i + 1;
+                }
+            }
+            this.add(fieldStart, end);
+
+            //Trailing empty fields are discarded
+            while (this.count > 0 && this.starts[this.count - 1] == this.ends[this.count - 1]) {
+                this.count--;
+            }
+            if (start == end) {
+                this.count = 1;
+            }
+            return this.count;
+        }
+
+        /**
+         * Adds a field with the given boundaries.
+         *
+         * @param start - index of the first character of the field
+         * @param end - index after the last character of the field
+         */
+        private void add(int start, int end) {
+            if (this.count == this.starts.length) {
+                int[] largerStarts = new int[this.count * 2];
+                int[] largerEnds = new int[this.count * 2];
+                System.arraycopy(this.starts, 0, largerStarts, 0, this.count);
+                System.arraycopy(this.ends, 0, largerEnds, 0, this.count);
+                this.starts = largerStarts;
+                this.ends = largerEnds;
+            }
+            this.starts[this.count] = start;
+            this.ends[this.count] = end;
+            this.count++;
+        }
+    }
+
+    /**
+     * Cursor over the lines of a save file.
+     *
+     * Lines are terminated by a line feed, a carriage return or a carriage return followed by
+     * a line feed, as in {@link java.io.BufferedReader#readLine()}.
+     */
+    private static class SaveCursor {
+        /** Full contents of the file */
+        private final CharBuffer text;
+
+        /** Index of the first character not yet read */
+        private int position;
+
+        /** Index of the first character of the current line */
+        private int lineStart;
+
+        /** Index after the last character of the current line */
+        private int lineEnd;
+
+        /** Fields of the current line */
+        private final Fields fields = new Fields();
+
+        /** Fields of a single field of the current line */
+        private final Fields subFields = new Fields();
+
+        /** Fields of a single load task */
+        private final Fields loadFields = new Fields();
+
+        /**
+         * Creates a new cursor positioned before the first line of the given text.
+         *
+         * @param text - full contents of the file
+         */
+        private SaveCursor(CharBuffer text) {
+            this.text = text;
+            this.position = 0;
+        }
+
+        /**
+         * Moves to the next line.
+         *
+         * @return true if there was another line; false if the end of the file was reached
+         */
+        private boolean nextLine() {
+            int length = this.text.length();
+            if (this.position >= length) {
+                return false;
+            }
+
+            this.lineStart = this.position;
+            int i = this.position;
+            while (i < length && this.text.charAt(i) != '\n' && this.text.charAt(i) != '\r') {
+                i++;
+            }
+            this.lineEnd = i;
+
+            if (i < length && this.text.charAt(i) == '\r') {
+                i++;
+            }
+            if (i < length && this.text.charAt(i) == '\n'
+                    && (i == this.lineEnd || this.text.charAt(i - 1) == '\r')) {
+                i++;
+            }
+            this.position = i;
+            return true;
+        }
+
+        /**
+         * Returns the character at the given index, or 0 if the index is out of range.
+         *
+         * @param index - index of the character
+         * @return character at index
+         */
+        private char charAt(int index) {
+            if (index < this.lineStart || index >= this.text.length()) {
+                return 0;
+            }
+            return this.text.charAt(index);
+        }
+
+        /**
+         * Parses the given range as an int, in the same way as {@link Integer#parseInt(String)}.
+         *
+         * @param start - index of the first character
+         * @param end - index after the last character
+         * @return parsed value
+         * @throws MalformedSaveException - if the range is not an integer
+         */
+        private int parseInt(int start, int end) throws MalformedSaveException {
+            try {
+                return Integer.parseInt(this.text, start, end, 10);
+            } catch (NumberFormatException nfe) {
+                throw new MalformedSaveException();
+            }
+        }
+
+        /**
+         * Parses the given range as a long, in the same way as {@link Long#parseLong(String)}.
+         *
+         * @param start - index of the first character
+         * @param end - index after the last character
+         * @return parsed value
+         * @throws MalformedSaveException - if the range is not an integer
+         */
+        private long parseLong(int start, int end) throws MalformedSaveException {
+            try {
+                return Long.parseLong(this.text, start, end, 10);
+            } catch (NumberFormatException nfe) {
+                throw new MalformedSaveException();
+            }
+        }
+
+        /**
+         * Returns the given field as a string.
+         *
+         * @param fields - fields of the current line
+         * @param field - index of the field
+         * @return contents of the field
+         */
+        private String fieldString(Fields fields, int field) {
+            return this.text.subSequence(fields.starts[field], fields.ends[field]).toString();
+        }
+
+        /**
+         * Returns true if the given field is equal to the given string.
+         *
+         * @param fields - fields of the current line
+         * @param field - index of the field
+         * @param expected - string to compare to
+         * @return true if equal; false otherwise
+         */
+        private boolean fieldEquals(Fields fields, int field, String expected) {
+            return this.rangeEquals(fields.starts[field], fields.ends[field], expected);
+        }
+
+        /**
+         * Returns true if the given range is equal to the given string.
+         *
+         * @param start - index of the first character
+         * @param end - index after the last character
+         * @param expected - string to compare to
+         * @return true if equal; false otherwise
+         */
+        private boolean rangeEquals(int start, int end, String expected) {
+            return end - start == expected.length() && this.rangeStartsWith(start, end, expected);
+        }
+
+        /**
+         * Returns true if the given range starts with the given prefix.
+         *
+         * @param start - index of the first character
+         * @param end - index after the last character
+         * @param prefix - prefix to check for
+         * @return true if the range starts with prefix; false otherwise
+         */
+        private boolean rangeStartsWith(int start, int end, String prefix) {
+            if (end - start < prefix.length()) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length(); i++) {
+                if (this.text.charAt(start + i) != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Hash index from callsign to aircraft that can be queried with a range of characters,
+     * without first creating a string.
+     *
+     * If several aircraft share a callsign, the one added first is returned, matching the
+     * linear search in {@link ControlTowerInitialiser}.
+     */
+    private static class CallsignIndex {
+        /** Open-addressed hash table of aircraft, with a power of two length */
+        private final Aircraft[] table;
+
+        /**
+         * Creates a new empty index with room for the given number of aircraft.
+         *
+         * @param capacity - number of aircraft that will be added
+         */
+        private CallsignIndex(int capacity) {
+            int length = 16;
+            while (length < capacity * 2) {
+                length *= 2;
+            }
+            this.table = new Aircraft[length];
+        }
+
+        /**
+         * Adds the given aircraft, unless an aircraft with the same callsign was added before.
+         *
+         * @param aircraft - aircraft to add
+         */
+        private void add(Aircraft aircraft) {
+            String callsign = aircraft.getCallsign();
+            int slot = this.slotOf(callsign.hashCode());
+            while (this.table[slot] != null) {
+                if (this.table[slot].getCallsign().equals(callsign)) {
+                    return;
+                }
+                slot = (slot + 1) & (this.table.length - 1);
+            }
+            this.table[slot] = aircraft;
+        }
+
+        /**
+         * Returns the aircraft whose callsign is equal to the given range of text, or null if
+         * there is no such aircraft.
+         *
+         * @param text - text containing the callsign
+         * @param start - index of the first character of the callsign
+         * @param end - index after the last character of the callsign
+         * @return aircraft with the callsign; or null if none exists
+         */
+        private Aircraft get(CharSequence text, int start, int end) {
+            //Same hash as String.hashCode()
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + text.charAt(i);
+            }
+
+            int slot = this.slotOf(hash);
+            while (this.table[slot] != null) {
+                String callsign = this.table[slot].getCallsign();
+                if (callsign.length() == end - start && matches(callsign, text, start)) {
+                    return this.table[slot];
+                }
+                slot = (slot + 1) & (this.table.length - 1);
+            }
+            return null;
+        }
+
+        /**
+         * Returns the first slot to check for the given hash.
+         *
+         * @param hash - hash of a callsign
+         * @return slot in the table
+         */
+        private int slotOf(int hash) {
+            return (hash ^ (hash >>> 16)) & (this.table.length - 1);
+        }
+
+        /**
+         * Returns true if the given callsign is equal to the text starting at the given index.
+         *
+         * @param callsign - callsign to compare
+         * @param text - text to compare to
+         * @param start - index of the first character to compare
+         * @return true if equal; false otherwise
+         */
+        private static boolean matches(String callsign, CharSequence text, int start) {
+            for (int i = 0; i < callsign.length(); i++) {
+                if (callsign.charAt(i) != text.charAt(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
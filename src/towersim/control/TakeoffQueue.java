@@ -3,6 +3,9 @@ package towersim.control;
 import towersim.aircraft.Aircraft;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
@@ -11,23 +14,28 @@ import java.util.List;
  * FIFO ensures that the order in which aircraft are allowed to take off is based
  * on long they have been waiting in the queue. An aircraft that has been waiting for
  * longer than another aircraft will always be allowed to take off before the other aircraft.
+ *
+ * Aircraft are kept in an insertion-ordered hash set, so checking whether an aircraft
+ * is in the queue takes constant time.
  */
 public class TakeoffQueue extends AircraftQueue {
     /**
-     * The Takeoff queue list
+     * The Takeoff queue, in the order aircraft were added
      */
-    private ArrayList<Aircraft> takeoffQueue;
+    private final LinkedHashSet<Aircraft> takeoffQueue;
 
     /**
      * Constructs a new TakeoffQueue with an initially empty queue of aircraft.
      */
     public TakeoffQueue() {
-        takeoffQueue = new ArrayList<Aircraft>();
+        takeoffQueue = new LinkedHashSet<Aircraft>();
     }
 
     /**
      * Adds the given aircraft to the queue.
      *
+     * If the aircraft is already in the queue, it is not added again.
+     *
      * @param aircraft - aircraft to add to queue
      */
     public void addAircraft(Aircraft aircraft) {
@@ -47,7 +55,7 @@ public class TakeoffQueue extends AircraftQueue {
         if (this.takeoffQueue.isEmpty()) {
             return null;
         } else {
-            return this.takeoffQueue.get(0);
+            return this.takeoffQueue.iterator().next();
         }
     }
 
@@ -61,12 +69,12 @@ public class TakeoffQueue extends AircraftQueue {
      * @return aircraft at front of queue
      */
     public Aircraft removeAircraft() {
-        Aircraft firstAircraft;
         if (this.takeoffQueue.isEmpty()) {
             return null;
         } else {
-            firstAircraft = this.takeoffQueue.get(0);
-            this.takeoffQueue.remove(0);
+            Iterator<Aircraft> iterator = this.takeoffQueue.iterator();
+            Aircraft firstAircraft = iterator.next();
+            iterator.remove();
             return firstAircraft;
         }
     }
@@ -81,19 +89,31 @@ public class TakeoffQueue extends AircraftQueue {
      *
      * @return list of all aircraft in queue, in queue order
      */
+    @Override
     public List<Aircraft> getAircraftInOrder() {
-        ArrayList<Aircraft> takeoffQueueCopy = new ArrayList<Aircraft>(this.takeoffQueue);
-        ArrayList<Aircraft> orderedTakeoffQueue = new ArrayList<Aircraft>();
-
-        if (!(this.takeoffQueue.isEmpty())) {
-            for (int i = 0; i < takeoffQueueCopy.size(); i++) {
-                orderedTakeoffQueue.add(this.removeAircraft());
-            }
-        }
+        return new ArrayList<Aircraft>(this.takeoffQueue);
+    }
 
-        this.takeoffQueue = takeoffQueueCopy;
+    /**
+     * Returns an iterator over all aircraft in the queue, in the order they were added.
+     *
+     * The iterator does not modify the queue and does not support removing aircraft.
+     *
+     * @return iterator over all aircraft in queue, in queue order
+     */
+    @Override
+    public Iterator<Aircraft> iterator() {
+        return Collections.unmodifiableCollection(this.takeoffQueue).iterator();
+    }
 
-        return orderedTakeoffQueue;
+    /**
+     * Returns the number of aircraft currently in the queue.
+     *
+     * @return number of aircraft in queue
+     */
+    @Override
+    public int size() {
+        return this.takeoffQueue.size();
     }
 
     /**
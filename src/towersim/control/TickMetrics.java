@@ -0,0 +1,217 @@
+package towersim.control;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable measurements of one tick of a control tower, as recorded by {@link TowerMetrics}.
+ *
+ * Queue depths, loading aircraft, emergencies, low fuel aircraft and gate occupancy are
+ * measured at the end of the tick.
+ */
+public final class TickMetrics {
+    /** Fuel percentage at or below which an aircraft is counted as low on fuel */
+    public static final int LOW_FUEL_PERCENT = 20;
+
+    /** Number of ticks elapsed at the end of the tick */
+    private final long tick;
+
+    /** Number of aircraft in the landing queue */
+    private final int landingQueueSize;
+
+    /** Number of aircraft in the takeoff queue */
+    private final int takeoffQueueSize;
+
+    /** Number of aircraft that landed during the tick */
+    private final int numLanded;
+
+    /** Number of aircraft that took off during the tick */
+    private final int numTookOff;
+
+    /** Number of aircraft loading at a gate */
+    private final int numLoading;
+
+    /** Number of aircraft in a state of emergency */
+    private final int numAircraftEmergencies;
+
+    /** Number of terminals in a state of emergency */
+    private final int numTerminalEmergencies;
+
+    /** Number of aircraft with at most LOW_FUEL_PERCENT of their fuel remaining */
+    private final int numLowFuel;
+
+    /** Occupancy level of each terminal, keyed by terminal number, in the order added */
+    private final Map<Integer, Integer> terminalOccupancy;
+
+    /** Time taken by each phase of the tick, indexed by phase ordinal, in nanoseconds */
+    private final long[] phaseNanos;
+
+    /** Time taken by the whole tick, in nanoseconds */
+    private final long tickNanos;
+
+    /**
+     * Creates a new set of measurements of one tick.
+     *
+     * @param tick - number of ticks elapsed at the end of the tick
+     * @param landingQueueSize - number of aircraft in the landing queue
+     * @param takeoffQueueSize - number of aircraft in the takeoff queue
+     * @param numLanded - number of aircraft that landed during the tick
+     * @param numTookOff - number of aircraft that took off during the tick
+     * @param numLoading - number of aircraft loading at a gate
+     * @param numAircraftEmergencies - number of aircraft in a state of emergency
+     * @param numTerminalEmergencies - number of terminals in a state of emergency
+     * @param numLowFuel - number of aircraft low on fuel
+     * @param terminalOccupancy - occupancy level of each terminal, keyed by terminal number
+     * @param phaseNanos - time taken by each phase, indexed by phase ordinal
+     * @param tickNanos - time taken by the whole tick
+     */
+    TickMetrics(long tick, int landingQueueSize, int takeoffQueueSize, int numLanded,
+                int numTookOff, int numLoading, int numAircraftEmergencies,
+                int numTerminalEmergencies, int numLowFuel,
+                Map<Integer, Integer> terminalOccupancy, long[] phaseNanos, long tickNanos) {
+        this.tick = tick;
+        this.landingQueueSize = landingQueueSize;
+        this.takeoffQueueSize = takeoffQueueSize;
+        this.numLanded = numLanded;
+        this.numTookOff = numTookOff;
+        this.numLoading = numLoading;
+        this.numAircraftEmergencies = numAircraftEmergencies;
+        this.numTerminalEmergencies = numTerminalEmergencies;
+        this.numLowFuel = numLowFuel;
+        this.terminalOccupancy = Collections.unmodifiableMap(
+                new LinkedHashMap<>(terminalOccupancy));
+        this.phaseNanos = Arrays.copyOf(phaseNanos, phaseNanos.length);
+        this.tickNanos = tickNanos;
+    }
+
+    /**
+     * Returns the number of ticks elapsed at the end of the tick.
+     *
+     * @return tick number
+     */
+    public long getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Returns the number of aircraft waiting in the landing queue.
+     *
+     * @return landing queue depth
+     */
+    public int getLandingQueueSize() {
+        return this.landingQueueSize;
+    }
+
+    /**
+     * Returns the number of aircraft waiting in the takeoff queue.
+     *
+     * @return takeoff queue depth
+     */
+    public int getTakeoffQueueSize() {
+        return this.takeoffQueueSize;
+    }
+
+    /**
+     * Returns the number of aircraft that landed during the tick.
+     *
+     * @return number of aircraft landed
+     */
+    public int getNumLanded() {
+        return this.numLanded;
+    }
+
+    /**
+     * Returns the number of aircraft that took off during the tick.
+     *
+     * @return number of aircraft taken off
+     */
+    public int getNumTookOff() {
+        return this.numTookOff;
+    }
+
+    /**
+     * Returns the number of aircraft in the loading map.
+     *
+     * @return number of loading aircraft
+     */
+    public int getNumLoading() {
+        return this.numLoading;
+    }
+
+    /**
+     * Returns the number of aircraft in a state of emergency.
+     *
+     * @return number of aircraft emergencies
+     */
+    public int getNumAircraftEmergencies() {
+        return this.numAircraftEmergencies;
+    }
+
+    /**
+     * Returns the number of terminals in a state of emergency.
+     *
+     * @return number of terminal emergencies
+     */
+    public int getNumTerminalEmergencies() {
+        return this.numTerminalEmergencies;
+    }
+
+    /**
+     * Returns the number of aircraft with at most {@link #LOW_FUEL_PERCENT} of their fuel
+     * remaining, as returned by {@code Aircraft.getFuelPercentRemaining()}.
+     *
+     * @return number of aircraft low on fuel
+     */
+    public int getNumLowFuel() {
+        return this.numLowFuel;
+    }
+
+    /**
+     * Returns the occupancy level of each terminal, as returned by
+     * {@code Terminal.calculateOccupancyLevel()}, keyed by terminal number, in the order the
+     * terminals were added.
+     *
+     * The returned map cannot be modified.
+     *
+     * @return occupancy level of each terminal
+     */
+    public Map<Integer, Integer> getTerminalOccupancy() {
+        return this.terminalOccupancy;
+    }
+
+    /**
+     * Returns the wall-clock time taken by the given phase of the tick.
+     *
+     * @param phase - phase of the tick
+     * @return time taken, in nanoseconds
+     */
+    public long getPhaseNanos(TowerMetrics.Phase phase) {
+        return this.phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Returns the wall-clock time taken by the whole tick, including applying requests,
+     * writing events and publishing state.
+     *
+     * @return time taken, in nanoseconds
+     */
+    public long getTickNanos() {
+        return this.tickNanos;
+    }
+
+    /**
+     * Returns the human-readable string representation of these measurements.
+     *
+     * @return string representation of these measurements
+     */
+    @Override
+    public String toString() {
+        return String.format("Tick %d: %d LAND, %d TAKEOFF, %d landed, %d took off, %d LOAD,"
+                        + " %d aircraft emergencies, %d terminal emergencies, %d low fuel,"
+                        + " %dns", this.tick, this.landingQueueSize, this.takeoffQueueSize,
+                this.numLanded, this.numTookOff, this.numLoading, this.numAircraftEmergencies,
+                this.numTerminalEmergencies, this.numLowFuel, this.tickNanos);
+    }
+}
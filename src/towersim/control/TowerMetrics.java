@@ -0,0 +1,392 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.ground.Terminal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Records measurements of every tick of a control tower
+ * (see {@link ControlTower#setMetrics(TowerMetrics)}).
+ *
+ * The measurements of the most recent tick are available as a {@link TickMetrics}, along with
+ * counters of every tick recorded so far and a histogram of the time taken by each phase of
+ * the ticks. Measurements can also be written to a file every given number of ticks, either as
+ * CSV or in the line protocol used by time series databases such as InfluxDB.
+ *
+ * Measurements are recorded by the thread that ticks the control tower; every method that
+ * returns measurements may be called from any thread.
+ */
+public class TowerMetrics {
+    /**
+     * Phases of a tick that are timed separately.
+     */
+    public enum Phase {
+        /** Ticking aircraft and moving AWAY and WAIT aircraft to their next task */
+        AIRCRAFT,
+        /** Updating the loading map and removing aircraft that finished loading */
+        LOADING,
+        /** Landing or taking off an aircraft */
+        RUNWAY,
+        /** Placing aircraft in the queues and loading map */
+        QUEUES
+    }
+
+    /**
+     * Formats that measurements can be written in.
+     */
+    public enum Format {
+        /** One row of comma-separated values per tick, after a header row */
+        CSV,
+        /** InfluxDB line protocol, with one line for the tower and one per terminal */
+        LINE_PROTOCOL
+    }
+
+    /** Number of nanoseconds in one millisecond */
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /** Measurements of the most recent tick, or null if no tick has been recorded */
+    private volatile TickMetrics latest;
+
+    /** Number of ticks recorded */
+    private long ticksRecorded;
+
+    /** Number of aircraft landed during recorded ticks */
+    private long totalLanded;
+
+    /** Number of aircraft taken off during recorded ticks */
+    private long totalTookOff;
+
+    /** Time taken by each phase of the recorded ticks */
+    private final Map<Phase, DurationHistogram> phaseHistograms;
+
+    /** Time taken by the whole of each recorded tick */
+    private final DurationHistogram tickHistogram;
+
+    /** Time at which the current tick started */
+    private long tickStart;
+
+    /** Time at which the current phase started */
+    private long phaseStart;
+
+    /** Time taken by each phase of the current tick, indexed by phase ordinal */
+    private final long[] phaseNanos;
+
+    /** Number of aircraft landed during the current tick */
+    private int numLanded;
+
+    /** Number of aircraft taken off during the current tick */
+    private int numTookOff;
+
+    /** Writer that measurements are written to, or null if they are not written */
+    private Writer output;
+
+    /** Format that measurements are written in */
+    private Format outputFormat;
+
+    /** Number of ticks between measurements written to the output */
+    private int outputInterval;
+
+    /**
+     * Creates a new metrics recorder with no ticks recorded.
+     */
+    public TowerMetrics() {
+        this.latest = null;
+        this.ticksRecorded = 0;
+        this.totalLanded = 0;
+        this.totalTookOff = 0;
+        this.phaseHistograms = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            this.phaseHistograms.put(phase, new DurationHistogram());
+        }
+        this.tickHistogram = new DurationHistogram();
+        this.phaseNanos = new long[Phase.values().length];
+        this.output = null;
+    }
+
+    /**
+     * Writes the measurements of every {@code interval}th tick recorded to the given writer, in
+     * the given format, or stops writing them if the writer is null.
+     *
+     * A header row is written straight away if the format is CSV. The writer is flushed after
+     * each tick written, but is not closed by this recorder. If the writer throws an
+     * IOException, it is rethrown as an UncheckedIOException.
+     *
+     * @param output - writer to write measurements to; or null to stop writing them
+     * @param format - format to write measurements in
+     * @param interval - number of ticks between measurements written, at least 1
+     * @throws IllegalArgumentException - if the interval is less than 1
+     */
+    public void setOutput(Writer output, Format format, int interval) {
+        if (output != null && interval < 1) {
+            throw new IllegalArgumentException("Interval must be at least 1");
+        }
+        this.output = output;
+        this.outputFormat = format;
+        this.outputInterval = interval;
+        if (output != null && format == Format.CSV) {
+            this.write(csvHeader());
+        }
+    }
+
+    /**
+     * Returns the measurements of the most recently recorded tick, or null if no tick has been
+     * recorded.
+     *
+     * @return measurements of the latest tick; or null if none
+     */
+    public TickMetrics getLatest() {
+        return this.latest;
+    }
+
+    /**
+     * Returns the number of ticks recorded.
+     *
+     * @return number of ticks recorded
+     */
+    public synchronized long getTicksRecorded() {
+        return this.ticksRecorded;
+    }
+
+    /**
+     * Returns the number of aircraft that landed during the recorded ticks.
+     *
+     * @return total number of aircraft landed
+     */
+    public synchronized long getTotalLanded() {
+        return this.totalLanded;
+    }
+
+    /**
+     * Returns the number of aircraft that took off during the recorded ticks.
+     *
+     * @return total number of aircraft taken off
+     */
+    public synchronized long getTotalTookOff() {
+        return this.totalTookOff;
+    }
+
+    /**
+     * Returns a copy of the histogram of the time taken by the given phase of each recorded
+     * tick.
+     *
+     * @param phase - phase of the tick
+     * @return histogram of the phase's durations
+     */
+    public synchronized DurationHistogram getPhaseHistogram(Phase phase) {
+        return new DurationHistogram(this.phaseHistograms.get(phase));
+    }
+
+    /**
+     * Returns a copy of the histogram of the time taken by each whole recorded tick.
+     *
+     * @return histogram of tick durations
+     */
+    public synchronized DurationHistogram getTickHistogram() {
+        return new DurationHistogram(this.tickHistogram);
+    }
+
+    /**
+     * Records that a tick has started.
+     */
+    void tickStarted() {
+        this.tickStart = System.nanoTime();
+        this.phaseStart = this.tickStart;
+        for (int i = 0; i < this.phaseNanos.length; i++) {
+            this.phaseNanos[i] = 0;
+        }
+        this.numLanded = 0;
+        this.numTookOff = 0;
+    }
+
+    /**
+     * Records that the given phase of the current tick has finished, and that the next phase
+     * starts now.
+     *
+     * @param phase - phase that has finished
+     */
+    void phaseFinished(Phase phase) {
+        long now = System.nanoTime();
+        this.phaseNanos[phase.ordinal()] += now - this.phaseStart;
+        this.phaseStart = now;
+    }
+
+    /**
+     * Records that the current phase starts now, without recording the time since the last
+     * phase finished.
+     */
+    void phaseStarted() {
+        this.phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Records that an aircraft landed.
+     */
+    void aircraftLanded() {
+        this.numLanded++;
+    }
+
+    /**
+     * Records that an aircraft took off.
+     */
+    void aircraftTookOff() {
+        this.numTookOff++;
+    }
+
+    /**
+     * Records that the current tick has finished, measuring the state of the given control
+     * tower at the end of the tick.
+     *
+     * @param tower - control tower that was ticked
+     * @param aircraft - aircraft managed by the control tower
+     * @param terminals - terminals managed by the control tower
+     */
+    void tickFinished(ControlTower tower, List<Aircraft> aircraft, List<Terminal> terminals) {
+        int numAircraftEmergencies = 0;
+        int numLowFuel = 0;
+        for (Aircraft a : aircraft) {
+            if (a.hasEmergency()) {
+                numAircraftEmergencies++;
+            }
+            if (a.getFuelPercentRemaining() <= TickMetrics.LOW_FUEL_PERCENT) {
+                numLowFuel++;
+            }
+        }
+        int numTerminalEmergencies = 0;
+        Map<Integer, Integer> terminalOccupancy = new LinkedHashMap<>();
+        for (Terminal terminal : terminals) {
+            if (terminal.hasEmergency()) {
+                numTerminalEmergencies++;
+            }
+            terminalOccupancy.put(terminal.getTerminalNumber(),
+                    terminal.calculateOccupancyLevel());
+        }
+        long tickNanos = System.nanoTime() - this.tickStart;
+
+        TickMetrics metrics = new TickMetrics(tower.getTicksElapsed(),
+                tower.getLandingQueue().size(), tower.getTakeoffQueue().size(), this.numLanded,
+                this.numTookOff, tower.getLoadingAircraft().size(), numAircraftEmergencies,
+                numTerminalEmergencies, numLowFuel, terminalOccupancy, this.phaseNanos,
+                tickNanos);
+        synchronized (this) {
+            this.ticksRecorded++;
+            this.totalLanded += this.numLanded;
+            this.totalTookOff += this.numTookOff;
+            for (Phase phase : Phase.values()) {
+                this.phaseHistograms.get(phase).record(this.phaseNanos[phase.ordinal()]);
+            }
+            this.tickHistogram.record(tickNanos);
+        }
+        this.latest = metrics;
+
+        if (this.output != null && this.ticksRecorded % this.outputInterval == 0) {
+            this.write(this.outputFormat == Format.CSV
+                    ? csvRow(metrics) : lineProtocol(metrics, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Writes the given text to the output and flushes it.
+     *
+     * @param text - text to write
+     */
+    private void write(String text) {
+        try {
+            this.output.write(text);
+            this.output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the header row of the CSV format, ending in a line separator.
+     *
+     * @return CSV header row
+     */
+    static String csvHeader() {
+        StringJoiner joiner = new StringJoiner(",", "", System.lineSeparator());
+        joiner.add("tick").add("landing_queue").add("takeoff_queue").add("landed")
+                .add("took_off").add("loading").add("aircraft_emergencies")
+                .add("terminal_emergencies").add("low_fuel");
+        for (Phase phase : Phase.values()) {
+            joiner.add(phase.name().toLowerCase() + "_ns");
+        }
+        joiner.add("tick_ns").add("terminal_occupancy");
+        return joiner.toString();
+    }
+
+    /**
+     * Returns the given measurements as one row of the CSV format, ending in a line separator.
+     *
+     * The occupancy of the terminals is written in one column, as space-separated
+     * {@code terminalNumber=occupancyLevel} pairs.
+     *
+     * @param metrics - measurements to format
+     * @return CSV row
+     */
+    static String csvRow(TickMetrics metrics) {
+        StringJoiner joiner = new StringJoiner(",", "", System.lineSeparator());
+        joiner.add(String.valueOf(metrics.getTick()))
+                .add(String.valueOf(metrics.getLandingQueueSize()))
+                .add(String.valueOf(metrics.getTakeoffQueueSize()))
+                .add(String.valueOf(metrics.getNumLanded()))
+                .add(String.valueOf(metrics.getNumTookOff()))
+                .add(String.valueOf(metrics.getNumLoading()))
+                .add(String.valueOf(metrics.getNumAircraftEmergencies()))
+                .add(String.valueOf(metrics.getNumTerminalEmergencies()))
+                .add(String.valueOf(metrics.getNumLowFuel()));
+        for (Phase phase : Phase.values()) {
+            joiner.add(String.valueOf(metrics.getPhaseNanos(phase)));
+        }
+        joiner.add(String.valueOf(metrics.getTickNanos()));
+        StringJoiner occupancy = new StringJoiner(" ");
+        for (Map.Entry<Integer, Integer> entry : metrics.getTerminalOccupancy().entrySet()) {
+            occupancy.add(entry.getKey() + "=" + entry.getValue());
+        }
+        joiner.add(occupancy.toString());
+        return joiner.toString();
+    }
+
+    /**
+     * Returns the given measurements in line protocol, with one line for the control tower
+     * and one line for each terminal, each ending in a line separator.
+     *
+     * @param metrics - measurements to format
+     * @param timeMillis - time the measurements were taken, in milliseconds since the epoch
+     * @return measurements in line protocol
+     */
+    static String lineProtocol(TickMetrics metrics, long timeMillis) {
+        long timestamp = timeMillis * NANOS_PER_MILLI;
+        StringBuilder builder = new StringBuilder();
+        StringJoiner fields = new StringJoiner(",", "tower ", " " + timestamp);
+        fields.add("tick=" + metrics.getTick() + "i")
+                .add("landing_queue=" + metrics.getLandingQueueSize() + "i")
+                .add("takeoff_queue=" + metrics.getTakeoffQueueSize() + "i")
+                .add("landed=" + metrics.getNumLanded() + "i")
+                .add("took_off=" + metrics.getNumTookOff() + "i")
+                .add("loading=" + metrics.getNumLoading() + "i")
+                .add("aircraft_emergencies=" + metrics.getNumAircraftEmergencies() + "i")
+                .add("terminal_emergencies=" + metrics.getNumTerminalEmergencies() + "i")
+                .add("low_fuel=" + metrics.getNumLowFuel() + "i");
+        for (Phase phase : Phase.values()) {
+            fields.add(phase.name().toLowerCase() + "_ns=" + metrics.getPhaseNanos(phase) + "i");
+        }
+        fields.add("tick_ns=" + metrics.getTickNanos() + "i");
+        builder.append(fields).append(System.lineSeparator());
+        for (Map.Entry<Integer, Integer> entry : metrics.getTerminalOccupancy().entrySet()) {
+            builder.append("terminal,number=").append(entry.getKey())
+                    .append(" occupancy=").append(entry.getValue()).append("i,tick=")
+                    .append(metrics.getTick()).append("i ").append(timestamp)
+                    .append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,554 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskType;
+
+import java.util.*;
+
+/**
+ * Immutable copy of the state of a control tower at the end of one tick, as published by
+ * {@link ControlTower#publishState()}.
+ *
+ * The values held by a tower state never change, so it can be read from any thread while the
+ * control tower keeps ticking. Aircraft and terminals are referred to by the objects managed
+ * by the control tower, which should only be used to identify them; their current values
+ * should be read from the {@link AircraftState} and {@link TerminalState} held by this tower
+ * state instead.
+ *
+ * Each tower state shares every part that did not change with the state published before it:
+ * the state of an aircraft or terminal that did not change since the previous tick is the
+ * same object, and so are the lists of aircraft, terminals and queued aircraft if none of
+ * their elements changed. Publishing a state therefore only allocates new aircraft and
+ * terminal states, and new lists and maps, for the parts of the simulation that changed,
+ * although the gates of every terminal are still copied into short temporary lists to compare
+ * them. Readers may compare parts with {@code ==} to find changes.
+ */
+public final class TowerState {
+    /** Number of ticks elapsed */
+    private final long ticksElapsed;
+
+    /** State of each aircraft, in the order they were added */
+    private final List<AircraftState> aircraft;
+
+    /** State of each terminal, in the order they were added */
+    private final List<TerminalState> terminals;
+
+    /** Aircraft in the landing queue, in queue order */
+    private final List<Aircraft> landingQueue;
+
+    /** Aircraft in the takeoff queue, in queue order */
+    private final List<Aircraft> takeoffQueue;
+
+    /** Aircraft loading at a gate, mapped to their number of ticks remaining */
+    private final Map<Aircraft, Integer> loadingAircraft;
+
+    /** Position of each aircraft in the aircraft list, keyed by identity */
+    private final Map<Aircraft, Integer> aircraftIndices;
+
+    /**
+     * Creates a new tower state from its parts, which must not be modified afterwards.
+     *
+     * @param ticksElapsed - number of ticks elapsed
+     * @param aircraft - state of each aircraft
+     * @param terminals - state of each terminal
+     * @param landingQueue - aircraft in the landing queue
+     * @param takeoffQueue - aircraft in the takeoff queue
+     * @param loadingAircraft - aircraft loading at a gate
+     * @param aircraftIndices - position of each aircraft in the aircraft list
+     */
+    private TowerState(long ticksElapsed, List<AircraftState> aircraft,
+                       List<TerminalState> terminals, List<Aircraft> landingQueue,
+                       List<Aircraft> takeoffQueue, Map<Aircraft, Integer> loadingAircraft,
+                       Map<Aircraft, Integer> aircraftIndices) {
+        this.ticksElapsed = ticksElapsed;
+        this.aircraft = aircraft;
+        this.terminals = terminals;
+        this.landingQueue = landingQueue;
+        this.takeoffQueue = takeoffQueue;
+        this.loadingAircraft = loadingAircraft;
+        this.aircraftIndices = aircraftIndices;
+    }
+
+    /**
+     * Returns the number of ticks that had elapsed when this state was published.
+     *
+     * @return number of ticks elapsed
+     */
+    public long getTicksElapsed() {
+        return this.ticksElapsed;
+    }
+
+    /**
+     * Returns the state of every aircraft managed by the control tower, in the order they were
+     * added.
+     *
+     * The returned list cannot be modified.
+     *
+     * @return state of all aircraft
+     */
+    public List<AircraftState> getAircraft() {
+        return this.aircraft;
+    }
+
+    /**
+     * Returns the state of the given aircraft, or null if the aircraft was not managed by the
+     * control tower when this state was published.
+     *
+     * @param aircraft - aircraft to find the state of
+     * @return state of the aircraft; or null if none
+     */
+    public AircraftState getState(Aircraft aircraft) {
+        Integer index = this.aircraftIndices.get(aircraft);
+        return index == null ? null : this.aircraft.get(index);
+    }
+
+    /**
+     * Returns the state of every aircraft whose current task is of the given type, in the
+     * order they were added.
+     *
+     * @param taskType - type of current task to find
+     * @return state of all aircraft with the given current task type
+     */
+    public List<AircraftState> getAircraftWithTask(TaskType taskType) {
+        List<AircraftState> aircraftWithTask = new ArrayList<>();
+        for (AircraftState state : this.aircraft) {
+            if (state.getCurrentTask().getType() == taskType) {
+                aircraftWithTask.add(state);
+            }
+        }
+        return aircraftWithTask;
+    }
+
+    /**
+     * Returns the state of every terminal managed by the control tower, in the order they
+     * were added.
+     *
+     * The returned list cannot be modified.
+     *
+     * @return state of all terminals
+     */
+    public List<TerminalState> getTerminals() {
+        return this.terminals;
+    }
+
+    /**
+     * Returns the aircraft waiting in the landing queue, in queue order.
+     *
+     * The returned list cannot be modified.
+     *
+     * @return aircraft waiting to land
+     */
+    public List<Aircraft> getLandingQueue() {
+        return this.landingQueue;
+    }
+
+    /**
+     * Returns the aircraft waiting in the takeoff queue, in queue order.
+     *
+     * The returned list cannot be modified.
+     *
+     * @return aircraft waiting to take off
+     */
+    public List<Aircraft> getTakeoffQueue() {
+        return this.takeoffQueue;
+    }
+
+    /**
+     * Returns the aircraft loading at a gate, mapped to the number of ticks remaining in their
+     * loading process, in the same order as {@link ControlTower#getLoadingAircraft()}.
+     *
+     * The returned map cannot be modified.
+     *
+     * @return loading aircraft and their ticks remaining
+     */
+    public Map<Aircraft, Integer> getLoadingAircraft() {
+        return this.loadingAircraft;
+    }
+
+    /**
+     * Returns the state of the given control tower, sharing every part that did not change
+     * with the given previous state.
+     *
+     * @param tower - control tower to copy the state of
+     * @param previous - state previously published by the control tower; or null if none
+     * @param terminals - terminals managed by the control tower
+     * @param aircraft - aircraft managed by the control tower
+     * @return state of the control tower
+     */
+    static TowerState of(ControlTower tower, TowerState previous, List<Terminal> terminals,
+                         List<Aircraft> aircraft) {
+        List<AircraftState> aircraftStates = previous == null
+                ? Collections.emptyList() : previous.aircraft;
+        Map<Aircraft, Integer> aircraftIndices = previous == null
+                ? Collections.emptyMap() : previous.aircraftIndices;
+        boolean sameMembers = aircraftStates.size() == aircraft.size();
+        //If the number of aircraft is the same, only allocated once a changed aircraft is found
+        List<AircraftState> newAircraftStates = sameMembers ? null
+                : new ArrayList<>(aircraft.size());
+        for (int i = 0; i < aircraft.size(); i++) {
+            AircraftState old = i < aircraftStates.size() ? aircraftStates.get(i) : null;
+            AircraftState state = AircraftState.of(aircraft.get(i), old);
+            sameMembers &= old != null && old.aircraft == aircraft.get(i);
+            if (newAircraftStates == null && state != old) {
+                newAircraftStates = new ArrayList<>(aircraft.size());
+                newAircraftStates.addAll(aircraftStates.subList(0, i));
+            }
+            if (newAircraftStates != null) {
+                newAircraftStates.add(state);
+            }
+        }
+        if (newAircraftStates != null) {
+            aircraftStates = Collections.unmodifiableList(newAircraftStates);
+        }
+        //Positions only need to be found again if aircraft were added
+        if (!sameMembers) {
+            Map<Aircraft, Integer> indices = new IdentityHashMap<>();
+            for (int i = 0; i < aircraft.size(); i++) {
+                indices.put(aircraft.get(i), i);
+            }
+            aircraftIndices = Collections.unmodifiableMap(indices);
+        }
+
+        List<TerminalState> terminalStates = previous == null
+                ? Collections.emptyList() : previous.terminals;
+        //If the number of terminals is the same, only allocated once a changed terminal is found
+        List<TerminalState> newTerminalStates = terminalStates.size() == terminals.size() ? null
+                : new ArrayList<>(terminals.size());
+        for (int i = 0; i < terminals.size(); i++) {
+            TerminalState old = i < terminalStates.size() ? terminalStates.get(i) : null;
+            TerminalState state = TerminalState.of(tower, terminals.get(i), old);
+            if (newTerminalStates == null && state != old) {
+                newTerminalStates = new ArrayList<>(terminals.size());
+                newTerminalStates.addAll(terminalStates.subList(0, i));
+            }
+            if (newTerminalStates != null) {
+                newTerminalStates.add(state);
+            }
+        }
+        if (newTerminalStates != null) {
+            terminalStates = Collections.unmodifiableList(newTerminalStates);
+        }
+
+        List<Aircraft> landingQueue = sameOrCopy(tower.getLandingQueue(),
+                previous == null ? null : previous.landingQueue);
+        List<Aircraft> takeoffQueue = sameOrCopy(tower.getTakeoffQueue(),
+                previous == null ? null : previous.takeoffQueue);
+
+        Map<Aircraft, Integer> loadingAircraft = previous == null ? null
+                : previous.loadingAircraft;
+        if (loadingAircraft == null
+                || !sameEntries(tower.getLoadingAircraft(), loadingAircraft)) {
+            loadingAircraft = Collections.unmodifiableMap(
+                    new LinkedHashMap<>(tower.getLoadingAircraft()));
+        }
+
+        return new TowerState(tower.getTicksElapsed(), aircraftStates, terminalStates,
+                landingQueue, takeoffQueue, loadingAircraft, aircraftIndices);
+    }
+
+    /**
+     * Returns the given previous list if it holds the aircraft in the given queue in the same
+     * order, or an unmodifiable copy of the queue otherwise.
+     *
+     * @param queue - queue to copy
+     * @param previous - previous copy of the queue; or null if none
+     * @return aircraft in the queue, in queue order
+     */
+    private static List<Aircraft> sameOrCopy(AircraftQueue queue, List<Aircraft> previous) {
+        if (previous != null && previous.size() == queue.size()) {
+            int i = 0;
+            boolean same = true;
+            for (Aircraft aircraft : queue) {
+                if (previous.get(i++) != aircraft) {
+                    same = false;
+                    break;
+                }
+            }
+            if (same) {
+                return previous;
+            }
+        }
+        return Collections.unmodifiableList(queue.getAircraftInOrder());
+    }
+
+    /**
+     * Returns true if the two maps hold the same entries in the same iteration order.
+     *
+     * @param current - map to compare
+     * @param previous - previous copy of the map
+     * @return true if the maps are the same; false otherwise
+     */
+    private static boolean sameEntries(Map<Aircraft, Integer> current,
+                                       Map<Aircraft, Integer> previous) {
+        if (current.size() != previous.size()) {
+            return false;
+        }
+        Iterator<Map.Entry<Aircraft, Integer>> previousEntries = previous.entrySet().iterator();
+        for (Map.Entry<Aircraft, Integer> entry : current.entrySet()) {
+            Map.Entry<Aircraft, Integer> previousEntry = previousEntries.next();
+            if (entry.getKey() != previousEntry.getKey()
+                    || !entry.getValue().equals(previousEntry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the two lists hold the same objects in the same order.
+     *
+     * @param previous - previous copy of the list
+     * @param current - list to compare
+     * @return true if the lists hold the same objects; false otherwise
+     */
+    private static boolean sameElements(List<?> previous, List<?> current) {
+        if (previous.size() != current.size()) {
+            return false;
+        }
+        for (int i = 0; i < previous.size(); i++) {
+            if (previous.get(i) != current.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Immutable copy of the state of one aircraft.
+     */
+    public static final class AircraftState {
+        /** Aircraft this is the state of */
+        private final Aircraft aircraft;
+
+        /** Position of the aircraft's current task in its task list */
+        private final int currentTaskIndex;
+
+        /** Current task of the aircraft */
+        private final Task currentTask;
+
+        /** Amount of fuel onboard, in litres */
+        private final double fuelAmount;
+
+        /** Percentage of the aircraft's capacity that is occupied */
+        private final int occupancyLevel;
+
+        /** Whether the aircraft is in a state of emergency */
+        private final boolean emergency;
+
+        /**
+         * Creates a new copy of the current state of the given aircraft.
+         *
+         * @param aircraft - aircraft to copy the state of
+         */
+        private AircraftState(Aircraft aircraft) {
+            this.aircraft = aircraft;
+            this.currentTaskIndex = aircraft.getTaskList().getCurrentTaskIndex();
+            this.currentTask = aircraft.getTaskList().getCurrentTask();
+            this.fuelAmount = aircraft.getFuelAmount();
+            this.occupancyLevel = aircraft.calculateOccupancyLevel();
+            this.emergency = aircraft.hasEmergency();
+        }
+
+        /**
+         * Returns the given previous state if the aircraft has not changed since it was
+         * copied, or a new copy of the aircraft's state otherwise.
+         *
+         * @param aircraft - aircraft to copy the state of
+         * @param previous - previous state of the aircraft; or null if none
+         * @return current state of the aircraft
+         */
+        private static AircraftState of(Aircraft aircraft, AircraftState previous) {
+            if (previous != null && previous.aircraft == aircraft
+                    && previous.currentTaskIndex == aircraft.getTaskList().getCurrentTaskIndex()
+                    && previous.fuelAmount == aircraft.getFuelAmount()
+                    && previous.occupancyLevel == aircraft.calculateOccupancyLevel()
+                    && previous.emergency == aircraft.hasEmergency()) {
+                return previous;
+            }
+            return new AircraftState(aircraft);
+        }
+
+        /**
+         * Returns the aircraft this is the state of.
+         *
+         * @return aircraft
+         */
+        public Aircraft getAircraft() {
+            return this.aircraft;
+        }
+
+        /**
+         * Returns the position of the aircraft's current task in its task list.
+         *
+         * @return index of current task
+         */
+        public int getCurrentTaskIndex() {
+            return this.currentTaskIndex;
+        }
+
+        /**
+         * Returns the current task of the aircraft.
+         *
+         * @return current task
+         */
+        public Task getCurrentTask() {
+            return this.currentTask;
+        }
+
+        /**
+         * Returns the amount of fuel onboard the aircraft.
+         *
+         * @return fuel amount, in litres
+         */
+        public double getFuelAmount() {
+            return this.fuelAmount;
+        }
+
+        /**
+         * Returns the percentage of fuel remaining, calculated in the same way as
+         * {@link Aircraft#getFuelPercentRemaining()}.
+         *
+         * @return percentage of fuel remaining
+         */
+        public int getFuelPercentRemaining() {
+            return (int) Math.round(100 * this.fuelAmount
+                    / this.aircraft.getCharacteristics().fuelCapacity);
+        }
+
+        /**
+         * Returns the percentage of the aircraft's capacity that is occupied.
+         *
+         * @return occupancy level, 0 to 100
+         */
+        public int getOccupancyLevel() {
+            return this.occupancyLevel;
+        }
+
+        /**
+         * Returns whether the aircraft is in a state of emergency.
+         *
+         * @return true if in emergency; false otherwise
+         */
+        public boolean hasEmergency() {
+            return this.emergency;
+        }
+    }
+
+    /**
+     * Immutable copy of the state of one terminal and its gates.
+     */
+    public static final class TerminalState {
+        /** Terminal this is the state of */
+        private final Terminal terminal;
+
+        /** Gates of the terminal */
+        private final List<Gate> gates;
+
+        /** Aircraft parked at each gate, or null for each unoccupied gate */
+        private final List<Aircraft> parkedAircraft;
+
+        /** Whether the terminal is in a state of emergency */
+        private final boolean emergency;
+
+        /**
+         * Creates a new terminal state from its parts.
+         *
+         * @param terminal - terminal this is the state of
+         * @param gates - gates of the terminal
+         * @param parkedAircraft - aircraft parked at each gate
+         * @param emergency - whether the terminal is in a state of emergency
+         */
+        private TerminalState(Terminal terminal, List<Gate> gates, List<Aircraft> parkedAircraft,
+                              boolean emergency) {
+            this.terminal = terminal;
+            this.gates = gates;
+            this.parkedAircraft = parkedAircraft;
+            this.emergency = emergency;
+        }
+
+        /**
+         * Returns the given previous state if the terminal has not changed since it was
+         * copied, or a new copy of the terminal's state otherwise.
+         *
+         * @param tower - control tower managing the terminal
+         * @param terminal - terminal to copy the state of
+         * @param previous - previous state of the terminal; or null if none
+         * @return current state of the terminal
+         */
+        private static TerminalState of(ControlTower tower, Terminal terminal,
+                                        TerminalState previous) {
+            List<Gate> gates = terminal.getGates();
+            List<Aircraft> parkedAircraft = tower.getGateOccupancy(terminal);
+            boolean emergency = terminal.hasEmergency();
+            if (previous != null && previous.terminal == terminal
+                    && previous.emergency == emergency
+                    && sameElements(previous.gates, gates)
+                    && sameElements(previous.parkedAircraft, parkedAircraft)) {
+                return previous;
+            }
+            return new TerminalState(terminal, Collections.unmodifiableList(gates),
+                    Collections.unmodifiableList(parkedAircraft), emergency);
+        }
+
+        /**
+         * Returns the terminal this is the state of.
+         *
+         * @return terminal
+         */
+        public Terminal getTerminal() {
+            return this.terminal;
+        }
+
+        /**
+         * Returns the gates of the terminal, in the same order as
+         * {@link Terminal#getGates()}.
+         *
+         * The returned list cannot be modified.
+         *
+         * @return gates of the terminal
+         */
+        public List<Gate> getGates() {
+            return this.gates;
+        }
+
+        /**
+         * Returns the aircraft parked at each gate of the terminal, in the same order as
+         * {@link #getGates()}, with null for each unoccupied gate.
+         *
+         * The returned list cannot be modified.
+         *
+         * @return aircraft parked at each gate
+         */
+        public List<Aircraft> getParkedAircraft() {
+            return this.parkedAircraft;
+        }
+
+        /**
+         * Returns whether the terminal is in a state of emergency.
+         *
+         * @return true if in emergency; false otherwise
+         */
+        public boolean hasEmergency() {
+            return this.emergency;
+        }
+
+        /**
+         * Returns the percentage of the terminal's gates that are occupied, calculated in the
+         * same way as {@link Terminal#calculateOccupancyLevel()}.
+         *
+         * @return occupancy level, 0 to 100
+         */
+        public int getOccupancyLevel() {
+            int numOccupiedGates = 0;
+            for (Aircraft aircraft : this.parkedAircraft) {
+                if (aircraft != null) {
+                    numOccupiedGates++;
+                }
+            }
+            return (int) Math.round(100 * (double) numOccupiedGates / this.gates.size());
+        }
+    }
+}
@@ -15,8 +15,9 @@ import javafx.scene.text.TextAlignment;
 import javafx.util.Duration;
 import towersim.aircraft.Aircraft;
 import towersim.aircraft.PassengerAircraft;
-import towersim.control.AircraftQueue;
-import towersim.control.TakeoffQueue;
+import towersim.control.TowerState;
+import towersim.control.TowerState.AircraftState;
+import towersim.control.TowerState.TerminalState;
 import towersim.ground.Gate;
 import towersim.ground.Terminal;
 import towersim.tasks.Task;
@@ -26,7 +27,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * Subclass of the JavaFX Canvas to represent the main elements of the airport graphically.
@@ -167,12 +167,13 @@ public class AirportCanvas extends Canvas {
         gc.setFill(Color.DARKGREEN);
         gc.fillRect(0, 0, getWidth(), getHeight());
 
+        TowerState state = viewModel.getTowerState();
         drawRunway();
-        drawQueue(viewModel.getControlTower().getTakeoffQueue(), 0, 0);
-        drawQueue(viewModel.getControlTower().getLandingQueue(), 0, AIRCRAFT_HEIGHT);
-        drawAwayAircraft();
-        drawTerminals();
-        drawTickStatus();
+        drawQueue(state, state.getTakeoffQueue(), "T/O", 0, 0);
+        drawQueue(state, state.getLandingQueue(), "LND", 0, AIRCRAFT_HEIGHT);
+        drawAwayAircraft(state);
+        drawTerminals(state);
+        drawTickStatus(state);
     }
 
     /* Draws the runway */
@@ -233,7 +234,7 @@ public class AirportCanvas extends Canvas {
             public void handle(long now) {
                 draw();
 
-                drawAircraft(finalAircraftToAnimate,
+                drawAircraft(viewModel.getTowerState().getState(finalAircraftToAnimate),
                         runwayAnimationX.doubleValue(),
                         AIRCRAFT_HEIGHT + 5,
                         Color.WHITE);
@@ -248,7 +249,8 @@ public class AirportCanvas extends Canvas {
     }
 
     /* Draws an aircraft queue */
-    private void drawQueue(AircraftQueue queue, double x, double y) {
+    private void drawQueue(TowerState state, List<Aircraft> aircraft, String labelText,
+                           double x, double y) {
         GraphicsContext gc = getGraphicsContext2D();
 
         final int queueCapacity = 6;
@@ -264,28 +266,20 @@ public class AirportCanvas extends Canvas {
         gc.setTextBaseline(VPos.CENTER);
         gc.setTextAlign(TextAlignment.LEFT);
         gc.setFont(Font.font("monospace", FontWeight.BOLD, 30));
-        String labelText;
-        if (queue instanceof TakeoffQueue) {
-            labelText = "T/O";
-        } else {
-            labelText = "LND";
-        }
         gc.fillText(labelText, x + 5, y + AIRCRAFT_HEIGHT / 2);
 
         gc.setStroke(Color.BLACK);
         gc.strokeLine(x + labelWidth, y, x + labelWidth, y + AIRCRAFT_HEIGHT);
 
         // Draw aircraft in queue
-        var aircraft = queue.getAircraftInOrder();
-
         for (int i = 0; i < aircraft.size(); ++i) {
-            Aircraft a = aircraft.get(i);
+            AircraftState a = state.getState(aircraft.get(i));
             drawAircraft(a, x + labelWidth + AIRCRAFT_WIDTH * i, y, Color.BLACK);
         }
     }
 
     /* Draws the list of aircraft that are currently AWAY */
-    private void drawAwayAircraft() {
+    private void drawAwayAircraft(TowerState state) {
         GraphicsContext gc = getGraphicsContext2D();
 
         final int capacity = 6;
@@ -309,18 +303,16 @@ public class AirportCanvas extends Canvas {
         gc.strokeLine(x + labelWidth, y, x + labelWidth, y + AIRCRAFT_HEIGHT);
 
         // Draw aircraft in queue
-        var aircraft = viewModel.getControlTower().getAircraft().stream()
-                .filter(a -> a.getTaskList().getCurrentTask().getType() == TaskType.AWAY)
-                .collect(Collectors.toList());
+        var aircraft = state.getAircraftWithTask(TaskType.AWAY);
 
         for (int i = 0; i < aircraft.size(); ++i) {
-            Aircraft a = aircraft.get(i);
+            AircraftState a = aircraft.get(i);
             drawAircraft(a, x + labelWidth + AIRCRAFT_WIDTH * i, y, Color.BLACK);
         }
     }
 
     /* Draws the terminals and their gates */
-    private void drawTerminals() {
+    private void drawTerminals(TowerState state) {
         GraphicsContext gc = getGraphicsContext2D();
 
         final double terminalLabelHeight = 25;
@@ -331,10 +323,11 @@ public class AirportCanvas extends Canvas {
         final double spaceAbove = 2 * AIRCRAFT_HEIGHT + 2 * marginBelow; // queues + padding
         final double terminalWidth = getWidth() / 2 - (2 * marginLeft);
 
-        List<Terminal> terminals = this.viewModel.getControlTower().getTerminals();
+        List<TerminalState> terminals = state.getTerminals();
 
         for (int i = 0; i < terminals.size(); ++i) {
-            Terminal terminal = terminals.get(i);
+            TerminalState terminalState = terminals.get(i);
+            Terminal terminal = terminalState.getTerminal();
 
             final double terminalStartX = marginLeft + (i % 2 == 1
                     ? terminalWidth + 2 * marginLeft
@@ -348,7 +341,7 @@ public class AirportCanvas extends Canvas {
                     terminalWidth,
                     terminalLabelHeight);
 
-            if (terminal.hasEmergency()) {
+            if (terminalState.hasEmergency()) {
                 gc.setFill(Color.RED);
             } else {
                 gc.setFill(Color.BLACK);
@@ -359,7 +352,7 @@ public class AirportCanvas extends Canvas {
 
             String terminalText = terminal.getClass().getSimpleName() + " "
                     + terminal.getTerminalNumber();
-            if (terminal.hasEmergency()) {
+            if (terminalState.hasEmergency()) {
                 terminalText += " (emergency)";
             }
             gc.fillText(terminalText,
@@ -367,7 +360,7 @@ public class AirportCanvas extends Canvas {
                     terminalStartY + 0.5 * terminalLabelHeight);
 
             // Number of gates and max number of gates
-            String numGatesText = terminal.getGates().size() + "/" + Terminal.MAX_NUM_GATES
+            String numGatesText = terminalState.getGates().size() + "/" + Terminal.MAX_NUM_GATES
                     + " gates";
             gc.setFill(Color.BLACK);
             gc.setTextBaseline(VPos.CENTER);
@@ -378,7 +371,7 @@ public class AirportCanvas extends Canvas {
                     terminalStartY + 0.5 * terminalLabelHeight);
 
             // Occupancy level
-            String occupancyText = terminal.calculateOccupancyLevel() + "%";
+            String occupancyText = terminalState.getOccupancyLevel() + "%";
             gc.setFill(Color.BLACK);
             gc.setTextBaseline(VPos.CENTER);
             gc.setTextAlign(TextAlignment.RIGHT);
@@ -393,7 +386,8 @@ public class AirportCanvas extends Canvas {
                     terminalWidth,
                     terminalAircraftHeight);
 
-            List<Gate> gates = terminal.getGates();
+            List<Gate> gates = terminalState.getGates();
+            List<Aircraft> parkedAircraft = terminalState.getParkedAircraft();
             for (int j = 0; j < gates.size(); ++j) {
                 Gate gate = gates.get(j);
 
@@ -419,8 +413,8 @@ public class AirportCanvas extends Canvas {
                 }
 
                 // Draw parked aircraft
-                if (gate.isOccupied()) {
-                    drawAircraft(gate.getAircraftAtGate(),
+                if (parkedAircraft.get(j) != null) {
+                    drawAircraft(state.getState(parkedAircraft.get(j)),
                             gateLineX - AIRCRAFT_WIDTH,
                             terminalStartY + terminalLabelHeight,
                             Color.WHITE);
@@ -432,13 +426,14 @@ public class AirportCanvas extends Canvas {
     /*
      * Draws an aircraft at the given position on the canvas.
      *
-     * @param aircraft aircraft to draw
+     * @param state state of aircraft to draw
      * @param x x-coord of top left corner
      * @param y y-coord of top left corner
      * @param textColor color to use when drawing aircraft info text
      */
-    private void drawAircraft(Aircraft aircraft, double x, double y, Color textColor) {
+    private void drawAircraft(AircraftState state, double x, double y, Color textColor) {
         GraphicsContext gc = getGraphicsContext2D();
+        Aircraft aircraft = state.getAircraft();
 
         this.drawnAircraft.put(new ClickableRegion(x, y, AIRCRAFT_WIDTH, AIRCRAFT_HEIGHT),
                 aircraft);
@@ -450,7 +445,7 @@ public class AirportCanvas extends Canvas {
         }
 
         // Emergency
-        if (aircraft.hasEmergency()) {
+        if (state.hasEmergency()) {
             textColor = Color.RED;
         }
 
@@ -475,7 +470,7 @@ public class AirportCanvas extends Canvas {
         gc.setTextAlign(TextAlignment.CENTER);
         gc.setFont(Font.font("monospace", fontWeight, 12));
 
-        Task currentTask = aircraft.getTaskList().getCurrentTask();
+        Task currentTask = state.getCurrentTask();
         String aircraftTaskLine;
         if (currentTask.getType() == TaskType.LOAD) {
             aircraftTaskLine = "LOAD@" + currentTask.getLoadPercent() + "%";
@@ -484,7 +479,7 @@ public class AirportCanvas extends Canvas {
         }
         String aircraftText = aircraft.getCallsign() + System.lineSeparator()
                 + aircraftTaskLine + System.lineSeparator()
-                + aircraft.calculateOccupancyLevel() + "%";
+                + state.getOccupancyLevel() + "%";
         gc.fillText(aircraftText,
                 x + AIRCRAFT_WIDTH / 2,
                 y + AIRCRAFT_HEIGHT);
@@ -539,7 +534,7 @@ public class AirportCanvas extends Canvas {
     }
 
     /* Draws the status bar containing tick information */
-    private void drawTickStatus() {
+    private void drawTickStatus(TowerState state) {
         GraphicsContext gc = getGraphicsContext2D();
 
         final double height = 20;
@@ -552,7 +547,7 @@ public class AirportCanvas extends Canvas {
         gc.setTextAlign(TextAlignment.CENTER);
         gc.setFont(Font.font("sans-serif", 14));
         gc.fillText(String.format("%d ticks elapsed",
-                viewModel.getControlTower().getTicksElapsed()),
+                state.getTicksElapsed()),
                 getWidth() / 2, getHeight() - 0.5 * height);
     }
 }
@@ -170,7 +170,7 @@ public class View {
             } else {
                 selectedAircraft.declareEmergency();
             }
-            viewModel.registerChange();
+            viewModel.registerTowerChange();
         });
         MenuItem emergencyTerminal = new MenuItem("On a _terminal...");
         emergencyTerminal.setMnemonicParsing(true);
@@ -186,7 +186,7 @@ public class View {
             } else {
                 terminal.declareEmergency();
             }
-            viewModel.registerChange();
+            viewModel.registerTowerChange();
         });
         Menu emergency = new Menu("Toggle _emergency");
         emergency.setMnemonicParsing(true);
@@ -277,7 +277,7 @@ public class View {
             }
             viewModel.getControlTower().addTerminal(newTerminal);
             viewModel.getNumTerminals().set(viewModel.getNumTerminals().get() + 1);
-            viewModel.registerChange();
+            viewModel.registerTowerChange();
         });
         addTerminal.disableProperty().bind(Bindings.greaterThan(viewModel.getNumTerminals(),
                 MAX_TERMINALS - 1));
@@ -330,7 +330,7 @@ public class View {
             } catch (NoSpaceException ex) {
                 // ignored (not possible)
             }
-            viewModel.registerChange();
+            viewModel.registerTowerChange();
         });
         return addGate;
     }
@@ -401,7 +401,7 @@ public class View {
                         "No suitable gate for aircraft " + chosenAircraft);
                 return;
             }
-            viewModel.registerChange();
+            viewModel.registerTowerChange();
             viewModel.createSuccessDialog("Successfully created aircraft",
                     "Aircraft created:\n" + chosenAircraft);
         });
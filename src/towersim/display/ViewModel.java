@@ -7,6 +7,9 @@ import javafx.scene.control.Alert;
 import towersim.aircraft.Aircraft;
 import towersim.control.ControlTower;
 import towersim.control.ControlTowerInitialiser;
+import towersim.control.ControlTowerSaver;
+import towersim.control.TowerState;
+import towersim.control.TowerState.AircraftState;
 import towersim.ground.Gate;
 import towersim.ground.Terminal;
 import towersim.tasks.TaskType;
@@ -14,11 +17,9 @@ import towersim.util.MalformedSaveException;
 import towersim.util.NoSuitableGateException;
 
 import java.io.*;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
-import java.util.stream.Collectors;
 
 /**
  * View model for the Control Tower Simulation GUI.
@@ -62,11 +63,8 @@ public class ViewModel {
     /** The aircraft currently taking off (i.e. just went from TAKEOFF to AWAY) */
     private final ObjectProperty<Aircraft> aircraftTakingOff = new SimpleObjectProperty<>();
 
-    /** List of all aircraft whose task is TAKEOFF; used in finding aircraftTakingOff */
-    private List<Aircraft> allTakeoffAircraft = new ArrayList<>();
-
-    /** List of all aircraft whose task is LAND; used in finding aircraftLanding */
-    private List<Aircraft> allLandAircraft = new ArrayList<>();
+    /** State of the control tower after the last tick; used in finding aircraftLanding etc. */
+    private TowerState lastTickState;
 
     /** File path of the tick file that we loaded from */
     private final String defaultTickSaveLocation;
@@ -103,6 +101,7 @@ public class ViewModel {
                 new FileReader(filenames.get(2)),
                 new FileReader(filenames.get(3)));
 
+        this.tower.setPublishingStates(true);
         this.numTerminals.set(tower.getTerminals().size());
 
         this.selectedAircraft.addListener((observable, oldValue, newValue) -> {
@@ -114,7 +113,7 @@ public class ViewModel {
         });
         this.loadingInfoText.set(generateLoadingInfoText());
 
-        fillTakeoffLandAircraftLists();
+        this.lastTickState = tower.getPublishedState();
     }
 
     /**
@@ -134,7 +133,7 @@ public class ViewModel {
                     terminal.declareEmergency();
                 }
 
-                registerChange();
+                registerTowerChange();
             }
         };
     }
@@ -156,7 +155,7 @@ public class ViewModel {
                     terminal.clearEmergency();
                 }
 
-                registerChange();
+                registerTowerChange();
             }
         };
     }
@@ -276,45 +275,8 @@ public class ViewModel {
      */
     public void saveAs(Writer tickWriter, Writer aircraftWriter, Writer queuesWriter,
             Writer terminalsWithGatesWriter) throws IOException {
-
-        //Tick writer
-        tickWriter.write("" + this.tower.getTicksElapsed());
-
-        //Aircraft writer
-        aircraftWriter.write("" + this.tower.getAircraft().size());
-        for (Aircraft aircraft : this.tower.getAircraft()) {
-            aircraftWriter.write("\n" + aircraft.encode());
-        }
-
-        //Queue writer
-        queuesWriter.write(this.tower.getTakeoffQueue().encode() + "\n");
-        queuesWriter.write(this.tower.getLandingQueue().encode() + "\n");
-        queuesWriter.write("LoadingAircraft:" + this.tower.getLoadingAircraft().size() + "\n");
-
-        int i = 0; //Map index counter
-        int loadingAircraftMapSize = this.tower.getLoadingAircraft().size();
-        for (Map.Entry<Aircraft, Integer> entry : this.tower.getLoadingAircraft().entrySet()) {
-            if (i < loadingAircraftMapSize - 1) { //If it is not the last entry
-                aircraftWriter.write(entry.getKey().getCallsign() + ":" + entry.getValue() + ",");
-            } else { //If it is the last entry
-                aircraftWriter.write(entry.getKey().getCallsign() + ":" + entry.getValue());
-            }
-
-            i++;
-        }
-
-        //Terminals with Gates writer
-        terminalsWithGatesWriter.write("" + this.tower.getTerminals().size());
-        for (Terminal terminal : this.tower.getTerminals()) {
-            terminalsWithGatesWriter.write("\n" + terminal.encode());
-        }
-
-        //Close all writers
-        tickWriter.close();
-        aircraftWriter.close();
-        queuesWriter.close();
-        terminalsWithGatesWriter.close();
-
+        ControlTowerSaver.saveAs(this.tower, tickWriter, aircraftWriter, queuesWriter,
+                terminalsWithGatesWriter);
     }
 
     /**
@@ -342,41 +304,34 @@ public class ViewModel {
         registerChange();
     }
 
-    /* Updates the lists of aircraft currently taking off and landing */
+    /* Updates the aircraft currently taking off and landing */
     private void updateTakeoffLandAircraft() {
         this.aircraftTakingOff.set(null);
         this.aircraftLanding.set(null);
-        for (Aircraft aircraft : getControlTower().getAircraft()) {
-            TaskType currentTaskType = aircraft.getTaskList().getCurrentTask().getType();
-            if (currentTaskType == TaskType.AWAY && allTakeoffAircraft.contains(aircraft)) {
+        TowerState state = tower.getPublishedState();
+        List<AircraftState> previousAircraft = this.lastTickState.getAircraft();
+        List<AircraftState> currentAircraft = state.getAircraft();
+        // Aircraft are only ever added to the end of the list
+        for (int i = 0; i < previousAircraft.size(); i++) {
+            AircraftState previous = previousAircraft.get(i);
+            AircraftState current = currentAircraft.get(i);
+            if (previous == current) {
+                // Unchanged since the last tick
+                continue;
+            }
+            TaskType previousTaskType = previous.getCurrentTask().getType();
+            TaskType currentTaskType = current.getCurrentTask().getType();
+            if (currentTaskType == TaskType.AWAY && previousTaskType == TaskType.TAKEOFF) {
                 // Aircraft has just taken off
-                this.aircraftTakingOff.set(aircraft);
+                this.aircraftTakingOff.set(current.getAircraft());
             }
             if ((currentTaskType == TaskType.WAIT || currentTaskType == TaskType.LOAD)
-                    && allLandAircraft.contains(aircraft)) {
+                    && previousTaskType == TaskType.LAND) {
                 // Aircraft has just landed
-                this.aircraftLanding.set(aircraft);
+                this.aircraftLanding.set(current.getAircraft());
             }
         }
-        fillTakeoffLandAircraftLists();
-    }
-
-    /*
-     * Places all aircraft that have a TAKEOFF task into the list of aircraft taking off;
-     * same for LAND
-     */
-    private void fillTakeoffLandAircraftLists() {
-        this.allTakeoffAircraft = findAircraftWithTask(getControlTower().getAircraft(),
-                TaskType.TAKEOFF);
-        this.allLandAircraft = findAircraftWithTask(getControlTower().getAircraft(),
-                TaskType.LAND);
-    }
-
-    /* Returns all aircraft in the given list whose current task's type is the given type */
-    private List<Aircraft> findAircraftWithTask(List<Aircraft> aircraft, TaskType taskType) {
-        return aircraft.stream()
-                .filter(a -> a.getTaskList().getCurrentTask().getType() == taskType)
-                .collect(Collectors.toList());
+        this.lastTickState = state;
     }
 
     /* Generates the formatted information text for the given aircraft */
@@ -471,6 +426,28 @@ public class ViewModel {
         changed.setValue(true);
     }
 
+    /**
+     * Publishes the state of the control tower after it was changed between ticks, such as by
+     * adding an aircraft or declaring an emergency, and registers that the view needs to be
+     * updated.
+     *
+     * Ticking the control tower already publishes its state, so this is not needed after a
+     * tick.
+     */
+    public void registerTowerChange() {
+        tower.publishState();
+        registerChange();
+    }
+
+    /**
+     * Returns the state of the control tower most recently published for the view to draw.
+     *
+     * @return published tower state
+     */
+    public TowerState getTowerState() {
+        return tower.getPublishedState();
+    }
+
     /**
      * Returns the property storing whether the simulation is paused.
      *
@@ -16,6 +16,9 @@ public class Gate implements Encodable {
     /** Aircraft currently occupying the gate; or null if gate is empty. */
     private Aircraft aircraftAtGate;
 
+    /** Terminal this gate belongs to, if that terminal is registered with a gate index */
+    private Terminal terminal;
+
     /**
      * Creates a new Gate with the given unique gate number.
      * <p>
@@ -57,6 +60,10 @@ public class Gate implements Encodable {
                     + " is occupied, cannot park aircraft");
         }
         this.aircraftAtGate = aircraft;
+
+        if (this.terminal != null && this.terminal.getGateIndex() != null) {
+            this.terminal.getGateIndex().gateOccupied(this.terminal, this, aircraft);
+        }
     }
 
     /**
@@ -66,7 +73,33 @@ public class Gate implements Encodable {
      * @ass1
      */
     public void aircraftLeaves() {
+        Aircraft leavingAircraft = this.aircraftAtGate;
         this.aircraftAtGate = null;
+
+        if (leavingAircraft != null && this.terminal != null
+                && this.terminal.getGateIndex() != null) {
+            this.terminal.getGateIndex().gateVacated(this.terminal, this, leavingAircraft);
+        }
+    }
+
+    /**
+     * Sets the terminal this gate belongs to, so that changes to this gate can be reported
+     * to the terminal's gate index.
+     *
+     * @param terminal - terminal this gate belongs to
+     */
+    void setTerminal(Terminal terminal) {
+        this.terminal = terminal;
+    }
+
+    /**
+     * Returns the terminal this gate belongs to, or null if that terminal is not registered
+     * with a gate index.
+     *
+     * @return terminal of this gate
+     */
+    Terminal getTerminal() {
+        return this.terminal;
     }
 
     /**
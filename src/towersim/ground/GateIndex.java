@@ -0,0 +1,263 @@
+package towersim.ground;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftType;
+import towersim.util.NoSuitableGateException;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Index of the gates in a set of terminals, used to allocate gates to aircraft without
+ * searching every terminal and gate.
+ *
+ * For each AircraftType, the index keeps the unoccupied gates in compatible terminals that are
+ * not in a state of emergency, ordered first by the order in which their terminal was added
+ * and then by the order of the gate within its terminal. It also maps each parked aircraft to
+ * the gate it is parked at.
+ *
+ * The index is kept up to date by the terminals and gates themselves: parking an aircraft,
+ * an aircraft leaving a gate, adding a gate to a terminal and declaring or clearing an emergency
+ * at a terminal are all reflected immediately. A terminal can only be registered with one
+ * index at a time.
+ *
+ * Listeners registered with the index are notified whenever a registered terminal declares or
+ * clears an emergency.
+ */
+public class GateIndex {
+    /** Position of each terminal registered with the index, in the order they were added */
+    private final Map<Terminal, Integer> terminalPositions;
+
+    /** Position of every indexed gate, used to order the free gates */
+    private final Map<Gate, Long> gatePositions;
+
+    /** Unoccupied gates available to each type of aircraft, ordered by position */
+    private final Map<AircraftType, TreeMap<Long, Gate>> freeGates;
+
+    /** Gate that each parked aircraft is parked at */
+    private final Map<Aircraft, Gate> gatesOfAircraft;
+
+    /** Listeners to notify when the emergency status of a terminal changes */
+    private final List<TerminalListener> listeners;
+
+    /**
+     * Creates a new empty gate index.
+     */
+    public GateIndex() {
+        this.terminalPositions = new IdentityHashMap<>();
+        this.gatePositions = new IdentityHashMap<>();
+        this.freeGates = new EnumMap<>(AircraftType.class);
+        for (AircraftType aircraftType : AircraftType.values()) {
+            this.freeGates.put(aircraftType, new TreeMap<>());
+        }
+        this.gatesOfAircraft = new HashMap<>();
+        this.listeners = new ArrayList<>();
+    }
+
+    /**
+     * Adds the given terminal and all of its gates to the index.
+     *
+     * Gates of this terminal are allocated after the gates of all terminals added before it.
+     *
+     * @param terminal - terminal to add
+     */
+    public void addTerminal(Terminal terminal) {
+        this.terminalPositions.put(terminal, this.terminalPositions.size());
+        terminal.setGateIndex(this);
+        for (Gate gate : terminal.getGates()) {
+            this.gateAdded(terminal, gate);
+        }
+    }
+
+    /**
+     * Returns the first unoccupied gate suitable for the given type of aircraft.
+     *
+     * This is the same gate that would be found by checking each compatible terminal that is
+     * not in a state of emergency in the order they were added, and calling
+     * {@link Terminal#findUnoccupiedGate()} on each.
+     *
+     * @param aircraftType - type of aircraft to find a gate for
+     * @return first suitable unoccupied gate
+     * @throws NoSuitableGateException if no suitable gate is unoccupied
+     */
+    public Gate findUnoccupiedGate(AircraftType aircraftType) throws NoSuitableGateException {
+        TreeMap<Long, Gate> gates = this.freeGates.get(aircraftType);
+        if (gates.isEmpty()) {
+            throw new NoSuitableGateException("No gate available for aircraft");
+        }
+        return gates.firstEntry().getValue();
+    }
+
+    /**
+     * Registers the given listener to be notified whenever a terminal registered with this
+     * index declares or clears an emergency.
+     *
+     * @param listener - listener to register
+     */
+    public void addListener(TerminalListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Stops the given listener from being notified of changes to terminals.
+     *
+     * If the listener is not registered, no action is taken.
+     *
+     * @param listener - listener to remove
+     */
+    public void removeListener(TerminalListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Returns up to the given number of unoccupied gates suitable for the given type of
+     * aircraft, in the order they would be allocated.
+     *
+     * The first gate returned is the gate that would be returned by
+     * {@link #findUnoccupiedGate(AircraftType)}, and each later gate is the gate that it would
+     * return once all of the gates before it were occupied.
+     *
+     * @param aircraftType - type of aircraft to find gates for
+     * @param maxGates - maximum number of gates to return
+     * @return suitable unoccupied gates, in allocation order
+     */
+    public List<Gate> findUnoccupiedGates(AircraftType aircraftType, int maxGates) {
+        List<Gate> gates = new ArrayList<>();
+        for (Gate gate : this.freeGates.get(aircraftType).values()) {
+            if (gates.size() == maxGates) {
+                break;
+            }
+            gates.add(gate);
+        }
+        return gates;
+    }
+
+    /**
+     * Returns the gate where the given aircraft is parked, or null if the aircraft is not parked
+     * at any indexed gate.
+     *
+     * @param aircraft - aircraft whose gate to find
+     * @return gate occupied by the given aircraft; or null if none exists
+     */
+    public Gate findGateOfAircraft(Aircraft aircraft) {
+        return this.gatesOfAircraft.get(aircraft);
+    }
+
+    /**
+     * Returns the terminal that the given gate belongs to, or null if the gate is not indexed.
+     *
+     * @param gate - gate whose terminal to find
+     * @return terminal of the given gate; or null if none exists
+     */
+    public Terminal findTerminalOfGate(Gate gate) {
+        return this.gatePositions.containsKey(gate) ? gate.getTerminal() : null;
+    }
+
+    /**
+     * Adds the given gate, which has just been added to the given terminal, to the index.
+     *
+     * @param terminal - terminal the gate belongs to
+     * @param gate - gate that was added
+     */
+    void gateAdded(Terminal terminal, Gate gate) {
+        int gatePosition = 0;
+        for (Gate terminalGate : terminal.getGates()) {
+            if (terminalGate == gate) {
+                break;
+            }
+            gatePosition++;
+        }
+        long position = (long) this.terminalPositions.get(terminal) * Terminal.MAX_NUM_GATES
+                + gatePosition;
+        this.gatePositions.put(gate, position);
+        gate.setTerminal(terminal);
+
+        TreeMap<Long, Gate> gates = this.freeGatesOf(terminal);
+        if (gate.isOccupied()) {
+            this.gatesOfAircraft.put(gate.getAircraftAtGate(), gate);
+        } else if (!terminal.hasEmergency() && gates != null) {
+            gates.put(position, gate);
+        }
+    }
+
+    /**
+     * Records that the given aircraft has just been parked at the given gate.
+     *
+     * @param terminal - terminal the gate belongs to
+     * @param gate - gate the aircraft was parked at
+     * @param aircraft - aircraft that was parked
+     */
+    void gateOccupied(Terminal terminal, Gate gate, Aircraft aircraft) {
+        TreeMap<Long, Gate> gates = this.freeGatesOf(terminal);
+        if (gates != null) {
+            gates.remove(this.gatePositions.get(gate));
+        }
+        this.gatesOfAircraft.put(aircraft, gate);
+    }
+
+    /**
+     * Records that the given aircraft has just left the given gate.
+     *
+     * @param terminal - terminal the gate belongs to
+     * @param gate - gate the aircraft left
+     * @param aircraft - aircraft that left
+     */
+    void gateVacated(Terminal terminal, Gate gate, Aircraft aircraft) {
+        if (this.gatesOfAircraft.get(aircraft) == gate) {
+            this.gatesOfAircraft.remove(aircraft);
+        }
+        TreeMap<Long, Gate> gates = this.freeGatesOf(terminal);
+        if (!terminal.hasEmergency() && gates != null) {
+            gates.put(this.gatePositions.get(gate), gate);
+        }
+    }
+
+    /**
+     * Updates the free gates after the emergency status of the given terminal has changed,
+     * and notifies all registered listeners.
+     *
+     * Gates of a terminal in a state of emergency cannot be allocated.
+     *
+     * @param terminal - terminal whose emergency status changed
+     */
+    void emergencyChanged(Terminal terminal) {
+        TreeMap<Long, Gate> gates = this.freeGatesOf(terminal);
+        if (gates != null) {
+            for (Gate gate : terminal.getGates()) {
+                if (!gate.isOccupied()) {
+                    if (terminal.hasEmergency()) {
+                        gates.remove(this.gatePositions.get(gate));
+                    } else {
+                        gates.put(this.gatePositions.get(gate), gate);
+                    }
+                }
+            }
+        }
+
+        for (TerminalListener listener : this.listeners) {
+            listener.emergencyChanged(terminal);
+        }
+    }
+
+    /**
+     * Returns the free gates of the type of aircraft that can park at the given terminal,
+     * or null if the terminal does not accommodate any type of aircraft.
+     *
+     * @param terminal - terminal to check
+     * @return free gates for the aircraft type the terminal accommodates
+     */
+    private TreeMap<Long, Gate> freeGatesOf(Terminal terminal) {
+        if (terminal instanceof AirplaneTerminal) {
+            return this.freeGates.get(AircraftType.AIRPLANE);
+        } else if (terminal instanceof HelicopterTerminal) {
+            return this.freeGates.get(AircraftType.HELICOPTER);
+        } else {
+            return null;
+        }
+    }
+}
@@ -25,6 +25,9 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
     /** Whether or not the terminal is currently in a state of emergency. */
     private boolean emergency;
 
+    /** Gate index this terminal is registered with; or null if none. */
+    private GateIndex gateIndex;
+
     /**
      * Creates a new Terminal with the given unique terminal number.
      * <p>
@@ -68,6 +71,10 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
             throw new NoSpaceException("Maximum number of gates reached (" + MAX_NUM_GATES + ")");
         }
         this.gates.add(gate);
+
+        if (this.gateIndex != null) {
+            this.gateIndex.gateAdded(this, gate);
+        }
     }
 
     /**
@@ -113,6 +120,10 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
     @Override
     public void declareEmergency() {
         this.emergency = true;
+
+        if (this.gateIndex != null) {
+            this.gateIndex.emergencyChanged(this);
+        }
     }
 
     /**
@@ -122,6 +133,10 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
     @Override
     public void clearEmergency() {
         this.emergency = false;
+
+        if (this.gateIndex != null) {
+            this.gateIndex.emergencyChanged(this);
+        }
     }
 
     /**
@@ -133,6 +148,25 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
         return emergency;
     }
 
+    /**
+     * Returns the gate index this terminal is registered with, or null if none.
+     *
+     * @return gate index of this terminal
+     */
+    GateIndex getGateIndex() {
+        return this.gateIndex;
+    }
+
+    /**
+     * Registers this terminal with the given gate index, which will be notified when gates are
+     * added, occupied or vacated and when the emergency status of this terminal changes.
+     *
+     * @param gateIndex - gate index to register with
+     */
+    void setGateIndex(GateIndex gateIndex) {
+        this.gateIndex = gateIndex;
+    }
+
     /**
      * Returns the ratio of occupied gates to total gates as a percentage from 0 to 100.
      * <p>
@@ -0,0 +1,14 @@
+package towersim.ground;
+
+/**
+ * Listener that is notified when the emergency status of a terminal has changed.
+ */
+public interface TerminalListener {
+    /**
+     * Called after the given terminal has declared or cleared an emergency.
+     *
+     * @param terminal - terminal whose emergency status has changed
+     * @see Terminal#hasEmergency()
+     */
+    void emergencyChanged(Terminal terminal);
+}
@@ -17,6 +17,21 @@ public class Task implements Encodable {
     /** Percent of maximum capacity to be loaded at the gate. Used by LOAD type tasks. */
     private final int loadPercent;
 
+    /** Largest load percentage for which shared instances are kept. */
+    private static final int MAX_CACHED_LOAD_PERCENT = 100;
+
+    /** Shared instances, indexed by task type ordinal and then load percentage. */
+    private static final Task[][] CACHE =
+            new Task[TaskType.values().length][MAX_CACHED_LOAD_PERCENT + 1];
+
+    static {
+        for (TaskType type : TaskType.values()) {
+            for (int i = 0; i <= MAX_CACHED_LOAD_PERCENT; i++) {
+                CACHE[type.ordinal()][i] = new Task(type, i);
+            }
+        }
+    }
+
     /**
      * Creates a new Task of the given task type.
      *
@@ -43,6 +58,37 @@ public class Task implements Encodable {
         this.loadPercent = loadPercent;
     }
 
+    /**
+     * Returns a task of the given task type.
+     * <p>
+     * Equivalent to {@code new Task(type)}, except that a shared instance is returned instead
+     * of creating a new one each time.
+     *
+     * @param type type of task
+     * @return task of the given type
+     */
+    public static Task of(TaskType type) {
+        return CACHE[type.ordinal()][0];
+    }
+
+    /**
+     * Returns a task of the given task type with the given load percentage.
+     * <p>
+     * Equivalent to {@code new Task(type, loadPercent)}. Tasks are immutable, so for load
+     * percentages between 0 and 100 inclusive a shared instance is returned instead of creating
+     * a new one each time.
+     *
+     * @param type type of task
+     * @param loadPercent percentage of maximum capacity to load
+     * @return task of the given type and load percentage
+     */
+    public static Task of(TaskType type, int loadPercent) {
+        if (loadPercent < 0 || loadPercent > MAX_CACHED_LOAD_PERCENT) {
+            return new Task(type, loadPercent);
+        }
+        return CACHE[type.ordinal()][loadPercent];
+    }
+
     /**
      * Returns the type of this task.
      *
@@ -127,8 +173,8 @@ public class Task implements Encodable {
         }
 
         Task objTask = (Task) obj;
-        return (this.getType().name().equals(objTask.getType().name()))
-                && (this.getLoadPercent() == objTask.getLoadPercent());
+        return this.getType() == objTask.getType()
+                && this.getLoadPercent() == objTask.getLoadPercent();
     }
 
     /**
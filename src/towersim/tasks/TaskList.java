@@ -1,5 +1,7 @@
 package towersim.tasks;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -8,10 +10,36 @@ import java.util.List;
  * @ass1
  */
 public class TaskList {
-    /** List of tasks to cycle through. */
-    private final List<Task> tasks;
-    /** Index of current task in tasks list. */
+    /** All task types, indexed by ordinal. */
+    private static final TaskType[] TYPES = TaskType.values();
+
+    /**
+     * Valid transitions between task types, indexed by the ordinal of a task's type and then
+     * the ordinal of the type of the task after it.
+     */
+    private static final boolean[][] VALID_NEXT = new boolean[TYPES.length][TYPES.length];
+
+    static {
+        allowNext(TaskType.TAKEOFF, TaskType.AWAY);
+        allowNext(TaskType.AWAY, TaskType.AWAY);
+        allowNext(TaskType.AWAY, TaskType.LAND);
+        allowNext(TaskType.LAND, TaskType.WAIT);
+        allowNext(TaskType.LAND, TaskType.LOAD);
+        allowNext(TaskType.WAIT, TaskType.WAIT);
+        allowNext(TaskType.WAIT, TaskType.LOAD);
+        allowNext(TaskType.LOAD, TaskType.TAKEOFF);
+    }
+
+    /** Ordinal of the type of each task to cycle through. */
+    private final byte[] types;
+    /** Load percentage of each task to cycle through. */
+    private final int[] loadPercents;
+    /** Index of current task in tasks list, unless it is held in position storage. */
     private int currentTaskIndex;
+    /** Storage holding the position of the current task, or null if it is held in this list. */
+    private TaskPositions positions;
+    /** Slot of this list in its position storage. */
+    private int positionSlot;
 
     /**
      * Creates a new TaskList with the given list of tasks.
@@ -28,79 +56,49 @@ public class TaskList {
             throw new IllegalArgumentException();
         }
 
-        this.tasks = tasks;
+        int size = tasks.size();
+        this.types = new byte[size];
+        this.loadPercents = new int[size];
         this.currentTaskIndex = 0;
+        this.positions = null;
+        this.positionSlot = -1;
 
-        if (!this.tasks.isEmpty()) {
-            for (Task task : this.tasks) {
-                //If task is not the last element of the task list, then validate next task
-                if (this.tasks.indexOf(task) != (this.tasks.size() - 1)) {
-                    if (task.getType().name().equals("TAKEOFF")) {
-                        if (!(this.tasks.get(this.tasks.indexOf(task) + 1)
-                                .getType().name().equals("AWAY"))) {
-                            throw new IllegalArgumentException();
-                        }
-                    } else if (task.getType().name().equals("AWAY")) {
-                        if (!(this.tasks.get(this.tasks.indexOf(task) + 1)
-                                .getType().name().equals("AWAY")
-                                || this.tasks.get(this.tasks.indexOf(task) + 1)
-                                .getType().name().equals("LAND"))) {
-                            throw new IllegalArgumentException();
-                        }
-                    } else if (task.getType().name().equals("LAND")) {
-                        if (!(this.tasks.get(this.tasks.indexOf(task) + 1)
-                                .getType().name().equals("WAIT")
-                                || this.tasks.get(this.tasks.indexOf(task) + 1)
-                                .getType().name().equals("LOAD"))) {
-                            throw new IllegalArgumentException();
-                        }
-                    } else if (task.getType().name().equals("WAIT")) {
-                        if (!(this.tasks.get(this.tasks.indexOf(task) + 1)
-                                .getType().name().equals("WAIT")
-                                || this.tasks.get(this.tasks.indexOf(task) + 1)
-                                .getType().name().equals("LOAD"))) {
-                            throw new IllegalArgumentException();
-                        }
-                    } else if (task.getType().name().equals("LOAD")) {
-                        if (!(this.tasks.get(this.tasks.indexOf(task) + 1)
-                                .getType().name().equals("TAKEOFF"))) {
-                            throw new IllegalArgumentException();
-                        }
-                    }
-                } else {
-                    //If task reaches the end of the task list, then validate first task
-                    if (task.getType().name().equals("TAKEOFF")) {
-                        if (!(this.tasks.get(0).getType().name().equals("AWAY"))) {
-                            throw new IllegalArgumentException();
-                        }
-                    } else if (task.getType().name().equals("AWAY")) {
-                        if (!(this.tasks.get(0).getType().name().equals("AWAY")
-                                || this.tasks.get(0)
-                                .getType().name().equals("LAND"))) {
-                            throw new IllegalArgumentException();
-                        }
-                    } else if (task.getType().name().equals("LAND")) {
-                        if (!(this.tasks.get(0).getType().name().equals("WAIT")
-                                || this.tasks.get(0)
-                                .getType().name().equals("LOAD"))) {
-                            throw new IllegalArgumentException();
-                        }
-                    } else if (task.getType().name().equals("WAIT")) {
-                        if (!(this.tasks.get(0).getType().name().equals("WAIT")
-                                || this.tasks.get(0)
-                                .getType().name().equals("LOAD"))) {
-                            throw new IllegalArgumentException();
-                        }
-                    } else if (task.getType().name().equals("LOAD")) {
-                        if (!(this.tasks.get(0).getType().name().equals("TAKEOFF"))) {
-                            throw new IllegalArgumentException();
-                        }
-                    }
-                }
+        int i = 0;
+        for (Task task : tasks) {
+            this.types[i] = (byte) task.getType().ordinal();
+            this.loadPercents[i] = task.getLoadPercent();
+            i++;
+        }
+
+        //Each task must be validly followed by the next, and the last task by the first
+        for (i = 0; i < size; i++) {
+            int next = i + 1 == size ? 0 : i + 1;
+            if (!VALID_NEXT[this.types[i]][this.types[next]]) {
+                throw new IllegalArgumentException();
             }
         }
     }
 
+    /**
+     * Records that a task of the first given type may be followed by a task of the second.
+     *
+     * @param type type of task
+     * @param nextType type of task that may follow it
+     */
+    private static void allowNext(TaskType type, TaskType nextType) {
+        VALID_NEXT[type.ordinal()][nextType.ordinal()] = true;
+    }
+
+    /**
+     * Returns the task at the given position in the list.
+     *
+     * @param index position of the task
+     * @return task at that position
+     */
+    private Task taskAt(int index) {
+        return Task.of(TYPES[this.types[index]], this.loadPercents[index]);
+    }
+
     /**
      * Returns the current task in the list.
      *
@@ -108,7 +106,80 @@ public class TaskList {
      * @ass1
      */
     public Task getCurrentTask() {
-        return this.tasks.get(this.currentTaskIndex);
+        return taskAt(this.getCurrentTaskIndex());
+    }
+
+    /**
+     * Returns all tasks in the list, in order, starting with the first task given when the
+     * task list was created.
+     * <p>
+     * The returned list cannot be modified.
+     *
+     * @return list of all tasks
+     */
+    public List<Task> getTasks() {
+        List<Task> tasks = new ArrayList<>(this.types.length);
+        for (int i = 0; i < this.types.length; i++) {
+            tasks.add(taskAt(i));
+        }
+        return Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * Returns the position of the current task in the list returned by {@link #getTasks()}.
+     *
+     * @return index of current task
+     */
+    public int getCurrentTaskIndex() {
+        if (this.positions != null) {
+            return this.positions.getTaskIndex(this.positionSlot);
+        }
+        return this.currentTaskIndex;
+    }
+
+    /**
+     * Moves the position of the current task of this list into the given slot of the given
+     * storage, or back into this list if the given storage is null.
+     * <p>
+     * The storage is given the current task straight away, and again whenever it moves.
+     *
+     * @param positions storage to hold the position of the current task; or null
+     * @param slot slot of this list in the storage
+     * @throws IllegalStateException if the position is already held in a storage and the
+     *                               given storage is not null
+     */
+    public void setPositions(TaskPositions positions, int slot) {
+        if (positions != null && this.positions != null) {
+            throw new IllegalStateException("Task list position is already held elsewhere");
+        }
+        int taskIndex = this.getCurrentTaskIndex();
+        this.positions = positions;
+        this.positionSlot = slot;
+        this.setCurrentTaskIndex(taskIndex);
+    }
+
+    /**
+     * Returns true if the position of the current task is held in position storage rather
+     * than in this list.
+     *
+     * @return true if the position is held in storage; false otherwise
+     */
+    public boolean hasPositions() {
+        return this.positions != null;
+    }
+
+    /**
+     * Sets the position of the current task, in this list or in its position storage.
+     *
+     * @param taskIndex index of the new current task
+     */
+    private void setCurrentTaskIndex(int taskIndex) {
+        if (this.positions != null) {
+            this.positions.setTask(this.positionSlot, taskIndex, TYPES[this.types[taskIndex]],
+                    this.loadPercents[taskIndex]);
+        } else {
+            this.currentTaskIndex = taskIndex;
+        }
     }
 
     /**
@@ -124,8 +195,8 @@ public class TaskList {
      * @ass1
      */
     public Task getNextTask() {
-        int nextTaskIndex = (this.currentTaskIndex + 1) % this.tasks.size();
-        return this.tasks.get(nextTaskIndex);
+        int nextTaskIndex = (this.getCurrentTaskIndex() + 1) % this.types.length;
+        return taskAt(nextTaskIndex);
     }
 
     /**
@@ -139,7 +210,7 @@ public class TaskList {
      * @ass1
      */
     public void moveToNextTask() {
-        this.currentTaskIndex = (this.currentTaskIndex + 1) % this.tasks.size();
+        this.setCurrentTaskIndex((this.getCurrentTaskIndex() + 1) % this.types.length);
     }
 
     /**
@@ -163,8 +234,8 @@ public class TaskList {
     public String toString() {
         return String.format("TaskList currently on %s [%d/%d]",
                 this.getCurrentTask(),
-                this.currentTaskIndex + 1,
-                this.tasks.size());
+                this.getCurrentTaskIndex() + 1,
+                this.types.length);
     }
 
     /**
@@ -183,8 +254,10 @@ public class TaskList {
         String spacer = ",";
         StringBuilder sb = new StringBuilder();
         
-        for (Task task : this.tasks) {
-            sb.append(task.encode());
+        //Start from the current task, so that a loaded task list resumes where it left off
+        int currentTaskIndex = this.getCurrentTaskIndex();
+        for (int i = 0; i < this.types.length; i++) {
+            sb.append(taskAt((currentTaskIndex + i) % this.types.length).encode());
             sb.append(spacer);
         }
 
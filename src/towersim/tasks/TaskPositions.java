@@ -0,0 +1,29 @@
+package towersim.tasks;
+
+/**
+ * Storage that task lists can keep the position of their current task in, instead of in
+ * themselves (see {@link TaskList#setPositions(TaskPositions, int)}).
+ *
+ * Each task list is given its own slot. Along with the index of the current task, the storage
+ * is given the type and load percentage of the new current task whenever it moves, so that
+ * the current task can be read from the storage without going through the task list.
+ */
+public interface TaskPositions {
+    /**
+     * Returns the index of the current task of the task list in the given slot.
+     *
+     * @param slot slot of the task list
+     * @return index of current task
+     */
+    int getTaskIndex(int slot);
+
+    /**
+     * Sets the current task of the task list in the given slot.
+     *
+     * @param slot slot of the task list
+     * @param taskIndex index of the new current task
+     * @param type type of the new current task
+     * @param loadPercent load percentage of the new current task
+     */
+    void setTask(int slot, int taskIndex, TaskType type, int loadPercent);
+}
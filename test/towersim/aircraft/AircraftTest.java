@@ -6,6 +6,7 @@ import towersim.tasks.Task;
 import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -173,6 +174,53 @@ public class AircraftTest {
         assertEquals(failMsg, 67, passengerAircraft3.getFuelPercentRemaining());
     }
 
+    @Test
+    public void getFuelPercentRemaining_AfterTickTest() {
+        passengerAircraft2.tick();
+        assertEquals(40, passengerAircraft2.getFuelPercentRemaining());
+
+        dummyAircraft2.tick();
+        assertEquals(67, dummyAircraft2.getFuelPercentRemaining());
+    }
+
+    @Test
+    public void getLandingPriority_Test() {
+        assertEquals(LandingPriority.PASSENGER, passengerAircraft1.getLandingPriority());
+        assertEquals(LandingPriority.OTHER, dummyAircraft1.getLandingPriority());
+
+        // passengerAircraft2 initially has 50% of its fuel capacity, with current task AWAY
+        passengerAircraft2.tick(); // now 40%
+        passengerAircraft2.tick(); // now 30%
+        assertEquals(LandingPriority.PASSENGER, passengerAircraft2.getLandingPriority());
+        passengerAircraft2.tick(); // now 20%
+        assertEquals(LandingPriority.LOW_FUEL, passengerAircraft2.getLandingPriority());
+
+        passengerAircraft2.declareEmergency();
+        assertEquals(LandingPriority.EMERGENCY, passengerAircraft2.getLandingPriority());
+        passengerAircraft2.clearEmergency();
+        assertEquals(LandingPriority.LOW_FUEL, passengerAircraft2.getLandingPriority());
+    }
+
+    @Test
+    public void addListener_NotifiedOnPriorityChangeTest() {
+        List<Aircraft> notified = new ArrayList<>();
+        passengerAircraft1.addListener(notified::add);
+
+        // fuel drops from 100% to 90%, which does not change the landing priority
+        passengerAircraft1.tick();
+        assertTrue(notified.isEmpty());
+
+        passengerAircraft1.declareEmergency();
+        assertEquals(List.of(passengerAircraft1), notified);
+
+        // already in a state of emergency, so the landing priority does not change
+        passengerAircraft1.declareEmergency();
+        assertEquals(1, notified.size());
+
+        passengerAircraft1.clearEmergency();
+        assertEquals(2, notified.size());
+    }
+
     @Test
     public void getTotalWeight_Test() {
         String failMsg = "getTotalWeight() should return the sum of the aircraft's empty weight "
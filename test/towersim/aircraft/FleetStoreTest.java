@@ -0,0 +1,144 @@
+package towersim.aircraft;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FleetStoreTest {
+    private FleetStore fleetStore;
+    private PassengerAircraft passengerAircraft;
+    private FreightAircraft freightAircraft;
+
+    @Before
+    public void setup() {
+        TaskList loadTaskList = new TaskList(List.of(
+                new Task(TaskType.LOAD, 65),
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+        TaskList awayTaskList = new TaskList(List.of(
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 30),
+                new Task(TaskType.TAKEOFF)));
+
+        this.passengerAircraft = new PassengerAircraft("ABC001",
+                AircraftCharacteristics.AIRBUS_A320, loadTaskList, 1000, 20);
+        this.freightAircraft = new FreightAircraft("ABC002",
+                AircraftCharacteristics.BOEING_747_8F, awayTaskList,
+                AircraftCharacteristics.BOEING_747_8F.fuelCapacity / 2, 4000);
+        this.fleetStore = new FleetStore();
+    }
+
+    @Test
+    public void add_KeepsStateTest() {
+        passengerAircraft.declareEmergency();
+        fleetStore.add(passengerAircraft);
+        fleetStore.add(freightAircraft);
+
+        assertEquals(2, fleetStore.size());
+        assertTrue(fleetStore.contains(passengerAircraft));
+        assertEquals(1000, passengerAircraft.getFuelAmount(), 1e-9);
+        assertEquals(20, passengerAircraft.getNumPassengers());
+        assertTrue(passengerAircraft.hasEmergency());
+        assertEquals(4000, freightAircraft.getFreightAmount());
+        assertFalse(freightAircraft.hasEmergency());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_AlreadyStoredTest() {
+        fleetStore.add(passengerAircraft);
+        new FleetStore().add(passengerAircraft);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_SharedTaskListTest() {
+        PassengerAircraft other = new PassengerAircraft("ABC003",
+                AircraftCharacteristics.AIRBUS_A320, passengerAircraft.getTaskList(), 1000, 20);
+        fleetStore.add(passengerAircraft);
+        fleetStore.add(other);
+    }
+
+    @Test
+    public void tick_SameAsAircraftTickTest() {
+        PassengerAircraft passengerCopy = new PassengerAircraft("ABC001",
+                AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(passengerAircraft.getTaskList().getTasks()), 1000, 20);
+        FreightAircraft freightCopy = new FreightAircraft("ABC002",
+                AircraftCharacteristics.BOEING_747_8F,
+                new TaskList(freightAircraft.getTaskList().getTasks()),
+                AircraftCharacteristics.BOEING_747_8F.fuelCapacity / 2, 4000);
+        fleetStore.add(passengerAircraft);
+        fleetStore.add(freightAircraft);
+
+        for (int i = 0; i < 8; i++) {
+            fleetStore.tick();
+            passengerCopy.tick();
+            freightCopy.tick();
+            assertEquals(passengerCopy.encode(), passengerAircraft.encode());
+            assertEquals(freightCopy.encode(), freightAircraft.encode());
+
+            passengerAircraft.getTaskList().moveToNextTask();
+            freightAircraft.getTaskList().moveToNextTask();
+            passengerCopy.getTaskList().moveToNextTask();
+            freightCopy.getTaskList().moveToNextTask();
+        }
+    }
+
+    @Test
+    public void tick_NotifiesListenersTest() {
+        int[] notifications = new int[1];
+        freightAircraft.addListener(aircraft -> notifications[0]++);
+        fleetStore.add(freightAircraft);
+
+        //50% to 40% to 30% fuel does not change the landing priority
+        fleetStore.tick();
+        fleetStore.tick();
+        assertEquals(30, freightAircraft.getFuelPercentRemaining());
+        assertEquals(LandingPriority.OTHER, freightAircraft.getLandingPriority());
+        assertEquals(0, notifications[0]);
+
+        fleetStore.tick();
+        assertEquals(20, freightAircraft.getFuelPercentRemaining());
+        assertEquals(LandingPriority.LOW_FUEL, freightAircraft.getLandingPriority());
+        assertEquals(1, notifications[0]);
+    }
+
+    @Test
+    public void clear_MovesStateBackTest() {
+        fleetStore.add(passengerAircraft);
+        fleetStore.tick();
+        passengerAircraft.declareEmergency();
+        int numPassengers = passengerAircraft.getNumPassengers();
+        double fuelAmount = passengerAircraft.getFuelAmount();
+
+        fleetStore.clear();
+        assertEquals(0, fleetStore.size());
+        assertFalse(fleetStore.contains(passengerAircraft));
+        assertEquals(numPassengers, passengerAircraft.getNumPassengers());
+        assertEquals(fuelAmount, passengerAircraft.getFuelAmount(), 1e-9);
+        assertTrue(passengerAircraft.hasEmergency());
+    }
+
+    @Test
+    public void clear_MovesTaskPositionBackTest() {
+        TaskList taskList = passengerAircraft.getTaskList();
+        fleetStore.add(passengerAircraft);
+        assertTrue(taskList.hasPositions());
+        taskList.moveToNextTask();
+        assertEquals(1, taskList.getCurrentTaskIndex());
+        assertEquals(TaskType.TAKEOFF, taskList.getCurrentTask().getType());
+
+        fleetStore.clear();
+        assertFalse(taskList.hasPositions());
+        assertEquals(1, taskList.getCurrentTaskIndex());
+        taskList.moveToNextTask();
+        assertEquals(TaskType.AWAY, taskList.getCurrentTask().getType());
+    }
+}
@@ -0,0 +1,254 @@
+package towersim.aircraft;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.control.ControlTower;
+import towersim.control.ControlTowerInitialiser;
+import towersim.control.ControlTowerSaver;
+import towersim.control.LandingQueue;
+import towersim.control.TakeoffQueue;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class MappedFleetStoreTest {
+    private Path file;
+    private MappedFleetStore fleetStore;
+    private PassengerAircraft passengerAircraft;
+    private FreightAircraft freightAircraft;
+
+    @Before
+    public void setup() throws Exception {
+        this.file = Files.createTempFile("fleet", ".bin");
+        this.fleetStore = new MappedFleetStore(file);
+        this.passengerAircraft = createPassengerAircraft("ABC001");
+        this.freightAircraft = createFreightAircraft("ABC002");
+    }
+
+    private static PassengerAircraft createPassengerAircraft(String callsign) {
+        return new PassengerAircraft(callsign, AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(List.of(
+                        new Task(TaskType.LOAD, 65),
+                        new Task(TaskType.TAKEOFF),
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND))), 1000, 20);
+    }
+
+    private static FreightAircraft createFreightAircraft(String callsign) {
+        return new FreightAircraft(callsign, AircraftCharacteristics.BOEING_747_8F,
+                new TaskList(List.of(
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD, 30),
+                        new Task(TaskType.TAKEOFF))),
+                AircraftCharacteristics.BOEING_747_8F.fuelCapacity / 2, 4000);
+    }
+
+    @Test
+    public void add_KeepsStateTest() {
+        passengerAircraft.declareEmergency();
+        fleetStore.add(passengerAircraft);
+        fleetStore.add(freightAircraft);
+
+        assertEquals(2, fleetStore.size());
+        assertTrue(fleetStore.contains(passengerAircraft));
+        assertEquals(1000, passengerAircraft.getFuelAmount(), 1e-9);
+        assertEquals(20, passengerAircraft.getNumPassengers());
+        assertTrue(passengerAircraft.hasEmergency());
+        assertEquals(4000, freightAircraft.getFreightAmount());
+        assertFalse(freightAircraft.hasEmergency());
+    }
+
+    @Test
+    public void tick_SameAsFleetStoreTest() {
+        List<Aircraft> mapped = new ArrayList<>();
+        List<Aircraft> heap = new ArrayList<>();
+        FleetStore heapStore = new FleetStore();
+        //More aircraft than the initial capacity, so the file has to grow
+        for (int i = 0; i < 50; i++) {
+            Aircraft aircraft = i % 2 == 0 ? createPassengerAircraft("ABC" + i)
+                    : createFreightAircraft("ABC" + i);
+            Aircraft copy = i % 2 == 0 ? createPassengerAircraft("ABC" + i)
+                    : createFreightAircraft("ABC" + i);
+            fleetStore.add(aircraft);
+            heapStore.add(copy);
+            mapped.add(aircraft);
+            heap.add(copy);
+        }
+
+        for (int i = 0; i < 8; i++) {
+            fleetStore.tick();
+            heapStore.tick();
+            for (int j = 0; j < mapped.size(); j++) {
+                assertEquals(heap.get(j).encode(), mapped.get(j).encode());
+                mapped.get(j).getTaskList().moveToNextTask();
+                heap.get(j).getTaskList().moveToNextTask();
+            }
+        }
+    }
+
+    @Test
+    public void recover_LatestCheckpointTest() throws Exception {
+        fleetStore.add(passengerAircraft);
+        fleetStore.add(freightAircraft);
+        fleetStore.checkpoint(4);
+        fleetStore.tick();
+        passengerAircraft.declareEmergency();
+        passengerAircraft.getTaskList().moveToNextTask();
+        fleetStore.checkpoint(5);
+        String passengerEncoded = passengerAircraft.encode();
+        String freightEncoded = freightAircraft.encode();
+        //Changes after the last checkpoint are not recovered
+        fleetStore.tick();
+        freightAircraft.getTaskList().moveToNextTask();
+        fleetStore.close();
+
+        //As loaded from a save written at the same tick as the checkpoint
+        PassengerAircraft passengerCopy = createPassengerAircraft("ABC001");
+        passengerCopy.getTaskList().moveToNextTask();
+        FreightAircraft freightCopy = createFreightAircraft("ABC002");
+        fleetStore = MappedFleetStore.recover(file, 5, List.of(passengerCopy, freightCopy));
+        assertEquals(5, fleetStore.getCheckpointTicksElapsed());
+        assertEquals(2, fleetStore.size());
+        assertEquals(passengerEncoded, passengerCopy.encode());
+        assertEquals(freightEncoded, freightCopy.encode());
+        assertEquals(LandingPriority.EMERGENCY, passengerCopy.getLandingPriority());
+    }
+
+    @Test
+    public void recover_IncompleteCheckpointTest() throws Exception {
+        fleetStore.add(passengerAircraft);
+        fleetStore.checkpoint(1);
+        String encoded = passengerAircraft.encode();
+        fleetStore.tick();
+        fleetStore.checkpoint(2);
+        fleetStore.close();
+
+        //Damage the second checkpoint's record, which follows the 80 byte header and the
+        //32 byte live and first checkpoint records, as if the program stopped while writing it
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4}), 80 + 2 * 32);
+        }
+
+        PassengerAircraft copy = createPassengerAircraft("ABC001");
+        fleetStore = MappedFleetStore.recover(file, 1, List.of(copy));
+        assertEquals(1, fleetStore.getCheckpointTicksElapsed());
+        assertEquals(encoded, copy.encode());
+
+        //The next checkpoint replaces the damaged one
+        fleetStore.tick();
+        fleetStore.checkpoint(3);
+        String latest = copy.encode();
+        fleetStore.close();
+        PassengerAircraft latestCopy = createPassengerAircraft("ABC001");
+        fleetStore = MappedFleetStore.recover(file, 3, List.of(latestCopy));
+        assertEquals(3, fleetStore.getCheckpointTicksElapsed());
+        assertEquals(latest, latestCopy.encode());
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void recover_NoCheckpointTest() throws Exception {
+        fleetStore.add(passengerAircraft);
+        fleetStore.close();
+
+        fleetStore = MappedFleetStore.recover(file, 0,
+                List.of(createPassengerAircraft("ABC001")));
+    }
+
+    @Test
+    public void recover_DifferentAircraftTest() throws Exception {
+        fleetStore.add(passengerAircraft);
+        fleetStore.checkpoint(1);
+        fleetStore.close();
+
+        FreightAircraft other = createFreightAircraft("ABC002");
+        try {
+            fleetStore = MappedFleetStore.recover(file, 1, List.of(other));
+            fail("Recovering into different aircraft should throw a MalformedSaveException");
+        } catch (MalformedSaveException expected) {}
+        assertNull(other.getFleet());
+    }
+
+    @Test
+    public void recover_DifferentTickTest() throws Exception {
+        fleetStore.add(passengerAircraft);
+        fleetStore.checkpoint(2);
+        fleetStore.close();
+
+        PassengerAircraft copy = createPassengerAircraft("ABC001");
+        try {
+            fleetStore = MappedFleetStore.recover(file, 3, List.of(copy));
+            fail("Recovering at a different tick should throw a MalformedSaveException");
+        } catch (MalformedSaveException expected) {}
+        assertNull(copy.getFleet());
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void recover_DifferentTaskTest() throws Exception {
+        fleetStore.add(passengerAircraft);
+        fleetStore.checkpoint(1);
+        fleetStore.close();
+
+        PassengerAircraft copy = createPassengerAircraft("ABC001");
+        copy.getTaskList().moveToNextTask();
+        fleetStore = MappedFleetStore.recover(file, 1, List.of(copy));
+    }
+
+    @Test
+    public void controlTower_RecoveredStoreTest() throws Exception {
+        ControlTower controlTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        controlTower.addAircraft(createFreightAircraft("ABC002"));
+        controlTower.setFleetStore(fleetStore);
+        controlTower.tick();
+        controlTower.tick();
+        fleetStore.checkpoint(controlTower.getTicksElapsed());
+        StringWriter tick = new StringWriter();
+        StringWriter aircraft = new StringWriter();
+        StringWriter queues = new StringWriter();
+        StringWriter terminals = new StringWriter();
+        ControlTowerSaver.saveAs(controlTower, tick, aircraft, queues, terminals);
+        String encoded = controlTower.getAircraft().get(0).encode();
+        //Changes after the checkpoint and save are not recovered
+        controlTower.tick();
+        controlTower.setFleetStore(null);
+        fleetStore.close();
+
+        ControlTower recovered = ControlTowerInitialiser.createControlTower(
+                new StringReader(tick.toString()), new StringReader(aircraft.toString()),
+                new StringReader(queues.toString()), new StringReader(terminals.toString()));
+        recovered.addAircraft(createFreightAircraft("ABC003"));
+        fleetStore = MappedFleetStore.recover(file, recovered.getTicksElapsed(),
+                recovered.getAircraft());
+        recovered.setFleetStore(fleetStore);
+        assertEquals(2, recovered.getTicksElapsed());
+        assertEquals(encoded, recovered.getAircraft().get(0).encode());
+
+        recovered.tick();
+        assertEquals(2, fleetStore.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void controlTower_OtherAircraftTest() throws Exception {
+        ControlTower controlTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        controlTower.addAircraft(createFreightAircraft("ABC003"));
+        fleetStore.add(freightAircraft);
+        controlTower.setFleetStore(fleetStore);
+    }
+}
@@ -0,0 +1,62 @@
+package towersim.aircraft;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TickTableTest {
+
+    @Test
+    public void fuelBurnTest() {
+        assertEquals(2720, TickTable.fuelBurn(AircraftCharacteristics.AIRBUS_A320), 0);
+        assertEquals(19, TickTable.fuelBurn(AircraftCharacteristics.ROBINSON_R44), 0);
+        for (AircraftCharacteristics model : AircraftCharacteristics.values()) {
+            assertEquals(model.fuelCapacity / 10, TickTable.fuelBurn(model), 0);
+        }
+    }
+
+    @Test
+    public void passengerTableTest() {
+        for (AircraftCharacteristics model : AircraftCharacteristics.values()) {
+            for (int loadPercent = 0; loadPercent <= 150; loadPercent++) {
+                int toLoad = PassengerAircraft.passengersToLoad(model.passengerCapacity,
+                        loadPercent);
+                int loadingTime = PassengerAircraft.loadingTime(toLoad);
+                assertEquals(loadingTime, TickTable.PASSENGER.loadingTime(model, loadPercent));
+                assertEquals(model.fuelCapacity / loadingTime,
+                        TickTable.PASSENGER.refuelAmount(model, loadPercent), 0);
+                assertEquals(Math.round(toLoad / (double) loadingTime),
+                        TickTable.PASSENGER.cargoPerTick(model, loadPercent));
+            }
+        }
+    }
+
+    @Test
+    public void freightTableTest() {
+        for (AircraftCharacteristics model : AircraftCharacteristics.values()) {
+            for (int loadPercent = 0; loadPercent <= 150; loadPercent++) {
+                int toLoad = FreightAircraft.freightToLoad(model.freightCapacity, loadPercent);
+                int loadingTime = FreightAircraft.loadingTime(toLoad);
+                assertEquals(loadingTime, TickTable.FREIGHT.loadingTime(model, loadPercent));
+                assertEquals(model.fuelCapacity / loadingTime,
+                        TickTable.FREIGHT.refuelAmount(model, loadPercent), 0);
+                assertEquals(Math.round(toLoad / (double) loadingTime),
+                        TickTable.FREIGHT.cargoPerTick(model, loadPercent));
+            }
+        }
+    }
+
+    @Test
+    public void loadingTime_ExampleTest() {
+        //10% of 137,756kg is 13,776kg, which takes 2 ticks to load at 6,888kg per tick
+        assertEquals(2, TickTable.FREIGHT.loadingTime(AircraftCharacteristics.BOEING_747_8F,
+                10));
+        assertEquals(6888, TickTable.FREIGHT.cargoPerTick(AircraftCharacteristics.BOEING_747_8F,
+                10));
+        //45% of 150 passengers is 68, which takes 2 ticks to load at 34 per tick
+        assertEquals(2, TickTable.PASSENGER.loadingTime(AircraftCharacteristics.AIRBUS_A320,
+                45));
+        assertEquals(34, TickTable.PASSENGER.cargoPerTick(AircraftCharacteristics.AIRBUS_A320,
+                45));
+    }
+}
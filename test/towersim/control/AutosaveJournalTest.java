@@ -0,0 +1,137 @@
+package towersim.control;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+public class AutosaveJournalTest {
+    private ControlTower controlTower;
+    private Path directory;
+
+    @Before
+    public void setup() throws Exception {
+        TaskList taskList1 = new TaskList(List.of(
+                new Task(TaskType.LOAD, 100),
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+        TaskList taskList2 = new TaskList(List.of(
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 50),
+                new Task(TaskType.TAKEOFF)));
+
+        this.controlTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        terminal.addGate(new Gate(1));
+        terminal.addGate(new Gate(2));
+        controlTower.addTerminal(terminal);
+        controlTower.addAircraft(new PassengerAircraft("QFA481",
+                AircraftCharacteristics.AIRBUS_A320, taskList1, 10000, 0));
+        controlTower.addAircraft(new FreightAircraft("UPS119",
+                AircraftCharacteristics.BOEING_747_8F, taskList2, 100000, 0));
+
+        this.directory = Files.createTempDirectory("autosave");
+    }
+
+    @Test
+    public void recover_InitialSaveTest() throws Exception {
+        new AutosaveJournal(controlTower, directory).close();
+
+        ControlTower recovered = AutosaveJournal.recover(directory);
+        assertEquals(controlTower.toString(), recovered.toString());
+        assertEquals(controlTower.getAircraft().toString(), recovered.getAircraft().toString());
+    }
+
+    @Test
+    public void recover_AfterCheckpointsTest() throws Exception {
+        AutosaveJournal journal = new AutosaveJournal(controlTower, directory);
+        for (int i = 0; i < 5; i++) {
+            controlTower.tick();
+            journal.checkpoint();
+        }
+        controlTower.getTerminals().get(0).declareEmergency();
+        controlTower.tick();
+        journal.checkpoint();
+        journal.close();
+
+        ControlTower recovered = AutosaveJournal.recover(directory);
+        assertEquals(6, recovered.getTicksElapsed());
+        assertEquals(controlTower.toString(), recovered.toString());
+        assertEquals(controlTower.getLandingQueue().encode(),
+                recovered.getLandingQueue().encode());
+        assertEquals(controlTower.getLoadingAircraft().toString(),
+                recovered.getLoadingAircraft().toString());
+        for (int i = 0; i < controlTower.getAircraft().size(); i++) {
+            assertEquals(controlTower.getAircraft().get(i).encode(),
+                    recovered.getAircraft().get(i).encode());
+        }
+        assertEquals(controlTower.getTerminals().get(0).encode(),
+                recovered.getTerminals().get(0).encode());
+    }
+
+    @Test
+    public void checkpoint_OnlyChangedAircraftTest() throws Exception {
+        AutosaveJournal journal = new AutosaveJournal(controlTower, directory);
+        journal.checkpoint();
+        controlTower.getAircraft().get(1).declareEmergency();
+        journal.checkpoint();
+        journal.close();
+
+        String contents = Files.readString(directory.resolve("journal-0.txt"));
+        assertEquals("checkpoint:0\nend\n"
+                + "checkpoint:0\naircraft:1\n"
+                + controlTower.getAircraft().get(1).encode() + "\nend\n", contents);
+    }
+
+    @Test
+    public void recover_IncompleteRecordIgnoredTest() throws Exception {
+        AutosaveJournal journal = new AutosaveJournal(controlTower, directory);
+        controlTower.tick();
+        journal.checkpoint();
+        journal.close();
+        String expected = controlTower.toString();
+
+        //Simulate the program stopping part way through writing the next record
+        Files.writeString(currentJournal(), "checkpoint:2\naircraft:0\n",
+                StandardOpenOption.APPEND);
+
+        assertEquals(expected, AutosaveJournal.recover(directory).toString());
+    }
+
+    @Test
+    public void compact_ReplacesSaveTest() throws Exception {
+        AutosaveJournal journal = new AutosaveJournal(controlTower, directory);
+        controlTower.tick();
+        journal.compact();
+        journal.close();
+
+        assertFalse(Files.exists(directory.resolve("snapshot-0")));
+        assertFalse(Files.exists(directory.resolve("journal-0.txt")));
+        assertTrue(Files.exists(directory.resolve("snapshot-1")));
+        assertEquals(controlTower.toString(), AutosaveJournal.recover(directory).toString());
+    }
+
+    private Path currentJournal() throws Exception {
+        try (DirectoryStream<Path> journals = Files.newDirectoryStream(directory, "journal-*")) {
+            return journals.iterator().next();
+        }
+    }
+}
@@ -1426,7 +1426,7 @@ public class ControlTowerInitialiserTest {
 
     @Test
     public void readTaskListNormalTest2() throws MalformedSaveException {
-        String line = "AWAY,LAND,WAIT,LOAD@75,TAKEOFF,AWAY,AWAY,LAND";
+        String line = "AWAY,LAND,WAIT,LOAD@75,TAKEOFF,AWAY,AWAY";
         try {
             TaskList taskList = ControlTowerInitialiser.readTaskList(line);
         } catch (MalformedSaveException e) {
@@ -1444,10 +1444,18 @@ public class ControlTowerInitialiserTest {
         taskList.moveToNextTask();
         assertEquals(TaskType.AWAY, taskList.getCurrentTask().getType());
         taskList.moveToNextTask();
-        taskList.moveToNextTask();
-        assertEquals(TaskType.LAND, taskList.getCurrentTask().getType());
+        assertEquals(TaskType.AWAY, taskList.getCurrentTask().getType());
         taskList.moveToNextTask();
         assertEquals(TaskType.AWAY, taskList.getCurrentTask().getType());
+        taskList.moveToNextTask();
+        assertEquals(TaskType.LAND, taskList.getCurrentTask().getType());
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void readTaskListRepeatedTaskFailTest() throws MalformedSaveException {
+        //Last LAND wraps around to AWAY, even though the first LAND is followed by WAIT
+        String line = "AWAY,LAND,WAIT,LOAD@75,TAKEOFF,AWAY,AWAY,LAND";
+        TaskList taskList = ControlTowerInitialiser.readTaskList(line);
     }
 
     @Test(expected = MalformedSaveException.class)
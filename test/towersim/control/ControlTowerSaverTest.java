@@ -0,0 +1,89 @@
+package towersim.control;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.*;
+
+public class ControlTowerSaverTest {
+    private ControlTower controlTower;
+
+    @Before
+    public void setup() throws Exception {
+        TaskList taskList1 = new TaskList(List.of(
+                new Task(TaskType.LOAD, 100),
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+        TaskList taskList2 = new TaskList(List.of(
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 50),
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY)));
+
+        Aircraft loadingAircraft = new PassengerAircraft("QFA481",
+                AircraftCharacteristics.AIRBUS_A320, taskList1, 10000, 0);
+        Aircraft landingAircraft = new FreightAircraft("UPS119",
+                AircraftCharacteristics.BOEING_747_8F, taskList2, 4000, 0);
+
+        this.controlTower = new ControlTower(3, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        terminal.addGate(new Gate(1));
+        terminal.addGate(new Gate(2));
+        controlTower.addTerminal(terminal);
+        controlTower.addAircraft(loadingAircraft);
+        controlTower.addAircraft(landingAircraft);
+    }
+
+    @Test
+    public void saveAs_FormatTest() throws Exception {
+        StringWriter tick = new StringWriter();
+        StringWriter aircraft = new StringWriter();
+        StringWriter queues = new StringWriter();
+        StringWriter terminals = new StringWriter();
+        ControlTowerSaver.saveAs(controlTower, tick, aircraft, queues, terminals);
+
+        assertEquals("3", tick.toString());
+        assertEquals("2\n"
+                + "QFA481:AIRBUS_A320:LOAD@100,TAKEOFF,AWAY,LAND:10000.00:false:0\n"
+                + "UPS119:BOEING_747_8F:LAND,LOAD@50,TAKEOFF,AWAY:4000.00:false:0",
+                aircraft.toString());
+        assertEquals("TakeoffQueue:0\n"
+                + "LandingQueue:1\n"
+                + "UPS119\n"
+                + "LoadingAircraft:1\n"
+                + "QFA481:" + controlTower.getAircraft().get(0).getLoadingTime(),
+                queues.toString());
+        assertEquals("1\nAirplaneTerminal:1:false:2\n1:QFA481\n2:empty", terminals.toString());
+    }
+
+    @Test
+    public void saveAs_LoadTest() throws Exception {
+        StringWriter tick = new StringWriter();
+        StringWriter aircraft = new StringWriter();
+        StringWriter queues = new StringWriter();
+        StringWriter terminals = new StringWriter();
+        ControlTowerSaver.saveAs(controlTower, tick, aircraft, queues, terminals);
+
+        ControlTower loaded = ControlTowerInitialiser.createControlTower(
+                new StringReader(tick.toString()), new StringReader(aircraft.toString()),
+                new StringReader(queues.toString()), new StringReader(terminals.toString()));
+        assertEquals(controlTower.toString(), loaded.toString());
+        assertEquals(controlTower.getLoadingAircraft().toString(),
+                loaded.getLoadingAircraft().toString());
+    }
+}
@@ -0,0 +1,156 @@
+package towersim.control;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.*;
+
+public class ControlTowerSnapshotTest {
+    private ControlTower controlTower;
+    private Aircraft passengerAircraft;
+    private Aircraft freightAircraft;
+    private Aircraft helicopter;
+
+    @Before
+    public void setup() throws Exception {
+        TaskList taskList1 = new TaskList(List.of(
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 50),
+                new Task(TaskType.TAKEOFF)));
+        taskList1.moveToNextTask();
+        TaskList taskList2 = new TaskList(List.of(
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 50),
+                new Task(TaskType.TAKEOFF)));
+        TaskList taskList3 = new TaskList(List.of(
+                new Task(TaskType.WAIT),
+                new Task(TaskType.LOAD, 100),
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+
+        this.passengerAircraft = new PassengerAircraft("QFA481",
+                AircraftCharacteristics.AIRBUS_A320, taskList1, 1234.5678, 100);
+        this.freightAircraft = new FreightAircraft("UPS119",
+                AircraftCharacteristics.BOEING_747_8F, taskList2, 4000, 0);
+        this.helicopter = new PassengerAircraft("VH-BFK",
+                AircraftCharacteristics.ROBINSON_R44, taskList3, 40, 2);
+
+        TakeoffQueue takeoffQueue = new TakeoffQueue();
+        LandingQueue landingQueue = new LandingQueue();
+        Map<Aircraft, Integer> loadingAircraft = new TreeMap<>(
+                Comparator.comparing(Aircraft::getCallsign));
+        landingQueue.addAircraft(freightAircraft);
+        landingQueue.addAircraft(passengerAircraft);
+        loadingAircraft.put(helicopter, 2);
+
+        this.controlTower = new ControlTower(7, new ArrayList<>(List.of(
+                passengerAircraft, freightAircraft, helicopter)),
+                landingQueue, takeoffQueue, loadingAircraft);
+
+        AirplaneTerminal airplaneTerminal = new AirplaneTerminal(1);
+        airplaneTerminal.addGate(new Gate(1));
+        HelicopterTerminal helicopterTerminal = new HelicopterTerminal(2);
+        Gate helicopterGate = new Gate(2);
+        helicopterGate.parkAircraft(helicopter);
+        helicopterTerminal.addGate(helicopterGate);
+        helicopterTerminal.declareEmergency();
+        controlTower.addTerminal(airplaneTerminal);
+        controlTower.addTerminal(helicopterTerminal);
+    }
+
+    private byte[] write(ControlTower tower) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ControlTowerSnapshot.write(tower, Channels.newChannel(bytes));
+        return bytes.toByteArray();
+    }
+
+    private ControlTower read(byte[] snapshot) throws Exception {
+        return ControlTowerSnapshot.read(
+                Channels.newChannel(new ByteArrayInputStream(snapshot)));
+    }
+
+    @Test
+    public void roundTrip_StateTest() throws Exception {
+        ControlTower loaded = read(write(controlTower));
+
+        assertEquals(7, loaded.getTicksElapsed());
+        assertEquals(3, loaded.getAircraft().size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(controlTower.getAircraft().get(i).encode(),
+                    loaded.getAircraft().get(i).encode());
+            assertEquals(controlTower.getAircraft().get(i).getTaskList().toString(),
+                    loaded.getAircraft().get(i).getTaskList().toString());
+        }
+        assertEquals(1234.5678, loaded.getAircraft().get(0).getFuelAmount(), 0);
+        assertTrue(loaded.getAircraft().get(1) instanceof FreightAircraft);
+        assertEquals(controlTower.getLandingQueue().encode(), loaded.getLandingQueue().encode());
+        assertEquals(controlTower.getTakeoffQueue().encode(), loaded.getTakeoffQueue().encode());
+        assertEquals(controlTower.getLoadingAircraft().toString(),
+                loaded.getLoadingAircraft().toString());
+        assertEquals(2, loaded.getTerminals().size());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(controlTower.getTerminals().get(i).encode(),
+                    loaded.getTerminals().get(i).encode());
+        }
+    }
+
+    @Test
+    public void roundTrip_LandingQueueArrivalOrderTest() throws Exception {
+        //Freight aircraft was added first, so lands first once the emergency is cleared
+        passengerAircraft.declareEmergency();
+        ControlTower loaded = read(write(controlTower));
+
+        Aircraft loadedPassengerAircraft = loaded.getAircraft().get(0);
+        assertEquals(loadedPassengerAircraft, loaded.getLandingQueue().peekAircraft());
+
+        loadedPassengerAircraft.clearEmergency();
+        loaded.getLandingQueue().removeAircraft();
+        passengerAircraft.clearEmergency();
+        controlTower.getLandingQueue().removeAircraft();
+        assertEquals(controlTower.getLandingQueue().encode(), loaded.getLandingQueue().encode());
+    }
+
+    @Test
+    public void roundTrip_SameBytesTest() throws Exception {
+        byte[] snapshot = write(controlTower);
+        assertArrayEquals(snapshot, write(read(snapshot)));
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void read_TruncatedTest() throws Exception {
+        byte[] snapshot = write(controlTower);
+        read(Arrays.copyOf(snapshot, snapshot.length - 1));
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void read_WrongVersionTest() throws Exception {
+        byte[] snapshot = write(controlTower);
+        snapshot[7]++;
+        read(snapshot);
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void read_TrailingBytesTest() throws Exception {
+        byte[] snapshot = write(controlTower);
+        read(Arrays.copyOf(snapshot, snapshot.length + 1));
+    }
+}
@@ -1,3 +1,315 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.NoSuitableGateException;
+
+import java.io.FileReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ControlTowerTest {
+    private static final int NUM_TICKS = 40;
+
+    private ScenarioGenerator generator;
+
+    @Before
+    public void setup() {
+        this.generator = new ScenarioGenerator(7, 3, 2, 300);
+    }
+
+    private static ControlTower loadSave(String name) throws Exception {
+        try (Reader tick = new FileReader("saves/tick_" + name + ".txt");
+             Reader aircraft = new FileReader("saves/aircraft_" + name + ".txt");
+             Reader queues = new FileReader("saves/queues_" + name + ".txt");
+             Reader terminals = new FileReader("saves/terminalsWithGates_" + name + ".txt")) {
+            return ControlTowerInitialiser.createControlTower(tick, aircraft, queues, terminals);
+        }
+    }
+
+    private static String save(ControlTower controlTower) throws Exception {
+        StringWriter tick = new StringWriter();
+        StringWriter aircraft = new StringWriter();
+        StringWriter queues = new StringWriter();
+        StringWriter terminals = new StringWriter();
+        ControlTowerSaver.saveAs(controlTower, tick, aircraft, queues, terminals);
+        return tick + "\n" + aircraft + "\n" + queues + "\n" + terminals;
+    }
+
+    /*
+     * Creates a control tower with the given number of pairs of aircraft that share a task
+     * list, with the first aircraft of every pair added before the second of any pair.
+     */
+    private static ControlTower createSharedTaskListTower(int numPairs) throws Exception {
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        terminal.addGate(new Gate(1));
+        terminal.addGate(new Gate(2));
+        ControlTower controlTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        controlTower.addTerminal(terminal);
+
+        List<TaskList> taskLists = new ArrayList<>();
+        for (int i = 0; i < numPairs; i++) {
+            taskLists.add(new TaskList(List.of(
+                    new Task(TaskType.AWAY),
+                    new Task(TaskType.AWAY),
+                    new Task(TaskType.AWAY),
+                    new Task(TaskType.LAND),
+                    new Task(TaskType.WAIT),
+                    new Task(TaskType.LOAD, 50),
+                    new Task(TaskType.TAKEOFF))));
+        }
+        for (String prefix : List.of("ABC", "XYZ")) {
+            for (int i = 0; i < numPairs; i++) {
+                controlTower.addAircraft(new PassengerAircraft(prefix + i,
+                        AircraftCharacteristics.AIRBUS_A320, taskLists.get(i), 10000, 0));
+            }
+        }
+        return controlTower;
+    }
+
+    private static void toggleEmergency(Aircraft aircraft) {
+        if (aircraft.hasEmergency()) {
+            aircraft.clearEmergency();
+        } else {
+            aircraft.declareEmergency();
+        }
+    }
+
+    private static void toggleEmergency(Terminal terminal) {
+        if (terminal.hasEmergency()) {
+            terminal.clearEmergency();
+        } else {
+            terminal.declareEmergency();
+        }
+    }
+
+    /*
+     * Ticks both control towers, toggling the same emergencies in each between ticks, and
+     * checks that their saved states are the same after every tick.
+     */
+    private static void assertSameTicks(ControlTower expected, ControlTower actual)
+            throws Exception {
+        assertEquals(save(expected), save(actual));
+        for (int i = 0; i < NUM_TICKS; i++) {
+            int numAircraft = expected.getAircraft().size();
+            if (i % 3 == 1 && numAircraft > 0) {
+                toggleEmergency(expected.getAircraft().get(i * 7 % numAircraft));
+                toggleEmergency(actual.getAircraft().get(i * 7 % numAircraft));
+            }
+            int numTerminals = expected.getTerminals().size();
+            if (i % 10 == 4 && numTerminals > 0) {
+                toggleEmergency(expected.getTerminals().get(i % numTerminals));
+                toggleEmergency(actual.getTerminals().get(i % numTerminals));
+            }
+
+            expected.tick();
+            actual.tick();
+            assertEquals("State differs after tick " + (i + 1), save(expected), save(actual));
+        }
+    }
+
+    @Test
+    public void tick_IncrementalBasicSaveTest() throws Exception {
+        ControlTower incremental = loadSave("basic");
+        incremental.setIncrementalTick(true);
+        assertSameTicks(loadSave("basic"), incremental);
+    }
+
+    @Test
+    public void tick_IncrementalDefaultSaveTest() throws Exception {
+        ControlTower incremental = loadSave("default");
+        incremental.setIncrementalTick(true);
+        assertSameTicks(loadSave("default"), incremental);
+    }
+
+    @Test
+    public void tick_IncrementalGeneratedTest() throws Exception {
+        ControlTower incremental = generator.generate();
+        incremental.setIncrementalTick(true);
+        assertSameTicks(generator.generate(), incremental);
+    }
+
+    @Test
+    public void tick_IncrementalSharedTaskListTest() throws Exception {
+        ControlTower incremental = createSharedTaskListTower(1);
+        incremental.setIncrementalTick(true);
+        incremental.tick();
+        incremental.tick();
+
+        //Both aircraft move the shared task list, so both are on LAND at tick 2
+        assertEquals(TaskType.LAND,
+                incremental.getAircraft().get(0).getTaskList().getCurrentTask().getType());
+        assertEquals(2, incremental.getLandingQueue().size());
+
+        incremental = createSharedTaskListTower(1);
+        incremental.setIncrementalTick(true);
+        assertSameTicks(createSharedTaskListTower(1), incremental);
+    }
+
+    @Test
+    public void tick_ParallelGeneratedTest() throws Exception {
+        //More aircraft than are ticked in one task, so the pool is used
+        ScenarioGenerator large = new ScenarioGenerator(11, 5, 2, 1500);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ControlTower parallel = large.generate();
+            parallel.setTickPool(pool);
+            assertSameTicks(large.generate(), parallel);
+            //Pools only start worker threads once a task is submitted
+            assertTrue(pool.getPoolSize() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void tick_ParallelSharedTaskListTest() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ControlTower parallel = createSharedTaskListTower(800);
+            parallel.setTickPool(pool);
+            assertSameTicks(createSharedTaskListTower(800), parallel);
+            //Aircraft sharing a task list are always ticked serially
+            assertEquals(0, pool.getPoolSize());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void requestEmergency_AppliedAtNextTickTest() throws Exception {
+        ControlTower controlTower = generator.generate();
+        Aircraft aircraft = controlTower.getAircraft().get(0);
+        Terminal terminal = controlTower.getTerminals().get(0);
+        Aircraft newAircraft = new PassengerAircraft("NEW001",
+                AircraftCharacteristics.AIRBUS_A320, new TaskList(List.of(
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD, 50),
+                        new Task(TaskType.TAKEOFF))), 10000, 0);
+        List<CompletableFuture<Void>> requests = new ArrayList<>();
+        Thread requester = new Thread(() -> {
+            requests.add(controlTower.requestEmergency(aircraft, true));
+            requests.add(controlTower.requestEmergency(terminal, true));
+            requests.add(controlTower.requestAddAircraft(newAircraft));
+        });
+        requester.start();
+        requester.join();
+
+        //Requests wait for the ticking thread
+        assertEquals(3, requests.size());
+        for (CompletableFuture<Void> request : requests) {
+            assertFalse(request.isDone());
+        }
+        assertFalse(aircraft.hasEmergency());
+        assertFalse(terminal.hasEmergency());
+        assertEquals(300, controlTower.getAircraft().size());
+
+        controlTower.tick();
+        for (CompletableFuture<Void> request : requests) {
+            assertTrue(request.isDone());
+            assertFalse(request.isCompletedExceptionally());
+        }
+        assertTrue(aircraft.hasEmergency());
+        assertTrue(terminal.hasEmergency());
+        assertEquals(301, controlTower.getAircraft().size());
+        assertSame(newAircraft, controlTower.getAircraft().get(300));
+    }
+
+    @Test
+    public void requestAddAircraft_NoSuitableGateTest() throws Exception {
+        ControlTower controlTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        Aircraft waiting = new PassengerAircraft("ABC001",
+                AircraftCharacteristics.AIRBUS_A320, new TaskList(List.of(
+                        new Task(TaskType.WAIT),
+                        new Task(TaskType.LOAD, 50),
+                        new Task(TaskType.TAKEOFF),
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND))), 10000, 0);
+        CompletableFuture<Void> request = controlTower.requestAddAircraft(waiting);
+
+        controlTower.applyRequests();
+        assertTrue(request.isCompletedExceptionally());
+        try {
+            request.get();
+            fail("Adding an aircraft with no suitable gate should fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NoSuitableGateException);
+        }
+        assertTrue(controlTower.getAircraft().isEmpty());
+    }
+
+    @Test
+    public void getGateOccupancy_ConsistentWhileTickingTest() throws Exception {
+        ControlTower controlTower = generator.generate();
+        AtomicBoolean ticking = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        AtomicInteger numReads = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (ticking.get() && failure.get() == null) {
+                for (Terminal terminal : controlTower.getTerminals()) {
+                    List<Aircraft> occupancy = controlTower.getGateOccupancy(terminal);
+                    Set<Aircraft> parked = Collections.newSetFromMap(new IdentityHashMap<>());
+                    for (Aircraft aircraft : occupancy) {
+                        if (aircraft != null && !parked.add(aircraft)) {
+                            failure.set(aircraft.getCallsign() + " is parked at two gates");
+                        }
+                    }
+                    if (occupancy.size() != terminal.getGates().size()) {
+                        failure.set("Occupancy has the wrong number of gates");
+                    }
+                }
+                numReads.incrementAndGet();
+            }
+        });
+        reader.start();
+        try {
+            //Keep ticking until the reader has read at least once while the tower was ticking
+            for (int i = 0; i < NUM_TICKS || (numReads.get() == 0 && reader.isAlive()); i++) {
+                controlTower.tick();
+            }
+        } finally {
+            ticking.set(false);
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertTrue(numReads.get() > 0);
+        for (Terminal terminal : controlTower.getTerminals()) {
+            List<Aircraft> occupancy = controlTower.getGateOccupancy(terminal);
+            for (int i = 0; i < occupancy.size(); i++) {
+                assertSame(terminal.getGates().get(i).getAircraftAtGate(), occupancy.get(i));
+            }
+        }
+    }
+}
+
 /*package towersim.control;
 
 import org.junit.Before;
@@ -0,0 +1,67 @@
+package towersim.control;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class DurationHistogramTest {
+    private DurationHistogram histogram;
+
+    @Before
+    public void setup() {
+        this.histogram = new DurationHistogram();
+    }
+
+    @Test
+    public void emptyTest() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean(), 0);
+        assertEquals(0, histogram.getPercentile(50));
+    }
+
+    @Test
+    public void record_ExactStatisticsTest() {
+        histogram.record(100);
+        histogram.record(300);
+        histogram.record(-5);
+
+        assertEquals(3, histogram.getCount());
+        assertEquals(400, histogram.getTotal());
+        assertEquals(0, histogram.getMin());
+        assertEquals(300, histogram.getMax());
+        assertEquals(133.33, histogram.getMean(), 0.01);
+    }
+
+    @Test
+    public void getPercentile_WithinFactorOfTwoTest() {
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        long median = histogram.getPercentile(50);
+        assertTrue(median >= 500_000 && median < 1_000_000);
+        long p99 = histogram.getPercentile(99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000);
+        assertEquals(1_000_000, histogram.getPercentile(100));
+        assertTrue(histogram.getPercentile(0) >= 1000 && histogram.getPercentile(0) < 2000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getPercentile_InvalidTest() {
+        histogram.getPercentile(101);
+    }
+
+    @Test
+    public void copyTest() {
+        histogram.record(10);
+        DurationHistogram copy = new DurationHistogram(histogram);
+        histogram.record(20);
+
+        assertEquals(1, copy.getCount());
+        assertEquals(10, copy.getMax());
+        assertEquals(2, histogram.getCount());
+    }
+}
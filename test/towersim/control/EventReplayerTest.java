@@ -0,0 +1,266 @@
+package towersim.control;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+public class EventReplayerTest {
+    private ControlTower controlTower;
+    private ByteArrayOutputStream log;
+
+    @Before
+    public void setup() throws Exception {
+        TaskList taskList1 = new TaskList(List.of(
+                new Task(TaskType.LOAD, 100),
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+        TaskList taskList2 = new TaskList(List.of(
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 50),
+                new Task(TaskType.TAKEOFF)));
+
+        this.controlTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        terminal.addGate(new Gate(1));
+        terminal.addGate(new Gate(2));
+        controlTower.addTerminal(terminal);
+        controlTower.addAircraft(new PassengerAircraft("QFA481",
+                AircraftCharacteristics.AIRBUS_A320, taskList1, 10000, 0));
+        controlTower.addAircraft(new FreightAircraft("UPS119",
+                AircraftCharacteristics.BOEING_747_8F, taskList2, 100000, 0));
+
+        this.log = new ByteArrayOutputStream();
+    }
+
+    private void recordEvents() {
+        controlTower.setEventSink(events -> {
+            byte[] bytes = new byte[events.remaining()];
+            events.get(bytes);
+            log.write(bytes, 0, bytes.length);
+        });
+    }
+
+    private byte[] snapshot() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ControlTowerSnapshot.write(controlTower, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private ControlTower replay(byte[] snapshot, byte[] events) throws Exception {
+        ControlTower replayed = ControlTowerSnapshot.read(
+                Channels.newChannel(new ByteArrayInputStream(snapshot)));
+        EventReplayer.replay(replayed, ByteBuffer.wrap(events));
+        return replayed;
+    }
+
+    private void assertSameState(ControlTower expected, ControlTower actual) {
+        assertEquals(expected.getTicksElapsed(), actual.getTicksElapsed());
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.getLandingQueue().encode(), actual.getLandingQueue().encode());
+        assertEquals(expected.getTakeoffQueue().encode(), actual.getTakeoffQueue().encode());
+        assertEquals(expected.getLoadingAircraft().toString(),
+                actual.getLoadingAircraft().toString());
+        assertEquals(expected.getAircraft().size(), actual.getAircraft().size());
+        for (int i = 0; i < expected.getAircraft().size(); i++) {
+            assertEquals(expected.getAircraft().get(i).encode(),
+                    actual.getAircraft().get(i).encode());
+        }
+        assertEquals(expected.getTerminals().size(), actual.getTerminals().size());
+        for (int i = 0; i < expected.getTerminals().size(); i++) {
+            assertEquals(expected.getTerminals().get(i).encode(),
+                    actual.getTerminals().get(i).encode());
+        }
+    }
+
+    @Test
+    public void setEventSink_WritesStartTest() {
+        recordEvents();
+
+        assertNotNull(controlTower.getEventSink());
+        assertEquals(17, log.size());
+        assertEquals(EventLog.START, log.toByteArray()[0]);
+    }
+
+    @Test
+    public void replay_TicksAndEmergenciesTest() throws Exception {
+        byte[] snapshot = snapshot();
+        recordEvents();
+        for (int i = 0; i < 6; i++) {
+            controlTower.tick();
+        }
+        controlTower.getAircraft().get(1).declareEmergency();
+        controlTower.getTerminals().get(0).declareEmergency();
+        for (int i = 0; i < 6; i++) {
+            controlTower.tick();
+        }
+
+        assertSameState(controlTower, replay(snapshot, log.toByteArray()));
+    }
+
+    @Test
+    public void replay_AddedAircraftAndTerminalsTest() throws Exception {
+        byte[] snapshot = snapshot();
+        recordEvents();
+        controlTower.tick();
+        HelicopterTerminal terminal = new HelicopterTerminal(2);
+        terminal.addGate(new Gate(3));
+        controlTower.addTerminal(terminal);
+        controlTower.addAircraft(new PassengerAircraft("VH-BFK",
+                AircraftCharacteristics.ROBINSON_R44, new TaskList(List.of(
+                        new Task(TaskType.WAIT),
+                        new Task(TaskType.LOAD, 40),
+                        new Task(TaskType.TAKEOFF),
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND))), 12.345, 1));
+        for (int i = 0; i < 5; i++) {
+            controlTower.tick();
+        }
+
+        ControlTower replayed = replay(snapshot, log.toByteArray());
+        assertSameState(controlTower, replayed);
+        assertEquals(controlTower.getAircraft().get(2).getFuelAmount(),
+                replayed.getAircraft().get(2).getFuelAmount(), 0);
+    }
+
+    @Test
+    public void replay_EmergenciesOfAddedAircraftAndTerminalsTest() throws Exception {
+        byte[] snapshot = snapshot();
+        recordEvents();
+        HelicopterTerminal terminal = new HelicopterTerminal(2);
+        terminal.addGate(new Gate(3));
+        controlTower.addTerminal(terminal);
+        controlTower.addAircraft(new PassengerAircraft("VH-BFK",
+                AircraftCharacteristics.ROBINSON_R44, new TaskList(List.of(
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD, 40),
+                        new Task(TaskType.TAKEOFF))), 120, 1));
+        controlTower.tick();
+        controlTower.getAircraft().get(2).declareEmergency();
+        terminal.declareEmergency();
+        controlTower.getAircraft().get(0).declareEmergency();
+        controlTower.getAircraft().get(0).clearEmergency();
+        controlTower.tick();
+        terminal.clearEmergency();
+        for (int i = 0; i < 4; i++) {
+            controlTower.tick();
+        }
+
+        ControlTower replayed = replay(snapshot, log.toByteArray());
+        assertSameState(controlTower, replayed);
+        assertTrue(replayed.getAircraft().get(2).hasEmergency());
+        assertFalse(replayed.getAircraft().get(0).hasEmergency());
+    }
+
+    @Test
+    public void setEventSink_ReplacedSinkTest() throws Exception {
+        recordEvents();
+        byte[] snapshot = snapshot();
+        int loggedBefore = log.size();
+        ByteArrayOutputStream replacementLog = new ByteArrayOutputStream();
+        controlTower.setEventSink(events -> {
+            byte[] bytes = new byte[events.remaining()];
+            events.get(bytes);
+            replacementLog.write(bytes, 0, bytes.length);
+        });
+        controlTower.getAircraft().get(1).declareEmergency();
+        controlTower.getTerminals().get(0).declareEmergency();
+        controlTower.tick();
+
+        assertEquals(loggedBefore, log.size());
+        assertSameState(controlTower, replay(snapshot, replacementLog.toByteArray()));
+    }
+
+    @Test
+    public void replay_FromLaterSnapshotTest() throws Exception {
+        recordEvents();
+        for (int i = 0; i < 3; i++) {
+            controlTower.tick();
+        }
+        controlTower.getAircraft().get(0).declareEmergency();
+        byte[] snapshot = snapshot();
+        for (int i = 0; i < 4; i++) {
+            controlTower.tick();
+        }
+
+        assertSameState(controlTower, replay(snapshot, log.toByteArray()));
+    }
+
+    @Test
+    public void replay_PartialEventIgnoredTest() throws Exception {
+        byte[] snapshot = snapshot();
+        recordEvents();
+        controlTower.tick();
+        byte[] events = log.toByteArray();
+
+        //Simulate the program stopping part way through writing the next tick
+        byte[] partial = Arrays.copyOf(events, events.length + 3);
+        partial[events.length] = EventLog.TICK;
+
+        ByteBuffer buffer = ByteBuffer.wrap(partial);
+        ControlTower replayed = ControlTowerSnapshot.read(
+                Channels.newChannel(new ByteArrayInputStream(snapshot)));
+        assertEquals(1, EventReplayer.replay(replayed, buffer));
+        assertEquals(events.length, buffer.position());
+        assertSameState(controlTower, replayed);
+    }
+
+    @Test
+    public void replay_FileLongerThanChunkTest() throws Exception {
+        byte[] snapshot = snapshot();
+        recordEvents();
+        //Enough ticks for the log to be read in more than one chunk
+        while (log.size() < 3 << 20) {
+            controlTower.tick();
+        }
+        byte[] events = log.toByteArray();
+        Path file = Files.createTempFile("events", ".log");
+        byte[] partial = Arrays.copyOf(events, events.length + 3);
+        partial[events.length] = EventLog.TICK;
+        Files.write(file, partial);
+
+        ControlTower replayed = ControlTowerSnapshot.read(
+                Channels.newChannel(new ByteArrayInputStream(snapshot)));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertEquals(controlTower.getTicksElapsed(), EventReplayer.replay(replayed, channel));
+            assertEquals(events.length, channel.position());
+        }
+        Files.delete(file);
+        assertSameState(controlTower, replayed);
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void replay_MissingTicksTest() throws Exception {
+        byte[] snapshot = snapshot();
+        controlTower.tick();
+        recordEvents();
+        controlTower.tick();
+
+        replay(snapshot, log.toByteArray());
+    }
+}
@@ -11,6 +11,7 @@ import towersim.aircraft.PassengerAircraft;
 import towersim.tasks.Task;
 import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
+import java.util.ArrayList;
 import java.util.List;
 
 public class LandingQueueTest {
@@ -381,4 +382,57 @@ public class LandingQueueTest {
         assertTrue(landingQueue.containsAircraft(helicopterAircraftLanding));
         assertTrue(landingQueue.containsAircraft(helicopterAircraftLanding2));
     }
+
+    @Test
+    public void reprioritiseOnEmergencyTest() {
+        landingQueue.addAircraft(helicopterAircraftLanding);
+        landingQueue.addAircraft(passengerAircraftLanding);
+        landingQueue.addAircraft(helicopterAircraftLanding2);
+        assertEquals(passengerAircraftLanding, landingQueue.peekAircraft());
+
+        helicopterAircraftLanding2.declareEmergency();
+        assertEquals(helicopterAircraftLanding2, landingQueue.peekAircraft());
+        assertEquals(List.of(helicopterAircraftLanding2, passengerAircraftLanding,
+                helicopterAircraftLanding), landingQueue.getAircraftInOrder());
+
+        helicopterAircraftLanding2.clearEmergency();
+        assertEquals(List.of(passengerAircraftLanding, helicopterAircraftLanding,
+                helicopterAircraftLanding2), landingQueue.getAircraftInOrder());
+    }
+
+    @Test
+    public void reprioritiseOnFuelTest() {
+        Aircraft awayAircraft = new FreightAircraft("AWY001",
+                AircraftCharacteristics.SIKORSKY_SKYCRANE,
+                new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD, 50), new Task(TaskType.TAKEOFF))),
+                AircraftCharacteristics.SIKORSKY_SKYCRANE.fuelCapacity * 0.3, 0);
+        landingQueue.addAircraft(passengerAircraftLanding);
+        landingQueue.addAircraft(awayAircraft);
+        assertEquals(passengerAircraftLanding, landingQueue.peekAircraft());
+
+        //Burns 10% of fuel capacity, leaving 20% which is a critical level
+        awayAircraft.tick();
+        assertEquals(awayAircraft, landingQueue.removeAircraft());
+        assertEquals(passengerAircraftLanding, landingQueue.removeAircraft());
+        assertNull(landingQueue.removeAircraft());
+    }
+
+    @Test
+    public void iteratorDoesNotModifyQueueTest() {
+        landingQueue.addAircraft(helicopterAircraftLanding);
+        landingQueue.addAircraft(passengerAircraftLanding);
+        landingQueue.addAircraft(passengerAircraftLandingEmergency);
+
+        List<Aircraft> iterated = new ArrayList<>();
+        for (Aircraft aircraft : landingQueue) {
+            iterated.add(aircraft);
+        }
+
+        assertEquals(List.of(passengerAircraftLandingEmergency, passengerAircraftLanding,
+                helicopterAircraftLanding), iterated);
+        assertEquals(3, landingQueue.size());
+        assertEquals(iterated, landingQueue.getAircraftInOrder());
+        assertEquals("LandingQueue:3\nABC001,LAN001,LAN003", landingQueue.encode());
+    }
 }
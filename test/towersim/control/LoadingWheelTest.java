@@ -0,0 +1,145 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class LoadingWheelTest {
+    private Aircraft aircraft1;
+    private Aircraft aircraft2;
+    private Aircraft aircraft3;
+    private LoadingWheel wheel;
+
+    @Before
+    public void setup() {
+        TaskList taskList = new TaskList(List.of(
+                new Task(TaskType.LOAD, 50),
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+        this.aircraft1 = new PassengerAircraft("QFA481", AircraftCharacteristics.AIRBUS_A320,
+                taskList, 1000, 0);
+        this.aircraft2 = new FreightAircraft("UPS119", AircraftCharacteristics.BOEING_747_8F,
+                taskList, 1000, 0);
+        this.aircraft3 = new PassengerAircraft("ABC123", AircraftCharacteristics.ROBINSON_R44,
+                taskList, 100, 0);
+
+        Map<Aircraft, Integer> loadingAircraft =
+                new TreeMap<>(Comparator.comparing(Aircraft::getCallsign));
+        loadingAircraft.put(aircraft1, 2);
+        loadingAircraft.put(aircraft2, 1);
+        this.wheel = new LoadingWheel(loadingAircraft);
+    }
+
+    @Test
+    public void constructor_KeepsEntriesTest() {
+        assertEquals(2, wheel.size());
+        assertEquals(Integer.valueOf(2), wheel.get(aircraft1));
+        assertEquals(Integer.valueOf(1), wheel.get(aircraft2));
+        assertNull(wheel.get(aircraft3));
+        assertEquals("{QFA481=2, UPS119=1}", toCallsigns(wheel));
+    }
+
+    @Test
+    public void put_KeepsOrderTest() {
+        assertNull(wheel.put(aircraft3, 3));
+        assertEquals("{ABC123=3, QFA481=2, UPS119=1}", toCallsigns(wheel));
+        assertEquals(Integer.valueOf(3), wheel.put(aircraft3, 5));
+        assertEquals(Integer.valueOf(5), wheel.get(aircraft3));
+    }
+
+    @Test
+    public void advance_DecrementsTicksRemainingTest() {
+        wheel.put(aircraft3, 3);
+
+        assertEquals(List.of(aircraft2), wheel.advance());
+        assertEquals("{ABC123=2, QFA481=1}", toCallsigns(wheel));
+
+        assertEquals(List.of(aircraft1), wheel.advance());
+        assertEquals(List.of(aircraft3), wheel.advance());
+        assertTrue(wheel.isEmpty());
+        assertTrue(wheel.advance().isEmpty());
+    }
+
+    @Test
+    public void advance_FinishedInMapOrderTest() {
+        wheel.put(aircraft3, 2);
+        wheel.advance();
+
+        assertEquals(List.of(aircraft3, aircraft1), wheel.advance());
+    }
+
+    @Test
+    public void advance_NoTicksRemainingTest() {
+        wheel.put(aircraft3, 0);
+        assertEquals(Integer.valueOf(0), wheel.get(aircraft3));
+
+        assertEquals(List.of(aircraft3, aircraft2), wheel.advance());
+    }
+
+    @Test
+    public void advance_LongerThanWheelTest() {
+        wheel.put(aircraft3, 200);
+
+        for (int i = 0; i < 199; i++) {
+            assertFalse(wheel.advance().contains(aircraft3));
+        }
+        assertEquals(Integer.valueOf(1), wheel.get(aircraft3));
+        assertEquals(List.of(aircraft3), wheel.advance());
+    }
+
+    @Test
+    public void advance_RemovedAircraftTest() {
+        wheel.remove(aircraft2);
+        assertTrue(wheel.advance().isEmpty());
+
+        wheel.put(aircraft2, 1);
+        wheel.remove(aircraft1);
+        assertEquals(List.of(aircraft2), wheel.advance());
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void advance_ReplacedTicksRemainingTest() {
+        wheel.put(aircraft2, 3);
+
+        assertEquals(List.of(), wheel.advance());
+        assertEquals(List.of(aircraft1), wheel.advance());
+        assertEquals(List.of(aircraft2), wheel.advance());
+    }
+
+    @Test
+    public void advance_UnsortedMapTest() {
+        Map<Aircraft, Integer> loadingAircraft = new HashMap<>();
+        loadingAircraft.put(aircraft3, 1);
+        LoadingWheel unsorted = new LoadingWheel(loadingAircraft);
+        unsorted.put(aircraft1, 1);
+
+        assertEquals(List.of(aircraft3, aircraft1), unsorted.advance());
+    }
+
+    private static String toCallsigns(Map<Aircraft, Integer> loadingAircraft) {
+        StringBuilder builder = new StringBuilder("{");
+        for (Map.Entry<Aircraft, Integer> entry : loadingAircraft.entrySet()) {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(entry.getKey().getCallsign()).append("=").append(entry.getValue());
+        }
+        return builder.append("}").toString();
+    }
+}
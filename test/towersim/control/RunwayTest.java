@@ -0,0 +1,236 @@
+package towersim.control;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.*;
+
+public class RunwayTest {
+    private ControlTower controlTower;
+
+    @Before
+    public void setup() throws Exception {
+        this.controlTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        for (int i = 1; i <= 6; i++) {
+            terminal.addGate(new Gate(i));
+        }
+        controlTower.addTerminal(terminal);
+        //Three aircraft waiting to land and three waiting to take off
+        List<Task> tasks = new ArrayList<>(List.of(
+                new Task(TaskType.LAND),
+                new Task(TaskType.WAIT),
+                new Task(TaskType.WAIT),
+                new Task(TaskType.WAIT),
+                new Task(TaskType.LOAD, 0),
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.AWAY)));
+        for (int i = 0; i < 6; i++) {
+            if (i == 3) {
+                Collections.rotate(tasks, 4);
+            }
+            controlTower.addAircraft(new PassengerAircraft("QFA" + i,
+                    AircraftCharacteristics.AIRBUS_A320, new TaskList(tasks),
+                    AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0));
+        }
+        controlTower.placeAllAircraftInQueues();
+    }
+
+    private int countTask(TaskType taskType) {
+        int count = 0;
+        for (Aircraft aircraft : controlTower.getAircraft()) {
+            if (aircraft.getTaskList().getCurrentTask().getType() == taskType) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void mode_AllowsTest() {
+        assertTrue(Runway.Mode.LANDING.allows(RunwayPolicy.Operation.LAND));
+        assertFalse(Runway.Mode.LANDING.allows(RunwayPolicy.Operation.TAKE_OFF));
+        assertFalse(Runway.Mode.TAKEOFF.allows(RunwayPolicy.Operation.LAND));
+        assertTrue(Runway.Mode.TAKEOFF.allows(RunwayPolicy.Operation.TAKE_OFF));
+        assertTrue(Runway.Mode.MIXED.allows(RunwayPolicy.Operation.LAND));
+        assertTrue(Runway.Mode.MIXED.allows(RunwayPolicy.Operation.TAKE_OFF));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_InvalidCapacityTest() {
+        new Runway(Runway.Mode.MIXED, 0);
+    }
+
+    @Test
+    public void toStringTest() {
+        assertEquals("LANDING runway, 2 per tick",
+                new Runway(Runway.Mode.LANDING, 2).toString());
+    }
+
+    @Test
+    public void getRunways_DefaultTest() {
+        assertEquals(1, controlTower.getRunways().size());
+        assertEquals(Runway.Mode.MIXED, controlTower.getRunways().get(0).getMode());
+        assertSame(RunwayPolicy.ALTERNATING, controlTower.getRunwayPolicy());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setRunways_NoRunwaysTest() {
+        controlTower.setRunways(List.of(), RunwayPolicy.ALTERNATING);
+    }
+
+    @Test
+    public void tick_SeparateRunwaysTest() {
+        controlTower.setRunways(List.of(new Runway(Runway.Mode.LANDING),
+                new Runway(Runway.Mode.TAKEOFF)), RunwayPolicy.LANDING_FIRST);
+        controlTower.tick();
+
+        //One aircraft landed and one took off in the same tick
+        assertEquals(2, controlTower.getLandingQueue().size());
+        assertEquals(2, controlTower.getTakeoffQueue().size());
+        assertEquals(1, countTask(TaskType.WAIT));
+        assertEquals(1, countTask(TaskType.AWAY));
+    }
+
+    @Test
+    public void tick_CapacityBatchTest() {
+        controlTower.setRunways(List.of(new Runway(Runway.Mode.MIXED, 4)),
+                RunwayPolicy.LANDING_FIRST);
+        controlTower.tick();
+
+        //All three aircraft landed, then one took off
+        assertEquals(0, controlTower.getLandingQueue().size());
+        assertEquals(2, controlTower.getTakeoffQueue().size());
+        assertEquals(3, countTask(TaskType.WAIT));
+        assertEquals(1, countTask(TaskType.AWAY));
+    }
+
+    @Test
+    public void tick_LongestQueueFirstPerAircraftTest() {
+        controlTower.setRunways(List.of(new Runway(Runway.Mode.MIXED, 4)),
+                RunwayPolicy.LONGEST_QUEUE_FIRST);
+        controlTower.tick();
+
+        //The policy is asked again for each aircraft, so the runway alternates between the
+        //queues as they become the longest
+        assertEquals(1, controlTower.getLandingQueue().size());
+        assertEquals(1, controlTower.getTakeoffQueue().size());
+        assertEquals(2, countTask(TaskType.WAIT));
+        assertEquals(2, countTask(TaskType.AWAY));
+    }
+
+    @Test
+    public void tick_BatchedLandingsSameAsPerAircraftTest() throws Exception {
+        //Only two gates, so landing fails part way through the runway's capacity
+        ControlTower batched = createControlTower(2);
+        ControlTower perAircraft = createControlTower(2);
+        batched.setRunways(List.of(new Runway(Runway.Mode.MIXED, 4)),
+                RunwayPolicy.LANDING_FIRST);
+        perAircraft.setRunways(List.of(new Runway(Runway.Mode.MIXED, 4)),
+                (runway, tick, landingQueue, takeoffQueue) -> RunwayPolicy.LAND_THEN_TAKE_OFF);
+
+        for (int i = 0; i < 10; i++) {
+            batched.tick();
+            perAircraft.tick();
+            assertEquals(perAircraft.getLandingQueue().encode(),
+                    batched.getLandingQueue().encode());
+            assertEquals(perAircraft.getTakeoffQueue().encode(),
+                    batched.getTakeoffQueue().encode());
+            assertEquals(perAircraft.getTerminals().get(0).encode(),
+                    batched.getTerminals().get(0).encode());
+        }
+    }
+
+    private ControlTower createControlTower(int numGates) throws Exception {
+        ControlTower tower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        for (int i = 1; i <= numGates; i++) {
+            terminal.addGate(new Gate(i));
+        }
+        tower.addTerminal(terminal);
+        for (Aircraft aircraft : controlTower.getAircraft()) {
+            tower.addAircraft(new PassengerAircraft(aircraft.getCallsign(),
+                    aircraft.getCharacteristics(), new TaskList(aircraft.getTaskList().getTasks()),
+                    aircraft.getFuelAmount(), 0));
+        }
+        return tower;
+    }
+
+    @Test
+    public void tryLandAircraft_BatchTest() {
+        List<Aircraft> landing = controlTower.getLandingQueue().getAircraftInOrder();
+        assertEquals(2, controlTower.tryLandAircraft(2));
+
+        //The first two aircraft in the queue landed at the first two gates, in order
+        List<Gate> gates = controlTower.getTerminals().get(0).getGates();
+        assertSame(landing.get(0), gates.get(0).getAircraftAtGate());
+        assertSame(landing.get(1), gates.get(1).getAircraftAtGate());
+        assertEquals(List.of(landing.get(2)),
+                controlTower.getLandingQueue().getAircraftInOrder());
+        assertEquals(2, countTask(TaskType.WAIT));
+    }
+
+    @Test
+    public void tryLandAircraft_NoSuitableGateTest() {
+        controlTower.getTerminals().get(0).declareEmergency();
+        assertEquals(0, controlTower.tryLandAircraft(3));
+        assertEquals(3, controlTower.getLandingQueue().size());
+    }
+
+    @Test
+    public void tick_CustomPolicyTest() {
+        controlTower.setRunways(List.of(new Runway(Runway.Mode.MIXED, 3)),
+                (runway, tick, landingQueue, takeoffQueue) -> RunwayPolicy.TAKE_OFF_ONLY);
+        controlTower.tick();
+        controlTower.tick();
+
+        assertEquals(3, controlTower.getLandingQueue().size());
+        assertEquals(0, controlTower.getTakeoffQueue().size());
+        assertEquals(3, countTask(TaskType.AWAY));
+    }
+
+    @Test
+    public void tick_IncrementalSameResultTest() throws Exception {
+        ControlTower incremental = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        for (int i = 1; i <= 6; i++) {
+            terminal.addGate(new Gate(i));
+        }
+        incremental.addTerminal(terminal);
+        for (Aircraft aircraft : controlTower.getAircraft()) {
+            incremental.addAircraft(new PassengerAircraft(aircraft.getCallsign(),
+                    aircraft.getCharacteristics(), new TaskList(aircraft.getTaskList().getTasks()),
+                    aircraft.getFuelAmount(), 0));
+        }
+        List<Runway> runways = List.of(new Runway(Runway.Mode.MIXED, 2),
+                new Runway(Runway.Mode.TAKEOFF));
+        controlTower.setRunways(runways, RunwayPolicy.LONGEST_QUEUE_FIRST);
+        incremental.setRunways(runways, RunwayPolicy.LONGEST_QUEUE_FIRST);
+        incremental.setIncrementalTick(true);
+
+        for (int i = 0; i < 25; i++) {
+            controlTower.tick();
+            incremental.tick();
+            assertEquals(controlTower.getLandingQueue().encode(),
+                    incremental.getLandingQueue().encode());
+            assertEquals(controlTower.getTakeoffQueue().encode(),
+                    incremental.getTakeoffQueue().encode());
+            assertEquals(controlTower.toString(), incremental.toString());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package towersim.control;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftType;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.tasks.TaskType;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+public class ScenarioGeneratorTest {
+    private ScenarioGenerator generator;
+
+    @Before
+    public void setup() {
+        this.generator = new ScenarioGenerator(42, 4, 2, 200);
+    }
+
+    private String[] save(ControlTower controlTower) throws Exception {
+        StringWriter tick = new StringWriter();
+        StringWriter aircraft = new StringWriter();
+        StringWriter queues = new StringWriter();
+        StringWriter terminals = new StringWriter();
+        ControlTowerSaver.saveAs(controlTower, tick, aircraft, queues, terminals);
+        return new String[] {tick.toString(), aircraft.toString(), queues.toString(),
+            terminals.toString()};
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_NegativeTest() {
+        new ScenarioGenerator(1, 1, -1, 10);
+    }
+
+    @Test
+    public void generate_SizesTest() {
+        ControlTower controlTower = generator.generate();
+
+        assertEquals(0, controlTower.getTicksElapsed());
+        assertEquals(200, controlTower.getAircraft().size());
+        assertEquals(6, controlTower.getTerminals().size());
+        int numHelicopterTerminals = 0;
+        for (int i = 0; i < 6; i++) {
+            Terminal terminal = controlTower.getTerminals().get(i);
+            assertEquals(i + 1, terminal.getTerminalNumber());
+            assertTrue(terminal.getGates().size() >= 1);
+            assertTrue(terminal.getGates().size() <= Terminal.MAX_NUM_GATES);
+            if (terminal instanceof HelicopterTerminal) {
+                numHelicopterTerminals++;
+            }
+        }
+        assertEquals(2, numHelicopterTerminals);
+    }
+
+    @Test
+    public void generate_SameSeedTest() throws Exception {
+        assertArrayEquals(save(generator.generate()),
+                save(new ScenarioGenerator(42, 4, 2, 200).generate()));
+        assertNotEquals(save(generator.generate())[1],
+                save(new ScenarioGenerator(43, 4, 2, 200).generate())[1]);
+    }
+
+    @Test
+    public void generate_AircraftPlacedTest() {
+        ControlTower controlTower = generator.generate();
+
+        for (Aircraft aircraft : controlTower.getAircraft()) {
+            TaskType taskType = aircraft.getTaskList().getCurrentTask().getType();
+            assertEquals(taskType == TaskType.LAND,
+                    controlTower.getLandingQueue().containsAircraft(aircraft));
+            assertEquals(taskType == TaskType.TAKEOFF,
+                    controlTower.getTakeoffQueue().containsAircraft(aircraft));
+            if (taskType == TaskType.LOAD) {
+                int ticksRemaining = controlTower.getLoadingAircraft().get(aircraft);
+                assertTrue(ticksRemaining >= 1);
+                assertTrue(ticksRemaining <= aircraft.getLoadingTime());
+            }
+        }
+
+        //Exactly the aircraft on the ground are parked at gates
+        int numParked = 0;
+        for (Terminal terminal : controlTower.getTerminals()) {
+            for (Gate gate : terminal.getGates()) {
+                Aircraft aircraft = gate.getAircraftAtGate();
+                if (aircraft != null) {
+                    TaskType taskType = aircraft.getTaskList().getCurrentTask().getType();
+                    assertTrue(taskType == TaskType.WAIT || taskType == TaskType.LOAD);
+                    assertEquals(terminal instanceof HelicopterTerminal,
+                            aircraft.getCharacteristics().type == AircraftType.HELICOPTER);
+                    numParked++;
+                }
+            }
+        }
+        assertEquals(numParked, controlTower.getAircraft().size()
+                - controlTower.getLandingQueue().size() - controlTower.getTakeoffQueue().size()
+                - countAway(controlTower));
+    }
+
+    @Test
+    public void generate_PartlyLoadedTest() {
+        ControlTower controlTower = generator.generate();
+
+        int numPartlyLoaded = 0;
+        for (Map.Entry<Aircraft, Integer> entry : controlTower.getLoadingAircraft().entrySet()) {
+            if (entry.getValue() < entry.getKey().getLoadingTime()) {
+                numPartlyLoaded++;
+            }
+        }
+        assertTrue(numPartlyLoaded > 0);
+    }
+
+    private int countAway(ControlTower controlTower) {
+        int count = 0;
+        for (Aircraft aircraft : controlTower.getAircraft()) {
+            if (aircraft.getTaskList().getCurrentTask().getType() == TaskType.AWAY) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void generate_NoHelicopterTerminalsTest() {
+        ControlTower controlTower = new ScenarioGenerator(7, 1, 0, 50).generate();
+
+        for (Aircraft aircraft : controlTower.getAircraft()) {
+            assertEquals(AircraftType.AIRPLANE, aircraft.getCharacteristics().type);
+        }
+    }
+
+    @Test
+    public void generate_LoadsTest() throws Exception {
+        ControlTower controlTower = generator.generate();
+        String[] save = save(controlTower);
+        ControlTower loaded = ControlTowerInitialiser.createControlTower(
+                new StringReader(save[0]), new StringReader(save[1]),
+                new StringReader(save[2]), new StringReader(save[3]));
+
+        assertArrayEquals(save, save(loaded));
+        for (int i = 0; i < 20; i++) {
+            controlTower.tick();
+            loaded.tick();
+        }
+        assertArrayEquals(save(controlTower), save(loaded));
+    }
+
+    @Test
+    public void writeSave_NewDirectoryTest() throws Exception {
+        Path parent = Files.createTempDirectory("scenario");
+        Path directory = parent.resolve("generated").resolve("load");
+        ControlTower controlTower = generator.writeSave(directory, "load");
+
+        String[] names = {"tick_load.txt", "aircraft_load.txt", "queues_load.txt",
+            "terminalsWithGates_load.txt"};
+        String[] save = save(controlTower);
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(save[i], Files.readString(directory.resolve(names[i])));
+            Files.delete(directory.resolve(names[i]));
+        }
+        Files.delete(directory);
+        Files.delete(directory.getParent());
+        Files.delete(parent);
+    }
+}
@@ -0,0 +1,144 @@
+package towersim.control;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.util.MalformedSaveException;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+public class StreamingControlTowerInitialiserTest {
+    private String tick;
+    private String aircraft;
+    private String queues;
+    private String terminalsWithGates;
+
+    @Before
+    public void setup() {
+        this.tick = "5";
+        this.aircraft = "4\n"
+                + "QFA481:AIRBUS_A320:AWAY,AWAY,LAND,WAIT,WAIT,LOAD@60,TAKEOFF,AWAY"
+                + ":10000.00:false:132\n"
+                + "UTD302:BOEING_787:WAIT,LOAD@100,TAKEOFF,AWAY,AWAY,AWAY,LAND"
+                + ":10000.00:false:0\n"
+                + "UPS119:BOEING_747_8F:WAIT,LOAD@50,TAKEOFF,AWAY,AWAY,AWAY,LAND"
+                + ":4000.00:false:0\n"
+                + "VH-BFK:ROBINSON_R44:LAND,WAIT,LOAD@75,TAKEOFF,AWAY,AWAY:40.00:true:4";
+        this.queues = "TakeoffQueue:0\n"
+                + "LandingQueue:2\n"
+                + "VH-BFK,QFA481\n"
+                + "LoadingAircraft:1\n"
+                + "UPS119:3";
+        this.terminalsWithGates = "2\n"
+                + "AirplaneTerminal:1:false:2\n"
+                + "1:UTD302\n"
+                + "2:empty\n"
+                + "HelicopterTerminal:2:true:1\n"
+                + "3:empty";
+    }
+
+    private ControlTower load() throws MalformedSaveException, IOException {
+        return StreamingControlTowerInitialiser.createControlTower(new StringReader(tick),
+                new StringReader(aircraft), new StringReader(queues),
+                new StringReader(terminalsWithGates));
+    }
+
+    private ControlTower loadOriginal() throws MalformedSaveException, IOException {
+        return ControlTowerInitialiser.createControlTower(new StringReader(tick),
+                new StringReader(aircraft), new StringReader(queues),
+                new StringReader(terminalsWithGates));
+    }
+
+    @Test
+    public void createControlTower_SameAsOriginalTest() throws Exception {
+        ControlTower expected = loadOriginal();
+        ControlTower actual = load();
+
+        assertEquals(expected.getTicksElapsed(), actual.getTicksElapsed());
+        assertEquals(expected.getAircraft().size(), actual.getAircraft().size());
+        for (int i = 0; i < expected.getAircraft().size(); i++) {
+            assertEquals(expected.getAircraft().get(i).encode(),
+                    actual.getAircraft().get(i).encode());
+        }
+        assertEquals(expected.getTakeoffQueue().encode(), actual.getTakeoffQueue().encode());
+        assertEquals(expected.getLandingQueue().encode(), actual.getLandingQueue().encode());
+        assertEquals(expected.getLoadingAircraft().toString(),
+                actual.getLoadingAircraft().toString());
+        assertEquals(expected.getTerminals().size(), actual.getTerminals().size());
+        for (int i = 0; i < expected.getTerminals().size(); i++) {
+            assertEquals(expected.getTerminals().get(i).encode(),
+                    actual.getTerminals().get(i).encode());
+        }
+    }
+
+    @Test
+    public void createControlTower_CallsignsResolvedTest() throws Exception {
+        ControlTower controlTower = load();
+
+        assertSame(controlTower.getAircraft().get(3),
+                controlTower.getLandingQueue().peekAircraft());
+        assertSame(controlTower.getAircraft().get(1),
+                controlTower.getTerminals().get(0).getGates().get(0).getAircraftAtGate());
+        assertEquals(Integer.valueOf(3),
+                controlTower.getLoadingAircraft().get(controlTower.getAircraft().get(2)));
+    }
+
+    @Test
+    public void createControlTower_WindowsLineEndingsTest() throws Exception {
+        aircraft = aircraft.replace("\n", "\r\n");
+        queues = queues.replace("\n", "\r\n");
+        terminalsWithGates = terminalsWithGates.replace("\n", "\r\n");
+
+        assertEquals(4, load().getAircraft().size());
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void createControlTower_NegativeTickTest() throws Exception {
+        tick = "-1";
+        load();
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void createControlTower_EmptyAircraftTest() throws Exception {
+        aircraft = "";
+        load();
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void createControlTower_WrongAircraftCountTest() throws Exception {
+        aircraft = aircraft.replaceFirst("4", "5");
+        load();
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void createControlTower_TwoLoadTasksTest() throws Exception {
+        aircraft = aircraft.replace("WAIT,LOAD@60", "LOAD@10,LOAD@60");
+        load();
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void createControlTower_UnknownQueueCallsignTest() throws Exception {
+        queues = queues.replace("VH-BFK,QFA481", "VH-BFK,QFA482");
+        load();
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void createControlTower_LoadingAircraftTrailingColonTest() throws Exception {
+        queues = queues.replace("UPS119:3", "UPS119:3:");
+        load();
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void createControlTower_ExtraTerminalLineTest() throws Exception {
+        terminalsWithGates = terminalsWithGates + "\n4:empty";
+        load();
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void createControlTower_UnknownGateCallsignTest() throws Exception {
+        terminalsWithGates = terminalsWithGates.replace("2:empty", "2:ABC123");
+        load();
+    }
+}
@@ -0,0 +1,168 @@
+package towersim.control;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.io.StringWriter;
+import java.util.*;
+
+public class TowerMetricsTest {
+    private ControlTower controlTower;
+    private TowerMetrics metrics;
+
+    @Before
+    public void setup() throws Exception {
+        this.controlTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        terminal.addGate(new Gate(1));
+        terminal.addGate(new Gate(2));
+        controlTower.addTerminal(terminal);
+        controlTower.addAircraft(new PassengerAircraft("QFA481",
+                AircraftCharacteristics.AIRBUS_A320, new TaskList(List.of(
+                        new Task(TaskType.TAKEOFF),
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD, 100))), 1000, 0));
+        controlTower.addAircraft(new FreightAircraft("UPS119",
+                AircraftCharacteristics.BOEING_747_8F, new TaskList(List.of(
+                        new Task(TaskType.LOAD, 50),
+                        new Task(TaskType.TAKEOFF),
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND))),
+                AircraftCharacteristics.BOEING_747_8F.fuelCapacity, 0));
+
+        this.metrics = new TowerMetrics();
+        controlTower.setMetrics(metrics);
+    }
+
+    @Test
+    public void getLatest_NoTicksTest() {
+        assertNull(metrics.getLatest());
+        assertEquals(0, metrics.getTicksRecorded());
+    }
+
+    @Test
+    public void tick_RecordsLatestTest() {
+        controlTower.getAircraft().get(1).declareEmergency();
+        controlTower.tick();
+        TickMetrics latest = metrics.getLatest();
+
+        assertSame(metrics, controlTower.getMetrics());
+        assertEquals(1, latest.getTick());
+        assertEquals(1, latest.getNumTookOff());
+        assertEquals(0, latest.getNumLanded());
+        assertEquals(0, latest.getTakeoffQueueSize());
+        assertEquals(0, latest.getLandingQueueSize());
+        assertEquals(1, latest.getNumLoading());
+        assertEquals(1, latest.getNumAircraftEmergencies());
+        assertEquals(0, latest.getNumTerminalEmergencies());
+        //The passenger aircraft has less than 20% of its fuel
+        assertEquals(1, latest.getNumLowFuel());
+        assertEquals(Map.of(1, 50), latest.getTerminalOccupancy());
+        assertTrue(latest.getTickNanos() > 0);
+    }
+
+    @Test
+    public void tick_CountersAndHistogramsTest() {
+        for (int i = 0; i < 10; i++) {
+            controlTower.tick();
+        }
+
+        assertEquals(10, metrics.getTicksRecorded());
+        assertEquals(10, metrics.getTickHistogram().getCount());
+        long phaseTotal = 0;
+        for (TowerMetrics.Phase phase : TowerMetrics.Phase.values()) {
+            assertEquals(10, metrics.getPhaseHistogram(phase).getCount());
+            phaseTotal += metrics.getPhaseHistogram(phase).getTotal();
+        }
+        assertTrue(phaseTotal <= metrics.getTickHistogram().getTotal());
+        assertTrue(metrics.getTotalTookOff() >= 1);
+        assertEquals(10, metrics.getLatest().getTick());
+    }
+
+    @Test
+    public void tick_IncrementalSameMeasurementsTest() throws Exception {
+        ControlTower incremental = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        terminal.addGate(new Gate(1));
+        terminal.addGate(new Gate(2));
+        incremental.addTerminal(terminal);
+        for (Aircraft aircraft : controlTower.getAircraft()) {
+            incremental.addAircraft(aircraft instanceof FreightAircraft
+                    ? new FreightAircraft(aircraft.getCallsign(), aircraft.getCharacteristics(),
+                            new TaskList(aircraft.getTaskList().getTasks()),
+                            aircraft.getFuelAmount(), 0)
+                    : new PassengerAircraft(aircraft.getCallsign(),
+                            aircraft.getCharacteristics(),
+                            new TaskList(aircraft.getTaskList().getTasks()),
+                            aircraft.getFuelAmount(), 0));
+        }
+        incremental.setIncrementalTick(true);
+        TowerMetrics incrementalMetrics = new TowerMetrics();
+        incremental.setMetrics(incrementalMetrics);
+
+        for (int i = 0; i < 30; i++) {
+            controlTower.tick();
+            incremental.tick();
+            TickMetrics expected = metrics.getLatest();
+            TickMetrics actual = incrementalMetrics.getLatest();
+            assertEquals(expected.getNumLanded(), actual.getNumLanded());
+            assertEquals(expected.getNumTookOff(), actual.getNumTookOff());
+            assertEquals(expected.getLandingQueueSize(), actual.getLandingQueueSize());
+            assertEquals(expected.getTakeoffQueueSize(), actual.getTakeoffQueueSize());
+            assertEquals(expected.getNumLoading(), actual.getNumLoading());
+            assertEquals(expected.getNumLowFuel(), actual.getNumLowFuel());
+            assertEquals(expected.getTerminalOccupancy(), actual.getTerminalOccupancy());
+        }
+        assertEquals(metrics.getTotalLanded(), incrementalMetrics.getTotalLanded());
+        assertTrue(metrics.getTotalLanded() > 0);
+    }
+
+    @Test
+    public void setOutput_CsvTest() {
+        StringWriter out = new StringWriter();
+        metrics.setOutput(out, TowerMetrics.Format.CSV, 2);
+        for (int i = 0; i < 5; i++) {
+            controlTower.tick();
+        }
+
+        String[] lines = out.toString().split(System.lineSeparator());
+        assertEquals(3, lines.length);
+        assertEquals(TowerMetrics.csvHeader().trim(), lines[0]);
+        assertTrue(lines[1].startsWith("2,"));
+        assertTrue(lines[2].startsWith("4,"));
+        assertTrue(lines[2].matches(".*,1=[0-9]+"));
+        assertEquals(TowerMetrics.csvHeader().split(",").length,
+                lines[1].split(",").length);
+    }
+
+    @Test
+    public void lineProtocolTest() {
+        controlTower.tick();
+        String text = TowerMetrics.lineProtocol(metrics.getLatest(), 5);
+        String[] lines = text.split(System.lineSeparator());
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("tower tick=1i,landing_queue=0i,"));
+        assertTrue(lines[0].endsWith(" 5000000"));
+        assertEquals("terminal,number=1 occupancy=50i,tick=1i 5000000", lines[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setOutput_InvalidIntervalTest() {
+        metrics.setOutput(new StringWriter(), TowerMetrics.Format.CSV, 0);
+    }
+}
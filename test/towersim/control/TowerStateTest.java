@@ -0,0 +1,180 @@
+package towersim.control;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.*;
+
+public class TowerStateTest {
+    private ControlTower controlTower;
+    private Aircraft loading;
+    private Aircraft waiting;
+
+    @Before
+    public void setup() throws Exception {
+        this.controlTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        AirplaneTerminal terminal = new AirplaneTerminal(1);
+        terminal.addGate(new Gate(1));
+        terminal.addGate(new Gate(2));
+        terminal.addGate(new Gate(3));
+        controlTower.addTerminal(terminal);
+
+        this.loading = new PassengerAircraft("QFA481", AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(List.of(
+                        new Task(TaskType.LOAD, 100),
+                        new Task(TaskType.TAKEOFF),
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND))), 10000, 0);
+        this.waiting = new FreightAircraft("UPS119", AircraftCharacteristics.BOEING_747_8F,
+                new TaskList(List.of(
+                        new Task(TaskType.WAIT),
+                        new Task(TaskType.WAIT),
+                        new Task(TaskType.WAIT),
+                        new Task(TaskType.LOAD, 0),
+                        new Task(TaskType.TAKEOFF),
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND))),
+                AircraftCharacteristics.BOEING_747_8F.fuelCapacity, 0);
+        controlTower.addAircraft(loading);
+        controlTower.addAircraft(waiting);
+    }
+
+    @Test
+    public void getPublishedState_NotPublishingTest() {
+        controlTower.tick();
+        assertFalse(controlTower.isPublishingStates());
+        assertNull(controlTower.getPublishedState());
+    }
+
+    @Test
+    public void setPublishingStates_PublishesCurrentStateTest() {
+        controlTower.setPublishingStates(true);
+        TowerState state = controlTower.getPublishedState();
+
+        assertEquals(0, state.getTicksElapsed());
+        assertEquals(2, state.getAircraft().size());
+        assertSame(loading, state.getAircraft().get(0).getAircraft());
+        assertEquals(TaskType.LOAD, state.getState(loading).getCurrentTask().getType());
+        assertEquals(1, state.getTerminals().size());
+        assertEquals(Arrays.asList(loading, waiting, null),
+                state.getTerminals().get(0).getParkedAircraft());
+        assertEquals(67, state.getTerminals().get(0).getOccupancyLevel());
+        assertTrue(state.getLandingQueue().isEmpty());
+    }
+
+    @Test
+    public void tick_PublishesStateTest() {
+        controlTower.setPublishingStates(true);
+        TowerState before = controlTower.getPublishedState();
+        controlTower.tick();
+        TowerState after = controlTower.getPublishedState();
+
+        assertNotSame(before, after);
+        assertEquals(0, before.getTicksElapsed());
+        assertEquals(1, after.getTicksElapsed());
+        assertEquals(controlTower.getLoadingAircraft(), after.getLoadingAircraft());
+    }
+
+    @Test
+    public void publishState_NothingChangedTest() {
+        controlTower.setPublishingStates(true);
+        controlTower.tick();
+        TowerState before = controlTower.getPublishedState();
+        TowerState after = controlTower.publishState();
+
+        assertSame(before.getAircraft(), after.getAircraft());
+        assertSame(before.getTerminals(), after.getTerminals());
+        assertSame(before.getLoadingAircraft(), after.getLoadingAircraft());
+    }
+
+    @Test
+    public void publishState_SharesUnchangedPartsTest() {
+        controlTower.setPublishingStates(true);
+        controlTower.tick();
+        TowerState before = controlTower.getPublishedState();
+        loading.declareEmergency();
+        TowerState after = controlTower.publishState();
+
+        //Only the state of the aircraft in emergency changed
+        assertNotSame(before.getAircraft(), after.getAircraft());
+        assertNotSame(before.getState(loading), after.getState(loading));
+        assertSame(before.getState(waiting), after.getState(waiting));
+        assertSame(before.getTerminals(), after.getTerminals());
+        assertSame(before.getLandingQueue(), after.getLandingQueue());
+        assertSame(before.getTakeoffQueue(), after.getTakeoffQueue());
+    }
+
+    @Test
+    public void publishState_UnaffectedByLaterTicksTest() {
+        controlTower.setPublishingStates(true);
+        TowerState state = controlTower.getPublishedState();
+        TowerState.AircraftState loadingState = state.getState(loading);
+        int occupancy = loadingState.getOccupancyLevel();
+        for (int i = 0; i < 5; i++) {
+            controlTower.tick();
+        }
+        waiting.declareEmergency();
+
+        assertEquals(0, state.getTicksElapsed());
+        assertEquals(occupancy, loadingState.getOccupancyLevel());
+        assertEquals(0, loadingState.getCurrentTaskIndex());
+        assertFalse(state.getState(waiting).hasEmergency());
+        assertTrue(controlTower.publishState().getState(waiting).hasEmergency());
+    }
+
+    @Test
+    public void publishState_AddedAircraftTest() throws Exception {
+        controlTower.setPublishingStates(true);
+        TowerState before = controlTower.getPublishedState();
+        Aircraft added = new PassengerAircraft("VH-BFK", AircraftCharacteristics.ROBINSON_R44,
+                new TaskList(List.of(
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD, 40),
+                        new Task(TaskType.TAKEOFF))), 100, 0);
+        controlTower.addAircraft(added);
+        TowerState after = controlTower.publishState();
+
+        assertNull(before.getState(added));
+        assertEquals(3, after.getAircraft().size());
+        assertSame(before.getState(waiting), after.getState(waiting));
+        assertSame(added, after.getAircraftWithTask(TaskType.AWAY).get(0).getAircraft());
+    }
+
+    @Test
+    public void publishState_EqualAircraftTest() throws Exception {
+        //Equal to each other, but separate aircraft with their own state
+        Aircraft first = new PassengerAircraft("VH-BFK", AircraftCharacteristics.ROBINSON_R44,
+                new TaskList(List.of(
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD, 40),
+                        new Task(TaskType.TAKEOFF))), 100, 0);
+        Aircraft second = new PassengerAircraft("VH-BFK", AircraftCharacteristics.ROBINSON_R44,
+                new TaskList(List.of(
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD, 40),
+                        new Task(TaskType.TAKEOFF))), 50, 0);
+        controlTower.addAircraft(first);
+        controlTower.addAircraft(second);
+        TowerState state = controlTower.publishState();
+
+        assertEquals(first, second);
+        assertSame(first, state.getState(first).getAircraft());
+        assertSame(second, state.getState(second).getAircraft());
+        assertEquals(50, state.getState(second).getFuelAmount(), 1e-9);
+    }
+}
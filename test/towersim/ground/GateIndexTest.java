@@ -0,0 +1,145 @@
+package towersim.ground;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.AircraftType;
+import towersim.aircraft.PassengerAircraft;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GateIndexTest {
+    private GateIndex gateIndex;
+    private AirplaneTerminal airplaneTerminal1;
+    private AirplaneTerminal airplaneTerminal2;
+    private HelicopterTerminal helicopterTerminal;
+    private Gate gate1;
+    private Gate gate2;
+    private Gate gate3;
+    private Gate gate4;
+    private Aircraft aircraft1;
+    private Aircraft aircraft2;
+
+    @Before
+    public void setup() throws NoSpaceException {
+        this.gateIndex = new GateIndex();
+        this.airplaneTerminal1 = new AirplaneTerminal(1);
+        this.airplaneTerminal2 = new AirplaneTerminal(2);
+        this.helicopterTerminal = new HelicopterTerminal(3);
+
+        this.gate1 = new Gate(1);
+        this.gate2 = new Gate(2);
+        this.gate3 = new Gate(3);
+        this.gate4 = new Gate(4);
+
+        airplaneTerminal1.addGate(gate1);
+        airplaneTerminal2.addGate(gate2);
+        airplaneTerminal2.addGate(gate3);
+        helicopterTerminal.addGate(gate4);
+
+        gateIndex.addTerminal(airplaneTerminal1);
+        gateIndex.addTerminal(helicopterTerminal);
+        gateIndex.addTerminal(airplaneTerminal2);
+
+        TaskList taskList = new TaskList(List.of(
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 50),
+                new Task(TaskType.TAKEOFF)));
+        this.aircraft1 = new PassengerAircraft("ABC123", AircraftCharacteristics.AIRBUS_A320,
+                taskList, AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0);
+        this.aircraft2 = new PassengerAircraft("XYZ987", AircraftCharacteristics.AIRBUS_A320,
+                taskList, AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0);
+    }
+
+    @Test
+    public void findUnoccupiedGate_TerminalOrderTest() throws NoSuitableGateException {
+        assertEquals(gate1, gateIndex.findUnoccupiedGate(AircraftType.AIRPLANE));
+        assertEquals(gate4, gateIndex.findUnoccupiedGate(AircraftType.HELICOPTER));
+    }
+
+    @Test
+    public void findUnoccupiedGate_ParkAndLeaveTest() throws Exception {
+        gate1.parkAircraft(aircraft1);
+        assertEquals(gate2, gateIndex.findUnoccupiedGate(AircraftType.AIRPLANE));
+        gate2.parkAircraft(aircraft2);
+        assertEquals(gate3, gateIndex.findUnoccupiedGate(AircraftType.AIRPLANE));
+
+        gate1.aircraftLeaves();
+        assertEquals(gate1, gateIndex.findUnoccupiedGate(AircraftType.AIRPLANE));
+    }
+
+    @Test
+    public void findUnoccupiedGate_EmergencyTest() throws NoSuitableGateException {
+        airplaneTerminal1.declareEmergency();
+        assertEquals(gate2, gateIndex.findUnoccupiedGate(AircraftType.AIRPLANE));
+
+        airplaneTerminal1.clearEmergency();
+        assertEquals(gate1, gateIndex.findUnoccupiedGate(AircraftType.AIRPLANE));
+    }
+
+    @Test(expected = NoSuitableGateException.class)
+    public void findUnoccupiedGate_NoGateTest() throws NoSuitableGateException {
+        helicopterTerminal.declareEmergency();
+        gateIndex.findUnoccupiedGate(AircraftType.HELICOPTER);
+    }
+
+    @Test
+    public void findUnoccupiedGate_GateAddedLaterTest() throws Exception {
+        airplaneTerminal2.declareEmergency();
+        gate1.parkAircraft(aircraft1);
+        Gate gate5 = new Gate(5);
+        airplaneTerminal1.addGate(gate5);
+        assertEquals(gate5, gateIndex.findUnoccupiedGate(AircraftType.AIRPLANE));
+    }
+
+    @Test
+    public void addListener_EmergencyChangedTest() {
+        List<Terminal> changed = new ArrayList<>();
+        TerminalListener listener = changed::add;
+        gateIndex.addListener(listener);
+
+        helicopterTerminal.declareEmergency();
+        airplaneTerminal2.declareEmergency();
+        airplaneTerminal2.clearEmergency();
+        assertEquals(List.of(helicopterTerminal, airplaneTerminal2, airplaneTerminal2), changed);
+
+        gateIndex.removeListener(listener);
+        airplaneTerminal1.declareEmergency();
+        assertEquals(3, changed.size());
+    }
+
+    @Test
+    public void findUnoccupiedGates_AllocationOrderTest() throws NoSpaceException {
+        assertEquals(List.of(gate1, gate2, gate3),
+                gateIndex.findUnoccupiedGates(AircraftType.AIRPLANE, 5));
+        assertEquals(List.of(gate1, gate2),
+                gateIndex.findUnoccupiedGates(AircraftType.AIRPLANE, 2));
+
+        gate2.parkAircraft(aircraft1);
+        airplaneTerminal1.declareEmergency();
+        assertEquals(List.of(gate3), gateIndex.findUnoccupiedGates(AircraftType.AIRPLANE, 5));
+        assertTrue(gateIndex.findUnoccupiedGates(AircraftType.HELICOPTER, 0).isEmpty());
+    }
+
+    @Test
+    public void findGateOfAircraftTest() throws NoSpaceException {
+        assertNull(gateIndex.findGateOfAircraft(aircraft1));
+
+        gate3.parkAircraft(aircraft1);
+        assertEquals(gate3, gateIndex.findGateOfAircraft(aircraft1));
+        assertNull(gateIndex.findGateOfAircraft(aircraft2));
+
+        gate3.aircraftLeaves();
+        assertNull(gateIndex.findGateOfAircraft(aircraft1));
+    }
+}
@@ -2,6 +2,7 @@ package towersim.tasks;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -102,6 +103,24 @@ public class TaskListTest {
                 + "moved through", landTask, list.getNextTask());
     }
 
+    @Test
+    public void getCurrentTaskIndex_CircularTest() {
+        List<Task> tasks = List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD),
+                new Task(TaskType.TAKEOFF));
+        TaskList list = new TaskList(tasks);
+
+        assertEquals(0, list.getCurrentTaskIndex());
+        list.moveToNextTask();
+        list.moveToNextTask();
+        assertEquals(2, list.getCurrentTaskIndex());
+        list.moveToNextTask();
+        list.moveToNextTask();
+        assertEquals(0, list.getCurrentTaskIndex());
+        assertEquals(tasks, list.getTasks());
+    }
+
     @Test
     public void toString_BasicTest() {
         TaskList list = new TaskList(List.of(new Task(TaskType.AWAY),
@@ -136,4 +155,45 @@ public class TaskListTest {
 
         assertEquals("TaskList currently on AWAY [1/7]", list.toString());
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_RepeatedTaskInvalidTransitionTest() {
+        // The second AWAY is followed by WAIT, which is not allowed, even though the first
+        // (equal) AWAY task is validly followed by another AWAY
+        new TaskList(List.of(new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.WAIT),
+                new Task(TaskType.LOAD)));
+    }
+
+    @Test
+    public void encode_LongCyclicTest() {
+        StringBuilder expected = new StringBuilder("TAKEOFF");
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(TaskType.TAKEOFF));
+        for (int i = 0; i < 50; i++) {
+            tasks.add(new Task(TaskType.AWAY));
+            expected.append(",AWAY");
+        }
+        tasks.add(new Task(TaskType.LAND));
+        tasks.add(new Task(TaskType.LOAD, 70));
+        expected.append(",LAND,LOAD@70");
+
+        TaskList list = new TaskList(tasks);
+        assertEquals(expected.toString(), list.encode());
+        assertEquals(tasks, list.getTasks());
+    }
+
+    @Test
+    public void encode_StartsFromCurrentTaskTest() {
+        TaskList list = new TaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 40),
+                new Task(TaskType.TAKEOFF)));
+        list.moveToNextTask();
+        list.moveToNextTask();
+
+        assertEquals("LOAD@40,TAKEOFF,AWAY,LAND", list.encode());
+    }
 }
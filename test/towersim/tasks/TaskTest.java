@@ -5,6 +5,7 @@ import org.junit.Test;
 import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class TaskTest {
 
@@ -41,4 +42,17 @@ public class TaskTest {
     public void toString_LoadTaskTest() {
         assertEquals("LOAD at 42%", new Task(TaskType.LOAD, 42).toString());
     }
+
+    @Test
+    public void of_SharedInstanceTest() {
+        assertSame(Task.of(TaskType.LOAD, 60), Task.of(TaskType.LOAD, 60));
+        assertSame(Task.of(TaskType.AWAY), Task.of(TaskType.AWAY, 0));
+        assertEquals(new Task(TaskType.LOAD, 60), Task.of(TaskType.LOAD, 60));
+    }
+
+    @Test
+    public void of_OutOfRangeLoadPercentTest() {
+        assertEquals(150, Task.of(TaskType.LOAD, 150).getLoadPercent());
+        assertEquals(-1, Task.of(TaskType.LOAD, -1).getLoadPercent());
+    }
 }